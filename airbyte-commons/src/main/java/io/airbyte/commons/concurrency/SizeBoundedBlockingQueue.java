@@ -0,0 +1,300 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Airbyte
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.airbyte.commons.concurrency;
+
+import com.google.common.base.Preconditions;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ToLongFunction;
+
+/**
+ * A FIFO queue for a single hand off between a producer and a consumer that is bounded both by the
+ * number of elements it holds and by their approximate size in bytes. Producers block in
+ * {@link #put(Object)} while either bound is reached, which pushes back on whatever is producing
+ * the elements instead of letting the queue grow until the process runs out of memory.
+ *
+ * An element that is larger than the byte bound on its own is still accepted once the queue is
+ * empty, so a single oversized element can never block forever.
+ *
+ * Once {@link #release()} is called the bounds are no longer enforced. This lets a producer that is
+ * shutting down hand off its last in-flight elements without waiting on a consumer that may be
+ * waiting on the producer to finish.
+ *
+ * @param <E> type of the elements in the queue
+ */
+public class SizeBoundedBlockingQueue<E> {
+
+  private final int maxElements;
+  private final long maxBytes;
+  private final ToLongFunction<E> sizer;
+
+  private final ReentrantLock lock;
+  private final Condition notFull;
+  private final Condition notEmpty;
+  private final Deque<Entry<E>> entries;
+
+  private long byteSize;
+  private boolean isReleased;
+
+  // fill level metrics
+  private int peakSize;
+  private long peakByteSize;
+  private long blockedNanos;
+  private long blockedPuts;
+
+  /**
+   * @param maxElements maximum number of elements held at once
+   * @param maxBytes maximum approximate number of bytes held at once
+   * @param sizer returns the approximate size of an element in bytes
+   */
+  public SizeBoundedBlockingQueue(int maxElements, long maxBytes, ToLongFunction<E> sizer) {
+    Preconditions.checkArgument(maxElements > 0, "maxElements must be positive");
+    Preconditions.checkArgument(maxBytes > 0, "maxBytes must be positive");
+    this.maxElements = maxElements;
+    this.maxBytes = maxBytes;
+    this.sizer = sizer;
+    this.lock = new ReentrantLock();
+    this.notFull = lock.newCondition();
+    this.notEmpty = lock.newCondition();
+    this.entries = new ArrayDeque<>();
+  }
+
+  /**
+   * Adds an element, waiting as long as necessary for space to become available.
+   */
+  public void put(E element) throws InterruptedException {
+    Preconditions.checkNotNull(element);
+    final long elementBytes = sizer.applyAsLong(element);
+    lock.lockInterruptibly();
+    try {
+      if (!hasRoomFor(elementBytes)) {
+        final long start = System.nanoTime();
+        while (!hasRoomFor(elementBytes)) {
+          notFull.await();
+        }
+        recordBlocked(start);
+      }
+      enqueue(element, elementBytes);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Adds an element, waiting up to the given time for space to become available.
+   *
+   * @return true if the element was added, false if the timeout elapsed first
+   */
+  public boolean offer(E element, long timeout, TimeUnit unit) throws InterruptedException {
+    Preconditions.checkNotNull(element);
+    final long elementBytes = sizer.applyAsLong(element);
+    long remainingNanos = unit.toNanos(timeout);
+    lock.lockInterruptibly();
+    try {
+      if (!hasRoomFor(elementBytes)) {
+        final long start = System.nanoTime();
+        while (!hasRoomFor(elementBytes)) {
+          if (remainingNanos <= 0) {
+            recordBlocked(start);
+            return false;
+          }
+          remainingNanos = notFull.awaitNanos(remainingNanos);
+        }
+        recordBlocked(start);
+      }
+      enqueue(element, elementBytes);
+      return true;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * @return the head of the queue, or null if the queue is empty
+   */
+  public E poll() {
+    lock.lock();
+    try {
+      return entries.isEmpty() ? null : dequeue();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * @return the head of the queue, or null if it is still empty after waiting for the given time
+   */
+  public E poll(long timeout, TimeUnit unit) throws InterruptedException {
+    long remainingNanos = unit.toNanos(timeout);
+    lock.lockInterruptibly();
+    try {
+      while (entries.isEmpty()) {
+        if (remainingNanos <= 0) {
+          return null;
+        }
+        remainingNanos = notEmpty.awaitNanos(remainingNanos);
+      }
+      return dequeue();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Stops enforcing the bounds of the queue and wakes up any blocked producer. Cannot be undone.
+   */
+  public void release() {
+    lock.lock();
+    try {
+      isReleased = true;
+      notFull.signalAll();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public boolean isEmpty() {
+    return size() == 0;
+  }
+
+  public int size() {
+    lock.lock();
+    try {
+      return entries.size();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * @return approximate number of bytes currently held
+   */
+  public long getByteSize() {
+    lock.lock();
+    try {
+      return byteSize;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public int getPeakSize() {
+    lock.lock();
+    try {
+      return peakSize;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public long getPeakByteSize() {
+    lock.lock();
+    try {
+      return peakByteSize;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * @return number of times a producer had to wait for space
+   */
+  public long getBlockedPuts() {
+    lock.lock();
+    try {
+      return blockedPuts;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * @return total time producers spent waiting for space
+   */
+  public long getBlockedMillis() {
+    lock.lock();
+    try {
+      return TimeUnit.NANOSECONDS.toMillis(blockedNanos);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * @return a human readable summary of the fill level of the queue, meant for logging
+   */
+  public String describeFillLevel() {
+    lock.lock();
+    try {
+      return String.format("%d/%d elements, %d/%d bytes (peak %d elements, %d bytes), producers blocked %d times for %d ms",
+          entries.size(), maxElements, byteSize, maxBytes, peakSize, peakByteSize, blockedPuts, TimeUnit.NANOSECONDS.toMillis(blockedNanos));
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private boolean hasRoomFor(long elementBytes) {
+    if (isReleased || entries.isEmpty()) {
+      return true;
+    }
+    return entries.size() < maxElements && byteSize + elementBytes <= maxBytes;
+  }
+
+  private void recordBlocked(long start) {
+    blockedPuts++;
+    blockedNanos += System.nanoTime() - start;
+  }
+
+  private void enqueue(E element, long elementBytes) {
+    entries.addLast(new Entry<>(element, elementBytes));
+    byteSize += elementBytes;
+    peakSize = Math.max(peakSize, entries.size());
+    peakByteSize = Math.max(peakByteSize, byteSize);
+    notEmpty.signal();
+  }
+
+  private E dequeue() {
+    final Entry<E> entry = entries.removeFirst();
+    byteSize -= entry.bytes;
+    notFull.signalAll();
+    return entry.element;
+  }
+
+  private static class Entry<E> {
+
+    private final E element;
+    private final long bytes;
+
+    private Entry(E element, long bytes) {
+      this.element = element;
+      this.bytes = bytes;
+    }
+
+  }
+
+}
@@ -24,6 +24,7 @@
 
 package io.airbyte.commons.json;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
@@ -32,9 +33,12 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectWriter;
 import com.google.common.base.Charsets;
+import com.google.common.io.ByteStreams;
+import com.google.common.io.CountingOutputStream;
 import io.airbyte.commons.jackson.MoreMappers;
 import io.airbyte.commons.stream.MoreStreams;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
@@ -48,6 +52,7 @@ public class Jsons {
   // Object Mapper is thread-safe
   private static final ObjectMapper OBJECT_MAPPER = MoreMappers.initMapper();
   private static final ObjectWriter OBJECT_WRITER = OBJECT_MAPPER.writer(new JsonPrettyPrinter());
+  private static final ObjectWriter STREAM_WRITER = OBJECT_MAPPER.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
 
   public static <T> String serialize(T object) {
     try {
@@ -57,6 +62,21 @@ public class Jsons {
     }
   }
 
+  /**
+   * Writes the serialization of an object to a stream without materializing it as a string. The
+   * stream is left open.
+   *
+   * @param object - object to serialize
+   * @param outputStream - stream the UTF-8 serialization is written to
+   */
+  public static <T> void serialize(final T object, final OutputStream outputStream) {
+    try {
+      STREAM_WRITER.writeValue(outputStream, object);
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
   public static <T> T deserialize(final String jsonString, final Class<T> klass) {
     try {
       return OBJECT_MAPPER.readValue(jsonString, klass);
@@ -130,6 +150,23 @@ public class Jsons {
     return serialize(jsonNode).getBytes(Charsets.UTF_8);
   }
 
+  /**
+   * Computes the size in bytes of the UTF-8 serialization of an object without materializing the
+   * serialized string.
+   *
+   * @param object - object to measure
+   * @return number of bytes the serialized object takes
+   */
+  public static <T> long getSerializedByteSize(final T object) {
+    final CountingOutputStream countingOutputStream = new CountingOutputStream(ByteStreams.nullOutputStream());
+    try {
+      OBJECT_MAPPER.writeValue(countingOutputStream, object);
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+    return countingOutputStream.getCount();
+  }
+
   public static Set<String> keys(JsonNode jsonNode) {
     if (jsonNode.isObject()) {
       return Jsons.object(jsonNode, new TypeReference<Map<String, Object>>() {}).keySet();
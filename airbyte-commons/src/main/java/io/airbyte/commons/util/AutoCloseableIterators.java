@@ -28,6 +28,7 @@ import com.google.common.collect.Iterators;
 import io.airbyte.commons.concurrency.VoidCallable;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
@@ -149,4 +150,33 @@ public class AutoCloseableIterators {
     return new CompositeIterator<>(iterators);
   }
 
+  /**
+   * Drains up to parallelism of the provided iterators concurrently and exposes their records as a
+   * single iterator. See {@link ConcurrentMergingIterator} for ordering and closing guarantees.
+   *
+   * @param iterators iterators to merge
+   * @param parallelism maximum number of iterators that are drained at the same time
+   * @param bufferSize maximum number of records buffered ahead of the consumer
+   * @param <T> type
+   * @return merged autocloseable iterator
+   */
+  public static <T> ConcurrentMergingIterator<T> mergeConcurrently(List<AutoCloseableIterator<T>> iterators, int parallelism, int bufferSize) {
+    return new ConcurrentMergingIterator<>(iterators, parallelism, bufferSize);
+  }
+
+  /**
+   * Reads the provided iterator ahead of its consumer on a task of the provided executor. See
+   * {@link PrefetchingIterator} for ordering and closing guarantees.
+   *
+   * @param iterator iterator to read ahead
+   * @param executor executor that runs the read ahead task, its size bounds how many iterators are
+   *        read ahead at the same time
+   * @param bufferSize maximum number of records buffered ahead of the consumer
+   * @param <T> type
+   * @return prefetching autocloseable iterator
+   */
+  public static <T> PrefetchingIterator<T> prefetch(AutoCloseableIterator<T> iterator, ExecutorService executor, int bufferSize) {
+    return new PrefetchingIterator<>(iterator, executor, bufferSize);
+  }
+
 }
@@ -0,0 +1,173 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Airbyte
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.airbyte.commons.util;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.AbstractIterator;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Composes multiple {@link AutoCloseableIterator}s by draining them concurrently. Up to
+ * parallelism internal iterators are consumed at the same time, each on its own thread, into a
+ * single bounded buffer from which this iterator reads. Records of different internal iterators are
+ * interleaved in no particular order, records of the same internal iterator keep their relative
+ * order.
+ *
+ * <p>
+ * Each internal iterator is closed by the thread that drained it as soon as it is exhausted. If an
+ * internal iterator throws, the exception is rethrown by this iterator. Calling
+ * {@link ConcurrentMergingIterator#close()} stops all threads and closes every internal iterator.
+ * </p>
+ *
+ * @param <T> type
+ */
+public final class ConcurrentMergingIterator<T> extends AbstractIterator<T> implements AutoCloseableIterator<T> {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ConcurrentMergingIterator.class);
+
+  private static final long POLL_TIMEOUT_MS = 100;
+
+  private final List<AutoCloseableIterator<T>> iterators;
+  private final int parallelism;
+  private final BlockingQueue<T> buffer;
+  private final AtomicInteger remainingIterators;
+  private final AtomicReference<Throwable> failure;
+
+  private ExecutorService executor;
+  private volatile boolean hasClosed;
+
+  ConcurrentMergingIterator(List<AutoCloseableIterator<T>> iterators, int parallelism, int bufferSize) {
+    Preconditions.checkNotNull(iterators);
+    Preconditions.checkArgument(parallelism > 0, "parallelism must be positive");
+
+    this.iterators = iterators;
+    this.parallelism = parallelism;
+    this.buffer = new ArrayBlockingQueue<>(bufferSize);
+    this.remainingIterators = new AtomicInteger(iterators.size());
+    this.failure = new AtomicReference<>();
+    this.hasClosed = false;
+  }
+
+  @Override
+  protected T computeNext() {
+    Preconditions.checkState(!hasClosed);
+    if (executor == null) {
+      start();
+    }
+
+    try {
+      while (true) {
+        throwIfFailed();
+        final T next = buffer.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        if (next != null) {
+          return next;
+        }
+        // iterators are only counted as done after all their records were put in the buffer.
+        if (remainingIterators.get() == 0 && buffer.isEmpty()) {
+          throwIfFailed();
+          executor.shutdown();
+          return endOfData();
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(e);
+    }
+  }
+
+  private void start() {
+    executor = Executors.newFixedThreadPool(
+        Math.max(1, Math.min(parallelism, iterators.size())),
+        new ThreadFactoryBuilder().setNameFormat("concurrent-merging-iterator-%d").setDaemon(true).build());
+    for (final AutoCloseableIterator<T> iterator : iterators) {
+      executor.submit(() -> drain(iterator));
+    }
+  }
+
+  private void drain(AutoCloseableIterator<T> iterator) {
+    try {
+      while (!hasClosed && failure.get() == null && iterator.hasNext()) {
+        final T next = iterator.next();
+        while (!buffer.offer(next, POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+          if (hasClosed || failure.get() != null) {
+            return;
+          }
+        }
+      }
+      iterator.close();
+    } catch (Throwable e) {
+      failure.compareAndSet(null, e);
+    } finally {
+      remainingIterators.decrementAndGet();
+    }
+  }
+
+  private void throwIfFailed() {
+    final Throwable e = failure.get();
+    if (e != null) {
+      if (e instanceof RuntimeException) {
+        throw (RuntimeException) e;
+      }
+      throw new RuntimeException(e);
+    }
+  }
+
+  @Override
+  public void close() throws Exception {
+    hasClosed = true;
+    if (executor != null) {
+      executor.shutdownNow();
+      if (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+        LOGGER.warn("Threads draining iterators did not terminate in time.");
+      }
+    }
+
+    final List<Exception> exceptions = new ArrayList<>();
+    for (AutoCloseableIterator<T> iterator : iterators) {
+      try {
+        iterator.close();
+      } catch (Exception e) {
+        LOGGER.error("exception while closing", e);
+        exceptions.add(e);
+      }
+    }
+
+    if (!exceptions.isEmpty()) {
+      throw exceptions.get(0);
+    }
+  }
+
+}
@@ -0,0 +1,167 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Airbyte
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.airbyte.commons.util;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.AbstractIterator;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reads ahead of its consumer. The internal iterator is drained by a task submitted to the provided
+ * executor as soon as this iterator is created, into a bounded buffer from which this iterator
+ * reads. Records keep their order. The executor bounds how many iterators read ahead at the same
+ * time; an iterator whose task has not started yet waits for it when consumed.
+ *
+ * <p>
+ * The internal iterator is closed exactly once, by the draining task when it stops, whether the
+ * internal iterator is exhausted, failed or this iterator was closed. If the internal iterator
+ * throws, the exception is rethrown by this iterator. Calling {@link PrefetchingIterator#close()}
+ * stops the draining task and waits for it to close the internal iterator. Only if the task never
+ * started is the internal iterator closed by {@link PrefetchingIterator#close()} itself.
+ * </p>
+ *
+ * @param <T> type
+ */
+public final class PrefetchingIterator<T> extends AbstractIterator<T> implements AutoCloseableIterator<T> {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(PrefetchingIterator.class);
+
+  private static final long POLL_TIMEOUT_MS = 100;
+
+  private final AutoCloseableIterator<T> iterator;
+  private final BlockingQueue<T> buffer;
+  private final AtomicReference<Throwable> failure;
+  private final AtomicBoolean hasStarted;
+  private final CountDownLatch drained;
+
+  private volatile boolean isDone;
+  private volatile boolean hasClosed;
+
+  PrefetchingIterator(AutoCloseableIterator<T> iterator, ExecutorService executor, int bufferSize) {
+    Preconditions.checkNotNull(iterator);
+    Preconditions.checkNotNull(executor);
+
+    this.iterator = iterator;
+    this.buffer = new ArrayBlockingQueue<>(bufferSize);
+    this.failure = new AtomicReference<>();
+    this.hasStarted = new AtomicBoolean(false);
+    this.drained = new CountDownLatch(1);
+    this.isDone = false;
+    this.hasClosed = false;
+
+    executor.submit(this::drain);
+  }
+
+  @Override
+  protected T computeNext() {
+    Preconditions.checkState(!hasClosed);
+
+    try {
+      while (true) {
+        final T next = buffer.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        if (next != null) {
+          return next;
+        }
+        // the task is only marked as done after all records were put in the buffer.
+        if (isDone && buffer.isEmpty()) {
+          throwIfFailed();
+          return endOfData();
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(e);
+    }
+  }
+
+  private void drain() {
+    // close may have been called before the task got to run.
+    if (!hasStarted.compareAndSet(false, true)) {
+      return;
+    }
+
+    try {
+      while (!hasClosed && iterator.hasNext()) {
+        final T next = iterator.next();
+        while (!buffer.offer(next, POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+          if (hasClosed) {
+            return;
+          }
+        }
+      }
+    } catch (Throwable e) {
+      failure.set(e);
+    } finally {
+      // closed here rather than in close(), which may give up waiting while next() is still running.
+      try {
+        iterator.close();
+      } catch (Throwable e) {
+        if (hasClosed) {
+          LOGGER.warn("Failed to close the internal iterator.", e);
+        } else {
+          failure.compareAndSet(null, e);
+        }
+      }
+      isDone = true;
+      drained.countDown();
+    }
+  }
+
+  private void throwIfFailed() {
+    final Throwable e = failure.get();
+    if (e != null) {
+      if (e instanceof RuntimeException) {
+        throw (RuntimeException) e;
+      }
+      throw new RuntimeException(e);
+    }
+  }
+
+  @Override
+  public void close() throws Exception {
+    hasClosed = true;
+    if (hasStarted.compareAndSet(false, true)) {
+      // the task will never run, so the internal iterator is closed here.
+      try {
+        iterator.close();
+      } finally {
+        isDone = true;
+        drained.countDown();
+      }
+    } else if (!drained.await(1, TimeUnit.MINUTES)) {
+      // the task closes the internal iterator once its pending read returns.
+      LOGGER.warn("Thread draining iterator did not stop in time.");
+    }
+  }
+
+}
@@ -0,0 +1,120 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Airbyte
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.airbyte.commons.concurrency;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class SizeBoundedBlockingQueueTest {
+
+  @Test
+  void testElementBound() throws InterruptedException {
+    final SizeBoundedBlockingQueue<String> queue = new SizeBoundedBlockingQueue<>(2, 1_000, String::length);
+
+    assertTrue(queue.offer("a", 0, TimeUnit.MILLISECONDS));
+    assertTrue(queue.offer("b", 0, TimeUnit.MILLISECONDS));
+    assertFalse(queue.offer("c", 10, TimeUnit.MILLISECONDS));
+
+    assertEquals("a", queue.poll());
+    assertTrue(queue.offer("c", 0, TimeUnit.MILLISECONDS));
+    assertEquals(2, queue.size());
+    assertEquals(2, queue.getPeakSize());
+    assertEquals(1, queue.getBlockedPuts());
+  }
+
+  @Test
+  void testByteBound() throws InterruptedException {
+    final SizeBoundedBlockingQueue<String> queue = new SizeBoundedBlockingQueue<>(100, 5, String::length);
+
+    queue.put("abc");
+    assertFalse(queue.offer("def", 10, TimeUnit.MILLISECONDS));
+    assertTrue(queue.offer("de", 0, TimeUnit.MILLISECONDS));
+    assertEquals(5, queue.getByteSize());
+
+    assertEquals("abc", queue.poll(0, TimeUnit.MILLISECONDS));
+    assertEquals("de", queue.poll(0, TimeUnit.MILLISECONDS));
+    assertNull(queue.poll(10, TimeUnit.MILLISECONDS));
+    assertEquals(0, queue.getByteSize());
+    assertEquals(5, queue.getPeakByteSize());
+  }
+
+  @Test
+  void testOversizedElementAcceptedWhenEmpty() throws InterruptedException {
+    final SizeBoundedBlockingQueue<String> queue = new SizeBoundedBlockingQueue<>(100, 5, String::length);
+
+    assertTrue(queue.offer("much too long", 0, TimeUnit.MILLISECONDS));
+    assertFalse(queue.offer("a", 10, TimeUnit.MILLISECONDS));
+    assertEquals("much too long", queue.poll());
+    assertTrue(queue.isEmpty());
+  }
+
+  @Test
+  void testPutBlocksUntilConsumed() throws Exception {
+    final SizeBoundedBlockingQueue<String> queue = new SizeBoundedBlockingQueue<>(1, 1_000, String::length);
+    queue.put("a");
+
+    final CompletableFuture<Void> producer = CompletableFuture.runAsync(() -> {
+      try {
+        queue.put("b");
+      } catch (InterruptedException e) {
+        throw new RuntimeException(e);
+      }
+    });
+
+    Thread.sleep(50);
+    assertFalse(producer.isDone());
+    assertEquals("a", queue.poll(1, TimeUnit.SECONDS));
+    producer.get(1, TimeUnit.SECONDS);
+    assertEquals("b", queue.poll(1, TimeUnit.SECONDS));
+  }
+
+  @Test
+  void testReleaseUnblocksProducer() throws Exception {
+    final SizeBoundedBlockingQueue<String> queue = new SizeBoundedBlockingQueue<>(1, 1_000, String::length);
+    queue.put("a");
+
+    final CompletableFuture<Void> producer = CompletableFuture.runAsync(() -> {
+      try {
+        queue.put("b");
+        queue.put("c");
+      } catch (InterruptedException e) {
+        throw new RuntimeException(e);
+      }
+    });
+
+    Thread.sleep(50);
+    assertFalse(producer.isDone());
+    queue.release();
+    producer.get(1, TimeUnit.SECONDS);
+    assertEquals(3, queue.size());
+  }
+
+}
@@ -36,6 +36,7 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
+import java.io.ByteArrayOutputStream;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
@@ -213,6 +214,23 @@ class JsonsTest {
     assertArrayEquals(jsonString.getBytes(Charsets.UTF_8), Jsons.toBytes(Jsons.deserialize(jsonString)));
   }
 
+  @Test
+  void testGetSerializedByteSize() {
+    final String jsonString = "{\"test\":\"abc\",\"unicode\":\"\u00e9t\u00e9\"}";
+    assertEquals(jsonString.getBytes(Charsets.UTF_8).length, Jsons.getSerializedByteSize(Jsons.deserialize(jsonString)));
+  }
+
+  @Test
+  void testSerializeToStream() {
+    final String jsonString = "{\"test\":\"abc\",\"unicode\":\"\u00e9t\u00e9\"}";
+    final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    Jsons.serialize(Jsons.deserialize(jsonString), outputStream);
+    outputStream.write('\n');
+    Jsons.serialize(Jsons.deserialize(jsonString), outputStream);
+
+    assertEquals(jsonString + "\n" + jsonString, outputStream.toString(Charsets.UTF_8));
+  }
+
   @Test
   void testKeys() {
     // test object json node
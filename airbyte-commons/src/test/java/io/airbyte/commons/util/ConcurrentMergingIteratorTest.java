@@ -0,0 +1,146 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Airbyte
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.airbyte.commons.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterators;
+import io.airbyte.commons.concurrency.VoidCallable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ConcurrentMergingIteratorTest {
+
+  private VoidCallable onClose1;
+  private VoidCallable onClose2;
+  private VoidCallable onClose3;
+
+  @BeforeEach
+  void setup() {
+    onClose1 = mock(VoidCallable.class);
+    onClose2 = mock(VoidCallable.class);
+    onClose3 = mock(VoidCallable.class);
+  }
+
+  @Test
+  void testNullInput() {
+    assertThrows(NullPointerException.class, () -> new ConcurrentMergingIterator<>(null, 2, 10));
+  }
+
+  @Test
+  void testEmptyInput() throws Exception {
+    final AutoCloseableIterator<String> iterator = new ConcurrentMergingIterator<>(Collections.emptyList(), 2, 10);
+    assertFalse(iterator.hasNext());
+    iterator.close();
+  }
+
+  @Test
+  void testMultipleIterators() throws Exception {
+    final AutoCloseableIterator<String> iterator = new ConcurrentMergingIterator<>(ImmutableList.of(
+        AutoCloseableIterators.fromIterator(MoreIterators.of("a", "b", "c"), onClose1),
+        AutoCloseableIterators.fromIterator(MoreIterators.of(), onClose2),
+        AutoCloseableIterators.fromIterator(MoreIterators.of("g", "h", "i"), onClose3)), 2, 1);
+
+    final List<String> actual = MoreIterators.toList(iterator);
+
+    // records of different iterators interleave, records of the same iterator keep their order.
+    assertEquals(6, actual.size());
+    assertEquals(ImmutableList.of("a", "b", "c"), actual.stream().filter(s -> s.compareTo("c") <= 0).collect(ImmutableList.toImmutableList()));
+    assertEquals(ImmutableList.of("g", "h", "i"), actual.stream().filter(s -> s.compareTo("g") >= 0).collect(ImmutableList.toImmutableList()));
+    verify(onClose1, times(1)).call();
+    verify(onClose2, times(1)).call();
+    verify(onClose3, times(1)).call();
+
+    iterator.close();
+  }
+
+  @Test
+  void testManyRecords() throws Exception {
+    final List<AutoCloseableIterator<Integer>> iterators = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      final int offset = i * 1000;
+      iterators.add(AutoCloseableIterators.fromIterator(Iterators.limit(new Iterator<>() {
+
+        private int next = offset;
+
+        @Override
+        public boolean hasNext() {
+          return true;
+        }
+
+        @Override
+        public Integer next() {
+          return next++;
+        }
+
+      }, 1000)));
+    }
+
+    try (final AutoCloseableIterator<Integer> iterator = new ConcurrentMergingIterator<>(iterators, 3, 10)) {
+      final List<Integer> actual = MoreIterators.toList(iterator);
+      Collections.sort(actual);
+      final List<Integer> expected = new ArrayList<>();
+      for (int i = 0; i < 10000; i++) {
+        expected.add(i);
+      }
+      assertEquals(expected, actual);
+    }
+  }
+
+  @Test
+  void testFailingIterator() throws Exception {
+    final AutoCloseableIterator<String> failing = AutoCloseableIterators.fromIterator(new Iterator<>() {
+
+      @Override
+      public boolean hasNext() {
+        throw new IllegalStateException("induced exception");
+      }
+
+      @Override
+      public String next() {
+        return null;
+      }
+
+    });
+    final AutoCloseableIterator<String> iterator = new ConcurrentMergingIterator<>(ImmutableList.of(
+        AutoCloseableIterators.fromIterator(MoreIterators.of("a", "b", "c"), onClose1),
+        failing), 2, 10);
+
+    assertThrows(IllegalStateException.class, () -> MoreIterators.toList(iterator));
+    iterator.close();
+    verify(onClose1, times(1)).call();
+  }
+
+}
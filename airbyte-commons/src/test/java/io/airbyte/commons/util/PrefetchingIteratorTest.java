@@ -0,0 +1,220 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Airbyte
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.airbyte.commons.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.google.common.collect.ImmutableList;
+import io.airbyte.commons.concurrency.VoidCallable;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class PrefetchingIteratorTest {
+
+  private ExecutorService executor;
+  private VoidCallable onClose1;
+  private VoidCallable onClose2;
+
+  @BeforeEach
+  void setup() {
+    executor = Executors.newSingleThreadExecutor();
+    onClose1 = mock(VoidCallable.class);
+    onClose2 = mock(VoidCallable.class);
+  }
+
+  @AfterEach
+  void tearDown() throws InterruptedException {
+    executor.shutdownNow();
+    assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+  }
+
+  @Test
+  void testNullInput() {
+    assertThrows(NullPointerException.class, () -> new PrefetchingIterator<>(null, executor, 10));
+  }
+
+  @Test
+  void testKeepsOrder() throws Exception {
+    final List<Integer> expected = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      expected.add(i);
+    }
+
+    try (final AutoCloseableIterator<Integer> iterator =
+        new PrefetchingIterator<>(AutoCloseableIterators.fromIterator(expected.iterator(), onClose1), executor, 10)) {
+      assertEquals(expected, MoreIterators.toList(iterator));
+    }
+    verify(onClose1, times(1)).call();
+  }
+
+  @Test
+  void testReadsAheadInSubmissionOrder() throws Exception {
+    // with a single thread, the second iterator is only read once the first one is exhausted.
+    final PrefetchingIterator<String> iterator1 =
+        new PrefetchingIterator<>(AutoCloseableIterators.fromIterator(MoreIterators.of("a", "b", "c"), onClose1), executor, 1);
+    final PrefetchingIterator<String> iterator2 =
+        new PrefetchingIterator<>(AutoCloseableIterators.fromIterator(MoreIterators.of("d", "e"), onClose2), executor, 10);
+
+    try (final AutoCloseableIterator<String> iterator = AutoCloseableIterators.concatWithEagerClose(iterator1, iterator2)) {
+      assertEquals(ImmutableList.of("a", "b", "c", "d", "e"), MoreIterators.toList(iterator));
+    }
+    verify(onClose1, times(1)).call();
+    verify(onClose2, times(1)).call();
+  }
+
+  @Test
+  void testFailingIterator() throws Exception {
+    final AutoCloseableIterator<String> failing = AutoCloseableIterators.fromIterator(new Iterator<>() {
+
+      private int count = 0;
+
+      @Override
+      public boolean hasNext() {
+        if (count == 2) {
+          throw new IllegalStateException("induced exception");
+        }
+        return true;
+      }
+
+      @Override
+      public String next() {
+        return String.valueOf(count++);
+      }
+
+    });
+
+    final AutoCloseableIterator<String> iterator = new PrefetchingIterator<>(failing, executor, 10);
+    // records read before the failure are still returned.
+    assertEquals("0", iterator.next());
+    assertEquals("1", iterator.next());
+    assertThrows(IllegalStateException.class, iterator::hasNext);
+    iterator.close();
+  }
+
+  @Test
+  void testCloseBeforeStarted() throws Exception {
+    final AtomicBoolean blocked = new AtomicBoolean(true);
+    executor.submit(() -> {
+      while (blocked.get()) {
+        Thread.sleep(10);
+      }
+      return null;
+    });
+
+    final AutoCloseableIterator<String> iterator =
+        new PrefetchingIterator<>(AutoCloseableIterators.fromIterator(MoreIterators.of("a", "b"), onClose1), executor, 10);
+    iterator.close();
+    blocked.set(false);
+
+    verify(onClose1, times(1)).call();
+    assertThrows(IllegalStateException.class, iterator::hasNext);
+  }
+
+  @Test
+  void testCloseWhileBufferIsFull() throws Exception {
+    final AutoCloseableIterator<Integer> infinite = AutoCloseableIterators.fromIterator(new Iterator<>() {
+
+      private int next = 0;
+
+      @Override
+      public boolean hasNext() {
+        return true;
+      }
+
+      @Override
+      public Integer next() {
+        return next++;
+      }
+
+    }, onClose1);
+
+    final AutoCloseableIterator<Integer> iterator = new PrefetchingIterator<>(infinite, executor, 2);
+    assertEquals(0, iterator.next());
+    iterator.close();
+
+    verify(onClose1, times(1)).call();
+    assertFalse(executor.isShutdown());
+  }
+
+  @Test
+  void testClosesInternalIteratorOnce() throws Exception {
+    final CloseCountingIterator exhausted = new CloseCountingIterator(MoreIterators.of("a", "b"));
+    final AutoCloseableIterator<String> iterator1 = new PrefetchingIterator<>(exhausted, executor, 10);
+    assertEquals(ImmutableList.of("a", "b"), MoreIterators.toList(iterator1));
+    iterator1.close();
+    iterator1.close();
+    assertEquals(1, exhausted.closeCount.get());
+
+    final CloseCountingIterator infinite = new CloseCountingIterator(Stream.generate(() -> "a").iterator());
+    final AutoCloseableIterator<String> iterator2 = new PrefetchingIterator<>(infinite, executor, 2);
+    assertEquals("a", iterator2.next());
+    iterator2.close();
+    iterator2.close();
+    assertEquals(1, infinite.closeCount.get());
+  }
+
+  private static class CloseCountingIterator implements AutoCloseableIterator<String> {
+
+    private final Iterator<String> iterator;
+    private final AtomicInteger closeCount = new AtomicInteger();
+
+    private CloseCountingIterator(Iterator<String> iterator) {
+      this.iterator = iterator;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return iterator.hasNext();
+    }
+
+    @Override
+    public String next() {
+      return iterator.next();
+    }
+
+    @Override
+    public void close() {
+      closeCount.incrementAndGet();
+    }
+
+  }
+
+}
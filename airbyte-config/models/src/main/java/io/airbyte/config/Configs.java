@@ -67,6 +67,8 @@ public interface Configs {
 
   String getKubeNamespace();
 
+  int getSchedulerMaxWorkers();
+
   // Resources
   String getCpuRequest();
 
@@ -59,6 +59,7 @@ public class EnvConfigs implements Configs {
   private static final String TEMPORAL_HOST = "TEMPORAL_HOST";
   private static final String TEMPORAL_WORKER_PORTS = "TEMPORAL_WORKER_PORTS";
   private static final String KUBE_NAMESPACE = "KUBE_NAMESPACE";
+  public static final String SCHEDULER_MAX_WORKERS = "SCHEDULER_MAX_WORKERS";
   private static final String RESOURCE_CPU_REQUEST = "RESOURCE_CPU_REQUEST";
   private static final String RESOURCE_CPU_LIMIT = "RESOURCE_CPU_LIMIT";
   private static final String RESOURCE_MEMORY_REQUEST = "RESOURCE_MEMORY_REQUEST";
@@ -69,6 +70,7 @@ public class EnvConfigs implements Configs {
   private static final long DEFAULT_MINIMUM_WORKSPACE_RETENTION_DAYS = 1;
   private static final long DEFAULT_MAXIMUM_WORKSPACE_RETENTION_DAYS = 60;
   private static final long DEFAULT_MAXIMUM_WORKSPACE_SIZE_MB = 5000;
+  private static final int DEFAULT_SCHEDULER_MAX_WORKERS = 4;
 
   public static final String DEFAULT_NETWORK = "host";
 
@@ -190,6 +192,11 @@ public class EnvConfigs implements Configs {
     return getEnvOrDefault(KUBE_NAMESPACE, DEFAULT_KUBE_NAMESPACE);
   }
 
+  @Override
+  public int getSchedulerMaxWorkers() {
+    return getEnvOrDefault(SCHEDULER_MAX_WORKERS, DEFAULT_SCHEDULER_MAX_WORKERS, Integer::parseInt);
+  }
+
   @Override
   public String getCpuRequest() {
     return getEnvOrDefault(RESOURCE_CPU_REQUEST, DEFAULT_RESOURCE_REQUIREMENT_CPU);
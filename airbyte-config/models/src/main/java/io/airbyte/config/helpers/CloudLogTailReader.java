@@ -0,0 +1,162 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Airbyte
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.airbyte.config.helpers;
+
+import com.google.common.collect.Lists;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+/**
+ * Tails a log stored as several cloud objects, as described in {@link CloudLogs}. Objects are read
+ * newest first and backwards in byte ranges, so only the ranges holding the requested lines are
+ * fetched instead of whole objects. Every further range of an object is twice as large as the
+ * previous one, so reading a whole object takes a few requests rather than one per range size.
+ *
+ * @param <T> type of the cloud objects
+ */
+class CloudLogTailReader<T> {
+
+  static final int DEFAULT_RANGE_SIZE = 1024 * 1024;
+  static final int MAX_RANGE_SIZE = 64 * 1024 * 1024;
+
+  @FunctionalInterface
+  interface RangeReader<T> {
+
+    /**
+     * Opens an object to read ranges of it. The ranges are closed once the object has been tailed.
+     */
+    ObjectRanges open(T object) throws IOException;
+
+  }
+
+  @FunctionalInterface
+  interface ObjectRanges extends Closeable {
+
+    /**
+     * @return bytes from start (inclusive) to end (exclusive) of the object
+     */
+    byte[] read(long start, long end) throws IOException;
+
+    @Override
+    default void close() throws IOException {}
+
+  }
+
+  private final ToLongFunction<T> objectSize;
+  private final RangeReader<T> rangeReader;
+  private final int rangeSize;
+
+  CloudLogTailReader(ToLongFunction<T> objectSize, RangeReader<T> rangeReader, int rangeSize) {
+    this.objectSize = objectSize;
+    this.rangeReader = rangeReader;
+    this.rangeSize = rangeSize;
+  }
+
+  /**
+   * @return the last numLines lines of the lexicographically ordered objects
+   */
+  List<String> tail(List<T> ascendingObjects, int numLines) throws IOException {
+    final Deque<List<String>> objectTails = new ArrayDeque<>();
+    int linesRead = 0;
+    for (T object : Lists.reverse(ascendingObjects)) {
+      if (linesRead >= numLines) {
+        break;
+      }
+      final List<String> objectTail = tailObject(object, numLines - linesRead);
+      objectTails.addFirst(objectTail);
+      linesRead += objectTail.size();
+    }
+
+    final List<String> lines = new ArrayList<>(linesRead);
+    objectTails.forEach(lines::addAll);
+    return lines;
+  }
+
+  private List<String> tailObject(T object, int numLines) throws IOException {
+    final Deque<byte[]> ranges = new ArrayDeque<>();
+    long start = objectSize.applyAsLong(object);
+    int lineBreaks = 0;
+    int bytesRead = 0;
+    if (start > 0) {
+      try (ObjectRanges objectRanges = rangeReader.open(object)) {
+        int nextRangeSize = rangeSize;
+        // once the ranges hold more line breaks than lines are needed, they hold enough complete lines.
+        while (start > 0 && lineBreaks <= numLines) {
+          final long end = start;
+          start = Math.max(0, end - nextRangeSize);
+          final byte[] range = objectRanges.read(start, end);
+          ranges.addFirst(range);
+          lineBreaks += countLineBreaks(range);
+          bytesRead += range.length;
+          nextRangeSize = Math.min(MAX_RANGE_SIZE, 2 * nextRangeSize);
+        }
+      }
+    }
+
+    final byte[] data = new byte[bytesRead];
+    int offset = 0;
+    for (byte[] range : ranges) {
+      System.arraycopy(range, 0, data, offset, range.length);
+      offset += range.length;
+    }
+
+    final List<String> lines = readLines(data);
+    if (start > 0 && !lines.isEmpty()) {
+      // the first line may begin before the fetched ranges.
+      lines.remove(0);
+    }
+    return lines.subList(Math.max(0, lines.size() - numLines), lines.size());
+  }
+
+  private static int countLineBreaks(byte[] data) {
+    int count = 0;
+    for (byte b : data) {
+      if (b == '\n') {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  private static List<String> readLines(byte[] data) throws IOException {
+    final List<String> lines = new ArrayList<>();
+    try (var reader = new BufferedReader(new InputStreamReader(new ByteArrayInputStream(data), StandardCharsets.UTF_8))) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        lines.add(line);
+      }
+    }
+    return lines;
+  }
+
+}
@@ -26,17 +26,18 @@ package io.airbyte.config.helpers;
 
 import com.google.api.client.util.Preconditions;
 import com.google.api.gax.paging.Page;
+import com.google.cloud.ReadChannel;
 import com.google.cloud.storage.Blob;
 import com.google.cloud.storage.Storage;
 import com.google.cloud.storage.StorageOptions;
-import com.google.common.collect.Lists;
 import io.airbyte.commons.string.Strings;
 import io.airbyte.config.EnvConfigs;
-import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -89,32 +90,39 @@ public class GcsLogs implements CloudLogs {
     for (Blob blob : blobs.iterateAll()) {
       ascendingTimestampBlobs.add(blob);
     }
-    var descendingTimestampBlobs = Lists.reverse(ascendingTimestampBlobs);
-
-    var lines = new ArrayList<String>();
-    int linesRead = 0;
 
     LOGGER.debug("Start getting GCS objects.");
-    while (linesRead <= numLines && !descendingTimestampBlobs.isEmpty()) {
-      var poppedBlob = descendingTimestampBlobs.remove(0);
-      try (var inMemoryData = new ByteArrayOutputStream()) {
-        poppedBlob.downloadTo(inMemoryData);
-        var currFileLines = inMemoryData.toString().split("\n");
-        List<String> currFileLinesReversed = Lists.reverse(List.of(currFileLines));
-        for (var line : currFileLinesReversed) {
-          if (linesRead == numLines) {
-            break;
-          }
-          lines.add(0, line);
-          linesRead++;
-        }
-      }
-    }
+    var tailReader = new CloudLogTailReader<Blob>(Blob::getSize, GcsLogs::openRanges, CloudLogTailReader.DEFAULT_RANGE_SIZE);
+    var lines = tailReader.tail(ascendingTimestampBlobs, numLines);
 
     LOGGER.debug("Done retrieving GCS logs: {}.", logPath);
     return lines;
   }
 
+  // one reader per blob. each range is fetched in one request by sizing the reader's chunks to it.
+  private static CloudLogTailReader.ObjectRanges openRanges(Blob blob) {
+    final ReadChannel reader = blob.reader();
+    return new CloudLogTailReader.ObjectRanges() {
+
+      @Override
+      public byte[] read(long start, long end) throws IOException {
+        var buffer = ByteBuffer.allocate(Math.toIntExact(end - start));
+        reader.setChunkSize(buffer.capacity());
+        reader.seek(start);
+        while (buffer.hasRemaining() && reader.read(buffer) >= 0) {
+          // keep reading until the range is filled or the blob ends.
+        }
+        return Arrays.copyOf(buffer.array(), buffer.position());
+      }
+
+      @Override
+      public void close() {
+        reader.close();
+      }
+
+    };
+  }
+
   private static void createGcsClientIfNotExists(LogConfigs configs) {
     if (GCS == null) {
       Preconditions.checkNotNull(configs.getGcpStorageBucket());
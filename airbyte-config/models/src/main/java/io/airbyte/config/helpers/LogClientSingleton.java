@@ -24,13 +24,18 @@
 
 package io.airbyte.config.helpers;
 
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import io.airbyte.commons.io.IOs;
 import io.airbyte.config.Configs;
 import io.airbyte.config.Configs.WorkerEnvironment;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
@@ -48,8 +53,23 @@ public class LogClientSingleton {
   private static final Logger LOGGER = LoggerFactory.getLogger(LogClientSingleton.class);
 
   private static final int LOG_TAIL_SIZE = 1000000;
+  // bounds the estimated heap size of the cached log tails.
+  private static final long COMPLETED_LOG_TAILS_CACHE_MAX_BYTES = 64 * 1024 * 1024;
+  // String and backing array headers plus the list slot of a cached line, on top of its characters.
+  static final int CACHED_LINE_OVERHEAD_BYTES = 56;
   private static CloudLogs logClient;
 
+  /**
+   * Tails of logs that are no longer written to, keyed by job log path. They are retained by size,
+   * least recently used first. The cache has a single segment, as Guava splits the maximum weight
+   * across segments and would otherwise evict any tail larger than a segment's share right away.
+   */
+  private static final Cache<Path, List<String>> COMPLETED_JOB_LOG_TAILS = CacheBuilder.newBuilder()
+      .concurrencyLevel(1)
+      .maximumWeight(COMPLETED_LOG_TAILS_CACHE_MAX_BYTES)
+      .weigher((Path path, List<String> lines) -> estimateSizeInBytes(lines))
+      .build();
+
   // Any changes to the following values must also be propagated to the log4j2.xml in main/resources.
   public static String WORKSPACE_MDC_KEY = "workspace_app_root";
   public static String JOB_LOG_PATH_MDC_KEY = "job_log_path";
@@ -121,6 +141,31 @@ public class LogClientSingleton {
     return logClient.tailCloudLog(logConfigs, cloudLogPath, LOG_TAIL_SIZE);
   }
 
+  /**
+   * Same as {@link #getJobLogFile(Configs, Path)} for logs that are no longer written to, such as the
+   * logs of a finished attempt. Their tails are cached, so repeated reads do not hit the log storage.
+   */
+  public static List<String> getCompletedJobLogFile(Configs configs, Path logPath) throws IOException {
+    try {
+      return COMPLETED_JOB_LOG_TAILS.get(logPath, () -> Collections.unmodifiableList(getJobLogFile(configs, logPath)));
+    } catch (ExecutionException e) {
+      Throwables.throwIfInstanceOf(e.getCause(), IOException.class);
+      throw new RuntimeException(e.getCause());
+    }
+  }
+
+  /**
+   * Estimates the heap taken by cached lines. Log lines are mostly Latin-1 and stored with one byte
+   * per character, so short lines are dominated by their fixed per-line overhead.
+   */
+  static int estimateSizeInBytes(List<String> lines) {
+    long bytes = 0;
+    for (String line : lines) {
+      bytes += CACHED_LINE_OVERHEAD_BYTES + line.length();
+    }
+    return (int) Math.min(Integer.MAX_VALUE, bytes);
+  }
+
   public static void setJobMdc(Path path) {
     MDC.put(LogClientSingleton.JOB_LOG_PATH_MDC_KEY, path.resolve(LogClientSingleton.LOG_FILENAME).toString());
   }
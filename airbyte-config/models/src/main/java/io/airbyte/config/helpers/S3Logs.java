@@ -26,14 +26,10 @@ package io.airbyte.config.helpers;
 
 import com.google.api.client.util.Preconditions;
 import com.google.common.annotations.VisibleForTesting;
-import com.google.common.collect.Lists;
 import io.airbyte.commons.string.Strings;
-import java.io.BufferedReader;
-import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.InputStreamReader;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.ArrayList;
@@ -44,6 +40,7 @@ import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
 import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.S3Object;
 
 public class S3Logs implements CloudLogs {
 
@@ -101,24 +98,14 @@ public class S3Logs implements CloudLogs {
 
     var s3Bucket = configs.getS3LogBucket();
     LOGGER.debug("Start making S3 list request.");
-    ArrayList<String> ascendingTimestampKeys = getAscendingObjectKeys(logPath, s3Bucket);
-    var descendingTimestampKeys = Lists.reverse(ascendingTimestampKeys);
-
-    var lines = new ArrayList<String>();
-    int linesRead = 0;
+    List<S3Object> ascendingTimestampObjs = getAscendingObjects(logPath, s3Bucket);
 
     LOGGER.debug("Start getting S3 objects.");
-    while (linesRead <= numLines && !descendingTimestampKeys.isEmpty()) {
-      var poppedKey = descendingTimestampKeys.remove(0);
-      List<String> currFileLinesReversed = Lists.reverse(getCurrFile(s3Bucket, poppedKey));
-      for (var line : currFileLinesReversed) {
-        if (linesRead == numLines) {
-          break;
-        }
-        lines.add(0, line);
-        linesRead++;
-      }
-    }
+    var tailReader = new CloudLogTailReader<S3Object>(
+        S3Object::size,
+        obj -> (start, end) -> getObjectRange(s3Bucket, obj.key(), start, end),
+        CloudLogTailReader.DEFAULT_RANGE_SIZE);
+    var lines = tailReader.tail(ascendingTimestampObjs, numLines);
 
     LOGGER.debug("Done retrieving S3 logs: {}.", logPath);
     return lines;
@@ -144,35 +131,26 @@ public class S3Logs implements CloudLogs {
     }
   }
 
-  private ArrayList<String> getAscendingObjectKeys(String logPath, String s3Bucket) {
+  private List<S3Object> getAscendingObjects(String logPath, String s3Bucket) {
     var listObjReq = ListObjectsV2Request.builder().bucket(s3Bucket).prefix(logPath).build();
-    var ascendingTimestampObjs = new ArrayList<String>();
+    var ascendingTimestampObjs = new ArrayList<S3Object>();
 
     // Objects are returned in lexicographical order.
     for (var page : S3.listObjectsV2Paginator(listObjReq)) {
-      for (var objMetadata : page.contents()) {
-        ascendingTimestampObjs.add(objMetadata.key());
-      }
+      ascendingTimestampObjs.addAll(page.contents());
     }
     return ascendingTimestampObjs;
   }
 
-  private static ArrayList<String> getCurrFile(String s3Bucket, String poppedKey) throws IOException {
+  private static byte[] getObjectRange(String s3Bucket, String key, long start, long end) {
     var getObjReq = GetObjectRequest.builder()
-        .key(poppedKey)
+        .key(key)
         .bucket(s3Bucket)
+        // http ranges are inclusive.
+        .range(String.format("bytes=%d-%d", start, end - 1))
         .build();
 
-    var data = S3.getObjectAsBytes(getObjReq).asByteArray();
-    var is = new ByteArrayInputStream(data);
-    var currentFileLines = new ArrayList<String>();
-    try (var reader = new BufferedReader(new InputStreamReader(is))) {
-      String temp;
-      while ((temp = reader.readLine()) != null) {
-        currentFileLines.add(temp);
-      }
-    }
-    return currentFileLines;
+    return S3.getObjectAsBytes(getObjReq).asByteArray();
   }
 
 }
@@ -179,4 +179,13 @@ class EnvConfigsTest {
     Assertions.assertEquals(Configs.TrackingStrategy.LOGGING, config.getTrackingStrategy());
   }
 
+  @Test
+  void testSchedulerMaxWorkers() {
+    when(function.apply(EnvConfigs.SCHEDULER_MAX_WORKERS)).thenReturn(null);
+    Assertions.assertEquals(4, config.getSchedulerMaxWorkers());
+
+    when(function.apply(EnvConfigs.SCHEDULER_MAX_WORKERS)).thenReturn("16");
+    Assertions.assertEquals(16, config.getSchedulerMaxWorkers());
+  }
+
 }
@@ -0,0 +1,144 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Airbyte
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.airbyte.config.helpers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CloudLogTailReaderTest {
+
+  private static final List<byte[]> OBJECTS = List.of(
+      "Line 1\nLine 2\nLine 3\n".getBytes(StandardCharsets.UTF_8),
+      "Line 4\nLine 5\nLine 6\n".getBytes(StandardCharsets.UTF_8),
+      "Line 7\nLine 8\nLine 9".getBytes(StandardCharsets.UTF_8));
+
+  private List<Integer> objectsOpened;
+  private List<Integer> objectsClosed;
+  private List<Integer> objectsRead;
+  private long bytesRead;
+
+  @BeforeEach
+  void setup() {
+    objectsOpened = new ArrayList<>();
+    objectsClosed = new ArrayList<>();
+    objectsRead = new ArrayList<>();
+    bytesRead = 0;
+  }
+
+  private CloudLogTailReader<byte[]> reader(int rangeSize) {
+    return reader(OBJECTS, rangeSize);
+  }
+
+  private CloudLogTailReader<byte[]> reader(List<byte[]> objects, int rangeSize) {
+    return new CloudLogTailReader<>(object -> object.length, object -> {
+      final int index = objects.indexOf(object);
+      objectsOpened.add(index);
+      return new CloudLogTailReader.ObjectRanges() {
+
+        @Override
+        public byte[] read(long start, long end) {
+          objectsRead.add(index);
+          bytesRead += end - start;
+          return Arrays.copyOfRange(object, (int) start, (int) end);
+        }
+
+        @Override
+        public void close() {
+          objectsClosed.add(index);
+        }
+
+      };
+    }, rangeSize);
+  }
+
+  @Test
+  void testTailAcrossObjects() throws IOException {
+    assertEquals(List.of("Line 4", "Line 5", "Line 6", "Line 7", "Line 8", "Line 9"), reader(1024).tail(OBJECTS, 6));
+    assertEquals(List.of(2, 1), objectsRead);
+  }
+
+  @Test
+  void testTailMoreLinesThanAvailable() throws IOException {
+    assertEquals(
+        List.of("Line 1", "Line 2", "Line 3", "Line 4", "Line 5", "Line 6", "Line 7", "Line 8", "Line 9"),
+        reader(1024).tail(OBJECTS, 100));
+  }
+
+  @Test
+  void testTailReadsOnlyTheEndOfObjects() throws IOException {
+    assertEquals(List.of("Line 5", "Line 6", "Line 7", "Line 8", "Line 9"), reader(8).tail(OBJECTS, 5));
+    // the first object is never opened.
+    assertEquals(List.of(2, 2, 1, 1), objectsRead);
+    assertEquals(41, bytesRead);
+    assertEquals(List.of(2, 1), objectsOpened);
+    assertEquals(List.of(2, 1), objectsClosed);
+  }
+
+  @Test
+  void testTailDoublesTheRangeSize() throws IOException {
+    final StringBuilder olderObject = new StringBuilder();
+    final StringBuilder lastObject = new StringBuilder();
+    final List<String> lastObjectLines = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      olderObject.append(String.format("Old %03d\n", i));
+      lastObject.append(String.format("Line %03d\n", i));
+      lastObjectLines.add(String.format("Line %03d", i));
+    }
+    // 900 bytes, read in ranges of 8, 16, 32, 64, 128, 256 and 512 bytes rather than 113 ranges of 8.
+    final List<byte[]> objects = List.of(
+        olderObject.toString().getBytes(StandardCharsets.UTF_8),
+        lastObject.toString().getBytes(StandardCharsets.UTF_8));
+
+    assertEquals(lastObjectLines.subList(90, 100), reader(objects, 8).tail(objects, 10));
+    assertEquals(List.of(1, 1, 1, 1), objectsRead);
+
+    setup();
+    assertEquals(lastObjectLines, reader(objects, 8).tail(objects, 100));
+    assertEquals(List.of(1, 1, 1, 1, 1, 1, 1), objectsRead);
+    assertEquals(900, bytesRead);
+    assertEquals(List.of(1), objectsOpened);
+  }
+
+  @Test
+  void testTailWithRangesSplittingLines() throws IOException {
+    for (int rangeSize = 1; rangeSize < 25; rangeSize++) {
+      assertEquals(List.of("Line 3", "Line 4", "Line 5", "Line 6", "Line 7", "Line 8", "Line 9"), reader(rangeSize).tail(OBJECTS, 7),
+          "range size: " + rangeSize);
+    }
+  }
+
+  @Test
+  void testTailOfNoObjects() throws IOException {
+    assertEquals(List.of(), reader(1024).tail(List.of(), 5));
+    assertEquals(List.of(), reader(1024).tail(List.of(new byte[0]), 5));
+  }
+
+}
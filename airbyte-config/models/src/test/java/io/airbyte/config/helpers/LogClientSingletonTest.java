@@ -0,0 +1,80 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Airbyte
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.airbyte.config.helpers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.airbyte.commons.io.IOs;
+import io.airbyte.config.Configs;
+import io.airbyte.config.Configs.WorkerEnvironment;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class LogClientSingletonTest {
+
+  @Test
+  void testCompletedJobLogFileIsCached() throws IOException {
+    final Configs configs = mock(Configs.class);
+    when(configs.getWorkerEnvironment()).thenReturn(WorkerEnvironment.DOCKER);
+    final Path logPath = Files.createTempDirectory("test").resolve("logs.log");
+
+    IOs.writeFile(logPath, "line 1\nline 2\n");
+    assertEquals(List.of("line 1", "line 2"), LogClientSingleton.getJobLogFile(configs, logPath));
+    assertEquals(List.of("line 1", "line 2"), LogClientSingleton.getCompletedJobLogFile(configs, logPath));
+
+    IOs.writeFile(logPath, "line 1\nline 2\nline 3\n");
+    assertEquals(List.of("line 1", "line 2", "line 3"), LogClientSingleton.getJobLogFile(configs, logPath));
+    assertEquals(List.of("line 1", "line 2"), LogClientSingleton.getCompletedJobLogFile(configs, logPath));
+  }
+
+  @Test
+  void testLargeCompletedJobLogFileIsCached() throws IOException {
+    final Configs configs = mock(Configs.class);
+    when(configs.getWorkerEnvironment()).thenReturn(WorkerEnvironment.DOCKER);
+    final Path logPath = Files.createTempDirectory("test").resolve("logs.log");
+    // more than a quarter of the cache, which is what a segment would get with the default concurrency.
+    final List<String> lines = IntStream.range(0, 300_000).mapToObj(i -> String.format("line %06d", i)).collect(Collectors.toList());
+    assertTrue(LogClientSingleton.estimateSizeInBytes(lines) > 16 * 1024 * 1024);
+
+    IOs.writeFile(logPath, String.join("\n", lines) + "\n");
+    assertEquals(lines.size(), LogClientSingleton.getCompletedJobLogFile(configs, logPath).size());
+
+    IOs.writeFile(logPath, "line 1\n");
+    assertEquals(lines.size(), LogClientSingleton.getCompletedJobLogFile(configs, logPath).size());
+  }
+
+  @Test
+  void testCachedLineSizeIncludesPerLineOverhead() {
+    assertEquals(2 * LogClientSingleton.CACHED_LINE_OVERHEAD_BYTES + 6, LogClientSingleton.estimateSizeInBytes(List.of("", "line 1")));
+  }
+
+}
@@ -26,10 +26,13 @@ package io.airbyte.config.persistence;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.google.common.collect.Lists;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
 import io.airbyte.commons.json.Jsons;
 import io.airbyte.config.ConfigSchema;
 import io.airbyte.validation.json.JsonValidationException;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Collections;
@@ -56,6 +59,10 @@ public class FileSystemConfigPersistence implements ConfigPersistence {
   private final Path storageRoot;
   // root for where configs are stored
   private final Path configRoot;
+  // parsed configs, keyed by path. an entry is only used while the file still has the content it was
+  // parsed from, so configs written by another process are picked up too, even when the rewrite
+  // keeps the size and falls within the modification time granularity of the file system.
+  private final Map<Path, CachedConfig> configCache = new HashMap<>();
 
   public static ConfigPersistence createWithValidation(final Path storageRoot) {
     return new ValidatingConfigPersistence(new FileSystemConfigPersistence(storageRoot));
@@ -85,6 +92,7 @@ public class FileSystemConfigPersistence implements ConfigPersistence {
   public <T> void writeConfig(ConfigSchema configType, String configId, T config) throws IOException {
     synchronized (lock) {
       writeConfigInternal(configType, configId, config);
+      configCache.remove(buildConfigPath(configType, configId, configRoot));
     }
   }
 
@@ -170,6 +178,9 @@ public class FileSystemConfigPersistence implements ConfigPersistence {
 
     FileUtils.moveDirectory(rootOverride.toFile(), configRoot.toFile());
     LOGGER.info("Renamed " + importDirectory + " to config successfully");
+    synchronized (lock) {
+      configCache.clear();
+    }
 
     FileUtils.deleteDirectory(storageRoot.resolve(oldConfigsDir).toFile());
     LOGGER.info("Deleted {}", oldConfigsDir);
@@ -180,10 +191,24 @@ public class FileSystemConfigPersistence implements ConfigPersistence {
     // validate file with schema
     final Path configPath = buildConfigPath(configType, configId, configRoot);
     if (!Files.exists(configPath)) {
+      configCache.remove(configPath);
       throw new ConfigNotFoundException(configType, configId);
     } else {
-      return Jsons.deserialize(Files.readString(configPath), clazz);
+      return Jsons.object(readConfig(configPath), clazz);
+    }
+  }
+
+  private JsonNode readConfig(Path configPath) throws IOException {
+    final byte[] content = Files.readAllBytes(configPath);
+    final HashCode contentHash = Hashing.sha256().hashBytes(content);
+    final CachedConfig cachedConfig = configCache.get(configPath);
+    if (cachedConfig != null && cachedConfig.contentHash.equals(contentHash)) {
+      return cachedConfig.config;
     }
+
+    final JsonNode config = Jsons.deserialize(new String(content, StandardCharsets.UTF_8));
+    configCache.put(configPath, new CachedConfig(config, contentHash));
+    return config;
   }
 
   private <T> List<T> listConfigsInternal(ConfigSchema configType, Class<T> clazz) throws JsonValidationException, IOException {
@@ -224,6 +249,18 @@ public class FileSystemConfigPersistence implements ConfigPersistence {
     Files.writeString(configPath, Jsons.serialize(config));
   }
 
+  private static class CachedConfig {
+
+    private final JsonNode config;
+    private final HashCode contentHash;
+
+    CachedConfig(JsonNode config, HashCode contentHash) {
+      this.config = config;
+      this.contentHash = contentHash;
+    }
+
+  }
+
   private static Path buildConfigPath(ConfigSchema configType, String configId, Path storageRoot) {
     return buildTypePath(configType, storageRoot).resolve(String.format("%s.json", configId));
   }
@@ -27,6 +27,7 @@ package io.airbyte.config.persistence;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 import com.google.common.collect.Sets;
+import io.airbyte.commons.json.Jsons;
 import io.airbyte.config.ConfigSchema;
 import io.airbyte.config.JobSyncConfig.NamespaceDefinitionType;
 import io.airbyte.config.StandardSourceDefinition;
@@ -35,6 +36,7 @@ import io.airbyte.validation.json.JsonValidationException;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
 import java.util.List;
 import java.util.UUID;
 import org.junit.jupiter.api.BeforeEach;
@@ -57,11 +59,12 @@ class FileSystemConfigPersistenceTest {
     SOURCE_2.withSourceDefinitionId(UUID_2).withName("apache storm");
   }
 
+  private Path rootPath;
   private FileSystemConfigPersistence configPersistence;
 
   @BeforeEach
   void setUp() throws IOException {
-    final Path rootPath = Files.createTempDirectory(Files.createDirectories(TEST_ROOT), FileSystemConfigPersistenceTest.class.getName());
+    rootPath = Files.createTempDirectory(Files.createDirectories(TEST_ROOT), FileSystemConfigPersistenceTest.class.getName());
 
     configPersistence = new FileSystemConfigPersistence(rootPath);
   }
@@ -88,6 +91,62 @@ class FileSystemConfigPersistenceTest {
         Sets.newHashSet(configPersistence.listConfigs(ConfigSchema.STANDARD_SOURCE_DEFINITION, StandardSourceDefinition.class)));
   }
 
+  @Test
+  void testReadConfigUpdatedAfterRead() throws IOException, JsonValidationException, ConfigNotFoundException {
+    configPersistence.writeConfig(ConfigSchema.STANDARD_SOURCE_DEFINITION, UUID_1.toString(), SOURCE_1);
+    configPersistence.getConfig(ConfigSchema.STANDARD_SOURCE_DEFINITION, UUID_1.toString(), StandardSourceDefinition.class);
+
+    final StandardSourceDefinition updatedSource = Jsons.clone(SOURCE_1).withName("apache storm 2");
+    configPersistence.writeConfig(ConfigSchema.STANDARD_SOURCE_DEFINITION, UUID_1.toString(), updatedSource);
+
+    assertEquals(
+        updatedSource,
+        configPersistence.getConfig(ConfigSchema.STANDARD_SOURCE_DEFINITION, UUID_1.toString(), StandardSourceDefinition.class));
+  }
+
+  @Test
+  void testReadConfigWrittenByAnotherPersistence() throws IOException, JsonValidationException, ConfigNotFoundException {
+    configPersistence.writeConfig(ConfigSchema.STANDARD_SOURCE_DEFINITION, UUID_1.toString(), SOURCE_1);
+    configPersistence.listConfigs(ConfigSchema.STANDARD_SOURCE_DEFINITION, StandardSourceDefinition.class);
+
+    // e.g. the server writing a config that the scheduler has already read.
+    final StandardSourceDefinition updatedSource = Jsons.clone(SOURCE_1).withName("apache storm 2");
+    new FileSystemConfigPersistence(rootPath).writeConfig(ConfigSchema.STANDARD_SOURCE_DEFINITION, UUID_1.toString(), updatedSource);
+
+    assertEquals(
+        List.of(updatedSource),
+        configPersistence.listConfigs(ConfigSchema.STANDARD_SOURCE_DEFINITION, StandardSourceDefinition.class));
+  }
+
+  @Test
+  void testReadConfigRewrittenWithSameSizeAndModificationTime() throws IOException, JsonValidationException, ConfigNotFoundException {
+    configPersistence.writeConfig(ConfigSchema.STANDARD_SOURCE_DEFINITION, UUID_1.toString(), SOURCE_1);
+    configPersistence.getConfig(ConfigSchema.STANDARD_SOURCE_DEFINITION, UUID_1.toString(), StandardSourceDefinition.class);
+    final Path configPath = rootPath.resolve("config").resolve(ConfigSchema.STANDARD_SOURCE_DEFINITION.toString())
+        .resolve(UUID_1 + ".json");
+    final FileTime lastModifiedTime = Files.getLastModifiedTime(configPath);
+
+    // e.g. the server rewriting a config within the modification time granularity of the file system.
+    final StandardSourceDefinition updatedSource = Jsons.clone(SOURCE_1).withName("apache stork");
+    new FileSystemConfigPersistence(rootPath).writeConfig(ConfigSchema.STANDARD_SOURCE_DEFINITION, UUID_1.toString(), updatedSource);
+    Files.setLastModifiedTime(configPath, lastModifiedTime);
+
+    assertEquals(
+        updatedSource,
+        configPersistence.getConfig(ConfigSchema.STANDARD_SOURCE_DEFINITION, UUID_1.toString(), StandardSourceDefinition.class));
+  }
+
+  @Test
+  void testReturnedConfigsAreNotShared() throws IOException, JsonValidationException, ConfigNotFoundException {
+    configPersistence.writeConfig(ConfigSchema.STANDARD_SOURCE_DEFINITION, UUID_1.toString(), SOURCE_1);
+    configPersistence.getConfig(ConfigSchema.STANDARD_SOURCE_DEFINITION, UUID_1.toString(), StandardSourceDefinition.class)
+        .withName("modified without writing");
+
+    assertEquals(
+        SOURCE_1,
+        configPersistence.getConfig(ConfigSchema.STANDARD_SOURCE_DEFINITION, UUID_1.toString(), StandardSourceDefinition.class));
+  }
+
   @Test
   void writeConfigWithJsonSchemaRef() throws JsonValidationException, IOException, ConfigNotFoundException {
     final StandardSync standardSync = new StandardSync()
@@ -39,6 +39,15 @@ public class Databases {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(Databases.class);
 
+  public static final int CONNECTION_POOL_SIZE = 8;
+  /**
+   * Maximum number of queries that code should run concurrently on one of the connection pools
+   * created here, e.g. when reading or loading several tables at once. It is kept strictly below
+   * {@link #CONNECTION_POOL_SIZE} so that the other queries made while those are running, such as
+   * cursor or state lookups, still get a connection instead of waiting for one to be released.
+   */
+  public static final int MAX_CONCURRENT_QUERIES = CONNECTION_POOL_SIZE - 2;
+
   public static Database createPostgresDatabase(String username, String password, String jdbcConnectionString) {
     return createDatabase(username, password, jdbcConnectionString, "org.postgresql.Driver", SQLDialect.POSTGRES);
   }
@@ -153,6 +162,7 @@ public class Databases {
     connectionPool.setUsername(username);
     connectionPool.setPassword(password);
     connectionPool.setUrl(jdbcConnectionString);
+    connectionPool.setMaxTotal(CONNECTION_POOL_SIZE);
     connectionProperties.ifPresent(connectionPool::setConnectionProperties);
     return connectionPool;
   }
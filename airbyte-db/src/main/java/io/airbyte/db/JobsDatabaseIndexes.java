@@ -0,0 +1,72 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Airbyte
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.airbyte.db;
+
+import java.sql.SQLException;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Indexes backing the job queries of the scheduler persistence. schema.sql only runs when the
+ * database is first created, so they are created on startup instead, which also adds them to
+ * existing installations.
+ */
+public class JobsDatabaseIndexes {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(JobsDatabaseIndexes.class);
+
+  private static final Map<String, String> INDEX_DEFINITIONS = Map.of(
+      // job history of a connection, newest first. also used by keyset pagination on (created_at, id).
+      "jobs_scope_created_at_idx", "jobs(scope, created_at, id)",
+      // pending and running jobs looked up by the scheduler.
+      "jobs_status_idx", "jobs(status)");
+
+  /**
+   * Builds the missing indexes with CREATE INDEX CONCURRENTLY, so that the jobs table stays writable
+   * while they are built on a large installation. Postgres does not allow concurrent builds inside a
+   * transaction, so every statement runs on its own. A concurrent build that was interrupted leaves
+   * an invalid index behind, which IF NOT EXISTS would skip, so such an index is dropped and built
+   * again.
+   */
+  public static void createIfNotExist(Database database) throws SQLException {
+    LOGGER.info("Creating job indexes if they do not exist...");
+    for (final Map.Entry<String, String> index : INDEX_DEFINITIONS.entrySet()) {
+      database.query(ctx -> {
+        final boolean invalid = ctx.fetchExists(ctx.select()
+            .from("pg_class c")
+            .join("pg_index i").on("i.indexrelid = c.oid")
+            .where("c.relname = ?", index.getKey())
+            .and("NOT i.indisvalid"));
+        if (invalid) {
+          LOGGER.info("Rebuilding invalid index {}", index.getKey());
+          ctx.execute(String.format("DROP INDEX CONCURRENTLY IF EXISTS %s", index.getKey()));
+        }
+        ctx.execute(String.format("CREATE INDEX CONCURRENTLY IF NOT EXISTS %s ON %s", index.getKey(), index.getValue()));
+        return null;
+      });
+    }
+  }
+
+}
@@ -145,7 +145,7 @@ public abstract class JdbcDatabase extends SqlDatabase {
         ++i;
       }
       return statement;
-    }, JdbcUtils::rowToJson);
+    }, new JdbcRowConverter());
   }
 
   public abstract DatabaseMetaData getMetaData() throws SQLException;
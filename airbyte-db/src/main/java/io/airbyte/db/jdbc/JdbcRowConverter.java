@@ -0,0 +1,233 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Airbyte
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.airbyte.db.jdbc;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.airbyte.commons.functional.CheckedFunction;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.JDBCType;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+
+/**
+ * Converts the rows of a {@link ResultSet} into json. The names and types of the columns are read
+ * from the result set metadata once, when the first row is converted, into a plan of per column
+ * extractors that is reused for every following row of the same result set. A converter should be
+ * created per query and is not thread safe.
+ */
+public class JdbcRowConverter implements CheckedFunction<ResultSet, JsonNode, SQLException> {
+
+  private ResultSet planResultSet;
+  private ColumnExtractor[] plan;
+
+  @Override
+  public JsonNode apply(ResultSet r) throws SQLException {
+    if (r != planResultSet) {
+      plan = createPlan(r.getMetaData());
+      planResultSet = r;
+    }
+
+    final ObjectNode jsonNode = JsonNodeFactory.instance.objectNode();
+    for (final ColumnExtractor extractor : plan) {
+      extractor.extract(r, jsonNode);
+    }
+    return jsonNode;
+  }
+
+  private static ColumnExtractor[] createPlan(ResultSetMetaData metaData) throws SQLException {
+    final int columnCount = metaData.getColumnCount();
+    final ColumnExtractor[] extractors = new ColumnExtractor[columnCount];
+    for (int i = 1; i <= columnCount; i++) {
+      extractors[i - 1] = createExtractor(i, metaData.getColumnName(i), safeGetJdbcType(metaData.getColumnType(i)));
+    }
+    return extractors;
+  }
+
+  private static JDBCType safeGetJdbcType(int columnTypeInt) {
+    try {
+      return JDBCType.valueOf(columnTypeInt);
+    } catch (Exception e) {
+      return JDBCType.VARCHAR;
+    }
+  }
+
+  /**
+   * Null columns are left out of the json. Primitive getters are checked with
+   * {@link ResultSet#wasNull()} and object getters by their return value, so each column is only
+   * read once. Values that cannot be represented (e.g. Infinity, NaN) are converted to json null.
+   */
+  // https://www.cis.upenn.edu/~bcpierce/courses/629/jdkdocs/guide/jdbc/getstart/mapping.doc.html
+  private static ColumnExtractor createExtractor(int i, String columnName, JDBCType columnType) {
+    return switch (columnType) {
+      case BIT, BOOLEAN -> (r, o) -> {
+        final boolean value = r.getBoolean(i);
+        if (!r.wasNull()) {
+          o.put(columnName, value);
+        }
+      };
+      case TINYINT, SMALLINT -> (r, o) -> {
+        final short value = r.getShort(i);
+        if (!r.wasNull()) {
+          o.put(columnName, value);
+        }
+      };
+      // In some sources Integer might have value larger than Integer#MAX_VALUE. E.q. MySQL has
+      // unsigned Integer type, which can contain value 3428724653. If we fail to cast Integer value, we
+      // will try to cast Long.
+      case INTEGER -> (r, o) -> {
+        final int value;
+        try {
+          value = r.getInt(i);
+        } catch (SQLException e) {
+          if (!isNull(r, i)) {
+            o.put(columnName, nullIfInvalid(() -> r.getLong(i)));
+          }
+          return;
+        }
+        if (!r.wasNull()) {
+          o.put(columnName, value);
+        }
+      };
+      case BIGINT -> (r, o) -> {
+        final long value;
+        try {
+          value = r.getLong(i);
+        } catch (SQLException e) {
+          putNullIfNotNull(r, i, o, columnName);
+          return;
+        }
+        if (!r.wasNull()) {
+          o.put(columnName, value);
+        }
+      };
+      case FLOAT, DOUBLE -> (r, o) -> {
+        final double value;
+        try {
+          value = r.getDouble(i);
+        } catch (SQLException e) {
+          putNullIfNotNull(r, i, o, columnName);
+          return;
+        }
+        if (!r.wasNull()) {
+          o.put(columnName, Double.isFinite(value) ? value : null);
+        }
+      };
+      case REAL -> (r, o) -> {
+        final float value;
+        try {
+          value = r.getFloat(i);
+        } catch (SQLException e) {
+          putNullIfNotNull(r, i, o, columnName);
+          return;
+        }
+        if (!r.wasNull()) {
+          o.put(columnName, Float.isFinite(value) ? value : null);
+        }
+      };
+      case NUMERIC, DECIMAL -> (r, o) -> {
+        final BigDecimal value;
+        try {
+          value = r.getBigDecimal(i);
+        } catch (SQLException e) {
+          putNullIfNotNull(r, i, o, columnName);
+          return;
+        }
+        if (value != null) {
+          o.put(columnName, value);
+        }
+      };
+      case DATE -> (r, o) -> {
+        final Date value = r.getDate(i);
+        if (value != null) {
+          o.put(columnName, JdbcUtils.toISO8601String(value));
+        }
+      };
+      case TIME -> (r, o) -> {
+        final Time value = r.getTime(i);
+        if (value != null) {
+          o.put(columnName, JdbcUtils.toISO8601String(value));
+        }
+      };
+      case TIMESTAMP -> (r, o) -> {
+        final Timestamp value = r.getTimestamp(i);
+        if (value != null) {
+          o.put(columnName, JdbcUtils.toISO8601String(value.getTime() + (value.getNanos() / 1000000)));
+        }
+      };
+      case BLOB, BINARY, VARBINARY, LONGVARBINARY -> (r, o) -> {
+        final byte[] value = r.getBytes(i);
+        if (value != null) {
+          o.put(columnName, value);
+        }
+      };
+      default -> (r, o) -> {
+        final String value = r.getString(i);
+        if (value != null) {
+          o.put(columnName, value);
+        }
+      };
+    };
+  }
+
+  private static boolean isNull(ResultSet r, int i) throws SQLException {
+    r.getObject(i);
+    return r.wasNull();
+  }
+
+  private static void putNullIfNotNull(ResultSet r, int i, ObjectNode o, String columnName) throws SQLException {
+    if (!isNull(r, i)) {
+      o.putNull(columnName);
+    }
+  }
+
+  private static Long nullIfInvalid(SQLSupplier<Long> valueProducer) {
+    try {
+      return valueProducer.apply();
+    } catch (SQLException e) {
+      return null;
+    }
+  }
+
+  @FunctionalInterface
+  private interface ColumnExtractor {
+
+    void extract(ResultSet r, ObjectNode o) throws SQLException;
+
+  }
+
+  @FunctionalInterface
+  private interface SQLSupplier<O> {
+
+    O apply() throws SQLException;
+
+  }
+
+}
@@ -25,9 +25,7 @@
 package io.airbyte.db.jdbc;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.airbyte.commons.functional.CheckedFunction;
-import io.airbyte.commons.json.Jsons;
 import io.airbyte.protocol.models.JsonSchemaPrimitive;
 import java.math.BigDecimal;
 import java.sql.Date;
@@ -36,22 +34,35 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
-import java.text.DateFormat;
-import java.text.ParseException;
 import java.text.SimpleDateFormat;
-import java.time.Instant;
-import java.util.Collections;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.SignStyle;
+import java.time.temporal.ChronoField;
 import java.util.Spliterator;
 import java.util.Spliterators;
+import java.util.TimeZone;
 import java.util.function.Consumer;
-import java.util.function.Function;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 import javax.xml.bind.DatatypeConverter;
 
 public class JdbcUtils {
 
-  public static final DateFormat DATE_FORMAT = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss'Z'"); // Quoted "Z" to indicate UTC, no timezone offset
+  // Quoted "Z" to indicate UTC, no timezone offset. Formatters are immutable and thread safe.
+  private static final String DATE_PATTERN = "yyyy-MM-dd'T'HH:mm:ss'Z'";
+  // same as DATE_PATTERN, except that "yyyy" would prefix years above 9999 with a "+" and refuse to
+  // parse them without it, unlike SimpleDateFormat (e.g. for postgres 'infinity' timestamps).
+  private static final DateTimeFormatter DATE_FORMATTER = new DateTimeFormatterBuilder()
+      .appendValue(ChronoField.YEAR_OF_ERA, 4, 19, SignStyle.NORMAL)
+      .appendPattern("-MM-dd'T'HH:mm:ss'Z'")
+      .toFormatter();
+  // up to a day after this instant, depending on the time zone, java.util.Date switches from the
+  // julian calendar while java.time stays gregorian.
+  private static final long GREGORIAN_CUTOVER_MILLIS = -12219292800000L + 86_400_000L;
+  private static final TimeZone TIME_ZONE = TimeZone.getDefault();
 
   /**
    * Map records returned in a result set.
@@ -88,87 +99,44 @@ public class JdbcUtils {
    * @throws SQLException exceptions throws when parsing the ResultSet.
    */
   public static Stream<JsonNode> toJsonStream(ResultSet resultSet) throws SQLException {
-    return toStream(resultSet, JdbcUtils::rowToJson);
-  }
-
-  public static JsonNode rowToJson(ResultSet r) throws SQLException {
-    // the first call communicates with the database. after that the result is cached.
-    final int columnCount = r.getMetaData().getColumnCount();
-    final ObjectNode jsonNode = (ObjectNode) Jsons.jsonNode(Collections.emptyMap());
-
-    for (int i = 1; i <= columnCount; i++) {
-      // attempt to access the column. this allows us to know if it is null before we do type-specific
-      // parsing. if it is null, we can move on. while awkward, this seems to be the agreed upon way of
-      // checking for null values with jdbc.
-      r.getObject(i);
-      if (r.wasNull()) {
-        continue;
-      }
-
-      // convert to java types that will convert into reasonable json.
-      setJsonField(r, i, jsonNode);
-    }
-
-    return jsonNode;
-  }
-
-  private static JDBCType safeGetJdbcType(int columnTypeInt) {
-    try {
-      return JDBCType.valueOf(columnTypeInt);
-    } catch (Exception e) {
-      return JDBCType.VARCHAR;
-    }
-  }
-
-  private static void setJsonField(ResultSet r, int i, ObjectNode o) throws SQLException {
-    final int columnTypeInt = r.getMetaData().getColumnType(i);
-    final String columnName = r.getMetaData().getColumnName(i);
-    final JDBCType columnType = safeGetJdbcType(columnTypeInt);
-
-    // https://www.cis.upenn.edu/~bcpierce/courses/629/jdkdocs/guide/jdbc/getstart/mapping.doc.html
-    switch (columnType) {
-      case BIT, BOOLEAN -> o.put(columnName, r.getBoolean(i));
-      case TINYINT, SMALLINT -> o.put(columnName, r.getShort(i));
-      case INTEGER -> putInteger(o, columnName, r, i);
-      case BIGINT -> o.put(columnName, nullIfInvalid(() -> r.getLong(i)));
-      case FLOAT, DOUBLE -> o.put(columnName, nullIfInvalid(() -> r.getDouble(i), Double::isFinite));
-      case REAL -> o.put(columnName, nullIfInvalid(() -> r.getFloat(i), Float::isFinite));
-      case NUMERIC, DECIMAL -> o.put(columnName, nullIfInvalid(() -> r.getBigDecimal(i)));
-      case CHAR, VARCHAR, LONGVARCHAR -> o.put(columnName, r.getString(i));
-      case DATE -> o.put(columnName, toISO8601String(r.getDate(i)));
-      case TIME -> o.put(columnName, toISO8601String(r.getTime(i)));
-      case TIMESTAMP -> {
-        // https://www.cis.upenn.edu/~bcpierce/courses/629/jdkdocs/guide/jdbc/getstart/mapping.doc.html
-        final Timestamp t = r.getTimestamp(i);
-        java.util.Date d = new java.util.Date(t.getTime() + (t.getNanos() / 1000000));
-        o.put(columnName, toISO8601String(d));
-      }
-      case BLOB, BINARY, VARBINARY, LONGVARBINARY -> o.put(columnName, r.getBytes(i));
-      default -> o.put(columnName, r.getString(i));
-    }
+    return toStream(resultSet, new JdbcRowConverter());
   }
 
   /**
-   * In some sources Integer might have value larger than {@link Integer#MAX_VALUE}. E.q. MySQL has
-   * unsigned Integer type, which can contain value 3428724653. If we fail to cast Integer value, we
-   * will try to cast Long.
+   * Convert a single row of a ResultSet to json. Reads the column metadata for every call, use a
+   * {@link JdbcRowConverter} to convert all rows of a ResultSet.
    */
-  private static void putInteger(ObjectNode node, String columnName, ResultSet resultSet, int index) {
-    try {
-      node.put(columnName, resultSet.getInt(index));
-    } catch (SQLException e) {
-      node.put(columnName, nullIfInvalid(() -> resultSet.getLong(index)));
-    }
+  public static JsonNode rowToJson(ResultSet r) throws SQLException {
+    return new JdbcRowConverter().apply(r);
   }
 
   // todo (cgardens) - move generic date helpers to commons.
 
   public static String toISO8601String(long epochMillis) {
-    return DATE_FORMAT.format(Date.from(Instant.ofEpochMilli(epochMillis)));
+    if (epochMillis < GREGORIAN_CUTOVER_MILLIS) {
+      // keep the julian calendar fields that java.util.Date has for older dates. SimpleDateFormat is
+      // not thread safe, so it is not shared.
+      final SimpleDateFormat dateFormat = new SimpleDateFormat(DATE_PATTERN);
+      dateFormat.setTimeZone(TIME_ZONE);
+      return dateFormat.format(new java.util.Date(epochMillis));
+    }
+    // the offset of java.util.TimeZone, which differs from java.time for some historical dates.
+    final ZoneOffset offset = ZoneOffset.ofTotalSeconds(TIME_ZONE.getOffset(epochMillis) / 1000);
+    return DATE_FORMATTER.format(LocalDateTime.ofEpochSecond(Math.floorDiv(epochMillis, 1000), 0, offset));
   }
 
   public static String toISO8601String(java.util.Date date) {
-    return DATE_FORMAT.format(date);
+    return toISO8601String(date.getTime());
+  }
+
+  /**
+   * Parse a date formatted by {@link #toISO8601String(long)}.
+   *
+   * @param value formatted date
+   * @return timestamp of the date
+   */
+  public static Timestamp parseISO8601String(String value) {
+    return Timestamp.valueOf(LocalDateTime.parse(value, DATE_FORMATTER));
   }
 
   public static void setStatementField(PreparedStatement preparedStatement,
@@ -181,22 +149,8 @@ public class JdbcUtils {
       // to treat them all as ISO8601. if this causes any problems down the line, we can adjust.
       // Parsing TIME as a TIMESTAMP might potentially break for ClickHouse cause it doesn't expect TIME
       // value in the following format
-      case TIME, TIMESTAMP -> {
-        try {
-          preparedStatement.setTimestamp(parameterIndex, Timestamp.from(DATE_FORMAT.parse(value).toInstant()));
-        } catch (ParseException e) {
-          throw new RuntimeException(e);
-        }
-      }
-
-      case DATE -> {
-        try {
-          Timestamp from = Timestamp.from(DATE_FORMAT.parse(value).toInstant());
-          preparedStatement.setDate(parameterIndex, new Date(from.getTime()));
-        } catch (ParseException e) {
-          throw new RuntimeException(e);
-        }
-      }
+      case TIME, TIMESTAMP -> preparedStatement.setTimestamp(parameterIndex, parseISO8601String(value));
+      case DATE -> preparedStatement.setDate(parameterIndex, new Date(parseISO8601String(value).getTime()));
       // todo (cgardens) - currently we do not support bit because it requires special handling in the
       // prepared statement.
       // see
@@ -241,28 +195,4 @@ public class JdbcUtils {
     };
   }
 
-  private static <T> T nullIfInvalid(SQLSupplier<T> valueProducer) {
-    return nullIfInvalid(valueProducer, ignored -> true);
-  }
-
-  private static <T> T nullIfInvalid(SQLSupplier<T> valueProducer, Function<T, Boolean> isValidFn) {
-    // Some edge case values (e.g: Infinity, NaN) have no java or JSON equivalent, and will throw an
-    // exception when parsed. We want to parse those
-    // values as null.
-    // This method reduces error handling boilerplate.
-    try {
-      T value = valueProducer.apply();
-      return isValidFn.apply(value) ? value : null;
-    } catch (SQLException e) {
-      return null;
-    }
-  }
-
-  @FunctionalInterface
-  private interface SQLSupplier<O> {
-
-    O apply() throws SQLException;
-
-  }
-
 }
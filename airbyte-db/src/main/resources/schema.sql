@@ -78,6 +78,8 @@ CREATE
         attempt_number
     );
 
+-- indexes on jobs are created on startup, see io.airbyte.db.JobsDatabaseIndexes
+
 -- entries
  INSERT
     INTO
@@ -0,0 +1,121 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Airbyte
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.airbyte.db.jdbc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.common.collect.ImmutableMap;
+import io.airbyte.commons.json.Jsons;
+import java.sql.JDBCType;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TestJdbcRowConverter {
+
+  private ResultSet resultSet;
+  private ResultSetMetaData metaData;
+
+  @BeforeEach
+  void setup() throws SQLException {
+    resultSet = mock(ResultSet.class);
+    metaData = mock(ResultSetMetaData.class);
+    when(resultSet.getMetaData()).thenReturn(metaData);
+    when(metaData.getColumnCount()).thenReturn(3);
+    when(metaData.getColumnName(1)).thenReturn("id");
+    when(metaData.getColumnType(1)).thenReturn(JDBCType.INTEGER.getVendorTypeNumber());
+    when(metaData.getColumnName(2)).thenReturn("name");
+    when(metaData.getColumnType(2)).thenReturn(JDBCType.VARCHAR.getVendorTypeNumber());
+    when(metaData.getColumnName(3)).thenReturn("score");
+    when(metaData.getColumnType(3)).thenReturn(JDBCType.DOUBLE.getVendorTypeNumber());
+  }
+
+  @Test
+  void testMetadataIsReadOnce() throws SQLException {
+    when(resultSet.getInt(1)).thenReturn(1, 2);
+    when(resultSet.getString(2)).thenReturn("picard", "crusher");
+    when(resultSet.getDouble(3)).thenReturn(1.5, 2.5);
+
+    final JdbcRowConverter converter = new JdbcRowConverter();
+    assertEquals(Jsons.jsonNode(ImmutableMap.of("id", 1, "name", "picard", "score", 1.5)), converter.apply(resultSet));
+    assertEquals(Jsons.jsonNode(ImmutableMap.of("id", 2, "name", "crusher", "score", 2.5)), converter.apply(resultSet));
+
+    verify(resultSet, times(1)).getMetaData();
+    verify(metaData, times(1)).getColumnName(2);
+  }
+
+  @Test
+  void testNullAndInvalidValues() throws SQLException {
+    // null columns are left out, values without a json equivalent become json null.
+    when(resultSet.getInt(1)).thenReturn(0);
+    when(resultSet.wasNull()).thenReturn(true, false);
+    when(resultSet.getString(2)).thenReturn(null);
+    when(resultSet.getDouble(3)).thenReturn(Double.NaN);
+
+    final Map<String, Object> expected = new HashMap<>();
+    expected.put("score", null);
+    assertEquals(Jsons.jsonNode(expected), new JdbcRowConverter().apply(resultSet));
+  }
+
+  @Test
+  void testISO8601StringRoundTrip() {
+    final String value = "2001-09-29T03:00:00Z";
+    final Timestamp timestamp = JdbcUtils.parseISO8601String(value);
+
+    assertEquals(value, JdbcUtils.toISO8601String(timestamp));
+    assertEquals(value, JdbcUtils.toISO8601String(timestamp.getTime()));
+  }
+
+  @Test
+  void testISO8601StringRoundTripAfterYear9999() {
+    final String value = "12345-06-07T08:09:10Z";
+    final Timestamp timestamp = JdbcUtils.parseISO8601String(value);
+
+    assertEquals(value, JdbcUtils.toISO8601String(timestamp));
+  }
+
+  @Test
+  void testISO8601StringOfPostgresInfinity() {
+    // the epoch millis that the postgres driver returns for a timestamp of 'infinity'.
+    final long infinity = 9223372036825200000L;
+    final SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss'Z'");
+
+    final String value = JdbcUtils.toISO8601String(infinity);
+    assertEquals(dateFormat.format(new Date(infinity)), value);
+    assertEquals(infinity, JdbcUtils.parseISO8601String(value).getTime());
+  }
+
+}
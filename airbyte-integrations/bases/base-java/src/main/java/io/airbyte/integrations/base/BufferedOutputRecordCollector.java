@@ -0,0 +1,105 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Airbyte
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.airbyte.integrations.base;
+
+import com.google.common.annotations.VisibleForTesting;
+import io.airbyte.commons.json.Jsons;
+import io.airbyte.protocol.models.AirbyteMessage;
+import io.airbyte.protocol.models.AirbyteMessage.Type;
+import java.io.ByteArrayOutputStream;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * Writes messages as json lines to an output stream, serializing them straight into a reusable
+ * buffer instead of a string per message. Records are written out in large chunks that always end
+ * on a line boundary; any other message, e.g. state, is written out immediately so that it is not
+ * held back. {@link #flush()} must be called once the last message was accepted.
+ *
+ * <p>
+ * Each chunk is written with a single call to the output stream. When that stream is
+ * {@link System#out}, which is synchronized, lines logged to it from other threads are not
+ * interleaved with the chunk.
+ * </p>
+ */
+public class BufferedOutputRecordCollector implements Consumer<AirbyteMessage>, Flushable {
+
+  @VisibleForTesting
+  static final int FLUSH_THRESHOLD_BYTES = 64 * 1024;
+
+  private final OutputStream outputStream;
+  private final MessageBuffer buffer;
+
+  public BufferedOutputRecordCollector(OutputStream outputStream) {
+    this.outputStream = outputStream;
+    this.buffer = new MessageBuffer(FLUSH_THRESHOLD_BYTES);
+  }
+
+  @Override
+  public synchronized void accept(AirbyteMessage message) {
+    final int size = buffer.size();
+    try {
+      Jsons.serialize(message, buffer);
+    } catch (RuntimeException e) {
+      // never write out a partial line.
+      buffer.truncate(size);
+      throw e;
+    }
+    buffer.write('\n');
+
+    if (message.getType() != Type.RECORD || buffer.size() >= FLUSH_THRESHOLD_BYTES) {
+      try {
+        flush();
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+  }
+
+  @Override
+  public synchronized void flush() throws IOException {
+    if (buffer.size() > 0) {
+      buffer.writeTo(outputStream);
+      buffer.reset();
+    }
+    outputStream.flush();
+  }
+
+  private static class MessageBuffer extends ByteArrayOutputStream {
+
+    MessageBuffer(int size) {
+      super(size);
+    }
+
+    void truncate(int size) {
+      count = size;
+    }
+
+  }
+
+}
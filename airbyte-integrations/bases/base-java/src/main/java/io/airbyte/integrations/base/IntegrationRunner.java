@@ -33,6 +33,8 @@ import io.airbyte.commons.util.AutoCloseableIterator;
 import io.airbyte.protocol.models.AirbyteMessage;
 import io.airbyte.protocol.models.AirbyteMessage.Type;
 import io.airbyte.protocol.models.ConfiguredAirbyteCatalog;
+import java.io.Flushable;
+import java.io.IOException;
 import java.nio.file.Path;
 import java.util.Optional;
 import java.util.Scanner;
@@ -60,7 +62,8 @@ public class IntegrationRunner {
   }
 
   public IntegrationRunner(Source source) {
-    this(new IntegrationCliParser(), Destination::defaultOutputRecordCollector, null, source);
+    // sources emit most of the output, so it is written to stdout in large buffered chunks.
+    this(new IntegrationCliParser(), new BufferedOutputRecordCollector(System.out), null, source);
   }
 
   @VisibleForTesting
@@ -103,6 +106,8 @@ public class IntegrationRunner {
         final AutoCloseableIterator<AirbyteMessage> messageIterator = source.read(config, catalog, stateOptional.orElse(null));
         try (messageIterator) {
           messageIterator.forEachRemaining(outputRecordCollector::accept);
+        } finally {
+          flushOutput();
         }
       }
       // destination only
@@ -118,6 +123,12 @@ public class IntegrationRunner {
     LOGGER.info("Completed integration: {}", integration.getClass().getName());
   }
 
+  private void flushOutput() throws IOException {
+    if (outputRecordCollector instanceof Flushable) {
+      ((Flushable) outputRecordCollector).flush();
+    }
+  }
+
   @VisibleForTesting
   static void consumeWriteStream(AirbyteMessageConsumer consumer) throws Exception {
     // use a Scanner that only processes new line characters to strictly abide with the
@@ -25,6 +25,7 @@
 package io.airbyte.integrations.destination.buffered_stream_consumer;
 
 import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import io.airbyte.commons.concurrency.VoidCallable;
 import io.airbyte.commons.functional.CheckedConsumer;
 import io.airbyte.commons.functional.CheckedFunction;
@@ -36,13 +37,21 @@ import io.airbyte.protocol.models.AirbyteMessage;
 import io.airbyte.protocol.models.AirbyteMessage.Type;
 import io.airbyte.protocol.models.AirbyteRecordMessage;
 import io.airbyte.protocol.models.ConfiguredAirbyteCatalog;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.Consumer;
-import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -50,17 +59,36 @@ import org.slf4j.LoggerFactory;
  * This class consumes AirbyteMessages from the worker.
  *
  * <p>
- * Record Messages: It adds record messages to a buffer. Under 2 conditions, it will flush the
- * records in the buffer to a temporary table in the destination. Condition 1: The buffer fills up
- * (the buffer is designed to be small enough as not to exceed the memory of the container).
- * Condition 2: On close.
+ * Record Messages: It adds record messages to a buffer per stream. Under 3 conditions, it will flush
+ * records to a temporary table in the destination. Condition 1: The buffer of a stream reaches its
+ * byte budget. Condition 2: The buffers of all streams together reach the global byte budget, in
+ * which case the largest buffer is flushed (both budgets are designed to be small enough as not to
+ * exceed the memory of the container). Condition 3: On close. The size of a record is measured as
+ * the length of its serialized data.
+ * </p>
+ *
+ * <p>
+ * If a spill directory is provided, reaching the global byte budget does not flush anything.
+ * Instead, the records of the stream that has no room left in memory are spilled to disk, see
+ * {@link StreamBuffer}. The per-stream byte budget then also counts spilled records, so it can be
+ * much larger than the memory of the container.
+ * </p>
+ *
+ * <p>
+ * A flushed buffer is written by a background thread while records keep being accepted into a fresh
+ * buffer, so reading input and writing to the destination overlap. At most
+ * {@link #MAX_IN_FLIGHT_FLUSHES} flushes are being written at a time, one after the other, in the
+ * order they were handed over. Accepting blocks once that many are in flight.
  * </p>
  *
  * <p>
  * State Messages: This consumer tracks the last state message it has accepted. It also tracks the
- * last state message that was committed to the temporary table. For now, we only emit a message if
- * everything is successful. Once checkpointing is turned on, we will emit the state message as long
- * as the onClose successfully commits any messages to the raw table.
+ * last state message that was committed to the temporary table. By default, we only emit a message
+ * if everything is successful. If the destination provides a {@link CheckpointFunction}, then
+ * whenever a state message arrives and a checkpoint is due, all buffers are flushed, the checkpoint is
+ * committed and the state message is emitted right away. It is emitted even if the sync later fails,
+ * so a retry only needs to send the records after it. A state message only counts as committed to
+ * the temporary table once a flush of all records accepted before it has completed.
  * </p>
  *
  * <p>
@@ -71,21 +99,32 @@ public class BufferedStreamConsumer extends FailureTrackingAirbyteMessageConsume
 
   private static final Logger LOGGER = LoggerFactory.getLogger(BufferedStreamConsumer.class);
 
+  // one flush is written while the buffers fill up again. memory use is bounded by this many flushes
+  // plus the global byte budget.
+  static final int MAX_IN_FLIGHT_FLUSHES = 1;
+
   private final VoidCallable onStart;
   private final RecordWriter recordWriter;
   private final CheckedConsumer<Boolean, Exception> onClose;
   private final Set<AirbyteStreamNameNamespacePair> streamNames;
-  private final List<AirbyteMessage> buffer;
   private final ConfiguredAirbyteCatalog catalog;
   private final CheckedFunction<String, Boolean, Exception> isValidRecord;
   private final Map<AirbyteStreamNameNamespacePair, Long> pairToIgnoredRecordCount;
   private final Consumer<AirbyteMessage> outputRecordCollector;
-  private final int queueBatchSize;
+  private final long maxStreamBufferBytes;
+  private final long maxTotalBufferBytes;
+  private final CheckpointFunction checkpoint;
+  private final Path spillDirectory;
+  private final Map<AirbyteStreamNameNamespacePair, StreamBuffer> streamBuffers;
+  private final Deque<InFlightFlush> inFlightFlushes;
 
+  private long bufferedBytes;
+  private ExecutorService flushExecutor;
   private boolean hasStarted;
   private boolean hasClosed;
 
   private AirbyteMessage lastCommittedState;
+  private AirbyteMessage lastEmittedState;
   private AirbyteMessage pendingState;
 
   public BufferedStreamConsumer(Consumer<AirbyteMessage> outputRecordCollector,
@@ -94,18 +133,66 @@ public class BufferedStreamConsumer extends FailureTrackingAirbyteMessageConsume
                                 CheckedConsumer<Boolean, Exception> onClose,
                                 ConfiguredAirbyteCatalog catalog,
                                 CheckedFunction<String, Boolean, Exception> isValidRecord,
-                                int queueBatchSize) {
+                                long maxStreamBufferBytes,
+                                long maxTotalBufferBytes) {
+    this(outputRecordCollector, onStart, recordWriter, onClose, null, catalog, isValidRecord, maxStreamBufferBytes, maxTotalBufferBytes);
+  }
+
+  /**
+   * @param checkpoint commits data mid sync so that state can be emitted before close. null disables
+   *        checkpointing.
+   * @param maxStreamBufferBytes the records of a stream are flushed once they reach this size.
+   * @param maxTotalBufferBytes the largest buffer is flushed once the buffers of all streams reach
+   *        this size.
+   */
+  public BufferedStreamConsumer(Consumer<AirbyteMessage> outputRecordCollector,
+                                VoidCallable onStart,
+                                RecordWriter recordWriter,
+                                CheckedConsumer<Boolean, Exception> onClose,
+                                CheckpointFunction checkpoint,
+                                ConfiguredAirbyteCatalog catalog,
+                                CheckedFunction<String, Boolean, Exception> isValidRecord,
+                                long maxStreamBufferBytes,
+                                long maxTotalBufferBytes) {
+    this(outputRecordCollector, onStart, recordWriter, onClose, checkpoint, catalog, isValidRecord, maxStreamBufferBytes, maxTotalBufferBytes,
+        null);
+  }
+
+  /**
+   * @param maxTotalBufferBytes the most bytes of records kept in memory across all streams.
+   * @param spillDirectory records that do not fit into memory are spilled to this directory instead
+   *        of being flushed. null disables spilling.
+   */
+  public BufferedStreamConsumer(Consumer<AirbyteMessage> outputRecordCollector,
+                                VoidCallable onStart,
+                                RecordWriter recordWriter,
+                                CheckedConsumer<Boolean, Exception> onClose,
+                                CheckpointFunction checkpoint,
+                                ConfiguredAirbyteCatalog catalog,
+                                CheckedFunction<String, Boolean, Exception> isValidRecord,
+                                long maxStreamBufferBytes,
+                                long maxTotalBufferBytes,
+                                Path spillDirectory) {
+    Preconditions.checkArgument(maxStreamBufferBytes > 0, "maxStreamBufferBytes must be positive.");
+    Preconditions.checkArgument(maxTotalBufferBytes > 0, "maxTotalBufferBytes must be positive.");
+    Preconditions.checkArgument(spillDirectory != null || maxTotalBufferBytes >= maxStreamBufferBytes,
+        "maxTotalBufferBytes must be at least maxStreamBufferBytes unless records are spilled.");
     this.outputRecordCollector = outputRecordCollector;
-    this.queueBatchSize = queueBatchSize;
+    this.maxStreamBufferBytes = maxStreamBufferBytes;
+    this.maxTotalBufferBytes = maxTotalBufferBytes;
     this.hasStarted = false;
     this.hasClosed = false;
     this.onStart = onStart;
     this.recordWriter = recordWriter;
     this.onClose = onClose;
+    this.checkpoint = checkpoint;
+    this.spillDirectory = spillDirectory;
     this.catalog = catalog;
     this.streamNames = AirbyteStreamNameNamespacePair.fromConfiguredCatalog(catalog);
     this.isValidRecord = isValidRecord;
-    this.buffer = new ArrayList<>(queueBatchSize);
+    this.streamBuffers = new HashMap<>();
+    this.bufferedBytes = 0;
+    this.inFlightFlushes = new ArrayDeque<>();
 
     this.pairToIgnoredRecordCount = new HashMap<>();
   }
@@ -117,6 +204,7 @@ public class BufferedStreamConsumer extends FailureTrackingAirbyteMessageConsume
     hasStarted = true;
 
     pairToIgnoredRecordCount.clear();
+    flushExecutor = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder().setNameFormat("buffer-flush-%d").setDaemon(true).build());
     LOGGER.info("{} started.", BufferedStreamConsumer.class);
 
     onStart.call();
@@ -140,33 +228,148 @@ public class BufferedStreamConsumer extends FailureTrackingAirbyteMessageConsume
         return;
       }
 
-      buffer.add(message);
+      final StreamBuffer streamBuffer = streamBuffers.computeIfAbsent(stream, k -> new StreamBuffer());
+      // once a stream has spilled, its later records must be spilled as well to keep them in order.
+      if (spillDirectory != null && (streamBuffer.isSpilling() || bufferedBytes + data.length() > maxTotalBufferBytes)) {
+        if (!streamBuffer.isSpilling()) {
+          LOGGER.info("Buffered records reached {} bytes in memory, spilling records of stream {} to disk.", bufferedBytes, stream);
+        }
+        streamBuffer.spill(recordMessage, data.length(), spillDirectory);
+      } else {
+        streamBuffer.add(recordMessage, data.length());
+        bufferedBytes += data.length();
+      }
 
-      if (buffer.size() == queueBatchSize) {
-        flushQueueToDestination();
+      if (streamBuffer.getBytes() >= maxStreamBufferBytes) {
+        submitFlush(List.of(stream), null);
+      } else if (spillDirectory == null && bufferedBytes >= maxTotalBufferBytes) {
+        submitFlush(List.of(getLargestBufferedStream()), null);
       }
     } else if (message.getType() == Type.STATE) {
       pendingState = message;
+      if (checkpoint != null) {
+        // isDue may look at what the flusher writes, so it is only asked once no flush is running.
+        awaitFlushes(0);
+        if (checkpoint.isDue()) {
+          commitCheckpoint();
+        }
+      }
     } else {
       LOGGER.warn("Unexpected message: " + message.getType());
     }
 
   }
 
+  /**
+   * Writes the buffers of all streams and waits until they and every flush before them have been
+   * written.
+   */
   private void flushQueueToDestination() throws Exception {
-    final Map<AirbyteStreamNameNamespacePair, List<AirbyteRecordMessage>> recordsByStream = buffer.stream()
-        .map(AirbyteMessage::getRecord)
-        .collect(Collectors.groupingBy(AirbyteStreamNameNamespacePair::fromRecordMessage));
+    final AirbyteMessage state = pendingState;
+    pendingState = null;
+    // state can only be committed with a flush that hands over every record accepted before it.
+    submitFlush(new ArrayList<>(streamBuffers.keySet()), state);
+    awaitFlushes(0);
+  }
+
+  /**
+   * Hands the buffers of the given streams to the background flusher, together with the state
+   * message they commit, if any, and starts fresh buffers for them. Waits first if too many flushes
+   * are in flight.
+   */
+  private void submitFlush(List<AirbyteStreamNameNamespacePair> streams, AirbyteMessage state) throws Exception {
+    awaitFlushes(MAX_IN_FLIGHT_FLUSHES - 1);
+
+    final Map<AirbyteStreamNameNamespacePair, StreamBuffer> buffersByStream = new HashMap<>();
+    for (final AirbyteStreamNameNamespacePair stream : streams) {
+      final StreamBuffer streamBuffer = streamBuffers.remove(stream);
+      if (streamBuffer != null) {
+        buffersByStream.put(stream, streamBuffer);
+        bufferedBytes -= streamBuffer.getMemoryBytes();
+      }
+    }
 
-    buffer.clear();
+    final Future<?> future = flushExecutor.submit(() -> {
+      writeRecords(buffersByStream);
+      return null;
+    });
+    inFlightFlushes.addLast(new InFlightFlush(future, state));
+  }
+
+  private AirbyteStreamNameNamespacePair getLargestBufferedStream() {
+    return streamBuffers.entrySet().stream()
+        .max(Comparator.comparingLong(entry -> entry.getValue().getMemoryBytes()))
+        .map(Map.Entry::getKey)
+        .orElseThrow();
+  }
+
+  /**
+   * Waits for the oldest flushes to complete until at most maxInFlight are left. The state message
+   * of each completed flush becomes the last committed state.
+   */
+  private void awaitFlushes(int maxInFlight) throws Exception {
+    while (inFlightFlushes.size() > maxInFlight) {
+      final InFlightFlush flush = inFlightFlushes.removeFirst();
+      try {
+        flush.future.get();
+      } catch (ExecutionException e) {
+        throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+      }
+      if (flush.state != null) {
+        lastCommittedState = flush.state;
+      }
+    }
+  }
 
-    for (Map.Entry<AirbyteStreamNameNamespacePair, List<AirbyteRecordMessage>> entry : recordsByStream.entrySet()) {
-      recordWriter.accept(entry.getKey(), entry.getValue());
+  private void writeRecords(Map<AirbyteStreamNameNamespacePair, StreamBuffer> buffersByStream) throws Exception {
+    try {
+      for (Map.Entry<AirbyteStreamNameNamespacePair, StreamBuffer> entry : buffersByStream.entrySet()) {
+        // spilled records are read back in batches that fit into memory.
+        entry.getValue().drain(records -> recordWriter.accept(entry.getKey(), records), Math.min(maxStreamBufferBytes, maxTotalBufferBytes));
+      }
+    } finally {
+      closeBuffers(buffersByStream.values());
     }
+  }
 
-    if (pendingState != null) {
-      lastCommittedState = pendingState;
-      pendingState = null;
+  private static void closeBuffers(Collection<StreamBuffer> buffers) {
+    for (final StreamBuffer buffer : buffers) {
+      try {
+        buffer.close();
+      } catch (Exception e) {
+        LOGGER.warn("Failed to delete spilled records.", e);
+      }
+    }
+  }
+
+  /**
+   * Flushes the buffers so that the destination has been handed exactly the records covered by the
+   * pending state, commits them and then emits the state.
+   */
+  private void commitCheckpoint() throws Exception {
+    flushQueueToDestination();
+    checkpoint.commit();
+    emitLastCommittedState();
+  }
+
+  private void emitLastCommittedState() {
+    if (lastCommittedState != null && lastCommittedState != lastEmittedState) {
+      outputRecordCollector.accept(lastCommittedState);
+      lastEmittedState = lastCommittedState;
+    }
+  }
+
+  /**
+   * Makes sure no flush is still writing when onClose runs. Their failures no longer matter, the sync
+   * has failed already.
+   */
+  private void awaitFlushesIgnoringFailures() {
+    while (!inFlightFlushes.isEmpty()) {
+      try {
+        inFlightFlushes.removeFirst().future.get();
+      } catch (Exception e) {
+        LOGGER.warn("flush failed while closing a failed sync.", e);
+      }
     }
   }
 
@@ -184,24 +387,42 @@ public class BufferedStreamConsumer extends FailureTrackingAirbyteMessageConsume
 
     pairToIgnoredRecordCount
         .forEach((pair, count) -> LOGGER.warn("A total of {} record(s) of data from stream {} were invalid and were ignored.", count, pair));
-    if (hasFailed) {
-      LOGGER.error("executing on failed close procedure.");
-    } else {
-      LOGGER.info("executing on success close procedure.");
-      flushQueueToDestination();
+    try {
+      if (hasFailed) {
+        LOGGER.error("executing on failed close procedure.");
+        awaitFlushesIgnoringFailures();
+      } else {
+        LOGGER.info("executing on success close procedure.");
+        flushQueueToDestination();
+      }
+    } finally {
+      flushExecutor.shutdownNow();
+      closeBuffers(streamBuffers.values());
+      streamBuffers.clear();
     }
 
     try {
       onClose.accept(hasFailed);
-      // todo (cgardens) - For now we are using this conditional to maintain existing behavior. When we
-      // enable checkpointing, we will need to get feedback from onClose on whether any data was persisted
-      // or not. If it was then, the state message will be emitted.
-      if (!hasFailed && lastCommittedState != null) {
-        outputRecordCollector.accept(lastCommittedState);
+      // states committed by a checkpoint have already been emitted. anything written after the last
+      // checkpoint is only persisted by a successful onClose, so only then is the last state emitted.
+      if (!hasFailed) {
+        emitLastCommittedState();
       }
     } catch (Exception e) {
       LOGGER.error("on close failed.", e);
     }
   }
 
+  private static class InFlightFlush {
+
+    private final Future<?> future;
+    private final AirbyteMessage state;
+
+    private InFlightFlush(Future<?> future, AirbyteMessage state) {
+      this.future = future;
+      this.state = state;
+    }
+
+  }
+
 }
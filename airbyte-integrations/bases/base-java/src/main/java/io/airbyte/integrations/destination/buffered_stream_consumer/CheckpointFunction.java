@@ -0,0 +1,50 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Airbyte
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.airbyte.integrations.destination.buffered_stream_consumer;
+
+/**
+ * Lets a destination commit the data it has been handed so far before the end of the sync, so that
+ * the {@link BufferedStreamConsumer} can emit the matching state message right away instead of only
+ * on close.
+ */
+public interface CheckpointFunction {
+
+  /**
+   * Called whenever a state message arrives, on the thread that accepts messages and only once all
+   * flushes handed over before it have been written. It may therefore read state that the
+   * {@link RecordWriter} updates.
+   *
+   * @return whether enough data has been written since the last checkpoint for a checkpoint to be
+   *         worth it.
+   */
+  boolean isDue();
+
+  /**
+   * Commits everything passed to the {@link RecordWriter} so far, such that it is kept even if the
+   * rest of the sync fails.
+   */
+  void commit() throws Exception;
+
+}
@@ -0,0 +1,121 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Airbyte
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.airbyte.integrations.destination.buffered_stream_consumer;
+
+import com.google.common.base.Preconditions;
+import io.airbyte.commons.functional.CheckedConsumer;
+import io.airbyte.commons.json.Jsons;
+import io.airbyte.protocol.models.AirbyteRecordMessage;
+import io.airbyte.queue.OnDiskQueue;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * The records of one stream that have been accepted but not flushed yet. Records are kept in
+ * memory until the buffer starts spilling. From then on they are serialized to an
+ * {@link OnDiskQueue}, so that all records are still drained in the order they were accepted.
+ */
+class StreamBuffer implements AutoCloseable {
+
+  private final List<AirbyteRecordMessage> records;
+  private long memoryBytes;
+  private OnDiskQueue spilledRecords;
+  private long spilledBytes;
+  private long spilledCount;
+
+  StreamBuffer() {
+    this.records = new ArrayList<>();
+    this.memoryBytes = 0;
+    this.spilledBytes = 0;
+    this.spilledCount = 0;
+  }
+
+  void add(AirbyteRecordMessage record, long recordBytes) {
+    Preconditions.checkState(!isSpilling(), "Cannot keep records in memory once the buffer has spilled.");
+    records.add(record);
+    memoryBytes += recordBytes;
+  }
+
+  void spill(AirbyteRecordMessage record, long recordBytes, Path spillDirectory) throws IOException {
+    if (spilledRecords == null) {
+      spilledRecords = new OnDiskQueue(Files.createTempDirectory(spillDirectory, "buffer"), "records");
+    }
+    spilledRecords.offer(Jsons.serialize(record).getBytes(StandardCharsets.UTF_8));
+    spilledBytes += recordBytes;
+    spilledCount++;
+  }
+
+  boolean isSpilling() {
+    return spilledRecords != null;
+  }
+
+  long getMemoryBytes() {
+    return memoryBytes;
+  }
+
+  long getBytes() {
+    return memoryBytes + spilledBytes;
+  }
+
+  /**
+   * Hands all records to the writer in the order they were accepted and closes the buffer. Spilled
+   * records are read back in batches of about maxBatchBytes.
+   */
+  void drain(CheckedConsumer<List<AirbyteRecordMessage>, Exception> writer, long maxBatchBytes) throws Exception {
+    try {
+      if (!records.isEmpty()) {
+        writer.accept(records);
+      }
+      if (spilledRecords != null) {
+        final long averageRecordBytes = Math.max(1, spilledBytes / spilledCount);
+        final int batchSize = (int) Math.max(1, Math.min(Integer.MAX_VALUE, maxBatchBytes / averageRecordBytes));
+        for (List<byte[]> batch = spilledRecords.pollBatch(batchSize); !batch.isEmpty(); batch = spilledRecords.pollBatch(batchSize)) {
+          writer.accept(batch.stream()
+              .map(bytes -> Jsons.deserialize(new String(bytes, StandardCharsets.UTF_8), AirbyteRecordMessage.class))
+              .collect(Collectors.toList()));
+        }
+      }
+    } finally {
+      close();
+    }
+  }
+
+  /**
+   * Deletes the spilled records from disk.
+   */
+  @Override
+  public void close() throws Exception {
+    if (spilledRecords != null) {
+      spilledRecords.close();
+      spilledRecords = null;
+    }
+  }
+
+}
@@ -0,0 +1,118 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Airbyte
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.airbyte.integrations.base;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.base.Charsets;
+import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableMap;
+import io.airbyte.commons.json.Jsons;
+import io.airbyte.protocol.models.AirbyteMessage;
+import io.airbyte.protocol.models.AirbyteMessage.Type;
+import io.airbyte.protocol.models.AirbyteRecordMessage;
+import io.airbyte.protocol.models.AirbyteStateMessage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class BufferedOutputRecordCollectorTest {
+
+  private static final AirbyteMessage RECORD = new AirbyteMessage()
+      .withType(Type.RECORD)
+      .withRecord(new AirbyteRecordMessage().withStream("users").withEmittedAt(1L).withData(Jsons.jsonNode(ImmutableMap.of("name", "picard"))));
+  private static final AirbyteMessage STATE = new AirbyteMessage()
+      .withType(Type.STATE)
+      .withState(new AirbyteStateMessage().withData(Jsons.jsonNode(ImmutableMap.of("checkpoint", "1"))));
+
+  private ByteArrayOutputStream outputStream;
+  private BufferedOutputRecordCollector collector;
+
+  @BeforeEach
+  void setup() {
+    outputStream = new ByteArrayOutputStream();
+    collector = new BufferedOutputRecordCollector(outputStream);
+  }
+
+  @Test
+  void testRecordsAreBufferedUntilState() throws IOException {
+    collector.accept(RECORD);
+    collector.accept(RECORD);
+    assertEquals(0, outputStream.size());
+
+    collector.accept(STATE);
+    assertEquals(List.of(RECORD, RECORD, STATE), readMessages());
+
+    collector.accept(RECORD);
+    collector.flush();
+    assertEquals(List.of(RECORD, RECORD, STATE, RECORD), readMessages());
+  }
+
+  @Test
+  void testFlushesOnCompleteLines() {
+    final AirbyteMessage largeRecord = new AirbyteMessage()
+        .withType(Type.RECORD)
+        .withRecord(new AirbyteRecordMessage().withStream("users").withEmittedAt(1L)
+            .withData(Jsons.jsonNode(ImmutableMap.of("name", Strings.repeat("a", 1000)))));
+
+    int accepted = 0;
+    while (outputStream.size() == 0) {
+      collector.accept(largeRecord);
+      accepted++;
+    }
+
+    assertEquals(BufferedOutputRecordCollector.FLUSH_THRESHOLD_BYTES / Jsons.serialize(largeRecord).length() + 1, accepted);
+    assertEquals(accepted, readMessages().size());
+  }
+
+  @Test
+  void testFailedSerializationIsNotWritten() throws IOException {
+    // an object without properties cannot be serialized, which only fails once the record was partly
+    // written.
+    final ObjectNode data = (ObjectNode) Jsons.jsonNode(ImmutableMap.of("name", "picard"));
+    data.putPOJO("value", new Object());
+    final AirbyteMessage invalid = new AirbyteMessage()
+        .withType(Type.RECORD)
+        .withRecord(new AirbyteRecordMessage().withStream("users").withData(data));
+
+    collector.accept(RECORD);
+    assertThrows(RuntimeException.class, () -> collector.accept(invalid));
+    collector.flush();
+
+    assertEquals(List.of(RECORD), readMessages());
+  }
+
+  private List<AirbyteMessage> readMessages() {
+    final String output = outputStream.toString(Charsets.UTF_8);
+    assertEquals('\n', output.charAt(output.length() - 1));
+    return output.lines().map(line -> Jsons.deserialize(line, AirbyteMessage.class)).collect(Collectors.toList());
+  }
+
+}
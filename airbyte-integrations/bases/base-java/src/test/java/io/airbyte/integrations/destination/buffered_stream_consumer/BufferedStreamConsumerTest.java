@@ -24,8 +24,17 @@
 
 package io.airbyte.integrations.destination.buffered_stream_consumer;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -44,17 +53,26 @@ import io.airbyte.protocol.models.CatalogHelpers;
 import io.airbyte.protocol.models.ConfiguredAirbyteCatalog;
 import io.airbyte.protocol.models.Field;
 import io.airbyte.protocol.models.JsonSchemaPrimitive;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Instant;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.verification.VerificationMode;
 
 public class BufferedStreamConsumerTest {
 
+  private static final Path TEST_ROOT = Path.of("/tmp/airbyte_tests");
   private static final String SCHEMA_NAME = "public";
   private static final String STREAM_NAME = "id_and_name";
   private static final String STREAM_NAME2 = STREAM_NAME + 2;
@@ -77,6 +95,11 @@ public class BufferedStreamConsumerTest {
       .withType(Type.STATE)
       .withState(new AirbyteStateMessage().withData(Jsons.jsonNode(ImmutableMap.of("state_message_id", 2))));
 
+  // records are flushed once their serialized data reaches the buffer size.
+  private static final long BUFFER_SIZE_10_RECORDS = getSizeInBytes(getNRecords(10));
+  private static final long BUFFER_SIZE_20_RECORDS = getSizeInBytes(getNRecords(20));
+  private static final long MAX_TOTAL_BUFFER_BYTES = 100 * BUFFER_SIZE_20_RECORDS;
+
   private BufferedStreamConsumer consumer;
   private VoidCallable onStart;
   private RecordWriter recordWriter;
@@ -99,7 +122,8 @@ public class BufferedStreamConsumerTest {
         onClose,
         CATALOG,
         isValidRecord,
-        10);
+        BUFFER_SIZE_10_RECORDS,
+        MAX_TOTAL_BUFFER_BYTES);
 
     when(isValidRecord.apply(any())).thenReturn(true);
   }
@@ -183,7 +207,8 @@ public class BufferedStreamConsumerTest {
         onClose,
         CATALOG,
         isValidRecord,
-        20);
+        BUFFER_SIZE_20_RECORDS,
+        MAX_TOTAL_BUFFER_BYTES);
 
     consumer.start();
     consumeRecords(consumer, expectedRecordsBatch1);
@@ -242,6 +267,236 @@ public class BufferedStreamConsumerTest {
     verify(checkpointConsumer, times(1)).accept(STATE_MESSAGE2);
   }
 
+  @Test
+  void testCheckpointEmitsStateBeforeClose() throws Exception {
+    final List<AirbyteMessage> expectedRecordsBatch1 = getNRecords(5);
+    final List<AirbyteMessage> expectedRecordsBatch2 = getNRecords(5, 10);
+    final CheckpointFunction checkpoint = mock(CheckpointFunction.class);
+    when(checkpoint.isDue()).thenReturn(true);
+    final BufferedStreamConsumer consumer = new BufferedStreamConsumer(
+        checkpointConsumer,
+        onStart,
+        recordWriter,
+        onClose,
+        checkpoint,
+        CATALOG,
+        isValidRecord,
+        BUFFER_SIZE_20_RECORDS,
+        MAX_TOTAL_BUFFER_BYTES);
+
+    consumer.start();
+    consumeRecords(consumer, expectedRecordsBatch1);
+    consumer.accept(STATE_MESSAGE1);
+
+    // records before the state are flushed and committed before the state is emitted.
+    final InOrder inOrder = inOrder(recordWriter, checkpoint, checkpointConsumer);
+    inOrder.verify(recordWriter).accept(
+        new AirbyteStreamNameNamespacePair(STREAM_NAME, SCHEMA_NAME),
+        expectedRecordsBatch1.stream().map(AirbyteMessage::getRecord).collect(Collectors.toList()));
+    inOrder.verify(checkpoint).commit();
+    inOrder.verify(checkpointConsumer).accept(STATE_MESSAGE1);
+
+    consumeRecords(consumer, expectedRecordsBatch2);
+    consumer.accept(STATE_MESSAGE2);
+    consumer.close();
+
+    verifyStartAndClose();
+    verifyRecords(STREAM_NAME, SCHEMA_NAME, expectedRecordsBatch2);
+    verify(checkpoint, times(2)).commit();
+    verify(checkpointConsumer, times(1)).accept(STATE_MESSAGE1);
+    verify(checkpointConsumer, times(1)).accept(STATE_MESSAGE2);
+  }
+
+  @Test
+  void testCheckpointedStateIsKeptOnFailure() throws Exception {
+    final CheckpointFunction checkpoint = mock(CheckpointFunction.class);
+    when(checkpoint.isDue()).thenReturn(true, false);
+    final BufferedStreamConsumer consumer = new BufferedStreamConsumer(
+        checkpointConsumer,
+        onStart,
+        recordWriter,
+        onClose,
+        checkpoint,
+        CATALOG,
+        isValidRecord,
+        BUFFER_SIZE_20_RECORDS,
+        MAX_TOTAL_BUFFER_BYTES);
+
+    consumer.start();
+    consumeRecords(consumer, getNRecords(5));
+    consumer.accept(STATE_MESSAGE1);
+    consumeRecords(consumer, getNRecords(5, 10));
+    consumer.accept(STATE_MESSAGE2);
+    // a record from a stream outside of the catalog fails the sync.
+    final AirbyteMessage unknownStreamRecord = Jsons.clone(getNRecords(1).get(0));
+    unknownStreamRecord.getRecord().withStream("unknown");
+    assertThrows(IllegalArgumentException.class, () -> consumer.accept(unknownStreamRecord));
+    consumer.close();
+
+    verify(onClose).accept(true);
+    verify(checkpoint, times(1)).commit();
+    verify(checkpointConsumer, times(1)).accept(STATE_MESSAGE1);
+    verify(checkpointConsumer, never()).accept(STATE_MESSAGE2);
+  }
+
+  @Test
+  void testCheckpointIsOnlyAskedOnceFlushesAreWritten() throws Exception {
+    final AtomicBoolean flushWritten = new AtomicBoolean(false);
+    doAnswer(invocation -> {
+      Thread.sleep(200);
+      flushWritten.set(true);
+      return null;
+    }).when(recordWriter).accept(any(), any());
+    final CheckpointFunction checkpoint = mock(CheckpointFunction.class);
+    // e.g. a checkpoint that is due once a staging file has been written by the flush.
+    when(checkpoint.isDue()).thenAnswer(invocation -> flushWritten.get());
+    final BufferedStreamConsumer consumer = new BufferedStreamConsumer(
+        checkpointConsumer,
+        onStart,
+        recordWriter,
+        onClose,
+        checkpoint,
+        CATALOG,
+        isValidRecord,
+        BUFFER_SIZE_20_RECORDS,
+        MAX_TOTAL_BUFFER_BYTES);
+
+    consumer.start();
+    consumeRecords(consumer, getNRecords(20));
+    consumer.accept(STATE_MESSAGE1);
+
+    verify(checkpoint).commit();
+    verify(checkpointConsumer).accept(STATE_MESSAGE1);
+    consumer.close();
+  }
+
+  @Test
+  void testAcceptsRecordsWhileBufferIsFlushing() throws Exception {
+    final CountDownLatch firstFlushReleased = new CountDownLatch(1);
+    doAnswer(invocation -> {
+      // fails the flush if accepting the next buffer had to wait for it.
+      if (!firstFlushReleased.await(10, TimeUnit.SECONDS)) {
+        throw new IllegalStateException("flush was never released.");
+      }
+      return null;
+    }).when(recordWriter).accept(any(), any());
+
+    final List<AirbyteMessage> expectedRecordsBatch1 = getNRecords(10);
+    final List<AirbyteMessage> expectedRecordsBatch2 = getNRecords(10, 19);
+
+    consumer.start();
+    consumeRecords(consumer, expectedRecordsBatch1);
+    consumeRecords(consumer, expectedRecordsBatch2);
+    consumer.accept(STATE_MESSAGE1);
+    firstFlushReleased.countDown();
+    consumer.close();
+
+    verifyStartAndClose();
+
+    verifyRecords(STREAM_NAME, SCHEMA_NAME, expectedRecordsBatch1);
+    verifyRecords(STREAM_NAME, SCHEMA_NAME, expectedRecordsBatch2);
+
+    verify(checkpointConsumer).accept(STATE_MESSAGE1);
+  }
+
+  @Test
+  void testFailedFlushFailsTheConsumer() throws Exception {
+    doThrow(new RuntimeException("write failed")).when(recordWriter).accept(any(), any());
+
+    consumer.start();
+    consumer.accept(STATE_MESSAGE1);
+    consumeRecords(consumer, getNRecords(10));
+    // the failure of the first flush surfaces once the next buffer is handed over.
+    assertThrows(RuntimeException.class, () -> consumeRecords(consumer, getNRecords(10, 20)));
+    consumer.close();
+
+    verify(onClose).accept(true);
+    verify(checkpointConsumer, never()).accept(STATE_MESSAGE1);
+  }
+
+  @Test
+  void testStreamsAreBufferedSeparately() throws Exception {
+    final List<AirbyteMessage> expectedRecordsStream1 = getNRecords(10);
+    final List<AirbyteMessage> expectedRecordsStream2 = withStream(getNRecords(5), STREAM_NAME2);
+
+    consumer.start();
+    consumeRecords(consumer, expectedRecordsStream2.subList(0, 2));
+    consumeRecords(consumer, expectedRecordsStream1);
+    // stream 1 reached its buffer size without waiting for stream 2.
+    verifyRecords(STREAM_NAME, SCHEMA_NAME, expectedRecordsStream1, timeout(1000));
+    verify(recordWriter, never()).accept(eq(new AirbyteStreamNameNamespacePair(STREAM_NAME2, SCHEMA_NAME)), any());
+
+    consumeRecords(consumer, expectedRecordsStream2.subList(2, 5));
+    consumer.close();
+
+    verifyStartAndClose();
+    verifyRecords(STREAM_NAME2, SCHEMA_NAME, expectedRecordsStream2);
+  }
+
+  @Test
+  void testLargestStreamIsFlushedWhenTotalBufferIsFull() throws Exception {
+    final List<AirbyteMessage> records = getNRecords(10);
+    final List<AirbyteMessage> expectedRecordsStream1 = records.subList(0, 6);
+    final List<AirbyteMessage> expectedRecordsStream2 = withStream(records.subList(6, 10), STREAM_NAME2);
+    final BufferedStreamConsumer consumer = new BufferedStreamConsumer(
+        checkpointConsumer,
+        onStart,
+        recordWriter,
+        onClose,
+        CATALOG,
+        isValidRecord,
+        BUFFER_SIZE_10_RECORDS,
+        BUFFER_SIZE_10_RECORDS);
+
+    consumer.start();
+    consumeRecords(consumer, expectedRecordsStream1);
+    consumeRecords(consumer, expectedRecordsStream2);
+    // together the streams reached the total buffer size, only the larger one is flushed.
+    verifyRecords(STREAM_NAME, SCHEMA_NAME, expectedRecordsStream1, timeout(1000));
+    verify(recordWriter, never()).accept(eq(new AirbyteStreamNameNamespacePair(STREAM_NAME2, SCHEMA_NAME)), any());
+
+    consumer.close();
+
+    verifyStartAndClose();
+    verifyRecords(STREAM_NAME2, SCHEMA_NAME, expectedRecordsStream2);
+  }
+
+  @SuppressWarnings("unchecked")
+  @Test
+  void testRecordsThatDoNotFitIntoMemoryAreSpilledInOrder() throws Exception {
+    final Path spillDirectory = Files.createTempDirectory(Files.createDirectories(TEST_ROOT), "spill");
+    final List<AirbyteMessage> expectedRecords = getNRecords(10);
+    final List<AirbyteMessage> expectedRecordsStream2 = withStream(getNRecords(2), STREAM_NAME2);
+    // keeps 3 records in memory, the stream is flushed once it reached 20 records.
+    final BufferedStreamConsumer consumer = new BufferedStreamConsumer(
+        checkpointConsumer,
+        onStart,
+        recordWriter,
+        onClose,
+        null,
+        CATALOG,
+        isValidRecord,
+        BUFFER_SIZE_20_RECORDS,
+        getSizeInBytes(getNRecords(3)),
+        spillDirectory);
+
+    consumer.start();
+    consumeRecords(consumer, expectedRecords);
+    consumeRecords(consumer, expectedRecordsStream2);
+    assertEquals(2, Files.list(spillDirectory).count());
+    consumer.close();
+
+    verifyStartAndClose();
+    final ArgumentCaptor<List<AirbyteRecordMessage>> captor = ArgumentCaptor.forClass(List.class);
+    verify(recordWriter, atLeast(2)).accept(eq(new AirbyteStreamNameNamespacePair(STREAM_NAME, SCHEMA_NAME)), captor.capture());
+    assertEquals(
+        expectedRecords.stream().map(AirbyteMessage::getRecord).collect(Collectors.toList()),
+        captor.getAllValues().stream().flatMap(List::stream).collect(Collectors.toList()));
+    verifyRecords(STREAM_NAME2, SCHEMA_NAME, expectedRecordsStream2);
+    // spilled records are deleted once they have been written.
+    assertEquals(0, Files.list(spillDirectory).count());
+  }
+
   private void verifyStartAndClose() throws Exception {
     verify(onStart).call();
     verify(onClose).accept(false);
@@ -274,8 +529,24 @@ public class BufferedStreamConsumerTest {
         .collect(Collectors.toList());
   }
 
+  private static List<AirbyteMessage> withStream(List<AirbyteMessage> records, String streamName) {
+    return records.stream()
+        .map(Jsons::clone)
+        .peek(m -> m.getRecord().withStream(streamName))
+        .collect(Collectors.toList());
+  }
+
+  private static long getSizeInBytes(List<AirbyteMessage> records) {
+    return records.stream().mapToLong(m -> Jsons.serialize(m.getRecord().getData()).length()).sum();
+  }
+
   private void verifyRecords(String streamName, String namespace, Collection<AirbyteMessage> expectedRecords) throws Exception {
-    verify(recordWriter).accept(
+    verifyRecords(streamName, namespace, expectedRecords, times(1));
+  }
+
+  private void verifyRecords(String streamName, String namespace, Collection<AirbyteMessage> expectedRecords, VerificationMode mode)
+      throws Exception {
+    verify(recordWriter, mode).accept(
         new AirbyteStreamNameNamespacePair(streamName, namespace),
         expectedRecords.stream().map(AirbyteMessage::getRecord).collect(Collectors.toList()));
   }
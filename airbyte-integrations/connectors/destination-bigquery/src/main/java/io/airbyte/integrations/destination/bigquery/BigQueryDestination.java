@@ -35,13 +35,11 @@ import com.google.cloud.bigquery.DatasetInfo;
 import com.google.cloud.bigquery.Field;
 import com.google.cloud.bigquery.FormatOptions;
 import com.google.cloud.bigquery.Job;
-import com.google.cloud.bigquery.JobId;
 import com.google.cloud.bigquery.JobInfo.CreateDisposition;
 import com.google.cloud.bigquery.JobInfo.WriteDisposition;
 import com.google.cloud.bigquery.QueryJobConfiguration;
 import com.google.cloud.bigquery.Schema;
 import com.google.cloud.bigquery.StandardSQLTypeName;
-import com.google.cloud.bigquery.TableDataWriteChannel;
 import com.google.cloud.bigquery.TableId;
 import com.google.cloud.bigquery.WriteChannelConfiguration;
 import com.google.common.base.Charsets;
@@ -65,7 +63,6 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
-import java.util.UUID;
 import java.util.function.Consumer;
 import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.slf4j.Logger;
@@ -168,15 +165,16 @@ public class BigQueryDestination extends BaseConnector implements Destination {
    * 1. Create a temporary table for each stream
    * </p>
    * <p>
-   * 2. Write records to each stream directly (the bigquery client handles managing when to push the
-   * records over the network)
+   * 2. Write records to each stream through load jobs. Records are buffered and sent in large writes,
+   * and a new load job is started every so often, see {@link BigQueryLoadJobWriter}.
    * </p>
    * <p>
    * 4. Once all records have been written close the writers, so that any remaining records are
    * flushed.
    * </p>
    * <p>
-   * 5. Copy the temp tables to the final table name (overwriting if necessary).
+   * 5. Copy the temp tables to the final table name (overwriting if necessary). The copy jobs of all
+   * streams run at the same time.
    * </p>
    *
    * @param config - integration-specific configuration object as json. e.g. { "username": "airbyte",
@@ -209,7 +207,7 @@ public class BigQueryDestination extends BaseConnector implements Destination {
           .setSchema(schema)
           .setFormatOptions(FormatOptions.json()).build(); // new-line delimited json.
 
-      final TableDataWriteChannel writer = bigquery.writer(JobId.of(UUID.randomUUID().toString()), writeChannelConfiguration);
+      final BigQueryLoadJobWriter writer = new BigQueryLoadJobWriter(bigquery, writeChannelConfiguration);
       final WriteDisposition syncMode = getWriteDisposition(configStream.getDestinationSyncMode());
 
       writeConfigs.put(AirbyteStreamNameNamespacePair.fromAirbyteSteam(stream),
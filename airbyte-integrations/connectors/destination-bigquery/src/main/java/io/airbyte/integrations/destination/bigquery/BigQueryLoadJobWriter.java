@@ -0,0 +1,155 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Airbyte
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.airbyte.integrations.destination.bigquery;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.cloud.bigquery.BigQuery;
+import com.google.cloud.bigquery.Job;
+import com.google.cloud.bigquery.JobId;
+import com.google.cloud.bigquery.TableDataWriteChannel;
+import com.google.cloud.bigquery.WriteChannelConfiguration;
+import io.airbyte.commons.json.Jsons;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Writes rows of one table as new-line delimited json through load jobs. Rows are serialized into
+ * a buffer that is handed to the write channel in large writes instead of one small write per row.
+ * Once a load job has been sent {@link #MAX_LOAD_JOB_BYTES}, its channel is closed, which starts the
+ * job, and the next rows go to a new load job. BigQuery then loads the earlier data while later rows
+ * are still being written.
+ */
+class BigQueryLoadJobWriter {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(BigQueryLoadJobWriter.class);
+
+  private static final int WRITE_BUFFER_BYTES = 1024 * 1024; // 1 MiB
+  private static final long MAX_LOAD_JOB_BYTES = 1024L * 1024 * 1024; // 1 GiB
+
+  private final BigQuery bigquery;
+  private final WriteChannelConfiguration writeChannelConfiguration;
+  private final long maxLoadJobBytes;
+  private final WriteBuffer buffer;
+  private final List<Job> jobs;
+
+  private TableDataWriteChannel channel;
+  private JobId channelJobId;
+  private long channelBytes;
+
+  BigQueryLoadJobWriter(BigQuery bigquery, WriteChannelConfiguration writeChannelConfiguration) {
+    this(bigquery, writeChannelConfiguration, MAX_LOAD_JOB_BYTES);
+  }
+
+  BigQueryLoadJobWriter(BigQuery bigquery, WriteChannelConfiguration writeChannelConfiguration, long maxLoadJobBytes) {
+    this.bigquery = bigquery;
+    this.writeChannelConfiguration = writeChannelConfiguration;
+    this.maxLoadJobBytes = maxLoadJobBytes;
+    this.buffer = new WriteBuffer(WRITE_BUFFER_BYTES);
+    this.jobs = new ArrayList<>();
+  }
+
+  void write(JsonNode row) throws IOException {
+    Jsons.serialize(row, buffer);
+    buffer.write('\n');
+    if (buffer.size() >= WRITE_BUFFER_BYTES) {
+      flushBuffer();
+    }
+  }
+
+  /**
+   * Writes the remaining rows and starts the last load job.
+   */
+  void close() throws IOException {
+    flushBuffer();
+    closeChannel();
+  }
+
+  /**
+   * Waits for all load jobs that have been started, and only then fails if any of them failed.
+   */
+  void waitForJobs() {
+    String error = null;
+    for (final Job job : jobs) {
+      final ImmutablePair<Job, String> result = BigQueryUtils.executeQuery(job);
+      if (result.getRight() != null && error == null) {
+        error = result.getRight();
+      }
+    }
+    if (error != null) {
+      throw new RuntimeException("BigQuery was unable to load data due to an error: \n" + error);
+    }
+  }
+
+  private void flushBuffer() throws IOException {
+    if (buffer.size() == 0) {
+      return;
+    }
+    if (channel == null) {
+      channelJobId = JobId.of(UUID.randomUUID().toString());
+      channel = bigquery.writer(channelJobId, writeChannelConfiguration);
+      channelBytes = 0;
+    }
+    final ByteBuffer bytes = buffer.toByteBuffer();
+    while (bytes.hasRemaining()) {
+      channel.write(bytes);
+    }
+    channelBytes += buffer.size();
+    buffer.reset();
+
+    if (channelBytes >= maxLoadJobBytes) {
+      closeChannel();
+    }
+  }
+
+  private void closeChannel() throws IOException {
+    if (channel != null) {
+      channel.close();
+      jobs.add(channel.getJob());
+      LOGGER.info("Started load job {} of {} bytes into {}.", channelJobId.getJob(), channelBytes, writeChannelConfiguration.getDestinationTable());
+      channel = null;
+    }
+  }
+
+  private static class WriteBuffer extends ByteArrayOutputStream {
+
+    private WriteBuffer(int size) {
+      super(size);
+    }
+
+    // wraps the buffered bytes without copying them.
+    private ByteBuffer toByteBuffer() {
+      return ByteBuffer.wrap(buf, 0, count);
+    }
+
+  }
+
+}
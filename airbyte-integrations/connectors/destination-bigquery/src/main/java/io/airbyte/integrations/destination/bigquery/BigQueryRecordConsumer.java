@@ -34,7 +34,6 @@ import com.google.cloud.bigquery.JobInfo.WriteDisposition;
 import com.google.cloud.bigquery.QueryParameterValue;
 import com.google.cloud.bigquery.Schema;
 import com.google.cloud.bigquery.TableId;
-import com.google.common.base.Charsets;
 import com.google.common.collect.ImmutableMap;
 import io.airbyte.commons.json.Jsons;
 import io.airbyte.commons.lang.Exceptions;
@@ -47,11 +46,13 @@ import io.airbyte.protocol.models.AirbyteMessage.Type;
 import io.airbyte.protocol.models.AirbyteRecordMessage;
 import io.airbyte.protocol.models.ConfiguredAirbyteCatalog;
 import java.io.IOException;
-import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
+import java.util.stream.Collectors;
 import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -98,7 +99,7 @@ public class BigQueryRecordConsumer extends FailureTrackingAirbyteMessageConsume
       }
       try {
         final BigQueryWriteConfig writer = writeConfigs.get(pair);
-        writer.getWriter().write(ByteBuffer.wrap((Jsons.serialize(formatRecord(writer.getSchema(), recordMessage)) + "\n").getBytes(Charsets.UTF_8)));
+        writer.getWriter().write(formatRecord(writer.getSchema(), recordMessage));
       } catch (IOException e) {
         throw new RuntimeException(e);
       }
@@ -123,19 +124,21 @@ public class BigQueryRecordConsumer extends FailureTrackingAirbyteMessageConsume
   public void close(boolean hasFailed) {
     try {
       writeConfigs.values().parallelStream().forEach(bigQueryWriteConfig -> Exceptions.toRuntime(() -> bigQueryWriteConfig.getWriter().close()));
-      writeConfigs.values().forEach(bigQueryWriteConfig -> Exceptions.toRuntime(() -> {
-        if (bigQueryWriteConfig.getWriter().getJob() != null) {
-          bigQueryWriteConfig.getWriter().getJob().waitFor();
-        }
-      }));
       if (!hasFailed) {
+        writeConfigs.values().forEach(bigQueryWriteConfig -> bigQueryWriteConfig.getWriter().waitForJobs());
         LOGGER.info("executing on success close procedure.");
-        writeConfigs.values()
-            .forEach(
-                bigQueryWriteConfig -> copyTable(bigquery, bigQueryWriteConfig.getTmpTable(), bigQueryWriteConfig.getTable(),
-                    bigQueryWriteConfig.getSyncMode()));
+        copyTables(bigquery, writeConfigs.values());
         // BQ is still all or nothing if a failure happens in the destination.
         outputRecordCollector.accept(lastStateMessage);
+      } else {
+        // tmp tables are only deleted once nothing is loading into them anymore.
+        writeConfigs.values().forEach(bigQueryWriteConfig -> {
+          try {
+            bigQueryWriteConfig.getWriter().waitForJobs();
+          } catch (Exception e) {
+            LOGGER.warn("load job failed while closing a failed sync.", e);
+          }
+        });
       }
     } finally {
       // clean up tmp tables;
@@ -143,24 +146,43 @@ public class BigQueryRecordConsumer extends FailureTrackingAirbyteMessageConsume
     }
   }
 
+  /**
+   * Starts the copy jobs of all streams before waiting for any of them, so that BigQuery runs them at
+   * the same time.
+   */
+  private static void copyTables(BigQuery bigquery, Collection<BigQueryWriteConfig> writeConfigs) {
+    final List<ImmutablePair<BigQueryWriteConfig, Job>> copyJobs = writeConfigs.stream()
+        .map(bigQueryWriteConfig -> ImmutablePair.of(bigQueryWriteConfig,
+            startCopyTable(bigquery, bigQueryWriteConfig.getTmpTable(), bigQueryWriteConfig.getTable(), bigQueryWriteConfig.getSyncMode())))
+        .collect(Collectors.toList());
+
+    String error = null;
+    for (final ImmutablePair<BigQueryWriteConfig, Job> copyJob : copyJobs) {
+      final ImmutablePair<Job, String> jobStringImmutablePair = BigQueryUtils.executeQuery(copyJob.getRight());
+      if (jobStringImmutablePair.getRight() != null) {
+        LOGGER.error("failed to copy tmp table: {} to final table: {}", copyJob.getLeft().getTmpTable(), copyJob.getLeft().getTable());
+        error = error == null ? jobStringImmutablePair.getRight() : error;
+      } else {
+        LOGGER.info("successfully copied tmp table: {} to final table: {}", copyJob.getLeft().getTmpTable(), copyJob.getLeft().getTable());
+      }
+    }
+    if (error != null) {
+      throw new RuntimeException("BigQuery was unable to copy table due to an error: \n" + error);
+    }
+  }
+
   // https://cloud.google.com/bigquery/docs/managing-tables#copying_a_single_source_table
-  private static void copyTable(
-                                BigQuery bigquery,
-                                TableId sourceTableId,
-                                TableId destinationTableId,
-                                WriteDisposition syncMode) {
+  private static Job startCopyTable(BigQuery bigquery,
+                                    TableId sourceTableId,
+                                    TableId destinationTableId,
+                                    WriteDisposition syncMode) {
 
     final CopyJobConfiguration configuration = CopyJobConfiguration.newBuilder(destinationTableId, sourceTableId)
         .setCreateDisposition(CreateDisposition.CREATE_IF_NEEDED)
         .setWriteDisposition(syncMode)
         .build();
 
-    final Job job = bigquery.create(JobInfo.of(configuration));
-    final ImmutablePair<Job, String> jobStringImmutablePair = BigQueryUtils.executeQuery(job);
-    if (jobStringImmutablePair.getRight() != null) {
-      throw new RuntimeException("BigQuery was unable to copy table due to an error: \n" + job.getStatus().getError());
-    }
-    LOGGER.info("successfully copied tmp table: {} to final table: {}", sourceTableId, destinationTableId);
+    return bigquery.create(JobInfo.of(configuration));
   }
 
 }
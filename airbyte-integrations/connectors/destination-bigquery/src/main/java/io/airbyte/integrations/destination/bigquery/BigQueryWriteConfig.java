@@ -26,18 +26,17 @@ package io.airbyte.integrations.destination.bigquery;
 
 import com.google.cloud.bigquery.JobInfo.WriteDisposition;
 import com.google.cloud.bigquery.Schema;
-import com.google.cloud.bigquery.TableDataWriteChannel;
 import com.google.cloud.bigquery.TableId;
 
 class BigQueryWriteConfig {
 
   private final TableId table;
   private final TableId tmpTable;
-  private final TableDataWriteChannel writer;
+  private final BigQueryLoadJobWriter writer;
   private final WriteDisposition syncMode;
   private final Schema schema;
 
-  BigQueryWriteConfig(TableId table, TableId tmpTable, TableDataWriteChannel writer, WriteDisposition syncMode, Schema schema) {
+  BigQueryWriteConfig(TableId table, TableId tmpTable, BigQueryLoadJobWriter writer, WriteDisposition syncMode, Schema schema) {
     this.table = table;
     this.tmpTable = tmpTable;
     this.writer = writer;
@@ -53,7 +52,7 @@ class BigQueryWriteConfig {
     return tmpTable;
   }
 
-  public TableDataWriteChannel getWriter() {
+  public BigQueryLoadJobWriter getWriter() {
     return writer;
   }
 
@@ -0,0 +1,143 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Airbyte
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.airbyte.integrations.destination.bigquery;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.cloud.bigquery.BigQuery;
+import com.google.cloud.bigquery.BigQueryError;
+import com.google.cloud.bigquery.Job;
+import com.google.cloud.bigquery.JobId;
+import com.google.cloud.bigquery.JobStatus;
+import com.google.cloud.bigquery.TableDataWriteChannel;
+import com.google.cloud.bigquery.TableId;
+import com.google.cloud.bigquery.WriteChannelConfiguration;
+import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableMap;
+import io.airbyte.commons.json.Jsons;
+import java.nio.ByteBuffer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+class BigQueryLoadJobWriterTest {
+
+  // larger than the write buffer, so that every one of these rows is flushed to the channel.
+  private static final JsonNode LARGE_ROW = Jsons.jsonNode(ImmutableMap.of("data", Strings.repeat("a", 1024 * 1024)));
+  private static final JsonNode SMALL_ROW = Jsons.jsonNode(ImmutableMap.of("data", "a"));
+
+  private BigQuery bigquery;
+  private WriteChannelConfiguration writeChannelConfiguration;
+
+  @BeforeEach
+  void setup() {
+    bigquery = mock(BigQuery.class);
+    writeChannelConfiguration = WriteChannelConfiguration.of(TableId.of("dataset", "_airbyte_tmp_users"));
+  }
+
+  @Test
+  void testStartsNewLoadJobAfterLimit() throws Exception {
+    final TableDataWriteChannel firstChannel = mockChannel(mockJob(null));
+    final TableDataWriteChannel secondChannel = mockChannel(mockJob(null));
+    when(bigquery.writer(any(JobId.class), any(WriteChannelConfiguration.class))).thenReturn(firstChannel, secondChannel);
+
+    final BigQueryLoadJobWriter writer = new BigQueryLoadJobWriter(bigquery, writeChannelConfiguration, 1024 * 1024);
+    writer.write(LARGE_ROW);
+    writer.write(SMALL_ROW);
+    writer.close();
+
+    verify(bigquery, times(2)).writer(any(JobId.class), any(WriteChannelConfiguration.class));
+    final InOrder inOrder = inOrder(firstChannel, secondChannel);
+    inOrder.verify(firstChannel).write(any(ByteBuffer.class));
+    inOrder.verify(firstChannel).close();
+    inOrder.verify(secondChannel).write(any(ByteBuffer.class));
+    inOrder.verify(secondChannel).close();
+  }
+
+  @Test
+  void testKeepsOneLoadJobBelowLimit() throws Exception {
+    final TableDataWriteChannel channel = mockChannel(mockJob(null));
+    when(bigquery.writer(any(JobId.class), any(WriteChannelConfiguration.class))).thenReturn(channel);
+
+    final BigQueryLoadJobWriter writer = new BigQueryLoadJobWriter(bigquery, writeChannelConfiguration);
+    writer.write(LARGE_ROW);
+    writer.write(LARGE_ROW);
+    writer.write(SMALL_ROW);
+    verify(channel, never()).close();
+    writer.close();
+
+    verify(bigquery).writer(any(JobId.class), any(WriteChannelConfiguration.class));
+    verify(channel, times(3)).write(any(ByteBuffer.class));
+    verify(channel).close();
+  }
+
+  @Test
+  void testFailedLoadJobFailsAfterWaitingForAllJobs() throws Exception {
+    final Job failedJob = mockJob(new BigQueryError("invalid", "users", "bad row"));
+    final Job succeededJob = mockJob(null);
+    final TableDataWriteChannel firstChannel = mockChannel(failedJob);
+    final TableDataWriteChannel secondChannel = mockChannel(succeededJob);
+    when(bigquery.writer(any(JobId.class), any(WriteChannelConfiguration.class))).thenReturn(firstChannel, secondChannel);
+
+    final BigQueryLoadJobWriter writer = new BigQueryLoadJobWriter(bigquery, writeChannelConfiguration, 1);
+    writer.write(LARGE_ROW);
+    writer.write(SMALL_ROW);
+    writer.close();
+
+    assertThrows(RuntimeException.class, writer::waitForJobs);
+    verify(failedJob).waitFor();
+    verify(succeededJob).waitFor();
+  }
+
+  static TableDataWriteChannel mockChannel(Job job) throws Exception {
+    final TableDataWriteChannel channel = mock(TableDataWriteChannel.class);
+    when(channel.write(any(ByteBuffer.class))).thenAnswer(invocation -> {
+      final ByteBuffer bytes = invocation.getArgument(0);
+      final int written = bytes.remaining();
+      bytes.position(bytes.limit());
+      return written;
+    });
+    when(channel.getJob()).thenReturn(job);
+    return channel;
+  }
+
+  static Job mockJob(BigQueryError error) throws Exception {
+    final Job job = mock(Job.class);
+    final JobStatus status = mock(JobStatus.class);
+    when(status.getError()).thenReturn(error);
+    when(job.getStatus()).thenReturn(status);
+    when(job.waitFor()).thenReturn(job);
+    return job;
+  }
+
+}
@@ -0,0 +1,164 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Airbyte
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.airbyte.integrations.destination.bigquery;
+
+import static io.airbyte.integrations.destination.bigquery.BigQueryLoadJobWriterTest.mockChannel;
+import static io.airbyte.integrations.destination.bigquery.BigQueryLoadJobWriterTest.mockJob;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.cloud.bigquery.BigQuery;
+import com.google.cloud.bigquery.BigQueryError;
+import com.google.cloud.bigquery.Job;
+import com.google.cloud.bigquery.JobId;
+import com.google.cloud.bigquery.JobInfo;
+import com.google.cloud.bigquery.JobInfo.WriteDisposition;
+import com.google.cloud.bigquery.TableDataWriteChannel;
+import com.google.cloud.bigquery.TableId;
+import com.google.cloud.bigquery.WriteChannelConfiguration;
+import com.google.common.collect.ImmutableMap;
+import io.airbyte.commons.json.Jsons;
+import io.airbyte.integrations.base.AirbyteStreamNameNamespacePair;
+import io.airbyte.protocol.models.AirbyteMessage;
+import io.airbyte.protocol.models.AirbyteMessage.Type;
+import io.airbyte.protocol.models.AirbyteRecordMessage;
+import io.airbyte.protocol.models.AirbyteStateMessage;
+import io.airbyte.protocol.models.ConfiguredAirbyteCatalog;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+class BigQueryRecordConsumerTest {
+
+  private static final String DATASET = "dataset";
+  private static final String USERS = "users";
+  private static final String TASKS = "tasks";
+  private static final AirbyteMessage STATE_MESSAGE = new AirbyteMessage()
+      .withType(Type.STATE)
+      .withState(new AirbyteStateMessage().withData(Jsons.jsonNode(ImmutableMap.of("checkpoint", 1))));
+
+  private BigQuery bigquery;
+  private Consumer<AirbyteMessage> outputRecordCollector;
+
+  @SuppressWarnings("unchecked")
+  @BeforeEach
+  void setup() {
+    bigquery = mock(BigQuery.class);
+    outputRecordCollector = mock(Consumer.class);
+  }
+
+  @Test
+  void testFailedLoadJobFailsClose() throws Exception {
+    final TableDataWriteChannel channel = mockChannel(mockJob(new BigQueryError("invalid", USERS, "bad row")));
+    when(bigquery.writer(any(JobId.class), any(WriteChannelConfiguration.class))).thenReturn(channel);
+
+    final BigQueryRecordConsumer consumer = createConsumer(USERS);
+    consumer.start();
+    consumer.accept(recordMessage(USERS));
+    consumer.accept(STATE_MESSAGE);
+
+    assertThrows(RuntimeException.class, consumer::close);
+    verify(bigquery, never()).create(any(JobInfo.class));
+    verify(outputRecordCollector, never()).accept(any());
+    verify(bigquery).delete(TableId.of(DATASET, "_airbyte_tmp_" + USERS));
+  }
+
+  @Test
+  void testStartsAllCopyJobsBeforeWaiting() throws Exception {
+    final TableDataWriteChannel usersChannel = mockChannel(mockJob(null));
+    final TableDataWriteChannel tasksChannel = mockChannel(mockJob(null));
+    when(bigquery.writer(any(JobId.class), any(WriteChannelConfiguration.class))).thenReturn(usersChannel, tasksChannel);
+    final Job usersCopyJob = mockJob(null);
+    final Job tasksCopyJob = mockJob(null);
+    when(bigquery.create(any(JobInfo.class))).thenReturn(usersCopyJob, tasksCopyJob);
+
+    final BigQueryRecordConsumer consumer = createConsumer(USERS, TASKS);
+    consumer.start();
+    consumer.accept(recordMessage(USERS));
+    consumer.accept(recordMessage(TASKS));
+    consumer.accept(STATE_MESSAGE);
+    consumer.close();
+
+    final InOrder inOrder = inOrder(bigquery, usersCopyJob, tasksCopyJob);
+    inOrder.verify(bigquery, times(2)).create(any(JobInfo.class));
+    inOrder.verify(usersCopyJob).waitFor();
+    inOrder.verify(tasksCopyJob).waitFor();
+    verify(outputRecordCollector).accept(STATE_MESSAGE);
+  }
+
+  @Test
+  void testFailedCopyJobFailsCloseAfterWaitingForAllCopies() throws Exception {
+    final TableDataWriteChannel usersChannel = mockChannel(mockJob(null));
+    final TableDataWriteChannel tasksChannel = mockChannel(mockJob(null));
+    when(bigquery.writer(any(JobId.class), any(WriteChannelConfiguration.class))).thenReturn(usersChannel, tasksChannel);
+    final Job usersCopyJob = mockJob(new BigQueryError("invalid", USERS, "copy failed"));
+    final Job tasksCopyJob = mockJob(null);
+    when(bigquery.create(any(JobInfo.class))).thenReturn(usersCopyJob, tasksCopyJob);
+
+    final BigQueryRecordConsumer consumer = createConsumer(USERS, TASKS);
+    consumer.start();
+    consumer.accept(recordMessage(USERS));
+    consumer.accept(recordMessage(TASKS));
+    consumer.accept(STATE_MESSAGE);
+
+    assertThrows(RuntimeException.class, consumer::close);
+    verify(usersCopyJob).waitFor();
+    verify(tasksCopyJob).waitFor();
+    verify(outputRecordCollector, never()).accept(any());
+  }
+
+  private BigQueryRecordConsumer createConsumer(String... streamNames) {
+    final Map<AirbyteStreamNameNamespacePair, BigQueryWriteConfig> writeConfigs = new LinkedHashMap<>();
+    for (final String streamName : streamNames) {
+      final TableId tmpTable = TableId.of(DATASET, "_airbyte_tmp_" + streamName);
+      writeConfigs.put(new AirbyteStreamNameNamespacePair(streamName, null), new BigQueryWriteConfig(
+          TableId.of(DATASET, "_airbyte_raw_" + streamName),
+          tmpTable,
+          new BigQueryLoadJobWriter(bigquery, WriteChannelConfiguration.of(tmpTable)),
+          WriteDisposition.WRITE_APPEND,
+          null));
+    }
+    return new BigQueryRecordConsumer(bigquery, writeConfigs, new ConfiguredAirbyteCatalog(), outputRecordCollector);
+  }
+
+  private static AirbyteMessage recordMessage(String streamName) {
+    return new AirbyteMessage()
+        .withType(Type.RECORD)
+        .withRecord(new AirbyteRecordMessage()
+            .withStream(streamName)
+            .withData(Jsons.jsonNode(ImmutableMap.of("id", 1)))
+            .withEmittedAt(1L));
+  }
+
+}
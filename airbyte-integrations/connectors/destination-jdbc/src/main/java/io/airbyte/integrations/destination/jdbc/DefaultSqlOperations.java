@@ -28,13 +28,12 @@ import io.airbyte.commons.json.Jsons;
 import io.airbyte.db.jdbc.JdbcDatabase;
 import io.airbyte.integrations.base.JavaBaseConstants;
 import io.airbyte.protocol.models.AirbyteRecordMessage;
-import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileReader;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
 import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.time.Instant;
@@ -42,7 +41,7 @@ import java.util.List;
 import java.util.UUID;
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVPrinter;
-import org.postgresql.copy.CopyManager;
+import org.postgresql.copy.PGCopyOutputStream;
 import org.postgresql.core.BaseConnection;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -51,6 +50,8 @@ public class DefaultSqlOperations implements SqlOperations {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(DefaultSqlOperations.class);
 
+  private static final int COPY_BUFFER_SIZE = 1024 * 1024;
+
   @Override
   public void createSchemaIfNotExists(JdbcDatabase database, String schemaName) throws Exception {
     database.execute(createSchemaQuery(schemaName));
@@ -84,25 +85,24 @@ public class DefaultSqlOperations implements SqlOperations {
 
     // todo (cgardens) - move this into a postgres version of this. this syntax is postgres-specific
     database.execute(connection -> {
-      File tmpFile = null;
+      // rows are streamed into the COPY as they are printed, nothing is staged on disk.
+      final var sql = String.format("COPY %s.%s FROM stdin DELIMITER ',' CSV", schemaName, tmpTableName);
+      final var copyStream = new PGCopyOutputStream(connection.unwrap(BaseConnection.class), sql, COPY_BUFFER_SIZE);
       try {
-        tmpFile = Files.createTempFile(tmpTableName + "-", ".tmp").toFile();
-        writeBatchToFile(tmpFile, records);
-
-        var copyManager = new CopyManager(connection.unwrap(BaseConnection.class));
-        var sql = String.format("COPY %s.%s FROM stdin DELIMITER ',' CSV", schemaName, tmpTableName);
-        var bufferedReader = new BufferedReader(new FileReader(tmpFile));
-        copyManager.copyIn(sql, bufferedReader);
+        final var csvPrinter = new CSVPrinter(new BufferedWriter(new OutputStreamWriter(copyStream, StandardCharsets.UTF_8)), CSVFormat.DEFAULT);
+        writeBatch(csvPrinter, records);
+        // closing the stream ends the COPY. it must not be closed on failure, that would load the rows
+        // printed so far.
+        csvPrinter.close();
       } catch (Exception e) {
-        throw new RuntimeException(e);
-      } finally {
-        try {
-          if (tmpFile != null) {
-            Files.delete(tmpFile.toPath());
+        if (copyStream.isActive()) {
+          try {
+            copyStream.cancelCopy();
+          } catch (SQLException cancelException) {
+            e.addSuppressed(cancelException);
           }
-        } catch (IOException e) {
-          throw new RuntimeException(e);
         }
+        throw new RuntimeException(e);
       }
     });
   }
@@ -111,14 +111,7 @@ public class DefaultSqlOperations implements SqlOperations {
     PrintWriter writer = null;
     try {
       writer = new PrintWriter(tmpFile, StandardCharsets.UTF_8);
-      var csvPrinter = new CSVPrinter(writer, CSVFormat.DEFAULT);
-
-      for (AirbyteRecordMessage record : records) {
-        var uuid = UUID.randomUUID().toString();
-        var jsonData = Jsons.serialize(record.getData());
-        var emittedAt = Timestamp.from(Instant.ofEpochMilli(record.getEmittedAt()));
-        csvPrinter.printRecord(uuid, jsonData, emittedAt);
-      }
+      writeBatch(new CSVPrinter(writer, CSVFormat.DEFAULT), records);
     } finally {
       if (writer != null) {
         writer.close();
@@ -126,6 +119,15 @@ public class DefaultSqlOperations implements SqlOperations {
     }
   }
 
+  private static void writeBatch(CSVPrinter csvPrinter, List<AirbyteRecordMessage> records) throws IOException {
+    for (AirbyteRecordMessage record : records) {
+      var uuid = UUID.randomUUID().toString();
+      var jsonData = Jsons.serialize(record.getData());
+      var emittedAt = Timestamp.from(Instant.ofEpochMilli(record.getEmittedAt()));
+      csvPrinter.printRecord(uuid, jsonData, emittedAt);
+    }
+  }
+
   @Override
   public String truncateTableQuery(JdbcDatabase database, String schemaName, String tableName) {
     return String.format("TRUNCATE TABLE %s.%s;\n", schemaName, tableName);
@@ -63,7 +63,11 @@ public class JdbcBufferedConsumerFactory {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(JdbcBufferedConsumerFactory.class);
 
-  private static final int MAX_BATCH_SIZE = 10000;
+  // records are buffered per stream and flushed by their serialized size, so that streams of large
+  // records stay within the memory of the container and streams of small records are not flushed in
+  // tiny batches.
+  private static final long MAX_STREAM_BUFFER_BYTES = 16 * 1024 * 1024; // 16 MiB
+  private static final long MAX_TOTAL_BUFFER_BYTES = 64 * 1024 * 1024; // 64 MiB
 
   public static AirbyteMessageConsumer create(Consumer<AirbyteMessage> outputRecordCollector,
                                               JdbcDatabase database,
@@ -80,7 +84,8 @@ public class JdbcBufferedConsumerFactory {
         onCloseFunction(database, sqlOperations, writeConfigs),
         catalog,
         sqlOperations::isValidData,
-        MAX_BATCH_SIZE);
+        MAX_STREAM_BUFFER_BYTES,
+        MAX_TOTAL_BUFFER_BYTES);
   }
 
   private static List<WriteConfig> createWriteConfigs(NamingConventionTransformer namingResolver,
@@ -25,6 +25,7 @@
 package io.airbyte.integrations.destination.jdbc;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.Lists;
 import io.airbyte.commons.json.Jsons;
 import io.airbyte.db.jdbc.JdbcDatabase;
 import io.airbyte.protocol.models.AirbyteRecordMessage;
@@ -38,9 +39,13 @@ import java.util.function.Supplier;
 
 public class SqlOperationsUtils {
 
+  // 3 bind parameters per record stay below the parameter limit of postgres based databases.
+  private static final int MAX_RECORDS_PER_QUERY = 10_000;
+
   /**
    * Inserts "raw" records in a single query. The purpose of helper to abstract away database-specific
-   * SQL syntax from this query.
+   * SQL syntax from this query. Large batches are split into several queries of at most
+   * {@link #MAX_RECORDS_PER_QUERY} records.
    *
    * @param insertQueryComponent the first line of the query e.g. INSERT INTO public.users (ab_id,
    *        data, emitted_at)
@@ -91,30 +96,79 @@ public class SqlOperationsUtils {
     }
 
     jdbcDatabase.execute(connection -> {
+      for (final List<AirbyteRecordMessage> chunk : Lists.partition(records, MAX_RECORDS_PER_QUERY)) {
+        // Strategy: We want to use PreparedStatement because it handles binding values to the SQL query
+        // (e.g. handling formatting timestamps). A PreparedStatement statement is created by supplying
+        // the full SQL string at creation time. Then subsequently specifying which values are bound to
+        // the string. Thus there will be two loops below.
+        // 1) Loop over records to build the full string.
+        // 2) Loop over the records and bind the appropriate values to the string.
+        final StringBuilder sql = new StringBuilder(insertQueryComponent);
+        chunk.forEach(r -> sql.append(recordQueryComponent));
+        final String s = sql.toString();
+        final String s1 = s.substring(0, s.length() - 2) + (sem ? ";" : "");
 
-      // Strategy: We want to use PreparedStatement because it handles binding values to the SQL query
-      // (e.g. handling formatting timestamps). A PreparedStatement statement is created by supplying the
-      // full SQL string at creation time. Then subsequently specifying which values are bound to the
-      // string. Thus there will be two loops below.
-      // 1) Loop over records to build the full string.
-      // 2) Loop over the records and bind the appropriate values to the string.
-      final StringBuilder sql = new StringBuilder(insertQueryComponent);
-      records.forEach(r -> sql.append(recordQueryComponent));
-      final String s = sql.toString();
-      final String s1 = s.substring(0, s.length() - 2) + (sem ? ";" : "");
+        try (final PreparedStatement statement = connection.prepareStatement(s1)) {
+          // second loop: bind values to the SQL string.
+          int i = 1;
+          for (final AirbyteRecordMessage message : chunk) {
+            // 1-indexed
+            statement.setString(i, uuidSupplier.get().toString());
+            statement.setString(i + 1, Jsons.serialize(message.getData()));
+            statement.setTimestamp(i + 2, Timestamp.from(Instant.ofEpochMilli(message.getEmittedAt())));
+            i += 3;
+          }
 
-      try (final PreparedStatement statement = connection.prepareStatement(s1)) {
-        // second loop: bind values to the SQL string.
-        int i = 1;
-        for (final AirbyteRecordMessage message : records) {
-          // 1-indexed
-          statement.setString(i, uuidSupplier.get().toString());
-          statement.setString(i + 1, Jsons.serialize(message.getData()));
-          statement.setTimestamp(i + 2, Timestamp.from(Instant.ofEpochMilli(message.getEmittedAt())));
-          i += 3;
+          statement.execute();
         }
+      }
+    });
+  }
+
+  /**
+   * Inserts "raw" records with a statement for a single record that is executed as a JDBC batch. The
+   * statement is prepared once and has the same shape for every batch, so the database does not
+   * have to parse a new statement per batch and large batches do not run into bind parameter limits.
+   * Prefer this over {@link #insertRawRecordsInSingleQuery(String, String, JdbcDatabase, List)} for
+   * drivers that send a batch in a single round trip.
+   *
+   * @param insertQuery query for a single record e.g. INSERT INTO public.users (ab_id, data,
+   *        emitted_at) VALUES (?, ?, ?)
+   * @param jdbcDatabase jdbc database
+   * @param records records to write
+   * @param batchSize number of records sent to the database with each executeBatch
+   * @throws SQLException exception
+   */
+  public static void insertRawRecordsInBatches(String insertQuery,
+                                               JdbcDatabase jdbcDatabase,
+                                               List<AirbyteRecordMessage> records,
+                                               int batchSize)
+      throws SQLException {
+    insertRawRecordsInBatches(insertQuery, jdbcDatabase, records, batchSize, UUID::randomUUID);
+  }
 
-        statement.execute();
+  @VisibleForTesting
+  static void insertRawRecordsInBatches(String insertQuery,
+                                        JdbcDatabase jdbcDatabase,
+                                        List<AirbyteRecordMessage> records,
+                                        int batchSize,
+                                        Supplier<UUID> uuidSupplier)
+      throws SQLException {
+    if (records.isEmpty()) {
+      return;
+    }
+
+    jdbcDatabase.execute(connection -> {
+      try (final PreparedStatement statement = connection.prepareStatement(insertQuery)) {
+        for (final List<AirbyteRecordMessage> batch : Lists.partition(records, batchSize)) {
+          for (final AirbyteRecordMessage message : batch) {
+            statement.setString(1, uuidSupplier.get().toString());
+            statement.setString(2, Jsons.serialize(message.getData()));
+            statement.setTimestamp(3, Timestamp.from(Instant.ofEpochMilli(message.getEmittedAt())));
+            statement.addBatch();
+          }
+          statement.executeBatch();
+        }
       }
     });
   }
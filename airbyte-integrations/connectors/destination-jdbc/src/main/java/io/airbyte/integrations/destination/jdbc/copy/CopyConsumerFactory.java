@@ -24,12 +24,15 @@
 
 package io.airbyte.integrations.destination.jdbc.copy;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import io.airbyte.commons.json.Jsons;
+import io.airbyte.db.Databases;
 import io.airbyte.db.jdbc.JdbcDatabase;
 import io.airbyte.integrations.base.AirbyteMessageConsumer;
 import io.airbyte.integrations.base.AirbyteStreamNameNamespacePair;
 import io.airbyte.integrations.destination.ExtendedNameTransformer;
 import io.airbyte.integrations.destination.buffered_stream_consumer.BufferedStreamConsumer;
+import io.airbyte.integrations.destination.buffered_stream_consumer.CheckpointFunction;
 import io.airbyte.integrations.destination.buffered_stream_consumer.OnCloseFunction;
 import io.airbyte.integrations.destination.buffered_stream_consumer.OnStartFunction;
 import io.airbyte.integrations.destination.buffered_stream_consumer.RecordWriter;
@@ -37,13 +40,21 @@ import io.airbyte.integrations.destination.jdbc.SqlOperations;
 import io.airbyte.protocol.models.AirbyteMessage;
 import io.airbyte.protocol.models.AirbyteRecordMessage;
 import io.airbyte.protocol.models.ConfiguredAirbyteCatalog;
+import java.nio.file.Path;
 import java.sql.Timestamp;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -52,7 +63,17 @@ public class CopyConsumerFactory {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(CopyConsumerFactory.class);
 
-  private static final int MAX_BATCH_SIZE = 10000;
+  // records beyond the memory budget are spilled to disk, so each stream is written to its staging
+  // files in large batches even when its records are very wide.
+  private static final long MAX_STREAM_BUFFER_BYTES = 256 * 1024 * 1024; // 256 MiB
+  private static final long MAX_TOTAL_BUFFER_BYTES = 64 * 1024 * 1024; // 64 MiB
+  private static final Path SPILL_DIRECTORY = Path.of(System.getProperty("java.io.tmpdir"));
+  // Finalizing a stream mostly waits on the staging upload and on the warehouse COPY, so several
+  // streams are finalized at once.
+  private static final int FINALIZE_PARALLELISM = Databases.MAX_CONCURRENT_QUERIES;
+  // Staged data is committed to the destination tables at the first state message after a stream has
+  // rolled over to a new staging file, or after this much time, so a failed sync keeps what it loaded.
+  private static final Duration CHECKPOINT_INTERVAL = Duration.ofMinutes(15);
 
   public static <T> AirbyteMessageConsumer create(Consumer<AirbyteMessage> outputRecordCollector,
                                                   JdbcDatabase database,
@@ -77,9 +98,12 @@ public class CopyConsumerFactory {
         onStartFunction(pairToIgnoredRecordCount),
         recordWriterFunction(pairToCopier, sqlOperations, pairToIgnoredRecordCount),
         onCloseFunction(pairToCopier, database, sqlOperations, pairToIgnoredRecordCount),
+        checkpointFunction(pairToCopier, database, sqlOperations),
         catalog,
         sqlOperations::isValidData,
-        MAX_BATCH_SIZE);
+        MAX_STREAM_BUFFER_BYTES,
+        MAX_TOTAL_BUFFER_BYTES,
+        SPILL_DIRECTORY);
   }
 
   private static <T> Map<AirbyteStreamNameNamespacePair, StreamCopier> createWriteConfigs(ExtendedNameTransformer namingResolver,
@@ -94,8 +118,10 @@ public class CopyConsumerFactory {
     for (var configuredStream : catalog.getStreams()) {
       var stream = configuredStream.getStream();
       var pair = AirbyteStreamNameNamespacePair.fromAirbyteSteam(stream);
+      var sourceSyncMode = configuredStream.getSyncMode();
       var syncMode = configuredStream.getDestinationSyncMode();
-      var copier = streamCopierFactory.create(defaultSchema, config, stagingFolder, syncMode, stream, namingResolver, database, sqlOperations);
+      var copier = streamCopierFactory.create(defaultSchema, config, stagingFolder, sourceSyncMode, syncMode, stream, namingResolver, database,
+          sqlOperations);
 
       pairToCopier.put(pair, copier);
     }
@@ -126,6 +152,46 @@ public class CopyConsumerFactory {
     };
   }
 
+  private static CheckpointFunction checkpointFunction(Map<AirbyteStreamNameNamespacePair, StreamCopier> pairToCopier,
+                                                       JdbcDatabase db,
+                                                       SqlOperations sqlOperations) {
+    return new CheckpointFunction() {
+
+      private Instant lastCheckpoint = Instant.now();
+
+      @Override
+      public boolean isDue() {
+        return Duration.between(lastCheckpoint, Instant.now()).compareTo(CHECKPOINT_INTERVAL) >= 0
+            || pairToCopier.values().stream().anyMatch(StreamCopier::hasUncopiedStagingFiles);
+      }
+
+      @Override
+      public void commit() throws Exception {
+        final Instant start = Instant.now();
+        final List<String> queries = new ArrayList<>();
+        for (var copier : pairToCopier.values()) {
+          copier.closeStagingFile();
+          if (!copier.hasUncopiedStagingFiles()) {
+            continue;
+          }
+          copier.createDestinationSchema();
+          copier.createTemporaryTable();
+          copier.copyStagingFileToTemporaryTable();
+          var checkpointStatement = copier.generateCheckpointStatement(copier.createDestinationTable());
+          if (checkpointStatement != null) {
+            queries.add(checkpointStatement);
+          }
+        }
+        if (!queries.isEmpty()) {
+          sqlOperations.executeTransaction(db, queries);
+        }
+        lastCheckpoint = Instant.now();
+        LOGGER.info("Checkpoint committed {} streams in {}.", queries.size(), Duration.between(start, lastCheckpoint));
+      }
+
+    };
+  }
+
   private static OnCloseFunction onCloseFunction(Map<AirbyteStreamNameNamespacePair, StreamCopier> pairToCopier,
                                                  JdbcDatabase database,
                                                  SqlOperations sqlOperations,
@@ -133,42 +199,68 @@ public class CopyConsumerFactory {
     return (hasFailed) -> {
       pairToIgnoredRecordCount
           .forEach((pair, count) -> LOGGER.warn("A total of {} record(s) of data from stream {} were invalid and were ignored.", count, pair));
-      closeAsOneTransaction(new ArrayList<>(pairToCopier.values()), hasFailed, database, sqlOperations);
+      closeAsOneTransaction(pairToCopier, hasFailed, database, sqlOperations);
     };
   }
 
-  private static void closeAsOneTransaction(List<StreamCopier> streamCopiers, boolean hasFailed, JdbcDatabase db, SqlOperations sqlOperations)
+  /**
+   * Uploads the remaining staging data of every stream and copies it into temporary tables,
+   * concurrently across streams, then merges all temporary tables into their destination tables in a
+   * single transaction.
+   */
+  private static void closeAsOneTransaction(Map<AirbyteStreamNameNamespacePair, StreamCopier> pairToCopier,
+                                            boolean hasFailed,
+                                            JdbcDatabase db,
+                                            SqlOperations sqlOperations)
       throws Exception {
+    final AtomicBoolean failed = new AtomicBoolean(hasFailed);
+    final ExecutorService executor = Executors.newFixedThreadPool(
+        Math.max(1, Math.min(FINALIZE_PARALLELISM, pairToCopier.size())),
+        new ThreadFactoryBuilder().setNameFormat("copy-finalize-%d").build());
     Exception firstException = null;
     try {
-      List<String> queries = new ArrayList<>();
-      for (var copier : streamCopiers) {
+      if (!failed.get()) {
         try {
-          copier.closeStagingUploader(hasFailed);
-
-          if (!hasFailed) {
+          // schemas are shared between streams, creating them concurrently can race in the destination.
+          for (var copier : pairToCopier.values()) {
             copier.createDestinationSchema();
-            copier.createTemporaryTable();
-            copier.copyStagingFileToTemporaryTable();
-            var destTableName = copier.createDestinationTable();
-            var mergeQuery = copier.generateMergeStatement(destTableName);
-            queries.add(mergeQuery);
           }
         } catch (Exception e) {
-          final String message = String.format("Failed to finalize copy to temp table due to: %s", e);
-          LOGGER.error(message);
-          hasFailed = true;
+          LOGGER.error(String.format("Failed to create destination schema due to: %s", e));
+          failed.set(true);
+          firstException = e;
+        }
+      }
+
+      final List<Future<String>> mergeQueryFutures = new ArrayList<>();
+      for (var entry : pairToCopier.entrySet()) {
+        mergeQueryFutures.add(executor.submit(() -> finalizeStream(entry.getKey(), entry.getValue(), failed)));
+      }
+
+      final List<String> queries = new ArrayList<>();
+      for (var future : mergeQueryFutures) {
+        try {
+          final String mergeQuery = future.get();
+          if (mergeQuery != null) {
+            queries.add(mergeQuery);
+          }
+        } catch (ExecutionException e) {
           if (firstException == null) {
-            firstException = e;
+            firstException = e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
           }
         }
       }
-      if (!hasFailed) {
+      if (!failed.get()) {
         sqlOperations.executeTransaction(db, queries);
       }
     } finally {
-      for (var copier : streamCopiers) {
-        copier.removeFileAndDropTmpTable();
+      try {
+        final Exception cleanUpException = cleanUp(pairToCopier.values(), executor);
+        if (firstException == null) {
+          firstException = cleanUpException;
+        }
+      } finally {
+        executor.shutdownNow();
       }
     }
     if (firstException != null) {
@@ -176,4 +268,60 @@ public class CopyConsumerFactory {
     }
   }
 
+  /**
+   * @return the merge statement for the stream, or null if the sync has failed by the time the
+   *         staging data of this stream was uploaded
+   */
+  private static String finalizeStream(AirbyteStreamNameNamespacePair pair, StreamCopier copier, AtomicBoolean hasFailed) throws Exception {
+    try {
+      final Instant start = Instant.now();
+      copier.closeStagingUploader(hasFailed.get());
+      if (hasFailed.get()) {
+        return null;
+      }
+      final Instant uploaded = Instant.now();
+
+      copier.createTemporaryTable();
+      copier.copyStagingFileToTemporaryTable();
+      var destTableName = copier.createDestinationTable();
+      var mergeQuery = copier.generateMergeStatement(destTableName);
+      LOGGER.info("Finalized copy to temp table for stream {}: upload took {}, copy took {}.", pair,
+          Duration.between(start, uploaded), Duration.between(uploaded, Instant.now()));
+      return mergeQuery;
+    } catch (Exception e) {
+      final String message = String.format("Failed to finalize copy to temp table due to: %s", e);
+      LOGGER.error(message);
+      hasFailed.set(true);
+      throw e;
+    }
+  }
+
+  /**
+   * Removes the staging files and temporary tables of all streams concurrently.
+   *
+   * @return the first exception thrown while cleaning up, or null
+   */
+  private static Exception cleanUp(Iterable<StreamCopier> streamCopiers, ExecutorService executor) throws InterruptedException {
+    final List<Callable<Void>> cleanUpTasks = new ArrayList<>();
+    for (var copier : streamCopiers) {
+      cleanUpTasks.add(() -> {
+        copier.removeFileAndDropTmpTable();
+        return null;
+      });
+    }
+
+    Exception firstException = null;
+    for (var future : executor.invokeAll(cleanUpTasks)) {
+      try {
+        future.get();
+      } catch (ExecutionException e) {
+        LOGGER.error("Failed to clean up staging files and temp table.", e.getCause());
+        if (firstException == null) {
+          firstException = e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+        }
+      }
+    }
+    return firstException;
+  }
+
 }
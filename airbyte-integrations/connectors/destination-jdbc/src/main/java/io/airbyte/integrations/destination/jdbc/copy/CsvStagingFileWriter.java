@@ -0,0 +1,89 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Airbyte
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.airbyte.integrations.destination.jdbc.copy;
+
+import com.google.common.io.CountingOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
+
+/**
+ * Writes records as gzip compressed CSV into a single staging file and keeps track of how many
+ * compressed bytes have been handed to the underlying stream, so copiers can roll over to a new
+ * staging file once a file is large enough.
+ */
+public class CsvStagingFileWriter implements Closeable {
+
+  // Warehouses load the files of a single COPY in parallel. Files in the 100 MB (compressed) range
+  // are what both Redshift and Snowflake recommend for spreading a load across slices / threads.
+  public static final int DEFAULT_MAX_FILE_SIZE_MB = 100;
+  public static final String FILE_EXTENSION = ".csv.gz";
+
+  private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+  private final CountingOutputStream countingOutputStream;
+  private final CSVPrinter csvPrinter;
+
+  public CsvStagingFileWriter(OutputStream outputStream) throws IOException {
+    this.countingOutputStream = new CountingOutputStream(outputStream);
+    final var gzipOutputStream = new GZIPOutputStream(countingOutputStream, GZIP_BUFFER_SIZE);
+    this.csvPrinter = new CSVPrinter(new OutputStreamWriter(gzipOutputStream, StandardCharsets.UTF_8), CSVFormat.DEFAULT);
+  }
+
+  public void write(UUID id, String jsonDataString, Timestamp emittedAt) throws IOException {
+    csvPrinter.printRecord(id, jsonDataString, emittedAt);
+  }
+
+  /**
+   * @return number of compressed bytes written to the underlying stream so far. Lags behind the
+   *         records written by at most the compression buffers.
+   */
+  public long getCompressedBytes() {
+    return countingOutputStream.getCount();
+  }
+
+  /**
+   * Finishes the gzip stream and closes the underlying stream.
+   */
+  @Override
+  public void close() throws IOException {
+    csvPrinter.close();
+  }
+
+  /**
+   * @return name of the n-th staging file of a stream, relative to the staging prefix of the stream
+   */
+  public static String getStagingFileName(int index) {
+    return String.format("%05d%s", index, FILE_EXTENSION);
+  }
+
+}
@@ -44,14 +44,27 @@ public interface StreamCopier {
    */
   void closeStagingUploader(boolean hasFailed) throws Exception;
 
+  /**
+   * Closes the staging file currently being written, if any, so that everything written so far is
+   * picked up by the next {@link #copyStagingFileToTemporaryTable()}. Later writes go to a new
+   * staging file.
+   */
+  void closeStagingFile() throws Exception;
+
+  /**
+   * @return true if there are closed staging files that have not been copied to the temporary table
+   *         yet
+   */
+  boolean hasUncopiedStagingFiles();
+
   /**
    * Creates a temporary table in the target database.
    */
   void createTemporaryTable() throws Exception;
 
   /**
-   * Copies the staging file to the temporary table. This method should block until the copy/upload
-   * has completed.
+   * Copies the closed staging files that have not been copied yet to the temporary table. This method
+   * should block until the copy/upload has completed.
    */
   void copyStagingFileToTemporaryTable() throws Exception;
 
@@ -72,6 +85,15 @@ public interface StreamCopier {
    */
   String generateMergeStatement(String destTableName) throws Exception;
 
+  /**
+   * Generates SQL statements that move the rows copied to the temporary table so far into the final
+   * table and empty the temporary table, so that they can be committed before the sync completes.
+   *
+   * @return the statements, or null if the sync modes only allow merging at the end of the sync, as
+   *         for full refresh or overwrite streams
+   */
+  String generateCheckpointStatement(String destTableName) throws Exception;
+
   /**
    * Cleans up the copier by removing the staging file and dropping the temporary table after
    * completion or failure.
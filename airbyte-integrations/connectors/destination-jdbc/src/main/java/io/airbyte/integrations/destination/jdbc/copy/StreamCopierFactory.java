@@ -29,12 +29,14 @@ import io.airbyte.integrations.destination.ExtendedNameTransformer;
 import io.airbyte.integrations.destination.jdbc.SqlOperations;
 import io.airbyte.protocol.models.AirbyteStream;
 import io.airbyte.protocol.models.DestinationSyncMode;
+import io.airbyte.protocol.models.SyncMode;
 
 public interface StreamCopierFactory<T> {
 
   StreamCopier create(String configuredSchema,
                       T config,
                       String stagingFolder,
+                      SyncMode sourceSyncMode,
                       DestinationSyncMode syncMode,
                       AirbyteStream stream,
                       ExtendedNameTransformer nameTransformer,
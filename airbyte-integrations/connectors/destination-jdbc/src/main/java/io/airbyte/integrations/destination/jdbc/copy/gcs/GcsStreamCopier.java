@@ -26,27 +26,28 @@ package io.airbyte.integrations.destination.jdbc.copy.gcs;
 
 import com.google.auth.oauth2.GoogleCredentials;
 import com.google.cloud.WriteChannel;
+import com.google.cloud.storage.Blob;
 import com.google.cloud.storage.BlobId;
 import com.google.cloud.storage.BlobInfo;
 import com.google.cloud.storage.Storage;
+import com.google.cloud.storage.Storage.BlobListOption;
 import com.google.cloud.storage.StorageOptions;
 import io.airbyte.db.jdbc.JdbcDatabase;
 import io.airbyte.integrations.destination.ExtendedNameTransformer;
 import io.airbyte.integrations.destination.jdbc.SqlOperations;
+import io.airbyte.integrations.destination.jdbc.copy.CsvStagingFileWriter;
 import io.airbyte.integrations.destination.jdbc.copy.StreamCopier;
 import io.airbyte.protocol.models.DestinationSyncMode;
+import io.airbyte.protocol.models.SyncMode;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
-import java.io.PrintWriter;
 import java.nio.channels.Channels;
-import java.nio.charset.StandardCharsets;
 import java.sql.SQLException;
 import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
-import org.apache.commons.csv.CSVFormat;
-import org.apache.commons.csv.CSVPrinter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -54,12 +55,15 @@ public abstract class GcsStreamCopier implements StreamCopier {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(GcsStreamCopier.class);
 
-  private final String gcsStagingFile;
+  private final String gcsStagingPrefix;
   private final Storage storageClient;
   private final GcsConfig gcsConfig;
-  private final WriteChannel channel;
-  private final CSVPrinter csvPrinter;
+  private final long maxFileSizeBytes;
+  private final List<String> stagingFiles;
+  private int copiedFileCount;
+  private CsvStagingFileWriter stagingFileWriter;
   private final String tmpTableName;
+  private final SyncMode sourceSyncMode;
   private final DestinationSyncMode destSyncMode;
   private final String schemaName;
   private final String streamName;
@@ -68,6 +72,7 @@ public abstract class GcsStreamCopier implements StreamCopier {
   private final SqlOperations sqlOperations;
 
   public GcsStreamCopier(String stagingFolder,
+                         SyncMode sourceSyncMode,
                          DestinationSyncMode destSyncMode,
                          String schema,
                          String streamName,
@@ -76,6 +81,7 @@ public abstract class GcsStreamCopier implements StreamCopier {
                          GcsConfig gcsConfig,
                          ExtendedNameTransformer nameTransformer,
                          SqlOperations sqlOperations) {
+    this.sourceSyncMode = sourceSyncMode;
     this.destSyncMode = destSyncMode;
     this.schemaName = schema;
     this.streamName = streamName;
@@ -86,50 +92,53 @@ public abstract class GcsStreamCopier implements StreamCopier {
     this.storageClient = storageClient;
     this.gcsConfig = gcsConfig;
 
-    this.gcsStagingFile = String.join("/", stagingFolder, schemaName, streamName);
-
-    var blobId = BlobId.of(gcsConfig.getBucketName(), gcsStagingFile);
-    var blobInfo = BlobInfo.newBuilder(blobId).build();
-    var blob = storageClient.create(blobInfo);
-    this.channel = blob.writer();
-    OutputStream outputStream = Channels.newOutputStream(channel);
-
-    var writer = new PrintWriter(outputStream, true, StandardCharsets.UTF_8);
-    try {
-      this.csvPrinter = new CSVPrinter(writer, CSVFormat.DEFAULT);
-    } catch (IOException e) {
-      throw new RuntimeException(e);
-    }
+    // every staging file of the stream lives under this prefix, so that the COPY and the clean up can
+    // address all of them at once.
+    this.gcsStagingPrefix = String.join("/", stagingFolder, schemaName, streamName) + "/";
+    this.maxFileSizeBytes = (long) CsvStagingFileWriter.DEFAULT_MAX_FILE_SIZE_MB * 1024 * 1024;
+    this.stagingFiles = new ArrayList<>();
   }
 
   @Override
   public void write(UUID id, String jsonDataString, Timestamp emittedAt) throws Exception {
-    csvPrinter.printRecord(id, jsonDataString, emittedAt);
+    if (stagingFileWriter == null) {
+      startStagingFile();
+    }
+    stagingFileWriter.write(id, jsonDataString, emittedAt);
+    if (stagingFileWriter.getCompressedBytes() >= maxFileSizeBytes) {
+      closeStagingFile();
+    }
   }
 
   @Override
   public void closeStagingUploader(boolean hasFailed) throws Exception {
     LOGGER.info("Uploading remaining data for {} stream.", streamName);
-    csvPrinter.close();
-    channel.close();
-    LOGGER.info("All data for {} stream uploaded.", streamName);
+    closeStagingFile();
+    LOGGER.info("All data for {} stream uploaded into {} staging files.", streamName, stagingFiles.size());
   }
 
   @Override
   public void copyStagingFileToTemporaryTable() throws Exception {
-    LOGGER.info("Starting copy to tmp table: {} in destination for stream: {}, schema: {}.", tmpTableName, streamName, schemaName);
-    copyGcsCsvFileIntoTable(db, getFullGcsPath(gcsConfig.getBucketName(), gcsStagingFile), schemaName, tmpTableName, gcsConfig);
+    final List<String> filesToCopy = stagingFiles.subList(copiedFileCount, getClosedFileCount());
+    if (filesToCopy.isEmpty()) {
+      LOGGER.info("No new staging files for stream {}, nothing to copy to tmp table {}.", streamName, tmpTableName);
+      return;
+    }
+    LOGGER.info("Starting copy of {} staging files to tmp table: {} in destination for stream: {}, schema: {}.", filesToCopy.size(), tmpTableName,
+        streamName, schemaName);
+    copyGcsCsvFilesIntoTable(db, getFullGcsPath(gcsConfig.getBucketName(), gcsStagingPrefix), List.copyOf(filesToCopy), schemaName, tmpTableName,
+        gcsConfig);
+    copiedFileCount += filesToCopy.size();
     LOGGER.info("Copy to tmp table {} in destination for stream {} complete.", tmpTableName, streamName);
   }
 
   @Override
   public void removeFileAndDropTmpTable() throws Exception {
-    LOGGER.info("Begin cleaning gcs staging file {}.", gcsStagingFile);
-    var blobId = BlobId.of(gcsConfig.getBucketName(), gcsStagingFile);
-    if (storageClient.get(blobId).exists()) {
-      storageClient.delete(blobId);
+    LOGGER.info("Begin cleaning gcs staging files under {}.", gcsStagingPrefix);
+    for (final Blob blob : storageClient.list(gcsConfig.getBucketName(), BlobListOption.prefix(gcsStagingPrefix)).iterateAll()) {
+      blob.delete();
     }
-    LOGGER.info("GCS staging file {} cleaned.", gcsStagingFile);
+    LOGGER.info("GCS staging files under {} cleaned.", gcsStagingPrefix);
 
     LOGGER.info("Begin cleaning {} tmp table in destination.", tmpTableName);
     sqlOperations.dropTableIfExists(db, schemaName, tmpTableName);
@@ -158,6 +167,27 @@ public abstract class GcsStreamCopier implements StreamCopier {
     return destTableName;
   }
 
+  @Override
+  public boolean hasUncopiedStagingFiles() {
+    return getClosedFileCount() > copiedFileCount;
+  }
+
+  @Override
+  public String generateCheckpointStatement(String destTableName) {
+    // overwriting the destination table is only correct once all of the data has been staged, and a
+    // failed full refresh is retried by reading the whole source again, which would duplicate the rows
+    // committed so far.
+    if (destSyncMode.equals(DestinationSyncMode.OVERWRITE) || sourceSyncMode.equals(SyncMode.FULL_REFRESH)) {
+      return null;
+    }
+    LOGGER.info("Preparing to move rows copied so far from tmp table {} to dest table: {}, schema: {}, in destination.", tmpTableName, destTableName,
+        schemaName);
+    return sqlOperations.copyTableQuery(db, schemaName, tmpTableName, destTableName)
+        // unlike TRUNCATE, which commits implicitly on Redshift, DELETE stays in the transaction of the
+        // checkpoint, so either every stream of the checkpoint is moved or none is.
+        + String.format("DELETE FROM %s.%s;\n", schemaName, tmpTableName);
+  }
+
   @Override
   public String generateMergeStatement(String destTableName) throws Exception {
     LOGGER.info("Preparing to merge tmp table {} to dest table: {}, schema: {}, in destination.", tmpTableName, destTableName, schemaName);
@@ -170,6 +200,29 @@ public abstract class GcsStreamCopier implements StreamCopier {
     return queries.toString();
   }
 
+  private int getClosedFileCount() {
+    return stagingFileWriter == null ? stagingFiles.size() : stagingFiles.size() - 1;
+  }
+
+  private void startStagingFile() throws IOException {
+    final String stagingFile = CsvStagingFileWriter.getStagingFileName(stagingFiles.size());
+    var blobId = BlobId.of(gcsConfig.getBucketName(), gcsStagingPrefix + stagingFile);
+    var blobInfo = BlobInfo.newBuilder(blobId).build();
+    var blob = storageClient.create(blobInfo);
+    // closing the staging file writer closes the channel, which completes the upload of the blob.
+    final WriteChannel channel = blob.writer();
+    stagingFileWriter = new CsvStagingFileWriter(Channels.newOutputStream(channel));
+    stagingFiles.add(stagingFile);
+  }
+
+  @Override
+  public void closeStagingFile() throws IOException {
+    if (stagingFileWriter != null) {
+      stagingFileWriter.close();
+      stagingFileWriter = null;
+    }
+  }
+
   private static String getFullGcsPath(String bucketName, String stagingFile) {
     // this is intentionally gcs:/ not gcs:// since the join adds the additional slash
     return String.join("/", "gcs:/", bucketName, stagingFile);
@@ -199,11 +252,19 @@ public abstract class GcsStreamCopier implements StreamCopier {
         .getService();
   }
 
-  public abstract void copyGcsCsvFileIntoTable(JdbcDatabase database,
-                                               String gcsFileLocation,
-                                               String schema,
-                                               String tableName,
-                                               GcsConfig gcsConfig)
+  /**
+   * Loads gzip compressed CSV staging files into a table with as few statements as the warehouse
+   * allows, so that it can load the files of a stream in parallel.
+   *
+   * @param gcsStagingLocation gcs:// location of the folder holding the staging files
+   * @param stagingFiles names of the staging files, relative to the staging location
+   */
+  public abstract void copyGcsCsvFilesIntoTable(JdbcDatabase database,
+                                                String gcsStagingLocation,
+                                                List<String> stagingFiles,
+                                                String schema,
+                                                String tableName,
+                                                GcsConfig gcsConfig)
       throws SQLException;
 
 }
@@ -35,6 +35,7 @@ import io.airbyte.integrations.destination.jdbc.copy.StreamCopier;
 import io.airbyte.integrations.destination.jdbc.copy.StreamCopierFactory;
 import io.airbyte.protocol.models.AirbyteStream;
 import io.airbyte.protocol.models.DestinationSyncMode;
+import io.airbyte.protocol.models.SyncMode;
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 
@@ -47,6 +48,7 @@ public abstract class GcsStreamCopierFactory implements StreamCopierFactory<GcsC
   public StreamCopier create(String configuredSchema,
                              GcsConfig gcsConfig,
                              String stagingFolder,
+                             SyncMode sourceSyncMode,
                              DestinationSyncMode syncMode,
                              AirbyteStream stream,
                              ExtendedNameTransformer nameTransformer,
@@ -64,7 +66,7 @@ public abstract class GcsStreamCopierFactory implements StreamCopierFactory<GcsC
           .build()
           .getService();
 
-      return create(stagingFolder, syncMode, schema, pair.getName(), storageClient, db, gcsConfig, nameTransformer, sqlOperations);
+      return create(stagingFolder, sourceSyncMode, syncMode, schema, pair.getName(), storageClient, db, gcsConfig, nameTransformer, sqlOperations);
     } catch (Exception e) {
       throw new RuntimeException(e);
     }
@@ -74,6 +76,7 @@ public abstract class GcsStreamCopierFactory implements StreamCopierFactory<GcsC
    * For specific copier suppliers to implement.
    */
   public abstract StreamCopier create(String stagingFolder,
+                                      SyncMode sourceSyncMode,
                                       DestinationSyncMode syncMode,
                                       String schema,
                                       String streamName,
@@ -32,19 +32,25 @@ import com.amazonaws.auth.BasicAWSCredentials;
 import com.amazonaws.client.builder.AwsClientBuilder;
 import com.amazonaws.services.s3.AmazonS3;
 import com.amazonaws.services.s3.AmazonS3ClientBuilder;
+import com.amazonaws.services.s3.model.DeleteObjectsRequest;
+import com.amazonaws.services.s3.model.DeleteObjectsRequest.KeyVersion;
+import com.amazonaws.services.s3.model.ListObjectsV2Request;
+import com.amazonaws.services.s3.model.ListObjectsV2Result;
+import com.amazonaws.services.s3.model.S3ObjectSummary;
 import io.airbyte.db.jdbc.JdbcDatabase;
 import io.airbyte.integrations.destination.ExtendedNameTransformer;
 import io.airbyte.integrations.destination.jdbc.SqlOperations;
+import io.airbyte.integrations.destination.jdbc.copy.CsvStagingFileWriter;
 import io.airbyte.integrations.destination.jdbc.copy.StreamCopier;
 import io.airbyte.protocol.models.DestinationSyncMode;
+import io.airbyte.protocol.models.SyncMode;
 import java.io.IOException;
-import java.io.PrintWriter;
-import java.nio.charset.StandardCharsets;
 import java.sql.SQLException;
 import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
-import org.apache.commons.csv.CSVFormat;
-import org.apache.commons.csv.CSVPrinter;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -55,17 +61,21 @@ public abstract class S3StreamCopier implements StreamCopier {
   private static final int DEFAULT_UPLOAD_THREADS = 10; // The S3 cli uses 10 threads by default.
   private static final int DEFAULT_QUEUE_CAPACITY = DEFAULT_UPLOAD_THREADS;
   // The smallest part size is 5MB. An S3 upload can be maximally formed of 10,000 parts. This gives
-  // us an upper limit of 10,000 * 10 / 1000 = 100 GB per table with a 10MB part size limit.
+  // us an upper limit of 10,000 * 10 / 1000 = 100 GB per staging file with a 10MB part size limit.
+  // Staging files are rolled over long before that, so the part size does not limit the table size.
   // WARNING: Too large a part size can cause potential OOM errors.
   public static final int DEFAULT_PART_SIZE_MB = 10;
 
-  private final String s3StagingFile;
+  private final String s3StagingPrefix;
   private final AmazonS3 s3Client;
   private final S3Config s3Config;
-  private final StreamTransferManager multipartUploadManager;
-  private final MultiPartOutputStream outputStream;
-  private final CSVPrinter csvPrinter;
+  private final long maxFileSizeBytes;
+  private final List<String> stagingFiles;
+  private int copiedFileCount;
+  private StreamTransferManager multipartUploadManager;
+  private CsvStagingFileWriter stagingFileWriter;
   private final String tmpTableName;
+  private final SyncMode sourceSyncMode;
   private final DestinationSyncMode destSyncMode;
   private final String schemaName;
   private final String streamName;
@@ -74,6 +84,7 @@ public abstract class S3StreamCopier implements StreamCopier {
   private final SqlOperations sqlOperations;
 
   public S3StreamCopier(String stagingFolder,
+                        SyncMode sourceSyncMode,
                         DestinationSyncMode destSyncMode,
                         String schema,
                         String streamName,
@@ -82,6 +93,7 @@ public abstract class S3StreamCopier implements StreamCopier {
                         S3Config s3Config,
                         ExtendedNameTransformer nameTransformer,
                         SqlOperations sqlOperations) {
+    this.sourceSyncMode = sourceSyncMode;
     this.destSyncMode = destSyncMode;
     this.schemaName = schema;
     this.streamName = streamName;
@@ -92,43 +104,34 @@ public abstract class S3StreamCopier implements StreamCopier {
     this.s3Client = client;
     this.s3Config = s3Config;
 
-    this.s3StagingFile = String.join("/", stagingFolder, schemaName, streamName);
-    LOGGER.info("S3 upload part size: {} MB", s3Config.getPartSize());
-    // The stream transfer manager lets us greedily stream into S3. The native AWS SDK does not
-    // have support for streaming multipart uploads;
-    // The alternative is first writing the entire output to disk before loading into S3. This is not
-    // feasible with large tables.
-    // Data is chunked into parts. A part is sent off to a queue to be uploaded once it has reached it's
-    // configured part size.
-    // Memory consumption is queue capacity * part size = 10 * 10 = 100 MB at current configurations.
-    this.multipartUploadManager =
-        new StreamTransferManager(s3Config.getBucketName(), s3StagingFile, client)
-            .numUploadThreads(DEFAULT_UPLOAD_THREADS)
-            .queueCapacity(DEFAULT_QUEUE_CAPACITY)
-            .partSize(s3Config.getPartSize());
-    // We only need one output stream as we only have one input stream. This is reasonably performant.
-    // See the above comment.
-    this.outputStream = multipartUploadManager.getMultiPartOutputStreams().get(0);
-
-    var writer = new PrintWriter(outputStream, true, StandardCharsets.UTF_8);
-    try {
-      this.csvPrinter = new CSVPrinter(writer, CSVFormat.DEFAULT);
-    } catch (IOException e) {
-      throw new RuntimeException(e);
-    }
+    // every staging file of the stream lives under this prefix, so that the COPY and the clean up can
+    // address all of them at once.
+    this.s3StagingPrefix = String.join("/", stagingFolder, schemaName, streamName) + "/";
+    this.maxFileSizeBytes = (long) CsvStagingFileWriter.DEFAULT_MAX_FILE_SIZE_MB * 1024 * 1024;
+    this.stagingFiles = new ArrayList<>();
+    LOGGER.info("S3 upload part size: {} MB, staging file size: {} MB", s3Config.getPartSize(), CsvStagingFileWriter.DEFAULT_MAX_FILE_SIZE_MB);
   }
 
   @Override
   public void write(UUID id, String jsonDataString, Timestamp emittedAt) throws Exception {
-    csvPrinter.printRecord(id, jsonDataString, emittedAt);
+    if (stagingFileWriter == null) {
+      startStagingFile();
+    }
+    stagingFileWriter.write(id, jsonDataString, emittedAt);
+    if (stagingFileWriter.getCompressedBytes() >= maxFileSizeBytes) {
+      closeStagingFile();
+    }
   }
 
   @Override
   public void closeStagingUploader(boolean hasFailed) throws Exception {
-    if (hasFailed) {
+    if (hasFailed && multipartUploadManager != null) {
       multipartUploadManager.abort();
+      multipartUploadManager = null;
+      stagingFileWriter = null;
     }
-    closeAndWaitForUpload();
+    closeStagingFile();
+    LOGGER.info("All data for {} stream uploaded into {} staging files.", streamName, stagingFiles.size());
   }
 
   @Override
@@ -145,8 +148,16 @@ public abstract class S3StreamCopier implements StreamCopier {
 
   @Override
   public void copyStagingFileToTemporaryTable() throws Exception {
-    LOGGER.info("Starting copy to tmp table: {} in destination for stream: {}, schema: {}, .", tmpTableName, streamName, schemaName);
-    copyS3CsvFileIntoTable(db, getFullS3Path(s3Config.getBucketName(), s3StagingFile), schemaName, tmpTableName, s3Config);
+    final List<String> filesToCopy = stagingFiles.subList(copiedFileCount, getClosedFileCount());
+    if (filesToCopy.isEmpty()) {
+      LOGGER.info("No new staging files for stream {}, nothing to copy to tmp table {}.", streamName, tmpTableName);
+      return;
+    }
+    LOGGER.info("Starting copy of {} staging files to tmp table: {} in destination for stream: {}, schema: {}, .", filesToCopy.size(), tmpTableName,
+        streamName, schemaName);
+    copyS3CsvFilesIntoTable(db, getFullS3Path(s3Config.getBucketName(), s3StagingPrefix), List.copyOf(filesToCopy), schemaName, tmpTableName,
+        s3Config);
+    copiedFileCount += filesToCopy.size();
     LOGGER.info("Copy to tmp table {} in destination for stream {} complete.", tmpTableName, streamName);
   }
 
@@ -160,6 +171,27 @@ public abstract class S3StreamCopier implements StreamCopier {
     return destTableName;
   }
 
+  @Override
+  public boolean hasUncopiedStagingFiles() {
+    return getClosedFileCount() > copiedFileCount;
+  }
+
+  @Override
+  public String generateCheckpointStatement(String destTableName) {
+    // overwriting the destination table is only correct once all of the data has been staged, and a
+    // failed full refresh is retried by reading the whole source again, which would duplicate the rows
+    // committed so far.
+    if (destSyncMode.equals(DestinationSyncMode.OVERWRITE) || sourceSyncMode.equals(SyncMode.FULL_REFRESH)) {
+      return null;
+    }
+    LOGGER.info("Preparing to move rows copied so far from tmp table {} to dest table: {}, schema: {}, in destination.", tmpTableName, destTableName,
+        schemaName);
+    return sqlOperations.copyTableQuery(db, schemaName, tmpTableName, destTableName)
+        // unlike TRUNCATE, which commits implicitly on Redshift, DELETE stays in the transaction of the
+        // checkpoint, so either every stream of the checkpoint is moved or none is.
+        + String.format("DELETE FROM %s.%s;\n", schemaName, tmpTableName);
+  }
+
   @Override
   public String generateMergeStatement(String destTableName) throws Exception {
     LOGGER.info("Preparing to merge tmp table {} to dest table: {}, schema: {}, in destination.", tmpTableName, destTableName, schemaName);
@@ -174,30 +206,81 @@ public abstract class S3StreamCopier implements StreamCopier {
 
   @Override
   public void removeFileAndDropTmpTable() throws Exception {
-    LOGGER.info("Begin cleaning s3 staging file {}.", s3StagingFile);
-    if (s3Client.doesObjectExist(s3Config.getBucketName(), s3StagingFile)) {
-      s3Client.deleteObject(s3Config.getBucketName(), s3StagingFile);
-    }
-    LOGGER.info("S3 staging file {} cleaned.", s3StagingFile);
+    LOGGER.info("Begin cleaning s3 staging files under {}.", s3StagingPrefix);
+    deleteObjectsWithPrefix(s3Client, s3Config.getBucketName(), s3StagingPrefix);
+    LOGGER.info("S3 staging files under {} cleaned.", s3StagingPrefix);
 
     LOGGER.info("Begin cleaning {} tmp table in destination.", tmpTableName);
     sqlOperations.dropTableIfExists(db, schemaName, tmpTableName);
     LOGGER.info("{} tmp table in destination cleaned.", tmpTableName);
   }
 
+  /**
+   * @return key prefix, relative to the bucket, under which the staging files of the stream are
+   *         written
+   */
+  protected String getS3StagingPrefix() {
+    return s3StagingPrefix;
+  }
+
   private static String getFullS3Path(String s3BucketName, String s3StagingFile) {
     return String.join("/", "s3:/", s3BucketName, s3StagingFile);
   }
 
+  private int getClosedFileCount() {
+    return stagingFileWriter == null ? stagingFiles.size() : stagingFiles.size() - 1;
+  }
+
+  private void startStagingFile() throws IOException {
+    final String stagingFile = CsvStagingFileWriter.getStagingFileName(stagingFiles.size());
+    // The stream transfer manager lets us greedily stream into S3. The native AWS SDK does not
+    // have support for streaming multipart uploads;
+    // The alternative is first writing the entire output to disk before loading into S3. This is not
+    // feasible with large tables.
+    // Data is chunked into parts. A part is sent off to a queue to be uploaded once it has reached it's
+    // configured part size.
+    // Memory consumption is queue capacity * part size = 10 * 10 = 100 MB at current configurations.
+    multipartUploadManager =
+        new StreamTransferManager(s3Config.getBucketName(), s3StagingPrefix + stagingFile, s3Client)
+            .numUploadThreads(DEFAULT_UPLOAD_THREADS)
+            .queueCapacity(DEFAULT_QUEUE_CAPACITY)
+            .partSize(s3Config.getPartSize());
+    // We only need one output stream as we only have one input stream. This is reasonably performant.
+    // See the above comment.
+    final MultiPartOutputStream outputStream = multipartUploadManager.getMultiPartOutputStreams().get(0);
+    stagingFileWriter = new CsvStagingFileWriter(outputStream);
+    stagingFiles.add(stagingFile);
+  }
+
   /**
-   * Closes the printers/outputstreams and waits for any buffered uploads to complete.
+   * Closes the current staging file, if any, and waits for its buffered uploads to complete.
    */
-  private void closeAndWaitForUpload() throws IOException {
-    LOGGER.info("Uploading remaining data for {} stream.", streamName);
-    csvPrinter.close();
-    outputStream.close();
+  @Override
+  public void closeStagingFile() throws IOException {
+    if (stagingFileWriter == null) {
+      return;
+    }
+    LOGGER.info("Uploading remaining data for {} stream to staging file {}.", streamName, stagingFiles.get(stagingFiles.size() - 1));
+    stagingFileWriter.close();
     multipartUploadManager.complete();
-    LOGGER.info("All data for {} stream uploaded.", streamName);
+    stagingFileWriter = null;
+    multipartUploadManager = null;
+  }
+
+  private static void deleteObjectsWithPrefix(AmazonS3 s3Client, String bucketName, String prefix) {
+    final ListObjectsV2Request request = new ListObjectsV2Request().withBucketName(bucketName).withPrefix(prefix);
+    ListObjectsV2Result result;
+    do {
+      result = s3Client.listObjectsV2(request);
+      final List<KeyVersion> keys = result.getObjectSummaries().stream()
+          .map(S3ObjectSummary::getKey)
+          .map(KeyVersion::new)
+          .collect(Collectors.toList());
+      if (!keys.isEmpty()) {
+        s3Client.deleteObjects(new DeleteObjectsRequest(bucketName).withKeys(keys));
+      }
+      request.setContinuationToken(result.getNextContinuationToken());
+    } while (result.isTruncated());
   }
 
   public static void attemptS3WriteAndDelete(S3Config s3Config) {
@@ -247,11 +330,19 @@ public abstract class S3StreamCopier implements StreamCopier {
     }
   }
 
-  public abstract void copyS3CsvFileIntoTable(JdbcDatabase database,
-                                              String s3FileLocation,
-                                              String schema,
-                                              String tableName,
-                                              S3Config s3Config)
+  /**
+   * Loads gzip compressed CSV staging files into a table with as few statements as the warehouse
+   * allows, so that it can spread the files of a stream across its slices.
+   *
+   * @param s3StagingLocation s3:// location of the folder holding the staging files
+   * @param stagingFiles names of the staging files, relative to the staging location
+   */
+  public abstract void copyS3CsvFilesIntoTable(JdbcDatabase database,
+                                               String s3StagingLocation,
+                                               List<String> stagingFiles,
+                                               String schema,
+                                               String tableName,
+                                               S3Config s3Config)
       throws SQLException;
 
 }
@@ -33,6 +33,7 @@ import io.airbyte.integrations.destination.jdbc.copy.StreamCopier;
 import io.airbyte.integrations.destination.jdbc.copy.StreamCopierFactory;
 import io.airbyte.protocol.models.AirbyteStream;
 import io.airbyte.protocol.models.DestinationSyncMode;
+import io.airbyte.protocol.models.SyncMode;
 
 public abstract class S3StreamCopierFactory implements StreamCopierFactory<S3Config> {
 
@@ -43,6 +44,7 @@ public abstract class S3StreamCopierFactory implements StreamCopierFactory<S3Con
   public StreamCopier create(String configuredSchema,
                              S3Config s3Config,
                              String stagingFolder,
+                             SyncMode sourceSyncMode,
                              DestinationSyncMode syncMode,
                              AirbyteStream stream,
                              ExtendedNameTransformer nameTransformer,
@@ -53,7 +55,7 @@ public abstract class S3StreamCopierFactory implements StreamCopierFactory<S3Con
       var schema = getSchema(stream, configuredSchema, nameTransformer);
       var s3Client = S3StreamCopier.getAmazonS3(s3Config);
 
-      return create(stagingFolder, syncMode, schema, pair.getName(), s3Client, db, s3Config, nameTransformer, sqlOperations);
+      return create(stagingFolder, sourceSyncMode, syncMode, schema, pair.getName(), s3Client, db, s3Config, nameTransformer, sqlOperations);
     } catch (Exception e) {
       throw new RuntimeException(e);
     }
@@ -63,6 +65,7 @@ public abstract class S3StreamCopierFactory implements StreamCopierFactory<S3Con
    * For specific copier suppliers to implement.
    */
   public abstract StreamCopier create(String stagingFolder,
+                                      SyncMode sourceSyncMode,
                                       DestinationSyncMode syncMode,
                                       String schema,
                                       String streamName,
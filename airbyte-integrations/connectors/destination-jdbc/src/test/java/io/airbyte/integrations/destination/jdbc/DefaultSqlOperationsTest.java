@@ -0,0 +1,131 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Airbyte
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.airbyte.integrations.destination.jdbc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableMap;
+import io.airbyte.commons.json.Jsons;
+import io.airbyte.db.Databases;
+import io.airbyte.db.jdbc.JdbcDatabase;
+import io.airbyte.integrations.base.JavaBaseConstants;
+import io.airbyte.protocol.models.AirbyteRecordMessage;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+class DefaultSqlOperationsTest {
+
+  private static final Instant NOW = Instant.ofEpochSecond(900);
+  private static final String SCHEMA_NAME = "public";
+  private static final String STREAM_NAME = "rivers";
+
+  private PostgreSQLContainer<?> container;
+  private JdbcDatabase database;
+  private DefaultSqlOperations sqlOperations;
+
+  @BeforeEach
+  void setup() throws SQLException {
+    container = new PostgreSQLContainer<>("postgres:13-alpine");
+    container.start();
+
+    database = Databases.createJdbcDatabase(
+        container.getUsername(),
+        container.getPassword(),
+        String.format("jdbc:postgresql://%s:%s/%s", container.getHost(), container.getFirstMappedPort(), container.getDatabaseName()),
+        "org.postgresql.Driver");
+
+    sqlOperations = new DefaultSqlOperations();
+    sqlOperations.createTableIfNotExists(database, SCHEMA_NAME, STREAM_NAME);
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    database.close();
+    container.close();
+  }
+
+  @Test
+  void testInsertRecords() throws Exception {
+    final List<AirbyteRecordMessage> records = List.of(
+        createRecord(ImmutableMap.of("name", "rio grande", "width", 10)),
+        createRecord(ImmutableMap.of("name", "mississippi", "width", 20)),
+        createRecord(ImmutableMap.of("name", "nile", "width", 30)));
+
+    sqlOperations.insertRecords(database, records, SCHEMA_NAME, STREAM_NAME);
+
+    assertEquals(records.stream().map(AirbyteRecordMessage::getData).collect(Collectors.toList()), readData());
+    final List<JsonNode> emittedAt = database.bufferedResultSetQuery(
+        connection -> connection.createStatement().executeQuery(String.format(
+            "SELECT DISTINCT EXTRACT(EPOCH FROM %s)::bigint AS emitted_at FROM %s.%s",
+            JavaBaseConstants.COLUMN_NAME_EMITTED_AT, SCHEMA_NAME, STREAM_NAME)),
+        resultSet -> Jsons.jsonNode(resultSet.getLong("emitted_at")));
+    assertEquals(List.of(Jsons.jsonNode(NOW.getEpochSecond())), emittedAt);
+  }
+
+  @Test
+  void testFailedInsertLoadsNoRows() throws Exception {
+    // enough data for the copy stream to send rows to the server before the failing record.
+    final String padding = Strings.repeat("x", 1024);
+    final List<AirbyteRecordMessage> records = IntStream.range(0, 2000)
+        .mapToObj(i -> createRecord(ImmutableMap.of("name", padding, "width", i)))
+        .collect(Collectors.toCollection(ArrayList::new));
+    records.add(createRecord(ImmutableMap.of("name", "nile", "width", 30)).withEmittedAt(null));
+
+    assertThrows(RuntimeException.class, () -> sqlOperations.insertRecords(database, records, SCHEMA_NAME, STREAM_NAME));
+    assertEquals(List.of(), readData());
+
+    // the cancelled copy leaves the connection usable.
+    final List<AirbyteRecordMessage> nextRecords = List.of(createRecord(ImmutableMap.of("name", "rio grande", "width", 10)));
+    sqlOperations.insertRecords(database, nextRecords, SCHEMA_NAME, STREAM_NAME);
+    assertEquals(List.of(nextRecords.get(0).getData()), readData());
+  }
+
+  private static AirbyteRecordMessage createRecord(ImmutableMap<String, Object> data) {
+    return new AirbyteRecordMessage()
+        .withStream(STREAM_NAME)
+        .withEmittedAt(NOW.toEpochMilli())
+        .withData(Jsons.jsonNode(data));
+  }
+
+  private List<JsonNode> readData() throws SQLException {
+    return database.bufferedResultSetQuery(
+        connection -> connection.createStatement().executeQuery(String.format(
+            "SELECT %s FROM %s.%s ORDER BY (%s->>'width')::int",
+            JavaBaseConstants.COLUMN_NAME_DATA, SCHEMA_NAME, STREAM_NAME, JavaBaseConstants.COLUMN_NAME_DATA)),
+        resultSet -> Jsons.deserialize(resultSet.getString(JavaBaseConstants.COLUMN_NAME_DATA)));
+  }
+
+}
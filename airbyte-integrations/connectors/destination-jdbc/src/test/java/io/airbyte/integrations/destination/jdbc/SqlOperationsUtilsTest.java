@@ -125,6 +125,58 @@ class SqlOperationsUtilsTest {
     assertEquals(expectedRecords, actualRecords);
   }
 
+  @Test
+  void testInsertRawRecordsInBatches() throws SQLException {
+    final List<UUID> uuids = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+    when(uuidSupplier.get()).thenReturn(uuids.get(0), uuids.get(1), uuids.get(2));
+
+    new DefaultSqlOperations().createTableIfNotExists(database, SCHEMA_NAME, STREAM_NAME);
+
+    final String insertQuery = String.format(
+        "INSERT INTO %s.%s (%s, %s, %s) VALUES (?, ?::jsonb, ?)",
+        SCHEMA_NAME,
+        STREAM_NAME,
+        JavaBaseConstants.COLUMN_NAME_AB_ID,
+        JavaBaseConstants.COLUMN_NAME_DATA,
+        JavaBaseConstants.COLUMN_NAME_EMITTED_AT);
+
+    final List<AirbyteRecordMessage> records = Lists.newArrayList(
+        new AirbyteRecordMessage()
+            .withStream("rivers")
+            .withEmittedAt(NOW.toEpochMilli())
+            .withData(Jsons.jsonNode(ImmutableMap.of("name", "rio grande", "width", 10))),
+        new AirbyteRecordMessage()
+            .withStream("rivers")
+            .withEmittedAt(NOW.toEpochMilli())
+            .withData(Jsons.jsonNode(ImmutableMap.of("name", "mississippi", "width", 20))),
+        new AirbyteRecordMessage()
+            .withStream("rivers")
+            .withEmittedAt(NOW.toEpochMilli())
+            .withData(Jsons.jsonNode(ImmutableMap.of("name", "nile", "width", 30))));
+
+    // the last batch is smaller than the others.
+    SqlOperationsUtils.insertRawRecordsInBatches(insertQuery, database, records, 2, uuidSupplier);
+
+    final List<JsonNode> actualRecords = database.bufferedResultSetQuery(
+        connection -> connection.createStatement()
+            .executeQuery(String.format("SELECT * FROM RIVERS ORDER BY (%s->>'width')::int", JavaBaseConstants.COLUMN_NAME_DATA)),
+        JdbcUtils::rowToJson);
+
+    final List<JsonNode> expectedRecords = Lists.newArrayList();
+    for (int i = 0; i < records.size(); i++) {
+      expectedRecords.add(Jsons.jsonNode(ImmutableMap.builder()
+          .put(JavaBaseConstants.COLUMN_NAME_AB_ID, uuids.get(i))
+          .put(JavaBaseConstants.COLUMN_NAME_DATA, records.get(i).getData())
+          .put(JavaBaseConstants.COLUMN_NAME_EMITTED_AT, JdbcUtils.toISO8601String(records.get(i).getEmittedAt()))
+          .build()));
+    }
+
+    actualRecords.forEach(
+        r -> ((ObjectNode) r).put(JavaBaseConstants.COLUMN_NAME_DATA, Jsons.deserialize(r.get(JavaBaseConstants.COLUMN_NAME_DATA).asText())));
+
+    assertEquals(expectedRecords, actualRecords);
+  }
+
   private JsonNode createConfig() {
     return Jsons.jsonNode(ImmutableMap.builder()
         .put("username", container.getUsername())
@@ -0,0 +1,205 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Airbyte
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.airbyte.integrations.destination.jdbc.copy;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.airbyte.commons.json.Jsons;
+import io.airbyte.db.jdbc.JdbcDatabase;
+import io.airbyte.integrations.base.AirbyteMessageConsumer;
+import io.airbyte.integrations.destination.ExtendedNameTransformer;
+import io.airbyte.integrations.destination.jdbc.SqlOperations;
+import io.airbyte.protocol.models.AirbyteMessage;
+import io.airbyte.protocol.models.AirbyteMessage.Type;
+import io.airbyte.protocol.models.AirbyteRecordMessage;
+import io.airbyte.protocol.models.AirbyteStateMessage;
+import io.airbyte.protocol.models.AirbyteStream;
+import io.airbyte.protocol.models.CatalogHelpers;
+import io.airbyte.protocol.models.ConfiguredAirbyteCatalog;
+import io.airbyte.protocol.models.ConfiguredAirbyteStream;
+import io.airbyte.protocol.models.Field;
+import io.airbyte.protocol.models.JsonSchemaPrimitive;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+class CopyConsumerFactoryTest {
+
+  private static final String SCHEMA = "public";
+  private static final int STREAM_COUNT = 10;
+
+  private JdbcDatabase database;
+  private SqlOperations sqlOperations;
+  private ConfiguredAirbyteCatalog catalog;
+  private Map<String, StreamCopier> streamToCopier;
+  private StreamCopierFactory<Object> streamCopierFactory;
+  private Consumer<AirbyteMessage> outputRecordCollector;
+
+  @SuppressWarnings("unchecked")
+  @BeforeEach
+  void setup() throws Exception {
+    database = mock(JdbcDatabase.class);
+    outputRecordCollector = mock(Consumer.class);
+    sqlOperations = mock(SqlOperations.class);
+    final List<ConfiguredAirbyteStream> streams = IntStream.range(0, STREAM_COUNT)
+        .mapToObj(i -> CatalogHelpers.createConfiguredAirbyteStream("stream_" + i, SCHEMA, Field.of("id", JsonSchemaPrimitive.NUMBER)))
+        .collect(Collectors.toList());
+    catalog = new ConfiguredAirbyteCatalog().withStreams(streams);
+
+    streamToCopier = new HashMap<>();
+    for (final ConfiguredAirbyteStream stream : streams) {
+      final String streamName = stream.getStream().getName();
+      final StreamCopier copier = mock(StreamCopier.class);
+      when(copier.createDestinationTable()).thenReturn(streamName);
+      when(copier.generateMergeStatement(streamName)).thenReturn("MERGE " + streamName + ";");
+      streamToCopier.put(streamName, copier);
+    }
+
+    streamCopierFactory = mock(StreamCopierFactory.class);
+    when(streamCopierFactory.create(any(), any(), any(), any(), any(), any(), any(), any(), any()))
+        .thenAnswer(invocation -> streamToCopier.get(invocation.getArgument(5, AirbyteStream.class).getName()));
+  }
+
+  @Test
+  void testFinalizesAllStreamsInOneTransaction() throws Exception {
+    final AirbyteMessageConsumer consumer = createConsumer();
+    consumer.start();
+    consumer.close();
+
+    for (final Map.Entry<String, StreamCopier> entry : streamToCopier.entrySet()) {
+      final StreamCopier copier = entry.getValue();
+      verify(copier).closeStagingUploader(false);
+      verify(copier).createDestinationSchema();
+      verify(copier).createTemporaryTable();
+      verify(copier).copyStagingFileToTemporaryTable();
+      verify(copier).removeFileAndDropTmpTable();
+    }
+    verify(sqlOperations).executeTransaction(eq(database), any());
+  }
+
+  @Test
+  void testFailedStreamSkipsTransactionAndCleansUpEverything() throws Exception {
+    doThrow(new RuntimeException("copy failed")).when(streamToCopier.get("stream_3")).copyStagingFileToTemporaryTable();
+
+    final AirbyteMessageConsumer consumer = createConsumer();
+    consumer.start();
+    // the buffered stream consumer logs close failures instead of rethrowing them.
+    consumer.close();
+
+    for (final StreamCopier copier : streamToCopier.values()) {
+      verify(copier).closeStagingUploader(anyBoolean());
+      verify(copier).removeFileAndDropTmpTable();
+    }
+    verify(sqlOperations, never()).executeTransaction(any(), any());
+  }
+
+  @Test
+  void testCheckpointCommitsStagedDataAndEmitsState() throws Exception {
+    final StreamCopier copier = streamToCopier.get("stream_0");
+    when(sqlOperations.isValidData(any())).thenReturn(true);
+    when(copier.hasUncopiedStagingFiles()).thenReturn(true);
+    when(copier.generateCheckpointStatement("stream_0")).thenReturn("CHECKPOINT stream_0;");
+    final AirbyteMessage state = new AirbyteMessage()
+        .withType(Type.STATE)
+        .withState(new AirbyteStateMessage().withData(Jsons.jsonNode(Map.of("cursor", 1))));
+
+    final AirbyteMessageConsumer consumer = createConsumer();
+    consumer.start();
+    consumer.accept(new AirbyteMessage()
+        .withType(Type.RECORD)
+        .withRecord(new AirbyteRecordMessage()
+            .withStream("stream_0")
+            .withNamespace(SCHEMA)
+            .withEmittedAt(0L)
+            .withData(Jsons.jsonNode(Map.of("id", 1)))));
+    consumer.accept(state);
+
+    // the record is written and committed before the state is emitted, without waiting for close.
+    final InOrder inOrder = inOrder(copier, sqlOperations, outputRecordCollector);
+    inOrder.verify(copier).write(any(), eq("{\"id\":1}"), any());
+    inOrder.verify(copier).closeStagingFile();
+    inOrder.verify(copier).copyStagingFileToTemporaryTable();
+    inOrder.verify(sqlOperations).executeTransaction(database, List.of("CHECKPOINT stream_0;"));
+    inOrder.verify(outputRecordCollector).accept(state);
+  }
+
+  @Test
+  void testFailedCheckpointEmitsNoState() throws Exception {
+    when(sqlOperations.isValidData(any())).thenReturn(true);
+    for (final String streamName : List.of("stream_0", "stream_1")) {
+      final StreamCopier copier = streamToCopier.get(streamName);
+      when(copier.hasUncopiedStagingFiles()).thenReturn(true);
+      when(copier.generateCheckpointStatement(streamName)).thenReturn("CHECKPOINT " + streamName + ";");
+    }
+    // the statements of both streams run in one transaction, which fails as a whole.
+    doThrow(new RuntimeException("checkpoint failed")).when(sqlOperations).executeTransaction(eq(database), any());
+    final AirbyteMessage state = new AirbyteMessage()
+        .withType(Type.STATE)
+        .withState(new AirbyteStateMessage().withData(Jsons.jsonNode(Map.of("cursor", 1))));
+
+    final AirbyteMessageConsumer consumer = createConsumer();
+    consumer.start();
+    consumer.accept(new AirbyteMessage()
+        .withType(Type.RECORD)
+        .withRecord(new AirbyteRecordMessage()
+            .withStream("stream_0")
+            .withNamespace(SCHEMA)
+            .withEmittedAt(0L)
+            .withData(Jsons.jsonNode(Map.of("id", 1)))));
+    assertThrows(RuntimeException.class, () -> consumer.accept(state));
+
+    verify(sqlOperations).executeTransaction(eq(database), argThat(queries -> queries.size() == 2));
+    verify(outputRecordCollector, never()).accept(state);
+  }
+
+  private AirbyteMessageConsumer createConsumer() {
+    return CopyConsumerFactory.create(
+        outputRecordCollector,
+        database,
+        sqlOperations,
+        new ExtendedNameTransformer(),
+        new Object(),
+        catalog,
+        streamCopierFactory,
+        SCHEMA);
+  }
+
+}
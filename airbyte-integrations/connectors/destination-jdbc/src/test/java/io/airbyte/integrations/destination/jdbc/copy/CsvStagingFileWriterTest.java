@@ -0,0 +1,76 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Airbyte
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.airbyte.integrations.destination.jdbc.copy;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.Test;
+
+class CsvStagingFileWriterTest {
+
+  @Test
+  void testWritesGzipCompressedCsv() throws IOException {
+    final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    final UUID id = UUID.fromString("e4a3a9b4-7f3b-4b4e-9e36-6f1a2b1f4c9d");
+    final Timestamp emittedAt = Timestamp.valueOf("2021-01-01 00:00:00");
+
+    final CsvStagingFileWriter writer = new CsvStagingFileWriter(outputStream);
+    writer.write(id, "{\"name\":\"a, b\"}", emittedAt);
+    writer.close();
+
+    assertEquals(outputStream.size(), writer.getCompressedBytes());
+    final String csv = new String(new GZIPInputStream(new ByteArrayInputStream(outputStream.toByteArray())).readAllBytes(), StandardCharsets.UTF_8);
+    assertEquals(id + ",\"{\"\"name\"\":\"\"a, b\"\"}\",2021-01-01 00:00:00.0\r\n", csv);
+  }
+
+  @Test
+  void testCountsCompressedBytes() throws IOException {
+    final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    final CsvStagingFileWriter writer = new CsvStagingFileWriter(outputStream);
+    for (int i = 0; i < 10_000; i++) {
+      writer.write(UUID.randomUUID(), "{\"i\":" + i + "}", new Timestamp(i));
+    }
+
+    // the gzip buffers have been flushed at least once, so the count follows the compressed output.
+    assertTrue(writer.getCompressedBytes() > 0);
+    writer.close();
+    assertEquals(outputStream.size(), writer.getCompressedBytes());
+  }
+
+  @Test
+  void testStagingFileName() {
+    assertEquals("00000.csv.gz", CsvStagingFileWriter.getStagingFileName(0));
+    assertEquals("00042.csv.gz", CsvStagingFileWriter.getStagingFileName(42));
+  }
+
+}
@@ -82,7 +82,9 @@ public class MeiliSearchDestination extends BaseConnector implements Destination
 
   private static final Logger LOGGER = LoggerFactory.getLogger(MeiliSearchDestination.class);
 
-  private static final int MAX_BATCH_SIZE = 10000;
+  // each flushed stream buffer is sent to its index as a single request.
+  private static final long MAX_STREAM_BUFFER_BYTES = 16 * 1024 * 1024; // 16 MiB
+  private static final long MAX_TOTAL_BUFFER_BYTES = 64 * 1024 * 1024; // 64 MiB
 
   public static final String AB_PK_COLUMN = "_ab_pk";
 
@@ -118,7 +120,8 @@ public class MeiliSearchDestination extends BaseConnector implements Destination
         (hasFailed) -> LOGGER.info("Completed writing to MeiliSearch. Status: {}", hasFailed ? "FAILED" : "SUCCEEDED"),
         catalog,
         (data) -> true,
-        MAX_BATCH_SIZE);
+        MAX_STREAM_BUFFER_BYTES,
+        MAX_TOTAL_BUFFER_BYTES);
   }
 
   private static Map<String, Index> createIndices(ConfiguredAirbyteCatalog catalog, Client client) throws Exception {
@@ -33,6 +33,8 @@ import java.util.List;
 
 public class SqlServerOperations implements SqlOperations {
 
+  private static final int INSERT_BATCH_SIZE = 1000;
+
   @Override
   public void createSchemaIfNotExists(JdbcDatabase database, String schemaName) throws Exception {
     final String query = String.format("IF NOT EXISTS ( SELECT * FROM sys.schemas WHERE name = '%s') EXEC('CREATE SCHEMA [%s]')",
@@ -79,15 +81,15 @@ public class SqlServerOperations implements SqlOperations {
   public void insertRecords(JdbcDatabase database, List<AirbyteRecordMessage> records, String schemaName, String tempTableName)
       throws Exception {
 
-    final String insertQueryComponent = String.format(
-        "INSERT INTO %s.%s (%s, %s, %s) VALUES\n",
+    // a single multi-row insert would run into the limit of 2100 bind parameters per statement.
+    final String insertQuery = String.format(
+        "INSERT INTO %s.%s (%s, %s, %s) VALUES (?, ?, ?)",
         schemaName,
         tempTableName,
         JavaBaseConstants.COLUMN_NAME_AB_ID,
         JavaBaseConstants.COLUMN_NAME_DATA,
         JavaBaseConstants.COLUMN_NAME_EMITTED_AT);
-    final String recordQueryComponent = "(?, ?, ?),\n";
-    SqlOperationsUtils.insertRawRecordsInSingleQuery(insertQueryComponent, recordQueryComponent, database, records);
+    SqlOperationsUtils.insertRawRecordsInBatches(insertQuery, database, records, INSERT_BATCH_SIZE);
   }
 
   @Override
@@ -24,17 +24,11 @@
 
 package io.airbyte.integrations.destination.oracle;
 
-import io.airbyte.commons.json.Jsons;
 import io.airbyte.db.jdbc.JdbcDatabase;
 import io.airbyte.integrations.destination.jdbc.SqlOperations;
+import io.airbyte.integrations.destination.jdbc.SqlOperationsUtils;
 import io.airbyte.protocol.models.AirbyteRecordMessage;
-import java.sql.PreparedStatement;
-import java.sql.SQLException;
-import java.sql.Timestamp;
-import java.time.Instant;
 import java.util.List;
-import java.util.UUID;
-import java.util.function.Supplier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -42,6 +36,8 @@ public class OracleOperations implements SqlOperations {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(OracleOperations.class);
 
+  private static final int INSERT_BATCH_SIZE = 1000;
+
   private String tablespace;
 
   public OracleOperations(String tablespace) {
@@ -112,52 +108,9 @@ public class OracleOperations implements SqlOperations {
     final String tableName = String.format("%s.%s", schemaName, tempTableName);
     final String columns = String.format("(%s, %s, %s)",
         OracleDestination.COLUMN_NAME_AB_ID, OracleDestination.COLUMN_NAME_DATA, OracleDestination.COLUMN_NAME_EMITTED_AT);
-    final String recordQueryComponent = "(?, ?, ?)\n";
-    insertRawRecordsInSingleQuery(tableName, columns, recordQueryComponent, database, records, UUID::randomUUID);
-  }
-
-  // Adapted from SqlUtils.insertRawRecordsInSingleQuery to meet some needs specific to Oracle syntax
-  private static void insertRawRecordsInSingleQuery(String tableName,
-                                                    String columns,
-                                                    String recordQueryComponent,
-                                                    JdbcDatabase jdbcDatabase,
-                                                    List<AirbyteRecordMessage> records,
-                                                    Supplier<UUID> uuidSupplier)
-      throws SQLException {
-    if (records.isEmpty()) {
-      return;
-    }
-
-    jdbcDatabase.execute(connection -> {
-
-      // Strategy: We want to use PreparedStatement because it handles binding values to the SQL query
-      // (e.g. handling formatting timestamps). A PreparedStatement statement is created by supplying the
-      // full SQL string at creation time. Then subsequently specifying which values are bound to the
-      // string. Thus there will be two loops below.
-      // 1) Loop over records to build the full string.
-      // 2) Loop over the records and bind the appropriate values to the string.
-      //
-      // The "SELECT 1 FROM DUAL" at the end is a formality to satisfy the needs of the Oracle syntax.
-      // (see https://stackoverflow.com/a/93724 for details)
-      final StringBuilder sql = new StringBuilder("INSERT ALL ");
-      records.forEach(r -> sql.append(String.format("INTO %s %s VALUES %s", tableName, columns, recordQueryComponent)));
-      sql.append(" SELECT 1 FROM DUAL");
-      final String query = sql.toString();
-
-      try (final PreparedStatement statement = connection.prepareStatement(query)) {
-        // second loop: bind values to the SQL string.
-        int i = 1;
-        for (final AirbyteRecordMessage message : records) {
-          // 1-indexed
-          statement.setString(i, uuidSupplier.get().toString());
-          statement.setString(i + 1, Jsons.serialize(message.getData()));
-          statement.setTimestamp(i + 2, Timestamp.from(Instant.ofEpochMilli(message.getEmittedAt())));
-          i += 3;
-        }
-
-        statement.execute();
-      }
-    });
+    // a fixed insert executed as a batch replaces INSERT ALL, whose statement grows with the batch.
+    final String insertQuery = String.format("INSERT INTO %s %s VALUES (?, ?, ?)", tableName, columns);
+    SqlOperationsUtils.insertRawRecordsInBatches(insertQuery, database, records, INSERT_BATCH_SIZE);
   }
 
   @Override
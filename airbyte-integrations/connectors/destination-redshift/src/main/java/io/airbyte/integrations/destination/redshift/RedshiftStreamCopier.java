@@ -25,17 +25,26 @@
 package io.airbyte.integrations.destination.redshift;
 
 import com.amazonaws.services.s3.AmazonS3;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.airbyte.commons.json.Jsons;
 import io.airbyte.db.jdbc.JdbcDatabase;
 import io.airbyte.integrations.destination.ExtendedNameTransformer;
 import io.airbyte.integrations.destination.jdbc.SqlOperations;
 import io.airbyte.integrations.destination.jdbc.copy.s3.S3Config;
 import io.airbyte.integrations.destination.jdbc.copy.s3.S3StreamCopier;
 import io.airbyte.protocol.models.DestinationSyncMode;
+import io.airbyte.protocol.models.SyncMode;
 import java.sql.SQLException;
+import java.util.List;
+import java.util.UUID;
 
 public class RedshiftStreamCopier extends S3StreamCopier {
 
+  private final AmazonS3 s3Client;
+
   public RedshiftStreamCopier(String stagingFolder,
+                              SyncMode sourceSyncMode,
                               DestinationSyncMode destSyncMode,
                               String schema,
                               String streamName,
@@ -44,19 +53,33 @@ public class RedshiftStreamCopier extends S3StreamCopier {
                               S3Config s3Config,
                               ExtendedNameTransformer nameTransformer,
                               SqlOperations sqlOperations) {
-    super(stagingFolder, destSyncMode, schema, streamName, client, db, s3Config, nameTransformer, sqlOperations);
+    super(stagingFolder, sourceSyncMode, destSyncMode, schema, streamName, client, db, s3Config, nameTransformer, sqlOperations);
+    this.s3Client = client;
   }
 
+  /**
+   * Loads all staging files with a single manifest based COPY, which Redshift spreads across the
+   * slices of the cluster.
+   */
   @Override
-  public void copyS3CsvFileIntoTable(JdbcDatabase database, String s3FileLocation, String schema, String tableName, S3Config s3Config)
+  public void copyS3CsvFilesIntoTable(JdbcDatabase database,
+                                      String s3StagingLocation,
+                                      List<String> stagingFiles,
+                                      String schema,
+                                      String tableName,
+                                      S3Config s3Config)
       throws SQLException {
+    final String manifestFile = UUID.randomUUID() + ".manifest";
+    s3Client.putObject(s3Config.getBucketName(), getS3StagingPrefix() + manifestFile, createManifest(s3StagingLocation, stagingFiles));
+
     final var copyQuery = String.format(
         "COPY %s.%s FROM '%s'\n"
             + "CREDENTIALS 'aws_access_key_id=%s;aws_secret_access_key=%s'\n"
-            + "CSV REGION '%s' TIMEFORMAT 'auto';\n",
+            + "CSV GZIP REGION '%s' TIMEFORMAT 'auto'\n"
+            + "MANIFEST;\n",
         schema,
         tableName,
-        s3FileLocation,
+        s3StagingLocation + manifestFile,
         s3Config.getAccessKeyId(),
         s3Config.getSecretAccessKey(),
         s3Config.getRegion());
@@ -64,4 +87,15 @@ public class RedshiftStreamCopier extends S3StreamCopier {
     database.execute(copyQuery);
   }
 
+  static String createManifest(String s3StagingLocation, List<String> stagingFiles) {
+    final ObjectNode manifest = (ObjectNode) Jsons.emptyObject();
+    final ArrayNode entries = manifest.putArray("entries");
+    for (final String stagingFile : stagingFiles) {
+      entries.addObject()
+          .put("url", s3StagingLocation + stagingFile)
+          .put("mandatory", true);
+    }
+    return Jsons.serialize(manifest);
+  }
+
 }
@@ -32,11 +32,13 @@ import io.airbyte.integrations.destination.jdbc.copy.StreamCopier;
 import io.airbyte.integrations.destination.jdbc.copy.s3.S3Config;
 import io.airbyte.integrations.destination.jdbc.copy.s3.S3StreamCopierFactory;
 import io.airbyte.protocol.models.DestinationSyncMode;
+import io.airbyte.protocol.models.SyncMode;
 
 public class RedshiftStreamCopierFactory extends S3StreamCopierFactory {
 
   @Override
   public StreamCopier create(String stagingFolder,
+                             SyncMode sourceSyncMode,
                              DestinationSyncMode syncMode,
                              String schema,
                              String streamName,
@@ -46,7 +48,7 @@ public class RedshiftStreamCopierFactory extends S3StreamCopierFactory {
                              ExtendedNameTransformer nameTransformer,
                              SqlOperations sqlOperations)
       throws Exception {
-    return new RedshiftStreamCopier(stagingFolder, syncMode, schema, streamName, s3Client, db, s3Config, nameTransformer, sqlOperations);
+    return new RedshiftStreamCopier(stagingFolder, sourceSyncMode, syncMode, schema, streamName, s3Client, db, s3Config, nameTransformer, sqlOperations);
   }
 
 }
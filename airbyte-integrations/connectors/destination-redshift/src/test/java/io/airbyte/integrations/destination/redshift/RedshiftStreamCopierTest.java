@@ -0,0 +1,99 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Airbyte
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.airbyte.integrations.destination.redshift;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.amazonaws.services.s3.AmazonS3;
+import io.airbyte.commons.json.Jsons;
+import io.airbyte.db.jdbc.JdbcDatabase;
+import io.airbyte.integrations.destination.ExtendedNameTransformer;
+import io.airbyte.integrations.destination.jdbc.SqlOperations;
+import io.airbyte.integrations.destination.jdbc.copy.s3.S3Config;
+import io.airbyte.protocol.models.DestinationSyncMode;
+import io.airbyte.protocol.models.SyncMode;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class RedshiftStreamCopierTest {
+
+  private static final String SCHEMA = "public";
+  private static final String STREAM = "users";
+  private static final String TMP_TABLE = "_airbyte_tmp_users";
+  private static final String DEST_TABLE = "_airbyte_raw_users";
+
+  @Test
+  void testCreateManifest() {
+    final String manifest = RedshiftStreamCopier.createManifest("s3://bucket/staging/schema/stream/", List.of("00000.csv.gz", "00001.csv.gz"));
+
+    assertEquals(Jsons.deserialize("{\"entries\":["
+        + "{\"url\":\"s3://bucket/staging/schema/stream/00000.csv.gz\",\"mandatory\":true},"
+        + "{\"url\":\"s3://bucket/staging/schema/stream/00001.csv.gz\",\"mandatory\":true}]}"),
+        Jsons.deserialize(manifest));
+  }
+
+  @Test
+  void testCheckpointStatementClearsTmpTableInTheSameTransaction() {
+    final JdbcDatabase database = mock(JdbcDatabase.class);
+    final SqlOperations sqlOperations = mock(SqlOperations.class);
+    when(sqlOperations.copyTableQuery(database, SCHEMA, TMP_TABLE, DEST_TABLE)).thenReturn("INSERT INTO public._airbyte_raw_users;\n");
+
+    final RedshiftStreamCopier copier = createCopier(SyncMode.INCREMENTAL, DestinationSyncMode.APPEND, database, sqlOperations);
+
+    assertEquals("INSERT INTO public._airbyte_raw_users;\nDELETE FROM public._airbyte_tmp_users;\n", copier.generateCheckpointStatement(DEST_TABLE));
+  }
+
+  @Test
+  void testNoCheckpointStatementForFullRefreshOrOverwrite() {
+    final JdbcDatabase database = mock(JdbcDatabase.class);
+    final SqlOperations sqlOperations = mock(SqlOperations.class);
+
+    assertNull(createCopier(SyncMode.FULL_REFRESH, DestinationSyncMode.APPEND, database, sqlOperations).generateCheckpointStatement(DEST_TABLE));
+    assertNull(createCopier(SyncMode.INCREMENTAL, DestinationSyncMode.OVERWRITE, database, sqlOperations).generateCheckpointStatement(DEST_TABLE));
+  }
+
+  private static RedshiftStreamCopier createCopier(SyncMode sourceSyncMode,
+                                                   DestinationSyncMode destSyncMode,
+                                                   JdbcDatabase database,
+                                                   SqlOperations sqlOperations) {
+    final ExtendedNameTransformer nameTransformer = mock(ExtendedNameTransformer.class);
+    when(nameTransformer.getTmpTableName(STREAM)).thenReturn(TMP_TABLE);
+    return new RedshiftStreamCopier(
+        "staging",
+        sourceSyncMode,
+        destSyncMode,
+        SCHEMA,
+        STREAM,
+        mock(AmazonS3.class),
+        database,
+        new S3Config("", "bucket", "key", "secret", "us-east-1", 10),
+        nameTransformer,
+        sqlOperations);
+  }
+
+}
@@ -0,0 +1,222 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Airbyte
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.airbyte.integrations.destination.s3.avro;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.avro.AvroTypeException;
+import org.apache.avro.Schema;
+import org.apache.avro.Schema.Field;
+import org.apache.avro.generic.GenericData;
+
+/**
+ * Converts Json records to Avro records for a fixed schema generated by
+ * {@link JsonToAvroSchemaConverter}. The schema is compiled into a tree of value converters once, so
+ * converting a record is a single walk over the {@link JsonNode}, without serializing it to bytes or
+ * rewriting field names first.
+ * <p/>
+ * The conversion follows the same rules as the json2avro converter this replaces: Json fields that
+ * are not in the schema are ignored, missing fields get their default value, numbers are coerced to
+ * the numeric type of the schema, and union branches are tried in order.
+ */
+public class JsonToAvroRecordConverter {
+
+  // Returned by a value converter when the Json value does not match the Avro type.
+  private static final Object INCOMPATIBLE = new Object();
+
+  private final Schema schema;
+  private final RecordConverter recordConverter;
+
+  public JsonToAvroRecordConverter(Schema schema) {
+    this.schema = schema;
+    this.recordConverter = new RecordConverter(schema);
+  }
+
+  public Schema getSchema() {
+    return schema;
+  }
+
+  /**
+   * @param json - Json object whose fields use the original, non-standardized, field names.
+   * @return - Avro record with all schema fields found in {@code json} set, and the remaining fields
+   *         set to their default values.
+   */
+  public GenericData.Record convert(JsonNode json) {
+    if (!json.isObject()) {
+      throw new AvroTypeException(String.format("Expected a Json object for record %s, got: %s", schema.getFullName(), json.getNodeType()));
+    }
+    return recordConverter.convertObject(json);
+  }
+
+  /**
+   * @return - the Json field name an Avro field is read from. Standardized field names keep the
+   *         original name in their doc.
+   */
+  static String getJsonFieldName(Field field) {
+    String originalNamePrefix = S3AvroConstants.DOC_KEY_ORIGINAL_NAME + S3AvroConstants.DOC_KEY_VALUE_DELIMITER;
+    String doc = field.doc();
+    if (doc != null && doc.startsWith(originalNamePrefix)) {
+      return doc.substring(originalNamePrefix.length());
+    }
+    return field.name();
+  }
+
+  private static ValueConverter compile(String fieldName, Schema fieldSchema) {
+    return switch (fieldSchema.getType()) {
+      case NULL -> node -> node.isNull() ? null : INCOMPATIBLE;
+      case BOOLEAN -> node -> node.isBoolean() ? node.booleanValue() : INCOMPATIBLE;
+      case INT -> node -> node.isNumber() ? node.intValue() : INCOMPATIBLE;
+      case LONG -> node -> node.isNumber() ? node.longValue() : INCOMPATIBLE;
+      case FLOAT -> node -> node.isNumber() ? node.floatValue() : INCOMPATIBLE;
+      case DOUBLE -> node -> node.isNumber() ? node.doubleValue() : INCOMPATIBLE;
+      case STRING -> node -> node.isTextual() ? node.textValue() : INCOMPATIBLE;
+      case RECORD -> new RecordConverter(fieldSchema);
+      case ARRAY -> new ArrayConverter(fieldName, fieldSchema);
+      case UNION -> new UnionConverter(fieldName, fieldSchema);
+      default -> throw new IllegalStateException(
+          String.format("Unexpected Avro type for field %s: %s", fieldName, fieldSchema.getType()));
+    };
+  }
+
+  private static Object convertOrThrow(ValueConverter converter, String fieldName, Schema fieldSchema, JsonNode node) {
+    Object value = converter.convert(node);
+    if (value == INCOMPATIBLE) {
+      throw new AvroTypeException(String.format("Field %s expects %s, got: %s", fieldName, fieldSchema, node));
+    }
+    return value;
+  }
+
+  @FunctionalInterface
+  private interface ValueConverter {
+
+    /**
+     * @return - the Avro value, or INCOMPATIBLE if the node does not match the Avro type.
+     */
+    Object convert(JsonNode node);
+
+  }
+
+  private static class RecordConverter implements ValueConverter {
+
+    private final Schema schema;
+    private final int[] positions;
+    private final String[] jsonFieldNames;
+    private final Schema[] fieldSchemas;
+    private final ValueConverter[] converters;
+    private final Object[] defaultValues;
+
+    RecordConverter(Schema schema) {
+      this.schema = schema;
+      List<Field> fields = schema.getFields();
+      this.positions = new int[fields.size()];
+      this.jsonFieldNames = new String[fields.size()];
+      this.fieldSchemas = new Schema[fields.size()];
+      this.converters = new ValueConverter[fields.size()];
+      this.defaultValues = new Object[fields.size()];
+      for (int i = 0; i < fields.size(); i++) {
+        Field field = fields.get(i);
+        positions[i] = field.pos();
+        jsonFieldNames[i] = getJsonFieldName(field);
+        fieldSchemas[i] = field.schema();
+        converters[i] = compile(field.name(), field.schema());
+        defaultValues[i] = field.hasDefaultValue() ? GenericData.get().getDefaultValue(field) : null;
+      }
+    }
+
+    @Override
+    public Object convert(JsonNode node) {
+      return node.isObject() ? convertObject(node) : INCOMPATIBLE;
+    }
+
+    GenericData.Record convertObject(JsonNode node) {
+      GenericData.Record record = new GenericData.Record(schema);
+      for (int i = 0; i < converters.length; i++) {
+        JsonNode fieldNode = node.get(jsonFieldNames[i]);
+        if (fieldNode == null) {
+          record.put(positions[i], defaultValues[i]);
+        } else {
+          record.put(positions[i], convertOrThrow(converters[i], jsonFieldNames[i], fieldSchemas[i], fieldNode));
+        }
+      }
+      return record;
+    }
+
+  }
+
+  private static class ArrayConverter implements ValueConverter {
+
+    private final String fieldName;
+    private final Schema schema;
+    private final Schema elementSchema;
+    private final ValueConverter elementConverter;
+
+    ArrayConverter(String fieldName, Schema schema) {
+      this.fieldName = fieldName;
+      this.schema = schema;
+      this.elementSchema = schema.getElementType();
+      this.elementConverter = compile(fieldName + ".items", elementSchema);
+    }
+
+    @Override
+    public Object convert(JsonNode node) {
+      if (!node.isArray()) {
+        return INCOMPATIBLE;
+      }
+      GenericData.Array<Object> array = new GenericData.Array<>(node.size(), schema);
+      for (JsonNode element : node) {
+        array.add(convertOrThrow(elementConverter, fieldName, elementSchema, element));
+      }
+      return array;
+    }
+
+  }
+
+  private static class UnionConverter implements ValueConverter {
+
+    private final ValueConverter[] branches;
+
+    UnionConverter(String fieldName, Schema schema) {
+      List<ValueConverter> branchConverters = new ArrayList<>();
+      for (Schema branch : schema.getTypes()) {
+        branchConverters.add(compile(fieldName, branch));
+      }
+      this.branches = branchConverters.toArray(new ValueConverter[0]);
+    }
+
+    @Override
+    public Object convert(JsonNode node) {
+      for (ValueConverter branch : branches) {
+        Object value = branch.convert(node);
+        if (value != INCOMPATIBLE) {
+          return value;
+        }
+      }
+      return INCOMPATIBLE;
+    }
+
+  }
+
+}
@@ -58,8 +58,7 @@ public class S3AvroWriter extends BaseS3Writer implements S3Writer {
                       AmazonS3 s3Client,
                       ConfiguredAirbyteStream configuredStream,
                       Timestamp uploadTimestamp,
-                      Schema schema,
-                      JsonFieldNameUpdater nameUpdater)
+                      Schema schema)
       throws IOException {
     super(config, s3Client, configuredStream);
 
@@ -69,7 +68,7 @@ public class S3AvroWriter extends BaseS3Writer implements S3Writer {
     LOGGER.info("Full S3 path for stream '{}': {}/{}", stream.getName(), config.getBucketName(),
         objectKey);
 
-    this.avroRecordFactory = new AvroRecordFactory(schema, nameUpdater);
+    this.avroRecordFactory = new AvroRecordFactory(schema);
     this.uploadManager = S3StreamTransferManagerHelper.getDefault(config.getBucketName(), objectKey, s3Client);
     // We only need one output stream as we only have one input stream. This is reasonably performant.
     this.outputStream = uploadManager.getMultiPartOutputStreams().get(0);
@@ -64,9 +64,9 @@ public class ProductionWriterFactory implements S3WriterFactory {
       }
 
       if (format == S3Format.AVRO) {
-        return new S3AvroWriter(config, s3Client, configuredStream, uploadTimestamp, avroSchema, nameUpdater);
+        return new S3AvroWriter(config, s3Client, configuredStream, uploadTimestamp, avroSchema);
       } else {
-        return new S3ParquetWriter(config, s3Client, configuredStream, uploadTimestamp, avroSchema, nameUpdater);
+        return new S3ParquetWriter(config, s3Client, configuredStream, uploadTimestamp, avroSchema);
       }
     }
 
@@ -0,0 +1,137 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Airbyte
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.airbyte.integrations.destination.s3.avro;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.collect.Lists;
+import io.airbyte.commons.json.Jsons;
+import io.airbyte.integrations.base.JavaBaseConstants;
+import io.airbyte.protocol.models.AirbyteRecordMessage;
+import java.util.List;
+import java.util.UUID;
+import org.apache.avro.AvroTypeException;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.junit.jupiter.api.Test;
+
+class JsonToAvroRecordConverterTest {
+
+  private static final JsonNode JSON_SCHEMA = Jsons.deserialize("{"
+      + "\"type\": \"object\","
+      + "\"properties\": {"
+      + "  \"id\": { \"type\": \"integer\" },"
+      + "  \"price\": { \"type\": [\"null\", \"number\"] },"
+      + "  \"active\": { \"type\": \"boolean\" },"
+      + "  \"node-name\": { \"type\": [\"null\", \"string\"] },"
+      + "  \"tags\": { \"type\": \"array\", \"items\": { \"type\": \"string\" } },"
+      + "  \"mixed\": { \"type\": \"array\", \"items\": [{ \"type\": \"string\" }, { \"type\": \"number\" }] },"
+      + "  \"user\": {"
+      + "    \"type\": [\"null\", \"object\"],"
+      + "    \"properties\": {"
+      + "      \"first name\": { \"type\": \"string\" },"
+      + "      \"age\": { \"type\": \"integer\" }"
+      + "    }"
+      + "  }"
+      + "}}");
+
+  private static Schema getSchema(boolean appendAirbyteFields) {
+    return new JsonToAvroSchemaConverter().getAvroSchema(JSON_SCHEMA, "test_stream", null, appendAirbyteFields);
+  }
+
+  @Test
+  public void testConvertRecord() {
+    JsonToAvroRecordConverter converter = new JsonToAvroRecordConverter(getSchema(false));
+    GenericData.Record record = converter.convert(Jsons.deserialize("{"
+        + "\"id\": 10,"
+        + "\"price\": 3,"
+        + "\"active\": true,"
+        + "\"node-name\": \"node\","
+        + "\"tags\": [\"a\", \"b\"],"
+        + "\"mixed\": [\"a\", 1.5, null],"
+        + "\"user\": { \"first name\": \"Jane\", \"age\": 30 },"
+        + "\"unknown\": \"ignored\""
+        + "}"));
+
+    assertEquals(10, record.get("id"));
+    assertEquals(3.0, record.get("price"));
+    assertEquals(true, record.get("active"));
+    assertEquals("node", record.get("node_name"));
+    assertEquals(Lists.newArrayList("a", "b"), toList(record.get("tags")));
+    assertEquals(Lists.newArrayList("a", 1.5, null), toList(record.get("mixed")));
+
+    GenericData.Record user = (GenericData.Record) record.get("user");
+    assertEquals("Jane", user.get("first_name"));
+    assertEquals(30, user.get("age"));
+  }
+
+  @Test
+  public void testMissingAndNullFieldsAreNull() {
+    JsonToAvroRecordConverter converter = new JsonToAvroRecordConverter(getSchema(false));
+    GenericData.Record record = converter.convert(Jsons.deserialize("{ \"id\": 1, \"user\": null }"));
+
+    assertEquals(1, record.get("id"));
+    assertNull(record.get("price"));
+    assertNull(record.get("node_name"));
+    assertNull(record.get("tags"));
+    assertNull(record.get("user"));
+  }
+
+  @Test
+  public void testIncompatibleValueThrows() {
+    JsonToAvroRecordConverter converter = new JsonToAvroRecordConverter(getSchema(false));
+    assertThrows(AvroTypeException.class, () -> converter.convert(Jsons.deserialize("{ \"id\": \"not a number\" }")));
+    assertThrows(AvroTypeException.class, () -> converter.convert(Jsons.deserialize("{ \"tags\": [{ \"a\": 1 }] }")));
+    assertThrows(AvroTypeException.class, () -> converter.convert(Jsons.deserialize("[]")));
+  }
+
+  @Test
+  public void testAvroRecordFactory() {
+    AvroRecordFactory factory = new AvroRecordFactory(getSchema(true));
+    UUID id = UUID.randomUUID();
+    AirbyteRecordMessage message = new AirbyteRecordMessage()
+        .withStream("test_stream")
+        .withEmittedAt(1000L)
+        .withData(Jsons.deserialize("{ \"id\": 5, \"node-name\": \"node\" }"));
+
+    GenericData.Record record = factory.getAvroRecord(id, message);
+
+    assertEquals(id.toString(), record.get(JavaBaseConstants.COLUMN_NAME_AB_ID));
+    assertEquals(1000L, record.get(JavaBaseConstants.COLUMN_NAME_EMITTED_AT));
+    assertEquals(5, record.get("id"));
+    assertEquals("node", record.get("node_name"));
+    assertTrue(GenericData.get().validate(record.getSchema(), record));
+  }
+
+  @SuppressWarnings("unchecked")
+  private static List<Object> toList(Object array) {
+    return Lists.newArrayList((GenericData.Array<Object>) array);
+  }
+
+}
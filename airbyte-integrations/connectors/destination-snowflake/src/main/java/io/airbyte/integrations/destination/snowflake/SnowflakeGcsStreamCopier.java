@@ -25,17 +25,21 @@
 package io.airbyte.integrations.destination.snowflake;
 
 import com.google.cloud.storage.Storage;
+import com.google.common.collect.Lists;
 import io.airbyte.db.jdbc.JdbcDatabase;
 import io.airbyte.integrations.destination.ExtendedNameTransformer;
 import io.airbyte.integrations.destination.jdbc.SqlOperations;
 import io.airbyte.integrations.destination.jdbc.copy.gcs.GcsConfig;
 import io.airbyte.integrations.destination.jdbc.copy.gcs.GcsStreamCopier;
 import io.airbyte.protocol.models.DestinationSyncMode;
+import io.airbyte.protocol.models.SyncMode;
 import java.sql.SQLException;
+import java.util.List;
 
 public class SnowflakeGcsStreamCopier extends GcsStreamCopier {
 
   public SnowflakeGcsStreamCopier(String stagingFolder,
+                                  SyncMode sourceSyncMode,
                                   DestinationSyncMode destSyncMode,
                                   String schema,
                                   String streamName,
@@ -44,23 +48,27 @@ public class SnowflakeGcsStreamCopier extends GcsStreamCopier {
                                   GcsConfig gcsConfig,
                                   ExtendedNameTransformer nameTransformer,
                                   SqlOperations sqlOperations) {
-    super(stagingFolder, destSyncMode, schema, streamName, storageClient, db, gcsConfig, nameTransformer, sqlOperations);
+    super(stagingFolder, sourceSyncMode, destSyncMode, schema, streamName, storageClient, db, gcsConfig, nameTransformer, sqlOperations);
   }
 
   @Override
-  public void copyGcsCsvFileIntoTable(JdbcDatabase database,
-                                      String gcsFileLocation,
-                                      String schema,
-                                      String tableName,
-                                      GcsConfig gcsConfig)
+  public void copyGcsCsvFilesIntoTable(JdbcDatabase database,
+                                       String gcsStagingLocation,
+                                       List<String> stagingFiles,
+                                       String schema,
+                                       String tableName,
+                                       GcsConfig gcsConfig)
       throws SQLException {
-    final var copyQuery = String.format(
-        "COPY INTO %s.%s FROM '%s' storage_integration = gcs_airbyte_integration file_format = (type = csv field_delimiter = ',' skip_header = 0 FIELD_OPTIONALLY_ENCLOSED_BY = '\"');",
-        schema,
-        tableName,
-        gcsFileLocation);
+    for (final List<String> files : Lists.partition(stagingFiles, SnowflakeCopyQueries.MAX_FILES_PER_COPY)) {
+      final var copyQuery = String.format(
+          "COPY INTO %s.%s FROM '%s' storage_integration = gcs_airbyte_integration FILES = (%s) file_format = (type = csv compression = gzip field_delimiter = ',' skip_header = 0 FIELD_OPTIONALLY_ENCLOSED_BY = '\"');",
+          schema,
+          tableName,
+          gcsStagingLocation,
+          SnowflakeCopyQueries.toFileList(files));
 
-    database.execute(copyQuery);
+      database.execute(copyQuery);
+    }
   }
 
 }
@@ -32,11 +32,13 @@ import io.airbyte.integrations.destination.jdbc.copy.StreamCopier;
 import io.airbyte.integrations.destination.jdbc.copy.gcs.GcsConfig;
 import io.airbyte.integrations.destination.jdbc.copy.gcs.GcsStreamCopierFactory;
 import io.airbyte.protocol.models.DestinationSyncMode;
+import io.airbyte.protocol.models.SyncMode;
 
 public class SnowflakeGcsStreamCopierFactory extends GcsStreamCopierFactory {
 
   @Override
   public StreamCopier create(String stagingFolder,
+                             SyncMode sourceSyncMode,
                              DestinationSyncMode syncMode,
                              String schema,
                              String streamName,
@@ -48,6 +50,7 @@ public class SnowflakeGcsStreamCopierFactory extends GcsStreamCopierFactory {
       throws Exception {
     return new SnowflakeGcsStreamCopier(
         stagingFolder,
+        sourceSyncMode,
         syncMode,
         schema,
         streamName,
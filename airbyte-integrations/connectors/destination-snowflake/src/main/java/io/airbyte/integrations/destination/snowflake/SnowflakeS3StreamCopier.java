@@ -25,17 +25,21 @@
 package io.airbyte.integrations.destination.snowflake;
 
 import com.amazonaws.services.s3.AmazonS3;
+import com.google.common.collect.Lists;
 import io.airbyte.db.jdbc.JdbcDatabase;
 import io.airbyte.integrations.destination.ExtendedNameTransformer;
 import io.airbyte.integrations.destination.jdbc.SqlOperations;
 import io.airbyte.integrations.destination.jdbc.copy.s3.S3Config;
 import io.airbyte.integrations.destination.jdbc.copy.s3.S3StreamCopier;
 import io.airbyte.protocol.models.DestinationSyncMode;
+import io.airbyte.protocol.models.SyncMode;
 import java.sql.SQLException;
+import java.util.List;
 
 public class SnowflakeS3StreamCopier extends S3StreamCopier {
 
   public SnowflakeS3StreamCopier(String stagingFolder,
+                                 SyncMode sourceSyncMode,
                                  DestinationSyncMode destSyncMode,
                                  String schema,
                                  String streamName,
@@ -44,23 +48,32 @@ public class SnowflakeS3StreamCopier extends S3StreamCopier {
                                  S3Config s3Config,
                                  ExtendedNameTransformer nameTransformer,
                                  SqlOperations sqlOperations) {
-    super(stagingFolder, destSyncMode, schema, streamName, client, db, s3Config, nameTransformer, sqlOperations);
+    super(stagingFolder, sourceSyncMode, destSyncMode, schema, streamName, client, db, s3Config, nameTransformer, sqlOperations);
   }
 
   @Override
-  public void copyS3CsvFileIntoTable(JdbcDatabase database, String s3FileLocation, String schema, String tableName, S3Config s3Config)
+  public void copyS3CsvFilesIntoTable(JdbcDatabase database,
+                                      String s3StagingLocation,
+                                      List<String> stagingFiles,
+                                      String schema,
+                                      String tableName,
+                                      S3Config s3Config)
       throws SQLException {
-    final var copyQuery = String.format(
-        "COPY INTO %s.%s FROM '%s' "
-            + "CREDENTIALS=(aws_key_id='%s' aws_secret_key='%s') "
-            + "file_format = (type = csv field_delimiter = ',' skip_header = 0 FIELD_OPTIONALLY_ENCLOSED_BY = '\"');",
-        schema,
-        tableName,
-        s3FileLocation,
-        s3Config.getAccessKeyId(),
-        s3Config.getSecretAccessKey());
+    for (final List<String> files : Lists.partition(stagingFiles, SnowflakeCopyQueries.MAX_FILES_PER_COPY)) {
+      final var copyQuery = String.format(
+          "COPY INTO %s.%s FROM '%s' "
+              + "CREDENTIALS=(aws_key_id='%s' aws_secret_key='%s') "
+              + "FILES = (%s) "
+              + "file_format = (type = csv compression = gzip field_delimiter = ',' skip_header = 0 FIELD_OPTIONALLY_ENCLOSED_BY = '\"');",
+          schema,
+          tableName,
+          s3StagingLocation,
+          s3Config.getAccessKeyId(),
+          s3Config.getSecretAccessKey(),
+          SnowflakeCopyQueries.toFileList(files));
 
-    database.execute(copyQuery);
+      database.execute(copyQuery);
+    }
   }
 
 }
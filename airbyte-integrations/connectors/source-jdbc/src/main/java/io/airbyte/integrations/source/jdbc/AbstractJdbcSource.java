@@ -34,6 +34,7 @@ import io.airbyte.commons.util.AutoCloseableIterators;
 import io.airbyte.db.Databases;
 import io.airbyte.db.SqlDatabase;
 import io.airbyte.db.jdbc.JdbcDatabase;
+import io.airbyte.db.jdbc.JdbcRowConverter;
 import io.airbyte.db.jdbc.JdbcStreamingQueryConfiguration;
 import io.airbyte.db.jdbc.JdbcUtils;
 import io.airbyte.integrations.base.Source;
@@ -79,6 +80,11 @@ public abstract class AbstractJdbcSource extends AbstractRelationalDbSource<JDBC
   private static final String INTERNAL_COLUMN_NAME = "columnName";
   private static final String INTERNAL_COLUMN_TYPE = "columnType";
 
+  private static final int STATE_EMISSION_FREQUENCY = 10000;
+  // streams read at the same time may each use up to FULL_REFRESH_PARALLELISM connections.
+  private static final int FULL_REFRESH_PARALLELISM = 2;
+  private static final int STREAM_READ_PARALLELISM = Databases.MAX_CONCURRENT_QUERIES / FULL_REFRESH_PARALLELISM;
+
   private final String driverClass;
   private final JdbcStreamingQueryConfiguration jdbcStreamingQueryConfiguration;
   private String quoteString;
@@ -218,6 +224,24 @@ public abstract class AbstractJdbcSource extends AbstractRelationalDbSource<JDBC
     return quoteString;
   }
 
+  /**
+   * Incremental queries are ordered by the cursor, so state can safely be checkpointed mid-stream.
+   */
+  @Override
+  protected int getStateEmissionFrequency() {
+    return STATE_EMISSION_FREQUENCY;
+  }
+
+  @Override
+  protected int getStreamReadParallelism() {
+    return STREAM_READ_PARALLELISM;
+  }
+
+  @Override
+  protected int getFullRefreshParallelism() {
+    return FULL_REFRESH_PARALLELISM;
+  }
+
   @Override
   public AutoCloseableIterator<JsonNode> queryTableIncremental(JdbcDatabase database,
                                                                List<String> columnNames,
@@ -232,18 +256,20 @@ public abstract class AbstractJdbcSource extends AbstractRelationalDbSource<JDBC
         final Stream<JsonNode> stream = database.query(
             connection -> {
               LOGGER.info("Preparing query for table: {}", tableName);
-              final String sql = String.format("SELECT %s FROM %s WHERE %s > ?",
+              final String quotedCursorField = SourceJdbcUtils.enquoteIdentifier(connection, cursorField);
+              final String sql = String.format("SELECT %s FROM %s WHERE %s > ? ORDER BY %s ASC",
                   SourceJdbcUtils.enquoteIdentifierList(connection, columnNames),
                   SourceJdbcUtils
                       .getFullyQualifiedTableNameWithQuoting(connection, schemaName, tableName),
-                  SourceJdbcUtils.enquoteIdentifier(connection, cursorField));
+                  quotedCursorField,
+                  quotedCursorField);
 
               final PreparedStatement preparedStatement = connection.prepareStatement(sql);
               SourceJdbcUtils.setStatementField(preparedStatement, 1, cursorFieldType, cursor);
               LOGGER.info("Executing query for table: {}", tableName);
               return preparedStatement;
             },
-            JdbcUtils::rowToJson);
+            new JdbcRowConverter());
         return AutoCloseableIterators.fromStream(stream);
       } catch (SQLException e) {
         throw new RuntimeException(e);
@@ -32,8 +32,6 @@ import java.sql.Date;
 import java.sql.JDBCType;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
-import java.sql.Timestamp;
-import java.text.ParseException;
 import java.util.List;
 import java.util.StringJoiner;
 import javax.xml.bind.DatatypeConverter;
@@ -50,23 +48,8 @@ public class SourceJdbcUtils {
       // to treat them all as ISO8601. if this causes any problems down the line, we can adjust.
       // Parsing TIME as a TIMESTAMP might potentially break for ClickHouse cause it doesn't expect TIME
       // value in the following format
-      case TIME, TIMESTAMP -> {
-        try {
-          preparedStatement.setTimestamp(parameterIndex, Timestamp
-              .from(JdbcUtils.DATE_FORMAT.parse(value).toInstant()));
-        } catch (ParseException e) {
-          throw new RuntimeException(e);
-        }
-      }
-
-      case DATE -> {
-        try {
-          Timestamp from = Timestamp.from(JdbcUtils.DATE_FORMAT.parse(value).toInstant());
-          preparedStatement.setDate(parameterIndex, new Date(from.getTime()));
-        } catch (ParseException e) {
-          throw new RuntimeException(e);
-        }
-      }
+      case TIME, TIMESTAMP -> preparedStatement.setTimestamp(parameterIndex, JdbcUtils.parseISO8601String(value));
+      case DATE -> preparedStatement.setDate(parameterIndex, new Date(JdbcUtils.parseISO8601String(value).getTime()));
       // todo (cgardens) - currently we do not support bit because it requires special handling in the
       // prepared statement.
       // see
@@ -26,13 +26,15 @@ package io.airbyte.integrations.source.mysql;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.google.common.collect.AbstractIterator;
+import io.airbyte.commons.concurrency.SizeBoundedBlockingQueue;
 import io.airbyte.commons.concurrency.VoidCallable;
 import io.airbyte.commons.json.Jsons;
 import io.airbyte.commons.lang.MoreBooleans;
 import io.airbyte.commons.util.AutoCloseableIterator;
 import io.debezium.engine.ChangeEvent;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Optional;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 import org.slf4j.Logger;
@@ -54,16 +56,19 @@ public class DebeziumRecordIterator extends AbstractIterator<ChangeEvent<String,
 
   private static final Logger LOGGER = LoggerFactory.getLogger(DebeziumRecordIterator.class);
 
+  private static final Duration FILL_LEVEL_LOG_INTERVAL = Duration.ofMinutes(1);
+
   private static final WaitTime FIRST_RECORD_WAIT_TIME_MINUTES = new WaitTime(5, TimeUnit.MINUTES);
   private static final WaitTime SUBSEQUENT_RECORD_WAIT_TIME_SECONDS = new WaitTime(5, TimeUnit.SECONDS);
 
-  private final LinkedBlockingQueue<ChangeEvent<String, String>> queue;
+  private final SizeBoundedBlockingQueue<ChangeEvent<String, String>> queue;
   private final Optional<TargetFilePosition> targetFilePosition;
   private final Supplier<Boolean> publisherStatusSupplier;
   private final VoidCallable requestClose;
+  private Instant lastFillLevelLog;
   private boolean receivedFirstRecord;
 
-  public DebeziumRecordIterator(LinkedBlockingQueue<ChangeEvent<String, String>> queue,
+  public DebeziumRecordIterator(SizeBoundedBlockingQueue<ChangeEvent<String, String>> queue,
                                 Optional<TargetFilePosition> targetFilePosition,
                                 Supplier<Boolean> publisherStatusSupplier,
                                 VoidCallable requestClose) {
@@ -71,6 +76,7 @@ public class DebeziumRecordIterator extends AbstractIterator<ChangeEvent<String,
     this.targetFilePosition = targetFilePosition;
     this.publisherStatusSupplier = publisherStatusSupplier;
     this.requestClose = requestClose;
+    this.lastFillLevelLog = Instant.now();
     this.receivedFirstRecord = false;
   }
 
@@ -93,6 +99,7 @@ public class DebeziumRecordIterator extends AbstractIterator<ChangeEvent<String,
       if (next == null) {
         requestClose();
         LOGGER.info("no record found. polling again.");
+        logFillLevel();
         continue;
       }
 
@@ -101,11 +108,23 @@ public class DebeziumRecordIterator extends AbstractIterator<ChangeEvent<String,
         requestClose();
       }
       receivedFirstRecord = true;
+      maybeLogFillLevel();
       return next;
     }
     return endOfData();
   }
 
+  private void maybeLogFillLevel() {
+    if (Duration.between(lastFillLevelLog, Instant.now()).compareTo(FILL_LEVEL_LOG_INTERVAL) >= 0) {
+      logFillLevel();
+    }
+  }
+
+  private void logFillLevel() {
+    LOGGER.info("Debezium event queue fill level: {}", queue.describeFillLevel());
+    lastFillLevelLog = Instant.now();
+  }
+
   @Override
   public void close() throws Exception {
     requestClose.call();
@@ -31,6 +31,7 @@ import static java.util.stream.Collectors.toList;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.common.collect.ImmutableMap;
+import io.airbyte.commons.concurrency.SizeBoundedBlockingQueue;
 import io.airbyte.commons.functional.CheckedConsumer;
 import io.airbyte.commons.json.Jsons;
 import io.airbyte.commons.util.AutoCloseableIterator;
@@ -64,7 +65,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ExecutorService;
 import java.util.function.Supplier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -73,6 +74,14 @@ public class MySqlSource extends AbstractJdbcSource implements Source {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(MySqlSource.class);
 
+  /**
+   * Bounds on the events buffered between the debezium engine and the source output. The engine blocks
+   * once either bound is reached, so a large snapshot cannot outrun stdout and exhaust the heap. The
+   * event bound is above the defaults of debezium's own queue (8192) and batch size (2048).
+   */
+  static final int MAX_QUEUED_EVENTS = 10_000;
+  static final long MAX_QUEUED_BYTES = 256L * 1024 * 1024;
+
   public static final String DRIVER_CLASS = "com.mysql.cj.jdbc.Driver";
   public static final String MYSQL_CDC_OFFSET = "mysql_cdc_offset";
   public static final String MYSQL_DB_HISTORY = "mysql_db_history";
@@ -228,7 +237,8 @@ public class MySqlSource extends AbstractJdbcSource implements Source {
                                                                              ConfiguredAirbyteCatalog catalog,
                                                                              Map<String, TableInfo<CommonField<JDBCType>>> tableNameToTable,
                                                                              StateManager stateManager,
-                                                                             Instant emittedAt) {
+                                                                             Instant emittedAt,
+                                                                             Optional<ExecutorService> streamReadExecutor) {
     JsonNode sourceConfig = database.getSourceConfig();
     if (isCdc(sourceConfig) && shouldUseCDC(catalog)) {
       LOGGER.info("using CDC: {}", true);
@@ -236,12 +246,8 @@ public class MySqlSource extends AbstractJdbcSource implements Source {
       final AirbyteFileOffsetBackingStore offsetManager = initializeState(stateManager);
       AirbyteSchemaHistoryStorage schemaHistoryManager = initializeDBHistory(stateManager);
       FilteredFileDatabaseHistory.setDatabaseName(sourceConfig.get("database").asText());
-      /**
-       * We use 10000 as capacity cause the default queue size and batch size of debezium is :
-       * {@link io.debezium.config.CommonConnectorConfig#DEFAULT_MAX_BATCH_SIZE} is 2048
-       * {@link io.debezium.config.CommonConnectorConfig#DEFAULT_MAX_QUEUE_SIZE} is 8192
-       */
-      final LinkedBlockingQueue<ChangeEvent<String, String>> queue = new LinkedBlockingQueue<>(10000);
+      final SizeBoundedBlockingQueue<ChangeEvent<String, String>> queue =
+          new SizeBoundedBlockingQueue<>(MAX_QUEUED_EVENTS, MAX_QUEUED_BYTES, DebeziumEventUtils::approximateSizeInBytes);
       final DebeziumRecordPublisher publisher = new DebeziumRecordPublisher(sourceConfig, catalog, offsetManager, schemaHistoryManager);
       publisher.start(queue);
 
@@ -296,8 +302,7 @@ public class MySqlSource extends AbstractJdbcSource implements Source {
       return Collections.singletonList(messageIteratorWithStateDecorator);
     } else {
       LOGGER.info("using CDC: {}", false);
-      return super.getIncrementalIterators(database, catalog, tableNameToTable, stateManager,
-          emittedAt);
+      return super.getIncrementalIterators(database, catalog, tableNameToTable, stateManager, emittedAt, streamReadExecutor);
     }
   }
 
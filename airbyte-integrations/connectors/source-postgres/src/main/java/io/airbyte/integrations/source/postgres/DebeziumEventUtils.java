@@ -55,6 +55,16 @@ public class DebeziumEventUtils {
         .withRecord(airbyteRecordMessage);
   }
 
+  /**
+   * Approximates the memory held by an event from the length of its serialized key and value. Used to
+   * bound the event queue between the debezium engine and the source output.
+   */
+  public static long approximateSizeInBytes(ChangeEvent<String, String> event) {
+    final long keySize = event.key() == null ? 0 : event.key().length();
+    final long valueSize = event.value() == null ? 0 : event.value().length();
+    return keySize + valueSize;
+  }
+
   // warning mutates input args.
   private static JsonNode formatDebeziumData(JsonNode before, JsonNode after, JsonNode source) {
     final ObjectNode base = (ObjectNode) (after.isNull() ? before : after);
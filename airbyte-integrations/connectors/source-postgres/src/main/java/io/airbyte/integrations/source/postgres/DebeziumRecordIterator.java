@@ -25,6 +25,7 @@
 package io.airbyte.integrations.source.postgres;
 
 import com.google.common.collect.AbstractIterator;
+import io.airbyte.commons.concurrency.SizeBoundedBlockingQueue;
 import io.airbyte.commons.concurrency.VoidCallable;
 import io.airbyte.commons.json.Jsons;
 import io.airbyte.commons.lang.MoreBooleans;
@@ -33,8 +34,9 @@ import io.airbyte.db.PgLsn;
 import io.debezium.engine.ChangeEvent;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Optional;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 import org.apache.kafka.connect.data.Struct;
@@ -58,15 +60,18 @@ public class DebeziumRecordIterator extends AbstractIterator<ChangeEvent<String,
 
   private static final Logger LOGGER = LoggerFactory.getLogger(DebeziumRecordIterator.class);
 
+  private static final Duration FILL_LEVEL_LOG_INTERVAL = Duration.ofMinutes(1);
+
   private static final TimeUnit SLEEP_TIME_UNIT = TimeUnit.SECONDS;
   private static final int SLEEP_TIME_AMOUNT = 5;
 
-  private final LinkedBlockingQueue<ChangeEvent<String, String>> queue;
+  private final SizeBoundedBlockingQueue<ChangeEvent<String, String>> queue;
   private final PgLsn targetLsn;
   private final Supplier<Boolean> publisherStatusSupplier;
   private final VoidCallable requestClose;
+  private Instant lastFillLevelLog;
 
-  public DebeziumRecordIterator(LinkedBlockingQueue<ChangeEvent<String, String>> queue,
+  public DebeziumRecordIterator(SizeBoundedBlockingQueue<ChangeEvent<String, String>> queue,
                                 PgLsn targetLsn,
                                 Supplier<Boolean> publisherStatusSupplier,
                                 VoidCallable requestClose) {
@@ -74,6 +79,7 @@ public class DebeziumRecordIterator extends AbstractIterator<ChangeEvent<String,
     this.targetLsn = targetLsn;
     this.publisherStatusSupplier = publisherStatusSupplier;
     this.requestClose = requestClose;
+    this.lastFillLevelLog = Instant.now();
   }
 
   @Override
@@ -95,6 +101,7 @@ public class DebeziumRecordIterator extends AbstractIterator<ChangeEvent<String,
       if (next == null) {
         requestClose();
         LOGGER.info("no record found. polling again.");
+        logFillLevel();
         continue;
       }
 
@@ -108,11 +115,23 @@ public class DebeziumRecordIterator extends AbstractIterator<ChangeEvent<String,
         requestClose();
       }
 
+      maybeLogFillLevel();
       return next;
     }
     return endOfData();
   }
 
+  private void maybeLogFillLevel() {
+    if (Duration.between(lastFillLevelLog, Instant.now()).compareTo(FILL_LEVEL_LOG_INTERVAL) >= 0) {
+      logFillLevel();
+    }
+  }
+
+  private void logFillLevel() {
+    LOGGER.info("Debezium event queue fill level: {}", queue.describeFillLevel());
+    lastFillLevelLog = Instant.now();
+  }
+
   @Override
   public void close() throws Exception {
     requestClose.call();
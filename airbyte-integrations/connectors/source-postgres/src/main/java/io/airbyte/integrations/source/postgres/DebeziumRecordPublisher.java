@@ -26,6 +26,7 @@ package io.airbyte.integrations.source.postgres;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.google.common.annotations.VisibleForTesting;
+import io.airbyte.commons.concurrency.SizeBoundedBlockingQueue;
 import io.airbyte.protocol.models.ConfiguredAirbyteCatalog;
 import io.airbyte.protocol.models.ConfiguredAirbyteStream;
 import io.airbyte.protocol.models.SyncMode;
@@ -34,7 +35,6 @@ import io.debezium.engine.DebeziumEngine;
 import io.debezium.engine.format.Json;
 import io.debezium.engine.spi.OffsetCommitPolicy;
 import java.util.Properties;
-import java.util.Queue;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -51,6 +51,7 @@ public class DebeziumRecordPublisher implements AutoCloseable {
   private static final Logger LOGGER = LoggerFactory.getLogger(DebeziumRecordPublisher.class);
   private final ExecutorService executor;
   private DebeziumEngine<ChangeEvent<String, String>> engine;
+  private SizeBoundedBlockingQueue<ChangeEvent<String, String>> queue;
 
   private final JsonNode config;
   private final ConfiguredAirbyteCatalog catalog;
@@ -72,7 +73,13 @@ public class DebeziumRecordPublisher implements AutoCloseable {
     this.engineLatch = new CountDownLatch(1);
   }
 
-  public void start(Queue<ChangeEvent<String, String>> queue) {
+  /**
+   * Starts the engine, handing every event it emits to the given queue. The engine blocks while the
+   * queue is full, so the rate at which it reads from the database is bounded by the rate at which
+   * the consumer drains the queue.
+   */
+  public void start(SizeBoundedBlockingQueue<ChangeEvent<String, String>> queue) {
+    this.queue = queue;
     engine = DebeziumEngine.create(Json.class)
         .using(getDebeziumProperties(config, catalog, offsetManager))
         .using(new OffsetCommitPolicy.AlwaysCommitOffsetPolicy())
@@ -82,7 +89,12 @@ public class DebeziumRecordPublisher implements AutoCloseable {
           // more on the tombstone:
           // https://debezium.io/documentation/reference/configuration/event-flattening.html
           if (e.value() != null) {
-            queue.add(e);
+            try {
+              queue.put(e);
+            } catch (InterruptedException interruptedException) {
+              Thread.currentThread().interrupt();
+              throw new RuntimeException(interruptedException);
+            }
           }
         })
         .using((success, message, error) -> {
@@ -102,6 +114,13 @@ public class DebeziumRecordPublisher implements AutoCloseable {
 
   public void close() throws Exception {
     if (isClosing.compareAndSet(false, true)) {
+      if (queue != null) {
+        LOGGER.info("Debezium event queue fill level at close: {}", queue.describeFillLevel());
+        // the consumer may be the one closing the publisher, in which case it is not draining the queue
+        // anymore. stop applying backpressure so the engine can hand off its last batch and shut down.
+        queue.release();
+      }
+
       // consumers should assume records can be produced until engine has closed.
       if (engine != null) {
         engine.close();
@@ -30,6 +30,7 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableMap;
+import io.airbyte.commons.concurrency.SizeBoundedBlockingQueue;
 import io.airbyte.commons.functional.CheckedConsumer;
 import io.airbyte.commons.json.Jsons;
 import io.airbyte.commons.util.AutoCloseableIterator;
@@ -68,8 +69,9 @@ import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ExecutorService;
 import java.util.function.Supplier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -78,6 +80,14 @@ public class PostgresSource extends AbstractJdbcSource implements Source {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(PostgresSource.class);
 
+  /**
+   * Bounds on the events buffered between the debezium engine and the source output. The engine blocks
+   * once either bound is reached, so a large snapshot cannot outrun stdout and exhaust the heap. The
+   * event bound is above the defaults of debezium's own queue (8192) and batch size (2048).
+   */
+  static final int MAX_QUEUED_EVENTS = 10_000;
+  static final long MAX_QUEUED_BYTES = 256L * 1024 * 1024;
+
   static final String DRIVER_CLASS = "org.postgresql.Driver";
 
   public PostgresSource() {
@@ -220,7 +230,8 @@ public class PostgresSource extends AbstractJdbcSource implements Source {
                                                                              ConfiguredAirbyteCatalog catalog,
                                                                              Map<String, TableInfo<CommonField<JDBCType>>> tableNameToTable,
                                                                              StateManager stateManager,
-                                                                             Instant emittedAt) {
+                                                                             Instant emittedAt,
+                                                                             Optional<ExecutorService> streamReadExecutor) {
     /**
      * If a customer sets up a postgres source with cdc parameters (replication_slot and publication)
      * but selects all the tables in FULL_REFRESH mode then we would still end up going through this
@@ -239,7 +250,8 @@ public class PostgresSource extends AbstractJdbcSource implements Source {
       final PgLsn targetLsn = getLsn(database);
       LOGGER.info("identified target lsn: " + targetLsn);
 
-      final LinkedBlockingQueue<ChangeEvent<String, String>> queue = new LinkedBlockingQueue<>();
+      final SizeBoundedBlockingQueue<ChangeEvent<String, String>> queue =
+          new SizeBoundedBlockingQueue<>(MAX_QUEUED_EVENTS, MAX_QUEUED_BYTES, DebeziumEventUtils::approximateSizeInBytes);
 
       final DebeziumRecordPublisher publisher = new DebeziumRecordPublisher(database.getSourceConfig(), catalog, offsetManager);
       publisher.start(queue);
@@ -275,7 +287,7 @@ public class PostgresSource extends AbstractJdbcSource implements Source {
 
       return Collections.singletonList(messageIteratorWithStateDecorator);
     } else {
-      return super.getIncrementalIterators(database, catalog, tableNameToTable, stateManager, emittedAt);
+      return super.getIncrementalIterators(database, catalog, tableNameToTable, stateManager, emittedAt, streamReadExecutor);
     }
   }
 
@@ -25,8 +25,10 @@
 package io.airbyte.integrations.source.relationaldb;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import io.airbyte.commons.functional.CheckedConsumer;
 import io.airbyte.commons.json.Jsons;
 import io.airbyte.commons.lang.Exceptions;
@@ -53,6 +55,7 @@ import io.airbyte.protocol.models.ConfiguredAirbyteStream;
 import io.airbyte.protocol.models.Field;
 import io.airbyte.protocol.models.JsonSchemaPrimitive;
 import io.airbyte.protocol.models.SyncMode;
+import java.math.BigInteger;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -62,6 +65,9 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.StringJoiner;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -74,6 +80,10 @@ public abstract class AbstractRelationalDbSource<DataType, Database extends SqlD
 
   private static final Logger LOGGER = LoggerFactory.getLogger(AbstractRelationalDbSource.class);
 
+  private static final long MIN_KEYS_PER_PARTITION = 100_000;
+  private static final int PARTITIONED_READ_BUFFER_SIZE = 10_000;
+  private static final int STREAM_READ_BUFFER_SIZE = 1_000;
+
   /**
    * Map a database implementation-specific configuration to json object that adheres to the database
    * config spec. See resources/spec.json.
@@ -142,6 +152,43 @@ public abstract class AbstractRelationalDbSource<DataType, Database extends SqlD
    */
   protected abstract String getQuoteString();
 
+  /**
+   * Number of records after which an intermediate state message is emitted while reading a stream
+   * incrementally. Sources may only enable this if {@link #queryTableIncremental} returns records
+   * ordered by the cursor field.
+   *
+   * @return state emission frequency, 0 means state is only emitted once a stream is fully read.
+   */
+  protected int getStateEmissionFrequency() {
+    return 0;
+  }
+
+  /**
+   * Maximum number of streams that are read at the same time. Each stream is queried on its own
+   * connection and buffered ahead of the consumer, which still emits streams one after the other so
+   * that state messages are created in the order they are emitted. When combined with
+   * {@link #getFullRefreshParallelism()}, the product of both should stay below the number of
+   * connections of the database, so that the other queries of the read are not blocked.
+   *
+   * @return stream read parallelism, 1 means each stream is only queried once the previous one was
+   *         fully emitted.
+   */
+  protected int getStreamReadParallelism() {
+    return 1;
+  }
+
+  /**
+   * Maximum number of concurrent queries used to read a single table in full refresh mode. Tables
+   * with a single integer primary key are split into ranges of that key, which are read concurrently
+   * on separate connections. Records of a table read this way are not emitted in any particular
+   * order.
+   *
+   * @return full refresh parallelism, 1 means each table is read with a single query.
+   */
+  protected int getFullRefreshParallelism() {
+    return 1;
+  }
+
   @Override
   public AirbyteConnectionStatus check(JsonNode config) {
     try (final Database database = createDatabaseInternal(config)) {
@@ -179,6 +226,12 @@ public abstract class AbstractRelationalDbSource<DataType, Database extends SqlD
     final Instant emittedAt = Instant.now();
 
     final Database database = createDatabaseInternal(config);
+    // iterators read ahead in the order they are created, which is the order they are emitted in.
+    final Optional<ExecutorService> streamReadExecutor = getStreamReadParallelism() > 1
+        ? Optional.of(Executors.newFixedThreadPool(
+            getStreamReadParallelism(),
+            new ThreadFactoryBuilder().setNameFormat("stream-read-%d").setDaemon(true).build()))
+        : Optional.empty();
 
     final Map<String, TableInfo<CommonField<DataType>>> fullyQualifiedTableNameToInfo =
         discoverWithoutSystemTables(database)
@@ -187,9 +240,9 @@ public abstract class AbstractRelationalDbSource<DataType, Database extends SqlD
                 .identity()));
 
     final List<AutoCloseableIterator<AirbyteMessage>> incrementalIterators =
-        getIncrementalIterators(database, catalog, fullyQualifiedTableNameToInfo, stateManager, emittedAt);
+        getIncrementalIterators(database, catalog, fullyQualifiedTableNameToInfo, stateManager, emittedAt, streamReadExecutor);
     final List<AutoCloseableIterator<AirbyteMessage>> fullRefreshIterators =
-        getFullRefreshIterators(database, catalog, fullyQualifiedTableNameToInfo, stateManager, emittedAt);
+        getFullRefreshIterators(database, catalog, fullyQualifiedTableNameToInfo, stateManager, emittedAt, streamReadExecutor);
     final List<AutoCloseableIterator<AirbyteMessage>> iteratorList = Stream
         .of(incrementalIterators, fullRefreshIterators)
         .flatMap(Collection::stream)
@@ -197,6 +250,12 @@ public abstract class AbstractRelationalDbSource<DataType, Database extends SqlD
 
     return AutoCloseableIterators
         .appendOnClose(AutoCloseableIterators.concatWithEagerClose(iteratorList), () -> {
+          if (streamReadExecutor.isPresent()) {
+            streamReadExecutor.get().shutdownNow();
+            if (!streamReadExecutor.get().awaitTermination(1, TimeUnit.MINUTES)) {
+              LOGGER.warn("Stream read threads did not terminate in time.");
+            }
+          }
           LOGGER.info("Closing database connection pool.");
           Exceptions.toRuntime(database::close);
           LOGGER.info("Closed database connection pool.");
@@ -207,13 +266,15 @@ public abstract class AbstractRelationalDbSource<DataType, Database extends SqlD
                                                                              ConfiguredAirbyteCatalog catalog,
                                                                              Map<String, TableInfo<CommonField<DataType>>> tableNameToTable,
                                                                              StateManager stateManager,
-                                                                             Instant emittedAt) {
+                                                                             Instant emittedAt,
+                                                                             Optional<ExecutorService> streamReadExecutor) {
     return getSelectedIterators(
         database,
         catalog,
         tableNameToTable,
         stateManager,
         emittedAt,
+        streamReadExecutor,
         configuredStream -> configuredStream.getSyncMode().equals(SyncMode.INCREMENTAL));
   }
 
@@ -221,13 +282,15 @@ public abstract class AbstractRelationalDbSource<DataType, Database extends SqlD
                                                                              ConfiguredAirbyteCatalog catalog,
                                                                              Map<String, TableInfo<CommonField<DataType>>> tableNameToTable,
                                                                              StateManager stateManager,
-                                                                             Instant emittedAt) {
+                                                                             Instant emittedAt,
+                                                                             Optional<ExecutorService> streamReadExecutor) {
     return getSelectedIterators(
         database,
         catalog,
         tableNameToTable,
         stateManager,
         emittedAt,
+        streamReadExecutor,
         configuredStream -> configuredStream.getSyncMode().equals(SyncMode.FULL_REFRESH));
   }
 
@@ -236,6 +299,7 @@ public abstract class AbstractRelationalDbSource<DataType, Database extends SqlD
                                                                              Map<String, TableInfo<CommonField<DataType>>> tableNameToTable,
                                                                              StateManager stateManager,
                                                                              Instant emittedAt,
+                                                                             Optional<ExecutorService> streamReadExecutor,
                                                                              Predicate<ConfiguredAirbyteStream> selector) {
     final List<AutoCloseableIterator<AirbyteMessage>> iteratorList = new ArrayList<>();
     for (final ConfiguredAirbyteStream airbyteStream : catalog.getStreams()) {
@@ -253,7 +317,8 @@ public abstract class AbstractRelationalDbSource<DataType, Database extends SqlD
             airbyteStream,
             table,
             stateManager,
-            emittedAt);
+            emittedAt,
+            streamReadExecutor);
         iteratorList.add(tableReadIterator);
       }
     }
@@ -265,10 +330,12 @@ public abstract class AbstractRelationalDbSource<DataType, Database extends SqlD
                                                                      ConfiguredAirbyteStream airbyteStream,
                                                                      TableInfo<CommonField<DataType>> table,
                                                                      StateManager stateManager,
-                                                                     Instant emittedAt) {
+                                                                     Instant emittedAt,
+                                                                     Optional<ExecutorService> streamReadExecutor) {
     final String streamName = airbyteStream.getStream().getName();
     final String namespace = airbyteStream.getStream().getNamespace();
     final AirbyteStreamNameNamespacePair pair = new AirbyteStreamNameNamespacePair(streamName, namespace);
+    final List<String> primaryKeys = getSingleFieldPrimaryKeys(airbyteStream.getStream());
     final Set<String> selectedFieldsInCatalog = CatalogHelpers.getTopLevelFieldNames(airbyteStream);
     final List<String> selectedDatabaseFields = table.getFields()
         .stream()
@@ -286,22 +353,28 @@ public abstract class AbstractRelationalDbSource<DataType, Database extends SqlD
         airbyteMessageIterator = getIncrementalStream(database, airbyteStream, selectedDatabaseFields, table, cursorOptional.get(), emittedAt);
       } else {
         // if no cursor is present then this is the first read for is the same as doing a full refresh read.
-        airbyteMessageIterator = getFullRefreshStream(database, streamName, namespace, selectedDatabaseFields, table, emittedAt);
+        airbyteMessageIterator =
+            getFullRefreshStream(database, streamName, namespace, selectedDatabaseFields, table, primaryKeys, emittedAt);
       }
 
       final JsonSchemaPrimitive cursorType = IncrementalUtils
           .getCursorType(airbyteStream, cursorField);
 
+      // state is decorated on the consumer side so that it only covers records that were emitted.
       iterator = AutoCloseableIterators.transform(autoCloseableIterator -> new StateDecoratingIterator(
           autoCloseableIterator,
           stateManager,
           pair,
           cursorField,
           cursorOptional.orElse(null),
-          cursorType),
-          airbyteMessageIterator);
+          cursorType,
+          // without a cursor the stream is read with the full refresh query, which is not ordered.
+          cursorOptional.isPresent() ? getStateEmissionFrequency() : 0),
+          readAhead(airbyteMessageIterator, streamReadExecutor));
     } else if (airbyteStream.getSyncMode() == SyncMode.FULL_REFRESH) {
-      iterator = getFullRefreshStream(database, streamName, namespace, selectedDatabaseFields, table, emittedAt);
+      iterator = readAhead(
+          getFullRefreshStream(database, streamName, namespace, selectedDatabaseFields, table, primaryKeys, emittedAt),
+          streamReadExecutor);
     } else if (airbyteStream.getSyncMode() == null) {
       throw new IllegalArgumentException(String.format("%s requires a source sync mode", this.getClass()));
     } else {
@@ -318,6 +391,13 @@ public abstract class AbstractRelationalDbSource<DataType, Database extends SqlD
     });
   }
 
+  private static AutoCloseableIterator<AirbyteMessage> readAhead(AutoCloseableIterator<AirbyteMessage> iterator,
+                                                                 Optional<ExecutorService> streamReadExecutor) {
+    return streamReadExecutor.isPresent()
+        ? AutoCloseableIterators.prefetch(iterator, streamReadExecutor.get(), STREAM_READ_BUFFER_SIZE)
+        : iterator;
+  }
+
   protected AutoCloseableIterator<AirbyteMessage> getIncrementalStream(Database database,
                                                                        ConfiguredAirbyteStream airbyteStream,
                                                                        List<String> selectedDatabaseFields,
@@ -353,12 +433,24 @@ public abstract class AbstractRelationalDbSource<DataType, Database extends SqlD
                                                                        String namespace,
                                                                        List<String> selectedDatabaseFields,
                                                                        TableInfo<CommonField<DataType>> table,
+                                                                       List<String> primaryKeys,
                                                                        Instant emittedAt) {
     final AutoCloseableIterator<JsonNode> queryStream =
-        queryTableFullRefresh(database, selectedDatabaseFields, table.getNameSpace(), table.getName());
+        getFullRefreshParallelism() > 1 && primaryKeys.size() == 1
+            ? queryTablePartitionedFullRefresh(database, selectedDatabaseFields, table, primaryKeys.get(0), getFullRefreshParallelism())
+            : queryTableFullRefresh(database, selectedDatabaseFields, table.getNameSpace(), table.getName());
     return getMessageIterator(queryStream, streamName, namespace, emittedAt.toEpochMilli());
   }
 
+  private static List<String> getSingleFieldPrimaryKeys(AirbyteStream stream) {
+    // only top level primary key fields map to columns.
+    final List<List<String>> sourceDefinedPrimaryKey = stream.getSourceDefinedPrimaryKey();
+    if (sourceDefinedPrimaryKey == null || sourceDefinedPrimaryKey.stream().anyMatch(path -> path.size() != 1)) {
+      return Collections.emptyList();
+    }
+    return sourceDefinedPrimaryKey.stream().map(path -> path.get(0)).collect(Collectors.toList());
+  }
+
   protected String getFullyQualifiedTableName(String nameSpace, String tableName) {
     return nameSpace != null ? nameSpace + "." + tableName : tableName;
   }
@@ -463,9 +555,94 @@ public abstract class AbstractRelationalDbSource<DataType, Database extends SqlD
         getFullTableName(schemaName, tableName)));
   }
 
+  /**
+   * Read a table in full refresh mode by splitting it into ranges of its integer primary key and
+   * reading the ranges concurrently. Falls back to {@link #queryTableFullRefresh} when the primary
+   * key is not an integer or the table is too small to be worth splitting.
+   *
+   * @param database source database
+   * @param columnNames interested column names
+   * @param table target table
+   * @param primaryKey single primary key column of the table
+   * @param parallelism maximum number of ranges read at the same time
+   * @return iterator with read data
+   */
+  protected AutoCloseableIterator<JsonNode> queryTablePartitionedFullRefresh(Database database,
+                                                                           List<String> columnNames,
+                                                                           TableInfo<CommonField<DataType>> table,
+                                                                           String primaryKey,
+                                                                           int parallelism) {
+    final String fullTableName = getFullTableName(table.getNameSpace(), table.getName());
+    final Optional<CommonField<DataType>> primaryKeyField = table.getFields().stream()
+        .filter(field -> field.getName().equals(primaryKey))
+        .findFirst();
+    if (primaryKeyField.isEmpty() || getType(primaryKeyField.get().getType()) != JsonSchemaPrimitive.NUMBER) {
+      return queryTableFullRefresh(database, columnNames, table.getNameSpace(), table.getName());
+    }
+
+    // the bounds are only queried once the table is read, like the range queries themselves.
+    return AutoCloseableIterators.lazyIterator(() -> {
+      final String quotedPrimaryKey = getIdentifierWithQuoting(primaryKey);
+      final List<JsonNode> bounds;
+      try (final Stream<JsonNode> stream =
+          database.query(String.format("SELECT MIN(%s) AS min_key, MAX(%s) AS max_key FROM %s", quotedPrimaryKey, quotedPrimaryKey, fullTableName))) {
+        bounds = stream.findFirst().map(Jsons::children).orElse(Collections.emptyList());
+      } catch (Exception e) {
+        throw new RuntimeException(e);
+      }
+      if (bounds.size() != 2 || !bounds.get(0).canConvertToLong() || !bounds.get(1).canConvertToLong()
+          || !bounds.get(0).isIntegralNumber() || !bounds.get(1).isIntegralNumber()) {
+        return queryTableFullRefresh(database, columnNames, table.getNameSpace(), table.getName());
+      }
+
+      final List<String> rangeConditions = getPrimaryKeyRangeConditions(quotedPrimaryKey, bounds.get(0).asLong(), bounds.get(1).asLong(), parallelism);
+      if (rangeConditions.size() < 2) {
+        return queryTableFullRefresh(database, columnNames, table.getNameSpace(), table.getName());
+      }
+
+      LOGGER.info("Queueing {} range queries for table: {}", rangeConditions.size(), table.getName());
+      final List<AutoCloseableIterator<JsonNode>> rangeIterators = rangeConditions.stream()
+          .map(condition -> queryTable(database, String.format("SELECT %s FROM %s WHERE %s",
+              enquoteIdentifierList(columnNames),
+              fullTableName,
+              condition)))
+          .collect(Collectors.toList());
+      return AutoCloseableIterators.mergeConcurrently(rangeIterators, parallelism, PARTITIONED_READ_BUFFER_SIZE);
+    });
+  }
+
+  /**
+   * Splits [min, max] into up to parallelism ranges of at least MIN_KEYS_PER_PARTITION keys. The
+   * first and last ranges are left open so that rows inserted outside of the bounds while the table
+   * is being read are still picked up.
+   */
+  @VisibleForTesting
+  static List<String> getPrimaryKeyRangeConditions(String quotedPrimaryKey, long min, long max, int parallelism) {
+    final BigInteger keySpan = BigInteger.valueOf(max).subtract(BigInteger.valueOf(min)).add(BigInteger.ONE);
+    final long partitions = keySpan.divide(BigInteger.valueOf(MIN_KEYS_PER_PARTITION)).min(BigInteger.valueOf(parallelism)).longValue();
+    if (partitions < 2) {
+      return Collections.emptyList();
+    }
+
+    final BigInteger step = keySpan.add(BigInteger.valueOf(partitions - 1)).divide(BigInteger.valueOf(partitions));
+    final List<String> conditions = new ArrayList<>();
+    for (long i = 0; i < partitions; i++) {
+      final List<String> bounds = new ArrayList<>();
+      if (i > 0) {
+        bounds.add(String.format("%s >= %s", quotedPrimaryKey, BigInteger.valueOf(min).add(step.multiply(BigInteger.valueOf(i)))));
+      }
+      if (i < partitions - 1) {
+        bounds.add(String.format("%s < %s", quotedPrimaryKey, BigInteger.valueOf(min).add(step.multiply(BigInteger.valueOf(i + 1)))));
+      }
+      conditions.add(String.join(" AND ", bounds));
+    }
+    return conditions;
+  }
+
   /**
    * Read incremental data from a table. Incremental read should returns only records where cursor
-   * column value is bigger than cursor.
+   * column value is bigger than cursor. If {@link #getStateEmissionFrequency()} is enabled, records
+   * must also be returned in ascending cursor order.
    *
    * @param database source database
    * @param columnNames interested column names
@@ -35,6 +35,14 @@ import java.util.Iterator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Emits a state message with the max cursor seen for a stream once all of its records have been
+ * emitted. Optionally, a state message is also emitted every N records, so that a sync that fails
+ * mid-stream can resume close to where it stopped. These intermediate states are only correct if the
+ * records arrive in ascending cursor order. They are emitted right before the first record whose
+ * cursor is strictly greater than everything seen so far, so that records sharing the checkpointed
+ * cursor value are never skipped on the next sync.
+ */
 public class StateDecoratingIterator extends AbstractIterator<AirbyteMessage> implements Iterator<AirbyteMessage> {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(StateDecoratingIterator.class);
@@ -44,9 +52,13 @@ public class StateDecoratingIterator extends AbstractIterator<AirbyteMessage> im
   private final AirbyteStreamNameNamespacePair pair;
   private final String cursorField;
   private final JsonSchemaPrimitive cursorType;
+  private final int stateEmissionFrequency;
 
   private String maxCursor;
   private boolean hasEmittedState;
+  private long recordsSinceLastState;
+  // record held back while the intermediate state message preceding it is emitted.
+  private AirbyteMessage pendingRecord;
 
   public StateDecoratingIterator(Iterator<AirbyteMessage> messageIterator,
                                  StateManager stateManager,
@@ -54,29 +66,57 @@ public class StateDecoratingIterator extends AbstractIterator<AirbyteMessage> im
                                  String cursorField,
                                  String initialCursor,
                                  JsonSchemaPrimitive cursorType) {
+    this(messageIterator, stateManager, pair, cursorField, initialCursor, cursorType, 0);
+  }
+
+  /**
+   * @param stateEmissionFrequency number of records after which an intermediate state message is
+   *        emitted. 0 disables intermediate state messages. Must only be set when the message iterator
+   *        returns records ordered by the cursor field.
+   */
+  public StateDecoratingIterator(Iterator<AirbyteMessage> messageIterator,
+                                 StateManager stateManager,
+                                 AirbyteStreamNameNamespacePair pair,
+                                 String cursorField,
+                                 String initialCursor,
+                                 JsonSchemaPrimitive cursorType,
+                                 int stateEmissionFrequency) {
     this.messageIterator = messageIterator;
     this.stateManager = stateManager;
     this.pair = pair;
     this.cursorField = cursorField;
     this.cursorType = cursorType;
     this.maxCursor = initialCursor;
+    this.stateEmissionFrequency = stateEmissionFrequency;
     stateManager.setIsCdc(false);
   }
 
   @Override
   protected AirbyteMessage computeNext() {
-    if (messageIterator.hasNext()) {
+    if (pendingRecord != null) {
+      final AirbyteMessage message = pendingRecord;
+      pendingRecord = null;
+      return message;
+    } else if (messageIterator.hasNext()) {
       final AirbyteMessage message = messageIterator.next();
+      recordsSinceLastState++;
       if (message.getRecord().getData().hasNonNull(cursorField)) {
         final String cursorCandidate = message.getRecord().getData().get(cursorField).asText();
         if (IncrementalUtils.compareCursors(maxCursor, cursorCandidate, cursorType) < 0) {
+          if (shouldEmitIntermediateState()) {
+            // every record up to and including the current max cursor has already been emitted.
+            pendingRecord = message;
+            final AirbyteMessage stateMessage = createStateMessage();
+            maxCursor = cursorCandidate;
+            return stateMessage;
+          }
           maxCursor = cursorCandidate;
         }
       }
 
       return message;
     } else if (!hasEmittedState) {
-      final AirbyteStateMessage stateMessage = stateManager.updateAndEmit(pair, maxCursor);
+      final AirbyteMessage stateMessage = createStateMessage();
       LOGGER.info("State Report: stream name: {}, original cursor field: {}, original cursor {}, cursor field: {}, new cursor: {}",
           pair,
           stateManager.getOriginalCursorField(pair).orElse(null),
@@ -88,10 +128,22 @@ public class StateDecoratingIterator extends AbstractIterator<AirbyteMessage> im
       }
 
       hasEmittedState = true;
-      return new AirbyteMessage().withType(Type.STATE).withState(stateMessage);
+      return stateMessage;
     } else {
       return endOfData();
     }
   }
 
+  private boolean shouldEmitIntermediateState() {
+    // recordsSinceLastState includes the record that is about to be held back.
+    return stateEmissionFrequency > 0 && maxCursor != null && recordsSinceLastState > stateEmissionFrequency;
+  }
+
+  private AirbyteMessage createStateMessage() {
+    final AirbyteStateMessage stateMessage = stateManager.updateAndEmit(pair, maxCursor);
+    // the held back record (if any) counts towards the next checkpoint.
+    recordsSinceLastState = pendingRecord != null ? 1 : 0;
+    return new AirbyteMessage().withType(Type.STATE).withState(stateMessage);
+  }
+
 }
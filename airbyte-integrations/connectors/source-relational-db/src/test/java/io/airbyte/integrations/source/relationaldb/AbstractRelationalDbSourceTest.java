@@ -0,0 +1,61 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Airbyte
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.airbyte.integrations.source.relationaldb;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.google.common.collect.ImmutableList;
+import java.util.Collections;
+import org.junit.jupiter.api.Test;
+
+class AbstractRelationalDbSourceTest {
+
+  @Test
+  void testPrimaryKeyRangeConditions() {
+    assertEquals(ImmutableList.of(
+        "id < 250000",
+        "id >= 250000 AND id < 500000",
+        "id >= 500000 AND id < 750000",
+        "id >= 750000"),
+        AbstractRelationalDbSource.getPrimaryKeyRangeConditions("id", 0, 999_999, 4));
+  }
+
+  @Test
+  void testPrimaryKeyRangeConditionsLimitedByTableSize() {
+    assertEquals(ImmutableList.of("id < 100001", "id >= 100001"),
+        AbstractRelationalDbSource.getPrimaryKeyRangeConditions("id", 1, 200_000, 4));
+  }
+
+  @Test
+  void testPrimaryKeyRangeConditionsForSmallTable() {
+    assertEquals(Collections.emptyList(), AbstractRelationalDbSource.getPrimaryKeyRangeConditions("id", 1, 1000, 4));
+  }
+
+  @Test
+  void testPrimaryKeyRangeConditionsForFullKeySpace() {
+    assertEquals(2, AbstractRelationalDbSource.getPrimaryKeyRangeConditions("id", Long.MIN_VALUE, Long.MAX_VALUE, 2).size());
+  }
+
+}
@@ -60,6 +60,10 @@ class StateDecoratingIteratorTest {
       .withType(Type.RECORD)
       .withRecord(new AirbyteRecordMessage()
           .withData(Jsons.jsonNode(ImmutableMap.of(UUID_FIELD_NAME, "def"))));
+  private static final AirbyteMessage RECORD_MESSAGE3 = new AirbyteMessage()
+      .withType(Type.RECORD)
+      .withRecord(new AirbyteRecordMessage()
+          .withData(Jsons.jsonNode(ImmutableMap.of(UUID_FIELD_NAME, "ghi"))));
 
   private static Iterator<AirbyteMessage> messageIterator;
   private StateManager stateManager;
@@ -112,6 +116,57 @@ class StateDecoratingIteratorTest {
     assertFalse(iterator.hasNext());
   }
 
+  @Test
+  void testIntermediateState() {
+    final AirbyteStateMessage stateMessage2 = mock(AirbyteStateMessage.class);
+    final AirbyteStateMessage stateMessage3 = mock(AirbyteStateMessage.class);
+    when(stateManager.updateAndEmit(NAME_NAMESPACE_PAIR, "abc")).thenReturn(stateMessage);
+    when(stateManager.updateAndEmit(NAME_NAMESPACE_PAIR, "def")).thenReturn(stateMessage2);
+    when(stateManager.updateAndEmit(NAME_NAMESPACE_PAIR, "ghi")).thenReturn(stateMessage3);
+
+    final StateDecoratingIterator iterator = new StateDecoratingIterator(
+        MoreIterators.of(RECORD_MESSAGE1, RECORD_MESSAGE2, RECORD_MESSAGE3),
+        stateManager,
+        NAME_NAMESPACE_PAIR,
+        UUID_FIELD_NAME,
+        null,
+        JsonSchemaPrimitive.STRING,
+        1);
+
+    assertEquals(RECORD_MESSAGE1, iterator.next());
+    assertEquals(stateMessage, iterator.next().getState());
+    assertEquals(RECORD_MESSAGE2, iterator.next());
+    assertEquals(stateMessage2, iterator.next().getState());
+    assertEquals(RECORD_MESSAGE3, iterator.next());
+    assertEquals(stateMessage3, iterator.next().getState());
+    assertFalse(iterator.hasNext());
+  }
+
+  @Test
+  void testIntermediateStateWaitsForCursorToChange() {
+    final AirbyteStateMessage stateMessage2 = mock(AirbyteStateMessage.class);
+    when(stateManager.updateAndEmit(NAME_NAMESPACE_PAIR, "abc")).thenReturn(stateMessage);
+    when(stateManager.updateAndEmit(NAME_NAMESPACE_PAIR, "def")).thenReturn(stateMessage2);
+    final AirbyteMessage recordMessage1Duplicate = Jsons.clone(RECORD_MESSAGE1);
+
+    final StateDecoratingIterator iterator = new StateDecoratingIterator(
+        MoreIterators.of(RECORD_MESSAGE1, recordMessage1Duplicate, RECORD_MESSAGE2),
+        stateManager,
+        NAME_NAMESPACE_PAIR,
+        UUID_FIELD_NAME,
+        null,
+        JsonSchemaPrimitive.STRING,
+        1);
+
+    // a state with cursor "abc" must not be emitted until all records with that cursor were emitted.
+    assertEquals(RECORD_MESSAGE1, iterator.next());
+    assertEquals(recordMessage1Duplicate, iterator.next());
+    assertEquals(stateMessage, iterator.next().getState());
+    assertEquals(RECORD_MESSAGE2, iterator.next());
+    assertEquals(stateMessage2, iterator.next().getState());
+    assertFalse(iterator.hasNext());
+  }
+
   @Test
   void testCursorFieldIsEmpty() {
     final AirbyteMessage recordMessage = Jsons.clone(RECORD_MESSAGE1);
@@ -25,7 +25,12 @@
 package io.airbyte.validation.json;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.networknt.schema.JsonSchema;
 import com.networknt.schema.JsonSchemaFactory;
 import com.networknt.schema.SchemaValidatorsConfig;
 import com.networknt.schema.SpecVersion;
@@ -45,12 +50,33 @@ public class JsonSchemaValidator {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(JsonSchemaValidator.class);
 
+  private static final long DEFAULT_MAX_CACHED_SCHEMAS = 100;
+
   private final SchemaValidatorsConfig schemaValidatorsConfig;
   private final JsonSchemaFactory jsonSchemaFactory;
+  // compiling a schema is far more expensive than validating against it, and callers on hot paths
+  // (e.g. protocol validation of every message in a sync) pass the same schema object over and over.
+  // schemas are compared by value, so equal schemas share one compiled schema. the cache holds its
+  // keys strongly (the compiled schema references its json anyway) and is bounded by size instead.
+  private final LoadingCache<JsonNode, JsonSchema> compiledSchemas;
 
   public JsonSchemaValidator() {
+    this(DEFAULT_MAX_CACHED_SCHEMAS);
+  }
+
+  public JsonSchemaValidator(final long maxCachedSchemas) {
     this.schemaValidatorsConfig = new SchemaValidatorsConfig();
     this.jsonSchemaFactory = JsonSchemaFactory.getInstance(SpecVersion.VersionFlag.V7);
+    this.compiledSchemas = CacheBuilder.newBuilder()
+        .maximumSize(maxCachedSchemas)
+        .build(new CacheLoader<>() {
+
+          @Override
+          public JsonSchema load(final JsonNode schemaJson) {
+            return jsonSchemaFactory.getSchema(schemaJson, schemaValidatorsConfig);
+          }
+
+        });
   }
 
   public Set<String> validate(JsonNode schemaJson, JsonNode objectJson) {
@@ -65,8 +91,13 @@ public class JsonSchemaValidator {
     Preconditions.checkNotNull(schemaJson);
     Preconditions.checkNotNull(objectJson);
 
-    return jsonSchemaFactory.getSchema(schemaJson, schemaValidatorsConfig)
-        .validate(objectJson);
+    return compiledSchemas.getUnchecked(schemaJson).validate(objectJson);
+  }
+
+  @VisibleForTesting
+  long getCachedSchemaCount() {
+    compiledSchemas.cleanUp();
+    return compiledSchemas.size();
   }
 
   public boolean test(JsonNode schemaJson, JsonNode objectJson) {
@@ -25,6 +25,7 @@
 package io.airbyte.validation.json;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -85,6 +86,30 @@ class JsonSchemaValidatorTest {
     assertThrows(JsonValidationException.class, () -> validator.ensure(VALID_SCHEMA, object2));
   }
 
+  @Test
+  void testCompiledSchemaIsReused() {
+    final JsonSchemaValidator validator = new JsonSchemaValidator();
+
+    assertTrue(validator.test(VALID_SCHEMA, Jsons.deserialize("{\"host\":\"abc\"}")));
+    assertFalse(validator.test(VALID_SCHEMA, Jsons.deserialize("{}")));
+    assertEquals(1, validator.getCachedSchemaCount());
+
+    // schemas are cached by value, so an equal copy reuses the compiled schema.
+    final JsonNode copy = Jsons.clone(VALID_SCHEMA);
+    assertTrue(validator.test(copy, Jsons.deserialize("{\"host\":\"abc\"}")));
+    assertEquals(1, validator.getCachedSchemaCount());
+  }
+
+  @Test
+  void testCachedSchemaCountIsBounded() {
+    final JsonSchemaValidator validator = new JsonSchemaValidator(1);
+
+    final JsonNode otherSchema = Jsons.deserialize("{\"type\": \"object\"}");
+    validator.test(VALID_SCHEMA, Jsons.deserialize("{\"host\":\"abc\"}"));
+    validator.test(otherSchema, Jsons.deserialize("{\"host\":\"abc\"}"));
+    assertEquals(1, validator.getCachedSchemaCount());
+  }
+
   @Test
   void test() throws IOException {
     final String schema = "{\n"
@@ -25,13 +25,18 @@
 package io.airbyte.queue;
 
 import com.google.common.base.Preconditions;
-import com.leansoft.bigqueue.BigQueueImpl;
-import com.leansoft.bigqueue.IBigQueue;
+import com.leansoft.bigqueue.BigArrayImpl;
+import com.leansoft.bigqueue.IBigArray;
 import io.airbyte.commons.lang.CloseableQueue;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.util.AbstractQueue;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
 import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import org.apache.commons.io.FileUtils;
 
@@ -40,65 +45,159 @@ import org.apache.commons.io.FileUtils;
  * the size of memory. It is meant for use by a single process. Closing this queue deletes the data
  * on disk. It is NOT meant to be a long-lived, persistent queue.
  *
- * Wraps BigQueueImpl behind Airbyte persistent queue interface. BigQueueImpl is threadsafe.
+ * Wraps a memory-mapped BigArrayImpl behind Airbyte persistent queue interface. The front of the
+ * queue is tracked in memory, which lets the queue be iterated without consuming it. Pages before
+ * the front are deleted from disk as the queue is consumed. This class is threadsafe.
  *
  */
 public class OnDiskQueue extends AbstractQueue<byte[]> implements CloseableQueue<byte[]> {
 
-  private final IBigQueue queue;
+  // polled pages are deleted from disk once this many elements have been polled.
+  private static final int GC_INTERVAL = 1000;
+
+  private final IBigArray array;
   private final AtomicBoolean closed = new AtomicBoolean(false);
   private final Path persistencePath;
 
+  // index of the next element to poll. note that BigArrayImpl appends at its head, its tail is the
+  // oldest element that is still on disk.
+  private long frontIndex;
+  private long polledSinceGc;
+
   public OnDiskQueue(Path persistencePath, String queueName) throws IOException {
     this.persistencePath = persistencePath;
-    queue = new BigQueueImpl(persistencePath.toString(), queueName);
+    array = new BigArrayImpl(persistencePath.toString(), queueName);
+    frontIndex = array.getTailIndex();
+    polledSinceGc = 0;
   }
 
   @Override
-  public boolean offer(byte[] bytes) {
+  public synchronized boolean offer(byte[] bytes) {
     Preconditions.checkState(!closed.get());
     try {
-      queue.enqueue(bytes);
+      array.append(bytes);
       return true;
     } catch (IOException e) {
       throw new RuntimeException(e);
     }
   }
 
+  /**
+   * Appends all elements in order. Unlike {@link #addAll(Collection)}, checks the state of the queue
+   * once for the whole batch.
+   */
+  public synchronized boolean offerAll(Collection<byte[]> elements) {
+    Preconditions.checkState(!closed.get());
+    try {
+      for (final byte[] bytes : elements) {
+        array.append(bytes);
+      }
+      return !elements.isEmpty();
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
   @Override
-  public byte[] poll() {
+  public synchronized byte[] poll() {
+    Preconditions.checkState(!closed.get());
+    if (frontIndex == array.getHeadIndex()) {
+      return null;
+    }
+    try {
+      final byte[] bytes = array.get(frontIndex++);
+      gcIfDue(1);
+      return bytes;
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  /**
+   * Removes up to maxElements from the head of the queue.
+   *
+   * @return the removed elements in order. empty if the queue is empty.
+   */
+  public synchronized List<byte[]> pollBatch(int maxElements) {
     Preconditions.checkState(!closed.get());
+    Preconditions.checkArgument(maxElements > 0, "maxElements must be positive.");
+    final int batchSize = (int) Math.min(maxElements, array.getHeadIndex() - frontIndex);
+    final List<byte[]> batch = new ArrayList<>(batchSize);
     try {
-      return queue.dequeue();
+      for (int i = 0; i < batchSize; i++) {
+        batch.add(array.get(frontIndex++));
+      }
+      gcIfDue(batchSize);
+      return batch;
     } catch (IOException e) {
       throw new RuntimeException(e);
     }
   }
 
   @Override
-  public byte[] peek() {
+  public synchronized byte[] peek() {
     Preconditions.checkState(!closed.get());
+    if (frontIndex == array.getHeadIndex()) {
+      return null;
+    }
     try {
-      return queue.peek();
+      return array.get(frontIndex);
     } catch (IOException e) {
       throw new RuntimeException(e);
     }
   }
 
   @Override
-  public int size() {
+  public synchronized int size() {
     Preconditions.checkState(!closed.get());
-    return Math.toIntExact(queue.size());
+    return Math.toIntExact(array.getHeadIndex() - frontIndex);
   }
 
   /**
-   * Logging frameworks call this method when printing out this class. Throw an disable this for now
-   * since iterating the contents of a queue is tricky and we want to avoid this for now.
+   * Iterates the elements from head to tail without removing them. Elements offered while iterating
+   * may or may not be returned. Polling while iterating makes the iterator throw a
+   * {@link ConcurrentModificationException}.
    */
   @Override
-  public Iterator<byte[]> iterator() {
-    // TODO(davin): Implement this properly.
-    throw new UnsupportedOperationException("This queue does not support iteration");
+  public synchronized Iterator<byte[]> iterator() {
+    Preconditions.checkState(!closed.get());
+    return new Iterator<>() {
+
+      private long index = frontIndex;
+
+      @Override
+      public boolean hasNext() {
+        return index < array.getHeadIndex();
+      }
+
+      @Override
+      public byte[] next() {
+        synchronized (OnDiskQueue.this) {
+          Preconditions.checkState(!closed.get());
+          if (!hasNext()) {
+            throw new NoSuchElementException();
+          }
+          if (index < frontIndex) {
+            throw new ConcurrentModificationException("queue was polled while iterating.");
+          }
+          try {
+            return array.get(index++);
+          } catch (IOException e) {
+            throw new RuntimeException(e);
+          }
+        }
+      }
+
+    };
+  }
+
+  private void gcIfDue(int polled) throws IOException {
+    polledSinceGc += polled;
+    if (polledSinceGc >= GC_INTERVAL) {
+      // the array keeps the element before the index, so this never empties it.
+      array.removeBeforeIndex(frontIndex - 1);
+      polledSinceGc = 0;
+    }
   }
 
   @Override
@@ -108,7 +207,7 @@ public class OnDiskQueue extends AbstractQueue<byte[]> implements CloseableQueue
       // todo (cgardens) - this barfs out a huge warning. known issue with the lib:
       // https://github.com/bulldog2011/bigqueue/issues/35.
       // deallocates memory used by bigqueue
-      queue.close();
+      array.close();
     } finally {
       // deletes all data files.
       FileUtils.deleteQuietly(persistencePath.toFile());
@@ -122,8 +221,8 @@ public class OnDiskQueue extends AbstractQueue<byte[]> implements CloseableQueue
   @Override
   public String toString() {
     return "OnDiskQueue{" +
-        "queue=" + queue.hashCode() +
-        ", size=" + queue.size() +
+        "queue=" + array.hashCode() +
+        ", size=" + (array.getHeadIndex() - frontIndex) +
         ", closed=" + closed +
         '}';
   }
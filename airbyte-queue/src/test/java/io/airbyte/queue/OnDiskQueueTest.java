@@ -35,7 +35,13 @@ import io.airbyte.commons.lang.CloseableQueue;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.stream.Collectors;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -112,6 +118,76 @@ class OnDiskQueueTest {
     assertFalse(Files.exists(queueRoot));
   }
 
+  @Test
+  void testIterator() {
+    queue.offer(toBytes("hello"));
+    queue.offer(toBytes("world"));
+
+    final List<String> iterated = new ArrayList<>();
+    queue.iterator().forEachRemaining(bytes -> iterated.add(toString(bytes)));
+
+    assertEquals(List.of("hello", "world"), iterated);
+    // iterating does not consume the queue.
+    assertEquals(2, queue.size());
+  }
+
+  @Test
+  void testIteratorAfterPoll() {
+    queue.offer(toBytes("hello"));
+    queue.offer(toBytes("world"));
+    queue.poll();
+
+    final Iterator<byte[]> iterator = queue.iterator();
+    assertEquals("world", toString(iterator.next()));
+    assertFalse(iterator.hasNext());
+    assertThrows(NoSuchElementException.class, iterator::next);
+  }
+
+  @Test
+  void testIteratorFailsWhenPolled() {
+    queue.offer(toBytes("hello"));
+    queue.offer(toBytes("world"));
+
+    final Iterator<byte[]> iterator = queue.iterator();
+    queue.poll();
+
+    assertThrows(ConcurrentModificationException.class, iterator::next);
+  }
+
+  @Test
+  void testOfferAllAndPollBatch() {
+    final OnDiskQueue onDiskQueue = (OnDiskQueue) queue;
+    onDiskQueue.offerAll(List.of(toBytes("a"), toBytes("b"), toBytes("c")));
+
+    assertEquals(List.of("a", "b"), onDiskQueue.pollBatch(2).stream().map(OnDiskQueueTest::toString).collect(Collectors.toList()));
+    assertEquals(List.of("c"), onDiskQueue.pollBatch(2).stream().map(OnDiskQueueTest::toString).collect(Collectors.toList()));
+    assertTrue(onDiskQueue.pollBatch(2).isEmpty());
+    assertEquals(0, queue.size());
+  }
+
+  @Test
+  void testOrderIsKeptWhilePolledDataIsDeleted() {
+    final OnDiskQueue onDiskQueue = (OnDiskQueue) queue;
+    for (int i = 0; i < 5000; i++) {
+      queue.offer(toBytes(String.valueOf(i)));
+    }
+
+    int expected = 0;
+    for (List<byte[]> batch = onDiskQueue.pollBatch(700); !batch.isEmpty(); batch = onDiskQueue.pollBatch(700)) {
+      for (final byte[] bytes : batch) {
+        assertEquals(String.valueOf(expected++), toString(bytes));
+      }
+    }
+    assertEquals(5000, expected);
+
+    queue.offer(toBytes("hello"));
+    assertEquals("hello", toString(queue.poll()));
+  }
+
+  private static String toString(byte[] bytes) {
+    return new String(Objects.requireNonNull(bytes), Charsets.UTF_8);
+  }
+
   @SuppressWarnings("SameParameterValue")
   private static byte[] toBytes(String string) {
     return string.getBytes(Charsets.UTF_8);
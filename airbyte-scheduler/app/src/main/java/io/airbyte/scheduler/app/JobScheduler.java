@@ -38,9 +38,13 @@ import io.airbyte.validation.json.JsonValidationException;
 import java.io.IOException;
 import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.UUID;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiPredicate;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -53,16 +57,21 @@ public class JobScheduler implements Runnable {
   private final ConfigRepository configRepository;
   private final BiPredicate<Optional<Job>, StandardSync> scheduleJobPredicate;
   private final SyncJobFactory jobFactory;
+  private final Supplier<Instant> timeSupplier;
+  private final ScheduleIndex scheduleIndex;
 
   @VisibleForTesting
   JobScheduler(final JobPersistence jobPersistence,
                final ConfigRepository configRepository,
                final BiPredicate<Optional<Job>, StandardSync> scheduleJobPredicate,
-               final SyncJobFactory jobFactory) {
+               final SyncJobFactory jobFactory,
+               final Supplier<Instant> timeSupplier) {
     this.jobPersistence = jobPersistence;
     this.configRepository = configRepository;
     this.scheduleJobPredicate = scheduleJobPredicate;
     this.jobFactory = jobFactory;
+    this.timeSupplier = timeSupplier;
+    this.scheduleIndex = new ScheduleIndex();
   }
 
   public JobScheduler(final JobPersistence jobPersistence,
@@ -71,7 +80,8 @@ public class JobScheduler implements Runnable {
         jobPersistence,
         configRepository,
         new ScheduleJobPredicate(Instant::now),
-        new DefaultSyncJobFactory(new DefaultJobCreator(jobPersistence), configRepository));
+        new DefaultSyncJobFactory(new DefaultJobCreator(jobPersistence), configRepository),
+        Instant::now);
   }
 
   @Override
@@ -90,12 +100,25 @@ public class JobScheduler implements Runnable {
   private void scheduleSyncJobs() throws IOException {
     final AtomicInteger jobsScheduled = new AtomicInteger();
     final List<StandardSync> activeConnections = getAllActiveConnections();
+    // on the first pass every connection is new to the index, so it is rebuilt from the job history.
+    scheduleIndex.updateConnections(activeConnections);
 
-    for (StandardSync connection : activeConnections) {
-      final Optional<Job> previousJobOptional = jobPersistence.getLastReplicationJob(connection.getConnectionId());
+    final List<UUID> dueConnectionIds = scheduleIndex.getDueConnectionIds(timeSupplier.get());
+    if (dueConnectionIds.isEmpty()) {
+      return;
+    }
+    final Map<UUID, Job> previousJobs = getLastReplicationJobs(dueConnectionIds);
+
+    for (UUID connectionId : dueConnectionIds) {
+      final StandardSync connection = scheduleIndex.getConnection(connectionId);
+      final Optional<Job> previousJobOptional = Optional.ofNullable(previousJobs.get(connectionId));
 
       if (scheduleJobPredicate.test(previousJobOptional, connection)) {
-        jobFactory.create(connection.getConnectionId());
+        jobFactory.create(connectionId);
+        jobsScheduled.incrementAndGet();
+        // keep the connection due until the new job shows up as its last job.
+      } else {
+        scheduleIndex.update(connectionId, previousJobOptional);
       }
     }
     int jobsScheduledCount = jobsScheduled.get();
@@ -104,6 +127,12 @@ public class JobScheduler implements Runnable {
     }
   }
 
+  private Map<UUID, Job> getLastReplicationJobs(List<UUID> connectionIds) throws IOException {
+    return jobPersistence.getLastReplicationJobs(connectionIds)
+        .stream()
+        .collect(Collectors.toMap(job -> UUID.fromString(job.getScope()), Function.identity()));
+  }
+
   private List<StandardSync> getAllActiveConnections() {
     try {
       return configRepository.listStandardSyncs()
@@ -35,12 +35,20 @@ import io.airbyte.scheduler.persistence.JobPersistence;
 import io.airbyte.scheduler.persistence.job_tracker.JobTracker;
 import io.airbyte.scheduler.persistence.job_tracker.JobTracker.JobState;
 import java.nio.file.Path;
-import java.util.Optional;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
 
+/**
+ * Each run claims as many pending jobs as there are free workers and submits them to the worker
+ * thread pool. Runs are expected to be triggered whenever a worker frees up or the job queue
+ * changes, and must not overlap.
+ */
 public class JobSubmitter implements Runnable {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(JobSubmitter.class);
@@ -49,15 +57,23 @@ public class JobSubmitter implements Runnable {
   private final JobPersistence persistence;
   private final TemporalWorkerRunFactory temporalWorkerRunFactory;
   private final JobTracker jobTracker;
+  private final int maxWorkers;
+  private final Runnable onWorkerAvailable;
+  // ids of the jobs that were submitted and have not finished yet.
+  private final Set<Long> runningJobs = ConcurrentHashMap.newKeySet();
 
   public JobSubmitter(final ExecutorService threadPool,
                       final JobPersistence persistence,
                       final TemporalWorkerRunFactory temporalWorkerRunFactory,
-                      final JobTracker jobTracker) {
+                      final JobTracker jobTracker,
+                      final int maxWorkers,
+                      final Runnable onWorkerAvailable) {
     this.threadPool = threadPool;
     this.persistence = persistence;
     this.temporalWorkerRunFactory = temporalWorkerRunFactory;
     this.jobTracker = jobTracker;
+    this.maxWorkers = maxWorkers;
+    this.onWorkerAvailable = onWorkerAvailable;
   }
 
   @Override
@@ -65,14 +81,29 @@ public class JobSubmitter implements Runnable {
     try {
       LOGGER.debug("Running job-submitter...");
 
-      final Optional<Job> nextJob = persistence.getNextJob();
-
-      nextJob.ifPresent(job -> {
-        trackSubmission(job);
-        submitJob(job);
-        LOGGER.info("Job-Submitter Summary. Submitted job with scope {}", job.getScope());
-      });
-
+      final int freeWorkers = maxWorkers - runningJobs.size();
+      if (freeWorkers <= 0) {
+        LOGGER.debug("All {} workers are busy, skipping Job-Submitter...", maxWorkers);
+        return;
+      }
+
+      final List<Job> jobs = persistence.claimNextJobs(freeWorkers);
+      for (final Job job : jobs) {
+        try {
+          trackSubmission(job);
+          submitJob(job);
+        } catch (Exception e) {
+          // the job was claimed but could not be started. putting it back in the queue would have it
+          // claimed again right away, so it is failed instead.
+          LOGGER.error("Failed to submit job {}", job.getId(), e);
+          runningJobs.remove(job.getId());
+          persistence.failJob(job.getId());
+        }
+      }
+
+      if (!jobs.isEmpty()) {
+        LOGGER.info("Job-Submitter Summary. Submitted {} jobs with scopes {}", jobs.size(), jobs.stream().map(Job::getScope).collect(Collectors.toList()));
+      }
       LOGGER.debug("Completed Job-Submitter...");
     } catch (Throwable e) {
       LOGGER.error("Job Submitter Error", e);
@@ -88,6 +119,7 @@ public class JobSubmitter implements Runnable {
     // persistence to control what the attempt number should be while still allowing us to declare it
     // before the lifecycle begins.
     final int attemptNumber = job.getAttempts().size();
+    runningJobs.add(job.getId());
     threadPool.submit(new LifecycledCallable.Builder<>(workerRun)
         .setOnStart(() -> {
           // TODO(Issue-4204): This should save the fully qualified job path.
@@ -114,7 +146,11 @@ public class JobSubmitter implements Runnable {
           persistence.failAttempt(job.getId(), attemptNumber);
           trackCompletion(job, io.airbyte.workers.JobStatus.FAILED);
         })
-        .setOnFinish(MDC::clear)
+        .setOnFinish(() -> {
+          runningJobs.remove(job.getId());
+          MDC.clear();
+          onWorkerAvailable.run();
+        })
         .build());
   }
 
@@ -0,0 +1,157 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Airbyte
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.airbyte.scheduler.app;
+
+import io.airbyte.config.StandardSync;
+import io.airbyte.scheduler.models.Job;
+import io.airbyte.scheduler.models.JobStatus;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the active connections in a priority queue ordered by the time their next job is due, so
+ * that a scheduling pass only needs to look at the connections that are actually due instead of
+ * evaluating every connection.
+ *
+ * A connection is due right away when it is new, when its config changed, when it has never run or
+ * when its last job has not completed yet. Otherwise it becomes due once its schedule interval has
+ * elapsed since the start of its last job. Manual connections are tracked but never due until their
+ * config changes.
+ *
+ * Entries are replaced rather than removed from the queue: an entry that is no longer the current
+ * one of its connection is dropped when it reaches the head of the queue. This class is not thread
+ * safe.
+ */
+class ScheduleIndex {
+
+  private final Map<UUID, StandardSync> connections = new HashMap<>();
+  private final Map<UUID, Entry> entries = new HashMap<>();
+  private final PriorityQueue<Entry> queue = new PriorityQueue<>(Comparator.comparing(Entry::getDueAt).thenComparingLong(Entry::getSequence));
+  private long sequence = 0;
+
+  /**
+   * Syncs the index with the current set of active connections. New and modified connections are
+   * made due immediately, connections that are no longer active are dropped.
+   */
+  public void updateConnections(List<StandardSync> activeConnections) {
+    final Set<UUID> activeIds = activeConnections.stream().map(StandardSync::getConnectionId).collect(Collectors.toSet());
+    connections.keySet().removeIf(connectionId -> !activeIds.contains(connectionId));
+    entries.keySet().removeIf(connectionId -> !activeIds.contains(connectionId));
+
+    for (StandardSync connection : activeConnections) {
+      final StandardSync previous = connections.put(connection.getConnectionId(), connection);
+      if (!connection.equals(previous)) {
+        schedule(connection.getConnectionId(), Instant.EPOCH);
+      }
+    }
+  }
+
+  /**
+   * Reschedules a connection based on its last replication job.
+   */
+  @SuppressWarnings("OptionalUsedAsFieldOrParameterType")
+  public void update(UUID connectionId, Optional<Job> lastJob) {
+    final StandardSync connection = connections.get(connectionId);
+    if (connection == null) {
+      return;
+    }
+
+    if (Boolean.TRUE.equals(connection.getManual())) {
+      entries.remove(connectionId);
+    } else if (lastJob.isEmpty() || !JobStatus.TERMINAL_STATUSES.contains(lastJob.get().getStatus())) {
+      schedule(connectionId, Instant.EPOCH);
+    } else {
+      // the schedule predicate only allows a new job strictly after the next run start.
+      schedule(connectionId, Instant.ofEpochSecond(ScheduleJobPredicate.getNextRunStart(lastJob.get(), connection) + 1));
+    }
+  }
+
+  /**
+   * @return ids of the connections due at the given time, the earliest due first. Connections stay
+   *         due until they are rescheduled with {@link #update(UUID, Optional)}.
+   */
+  public List<UUID> getDueConnectionIds(Instant now) {
+    final List<Entry> dueEntries = new ArrayList<>();
+    while (!queue.isEmpty() && !queue.peek().getDueAt().isAfter(now)) {
+      final Entry entry = queue.poll();
+      if (entries.get(entry.getConnectionId()) == entry) {
+        dueEntries.add(entry);
+      }
+    }
+    queue.addAll(dueEntries);
+    return dueEntries.stream().map(Entry::getConnectionId).collect(Collectors.toList());
+  }
+
+  public StandardSync getConnection(UUID connectionId) {
+    return connections.get(connectionId);
+  }
+
+  private void schedule(UUID connectionId, Instant dueAt) {
+    final Entry entry = new Entry(connectionId, dueAt, sequence++);
+    entries.put(connectionId, entry);
+    queue.add(entry);
+
+    // stale entries of connections that are not due are only dropped when they reach the head of the
+    // queue. compact once they make up most of it.
+    if (queue.size() > 2 * entries.size() + 16) {
+      queue.removeIf(queued -> entries.get(queued.getConnectionId()) != queued);
+    }
+  }
+
+  private static class Entry {
+
+    private final UUID connectionId;
+    private final Instant dueAt;
+    private final long sequence;
+
+    private Entry(UUID connectionId, Instant dueAt, long sequence) {
+      this.connectionId = connectionId;
+      this.dueAt = dueAt;
+      this.sequence = sequence;
+    }
+
+    public UUID getConnectionId() {
+      return connectionId;
+    }
+
+    public Instant getDueAt() {
+      return dueAt;
+    }
+
+    public long getSequence() {
+      return sequence;
+    }
+
+  }
+
+}
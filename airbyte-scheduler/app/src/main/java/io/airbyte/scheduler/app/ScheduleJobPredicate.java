@@ -80,9 +80,16 @@ public class ScheduleJobPredicate implements BiPredicate<Optional<Job>, Standard
       return false;
     }
 
-    long prevRunStart = previousJob.getStartedAtInSecond().orElse(previousJob.getCreatedAtInSecond());
-    long nextRunStart = prevRunStart + ScheduleHelpers.getIntervalInSecond(standardSync.getSchedule());
-    return nextRunStart < timeSupplier.get().getEpochSecond();
+    return getNextRunStart(previousJob, standardSync) < timeSupplier.get().getEpochSecond();
+  }
+
+  /**
+   * @return epoch second after which a new job may be scheduled for the connection, counted from the
+   *         start of its previous job.
+   */
+  static long getNextRunStart(Job previousJob, StandardSync standardSync) {
+    final long prevRunStart = previousJob.getStartedAtInSecond().orElse(previousJob.getCreatedAtInSecond());
+    return prevRunStart + ScheduleHelpers.getIntervalInSecond(standardSync.getSchedule());
   }
 
 }
@@ -37,10 +37,12 @@ import io.airbyte.config.persistence.FileSystemConfigPersistence;
 import io.airbyte.db.Database;
 import io.airbyte.db.Databases;
 import io.airbyte.scheduler.app.worker_run.TemporalWorkerRunFactory;
+import io.airbyte.scheduler.models.AttemptStatus;
 import io.airbyte.scheduler.models.Job;
 import io.airbyte.scheduler.models.JobStatus;
 import io.airbyte.scheduler.persistence.DefaultJobPersistence;
 import io.airbyte.scheduler.persistence.JobNotifier;
+import io.airbyte.scheduler.persistence.JobQueueListener;
 import io.airbyte.scheduler.persistence.JobPersistence;
 import io.airbyte.scheduler.persistence.job_tracker.JobTracker;
 import io.airbyte.workers.process.DockerProcessFactory;
@@ -69,6 +71,8 @@ import java.util.concurrent.LinkedBlockingDeque;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
@@ -77,20 +81,24 @@ import org.slf4j.MDC;
  * The SchedulerApp is responsible for finding new scheduled jobs that need to be run and to launch
  * them. The current implementation uses a thread pool on the scheduler's machine to launch the
  * jobs. One thread is reserved for the job submitter, which is responsible for finding and
- * launching new jobs.
+ * launching new jobs. The job submitter runs whenever a worker frees up or the job queue changes,
+ * and at least every scheduling delay.
  */
 public class SchedulerApp {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(SchedulerApp.class);
 
   private static final long GRACEFUL_SHUTDOWN_SECONDS = 30;
-  private static final int MAX_WORKERS = 4;
   private static final Duration SCHEDULING_DELAY = Duration.ofSeconds(5);
   private static final Duration CLEANING_DELAY = Duration.ofHours(2);
   private static final ThreadFactory THREAD_FACTORY = new ThreadFactoryBuilder().setNameFormat("worker-%d").build();
+  private static final ThreadFactory SUBMITTER_THREAD_FACTORY = new ThreadFactoryBuilder().setNameFormat("job-submitter").build();
+  private static final ThreadFactory LISTENER_THREAD_FACTORY = new ThreadFactoryBuilder().setNameFormat("job-queue-listener").build();
   private static final int KUBE_HEARTBEAT_PORT = 9000;
 
   private final Path workspaceRoot;
+  private final Database database;
+  private final int maxWorkers;
   private final ProcessFactory processFactory;
   private final JobPersistence jobPersistence;
   private final ConfigRepository configRepository;
@@ -100,6 +108,8 @@ public class SchedulerApp {
   private final WorkflowServiceStubs temporalService;
 
   public SchedulerApp(Path workspaceRoot,
+                      Database database,
+                      int maxWorkers,
                       ProcessFactory processFactory,
                       JobPersistence jobPersistence,
                       ConfigRepository configRepository,
@@ -108,6 +118,8 @@ public class SchedulerApp {
                       TemporalClient temporalClient,
                       WorkflowServiceStubs temporalService) {
     this.workspaceRoot = workspaceRoot;
+    this.database = database;
+    this.maxWorkers = maxWorkers;
     this.processFactory = processFactory;
     this.jobPersistence = jobPersistence;
     this.configRepository = configRepository;
@@ -121,21 +133,39 @@ public class SchedulerApp {
     final TemporalPool temporalPool = new TemporalPool(temporalService, workspaceRoot, processFactory);
     temporalPool.run();
 
-    final ExecutorService workerThreadPool = Executors.newFixedThreadPool(MAX_WORKERS, THREAD_FACTORY);
+    final ExecutorService workerThreadPool = Executors.newFixedThreadPool(maxWorkers, THREAD_FACTORY);
     final ScheduledExecutorService scheduledPool = Executors.newSingleThreadScheduledExecutor();
+    final ExecutorService submitterPool = Executors.newSingleThreadExecutor(SUBMITTER_THREAD_FACTORY);
+    final ExecutorService listenerPool = Executors.newSingleThreadExecutor(LISTENER_THREAD_FACTORY);
     final TemporalWorkerRunFactory temporalWorkerRunFactory = new TemporalWorkerRunFactory(temporalClient, workspaceRoot);
     final JobRetrier jobRetrier = new JobRetrier(jobPersistence, Instant::now, jobNotifier);
     final JobScheduler jobScheduler = new JobScheduler(jobPersistence, configRepository);
-    final JobSubmitter jobSubmitter = new JobSubmitter(
+
+    Map<String, String> mdc = MDC.getCopyOfContextMap();
+
+    // job submitter runs are coalesced: any number of triggers while a run is queued result in a
+    // single run.
+    final AtomicBoolean submitterRunQueued = new AtomicBoolean(false);
+    final AtomicReference<JobSubmitter> jobSubmitterReference = new AtomicReference<>();
+    final Runnable triggerJobSubmitter = () -> {
+      if (!submitterPool.isShutdown() && submitterRunQueued.compareAndSet(false, true)) {
+        submitterPool.execute(() -> {
+          MDC.setContextMap(mdc);
+          submitterRunQueued.set(false);
+          jobSubmitterReference.get().run();
+        });
+      }
+    };
+    jobSubmitterReference.set(new JobSubmitter(
         workerThreadPool,
         jobPersistence,
         temporalWorkerRunFactory,
-        new JobTracker(configRepository, jobPersistence));
-
-    Map<String, String> mdc = MDC.getCopyOfContextMap();
+        new JobTracker(configRepository, jobPersistence),
+        maxWorkers,
+        triggerJobSubmitter));
 
     // We cancel jobs that where running before the restart. They are not being monitored by the worker
-    // anymore.
+    // anymore. Jobs that were claimed but never started are queued again instead.
     cleanupZombies(jobPersistence, jobNotifier);
 
     scheduledPool.scheduleWithFixedDelay(
@@ -143,7 +173,7 @@ public class SchedulerApp {
           MDC.setContextMap(mdc);
           jobRetrier.run();
           jobScheduler.run();
-          jobSubmitter.run();
+          triggerJobSubmitter.run();
         },
         0L,
         SCHEDULING_DELAY.toSeconds(),
@@ -158,11 +188,25 @@ public class SchedulerApp {
         CLEANING_DELAY.toSeconds(),
         TimeUnit.SECONDS);
 
-    Runtime.getRuntime().addShutdownHook(new GracefulShutdownHandler(Duration.ofSeconds(GRACEFUL_SHUTDOWN_SECONDS), workerThreadPool, scheduledPool));
+    listenerPool.submit(() -> {
+      MDC.setContextMap(mdc);
+      new JobQueueListener(database, triggerJobSubmitter).run();
+    });
+
+    Runtime.getRuntime().addShutdownHook(new Thread(listenerPool::shutdownNow));
+    Runtime.getRuntime().addShutdownHook(new GracefulShutdownHandler(Duration.ofSeconds(GRACEFUL_SHUTDOWN_SECONDS), workerThreadPool, scheduledPool,
+        submitterPool));
   }
 
   private void cleanupZombies(JobPersistence jobPersistence, JobNotifier jobNotifier) throws IOException {
     for (Job zombieJob : jobPersistence.listJobsWithStatus(JobStatus.RUNNING)) {
+      // a job is claimed before its next attempt is created, so a restart in between leaves a running
+      // job without a running attempt. it never started, so it goes back to the queue.
+      if (zombieJob.getAttempts().stream().noneMatch(attempt -> attempt.getStatus() == AttemptStatus.RUNNING)) {
+        LOGGER.info("Re-queueing job {} that was claimed but never started.", zombieJob.getId());
+        jobPersistence.resetJob(zombieJob.getId());
+        continue;
+      }
       jobNotifier.failJob("zombie job was cancelled", zombieJob);
       jobPersistence.cancelJob(zombieJob.getId());
     }
@@ -255,8 +299,9 @@ public class SchedulerApp {
     final WorkflowServiceStubs temporalService = TemporalUtils.createTemporalService(temporalHost);
     final TemporalClient temporalClient = TemporalClient.production(temporalHost, workspaceRoot);
 
-    LOGGER.info("Launching scheduler...");
-    new SchedulerApp(workspaceRoot, processFactory, jobPersistence, configRepository, jobCleaner, jobNotifier, temporalClient, temporalService)
+    LOGGER.info("Launching scheduler with {} workers...", configs.getSchedulerMaxWorkers());
+    new SchedulerApp(workspaceRoot, database, configs.getSchedulerMaxWorkers(), processFactory, jobPersistence, configRepository, jobCleaner,
+        jobNotifier, temporalClient, temporalService)
         .start();
   }
 
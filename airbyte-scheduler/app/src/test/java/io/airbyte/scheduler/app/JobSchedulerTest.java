@@ -24,13 +24,16 @@
 
 package io.airbyte.scheduler.app;
 
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import io.airbyte.commons.json.Jsons;
 import io.airbyte.config.JobSyncConfig.NamespaceDefinitionType;
+import io.airbyte.config.Schedule;
 import io.airbyte.config.StandardSync;
 import io.airbyte.config.StandardSync.Status;
 import io.airbyte.config.StandardSyncOperation;
@@ -42,10 +45,13 @@ import io.airbyte.protocol.models.ConfiguredAirbyteStream;
 import io.airbyte.protocol.models.Field;
 import io.airbyte.protocol.models.JsonSchemaPrimitive;
 import io.airbyte.scheduler.models.Job;
+import io.airbyte.scheduler.models.JobStatus;
 import io.airbyte.scheduler.persistence.JobPersistence;
 import io.airbyte.scheduler.persistence.job_factory.SyncJobFactory;
 import io.airbyte.validation.json.JsonValidationException;
 import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -96,6 +102,7 @@ class JobSchedulerTest {
   private ScheduleJobPredicate scheduleJobPredicate;
   private SyncJobFactory jobFactory;
   private JobScheduler scheduler;
+  private Instant now;
 
   @BeforeEach
   public void setup() {
@@ -104,15 +111,17 @@ class JobSchedulerTest {
 
     scheduleJobPredicate = mock(ScheduleJobPredicate.class);
     jobFactory = mock(SyncJobFactory.class);
-    scheduler = new JobScheduler(jobPersistence, configRepository, scheduleJobPredicate, jobFactory);
+    now = Instant.now();
+    scheduler = new JobScheduler(jobPersistence, configRepository, scheduleJobPredicate, jobFactory, () -> now);
 
     previousJob = mock(Job.class);
+    when(previousJob.getScope()).thenReturn(STANDARD_SYNC.getConnectionId().toString());
   }
 
   @Test
   public void testScheduleJob() throws JsonValidationException, ConfigNotFoundException, IOException {
-    when(jobPersistence.getLastReplicationJob(STANDARD_SYNC.getConnectionId()))
-        .thenReturn(java.util.Optional.of(previousJob));
+    when(jobPersistence.getLastReplicationJobs(List.of(STANDARD_SYNC.getConnectionId())))
+        .thenReturn(List.of(previousJob));
     when(scheduleJobPredicate.test(Optional.of(previousJob), STANDARD_SYNC)).thenReturn(true);
     when(jobFactory.create(STANDARD_SYNC.getConnectionId())).thenReturn(JOB_ID);
     setConfigMocks();
@@ -121,14 +130,14 @@ class JobSchedulerTest {
 
     verifyConfigCalls();
     verify(scheduleJobPredicate).test(Optional.of(previousJob), STANDARD_SYNC);
-    verify(jobPersistence).getLastReplicationJob(STANDARD_SYNC.getConnectionId());
+    verify(jobPersistence).getLastReplicationJobs(List.of(STANDARD_SYNC.getConnectionId()));
     verify(jobFactory).create(STANDARD_SYNC.getConnectionId());
   }
 
   @Test
   public void testScheduleJobNoPreviousJob() throws JsonValidationException, ConfigNotFoundException, IOException {
-    when(jobPersistence.getLastReplicationJob(STANDARD_SYNC.getConnectionId()))
-        .thenReturn(java.util.Optional.empty());
+    when(jobPersistence.getLastReplicationJobs(List.of(STANDARD_SYNC.getConnectionId())))
+        .thenReturn(List.of());
     when(scheduleJobPredicate.test(Optional.empty(), STANDARD_SYNC)).thenReturn(true);
     when(jobFactory.create(STANDARD_SYNC.getConnectionId())).thenReturn(JOB_ID);
     setConfigMocks();
@@ -137,14 +146,14 @@ class JobSchedulerTest {
 
     verifyConfigCalls();
     verify(scheduleJobPredicate).test(Optional.empty(), STANDARD_SYNC);
-    verify(jobPersistence).getLastReplicationJob(STANDARD_SYNC.getConnectionId());
+    verify(jobPersistence).getLastReplicationJobs(List.of(STANDARD_SYNC.getConnectionId()));
     verify(jobFactory).create(STANDARD_SYNC.getConnectionId());
   }
 
   @Test
   public void testDoNotScheduleJob() throws JsonValidationException, ConfigNotFoundException, IOException {
-    when(jobPersistence.getLastReplicationJob(STANDARD_SYNC.getConnectionId()))
-        .thenReturn(java.util.Optional.of(previousJob));
+    when(jobPersistence.getLastReplicationJobs(List.of(STANDARD_SYNC.getConnectionId())))
+        .thenReturn(List.of(previousJob));
     when(scheduleJobPredicate.test(Optional.of(previousJob), STANDARD_SYNC)).thenReturn(false);
     setConfigMocks();
 
@@ -152,7 +161,7 @@ class JobSchedulerTest {
 
     verifyConfigCalls();
     verify(scheduleJobPredicate).test(Optional.of(previousJob), STANDARD_SYNC);
-    verify(jobPersistence).getLastReplicationJob(STANDARD_SYNC.getConnectionId());
+    verify(jobPersistence).getLastReplicationJobs(List.of(STANDARD_SYNC.getConnectionId()));
     verify(jobFactory, never()).create(STANDARD_SYNC.getConnectionId());
   }
 
@@ -166,10 +175,88 @@ class JobSchedulerTest {
 
     verify(configRepository).listStandardSyncs();
     verify(scheduleJobPredicate, never()).test(Optional.of(previousJob), STANDARD_SYNC);
-    verify(jobPersistence, never()).getLastReplicationJob(standardSync.getConnectionId());
+    verify(jobPersistence, never()).getLastReplicationJobs(any());
     verify(jobFactory, never()).create(standardSync.getConnectionId());
   }
 
+  @Test
+  public void testFetchesLastJobsOfAllConnectionsAtOnce() throws JsonValidationException, ConfigNotFoundException, IOException {
+    final StandardSync otherSync = Jsons.clone(STANDARD_SYNC).withConnectionId(UUID.randomUUID());
+    when(configRepository.listStandardSyncs()).thenReturn(List.of(STANDARD_SYNC, otherSync));
+    when(jobPersistence.getLastReplicationJobs(List.of(STANDARD_SYNC.getConnectionId(), otherSync.getConnectionId())))
+        .thenReturn(List.of(previousJob));
+    when(scheduleJobPredicate.test(Optional.of(previousJob), STANDARD_SYNC)).thenReturn(false);
+    when(scheduleJobPredicate.test(Optional.empty(), otherSync)).thenReturn(true);
+
+    scheduler.run();
+
+    verify(jobPersistence).getLastReplicationJobs(List.of(STANDARD_SYNC.getConnectionId(), otherSync.getConnectionId()));
+    verify(jobFactory, never()).create(STANDARD_SYNC.getConnectionId());
+    verify(jobFactory).create(otherSync.getConnectionId());
+  }
+
+  @Test
+  public void testOnlyEvaluatesDueConnections() throws JsonValidationException, ConfigNotFoundException, IOException {
+    final StandardSync scheduledSync = Jsons.clone(STANDARD_SYNC)
+        .withManual(false)
+        .withSchedule(new Schedule().withTimeUnit(Schedule.TimeUnit.HOURS).withUnits(1L));
+    when(configRepository.listStandardSyncs()).thenReturn(List.of(scheduledSync));
+    when(jobPersistence.getLastReplicationJobs(List.of(STANDARD_SYNC.getConnectionId()))).thenReturn(List.of(previousJob));
+    when(previousJob.getStatus()).thenReturn(JobStatus.SUCCEEDED);
+    when(previousJob.getStartedAtInSecond()).thenReturn(Optional.of(now.getEpochSecond()));
+    when(scheduleJobPredicate.test(Optional.of(previousJob), scheduledSync)).thenReturn(false);
+
+    scheduler.run();
+    now = now.plus(Duration.ofMinutes(30));
+    scheduler.run();
+
+    // the connection is not due until an hour after its last job started.
+    verify(jobPersistence, times(1)).getLastReplicationJobs(any());
+    verify(scheduleJobPredicate, times(1)).test(any(), any());
+
+    now = now.plus(Duration.ofMinutes(31));
+    when(scheduleJobPredicate.test(Optional.of(previousJob), scheduledSync)).thenReturn(true);
+    scheduler.run();
+
+    verify(jobPersistence, times(2)).getLastReplicationJobs(List.of(STANDARD_SYNC.getConnectionId()));
+    verify(jobFactory).create(STANDARD_SYNC.getConnectionId());
+  }
+
+  @Test
+  public void testEvaluatesUpdatedConnections() throws JsonValidationException, ConfigNotFoundException, IOException {
+    final StandardSync manualSync = Jsons.clone(STANDARD_SYNC).withManual(true);
+    final StandardSync updatedSync = Jsons.clone(STANDARD_SYNC)
+        .withManual(false)
+        .withSchedule(new Schedule().withTimeUnit(Schedule.TimeUnit.HOURS).withUnits(1L));
+    when(configRepository.listStandardSyncs()).thenReturn(List.of(manualSync));
+    when(jobPersistence.getLastReplicationJobs(List.of(STANDARD_SYNC.getConnectionId()))).thenReturn(List.of());
+    when(scheduleJobPredicate.test(Optional.empty(), manualSync)).thenReturn(false);
+    when(scheduleJobPredicate.test(Optional.empty(), updatedSync)).thenReturn(true);
+
+    scheduler.run();
+    scheduler.run();
+    when(configRepository.listStandardSyncs()).thenReturn(List.of(updatedSync));
+    scheduler.run();
+
+    verify(scheduleJobPredicate, times(1)).test(Optional.empty(), manualSync);
+    verify(scheduleJobPredicate, times(1)).test(Optional.empty(), updatedSync);
+    verify(jobFactory).create(STANDARD_SYNC.getConnectionId());
+  }
+
+  @Test
+  public void testReevaluatesConnectionsUntilTheirJobCompletes() throws JsonValidationException, ConfigNotFoundException, IOException {
+    setConfigMocks();
+    when(jobPersistence.getLastReplicationJobs(List.of(STANDARD_SYNC.getConnectionId()))).thenReturn(List.of(previousJob));
+    when(previousJob.getStatus()).thenReturn(JobStatus.RUNNING);
+    when(scheduleJobPredicate.test(Optional.of(previousJob), STANDARD_SYNC)).thenReturn(false);
+
+    scheduler.run();
+    scheduler.run();
+
+    verify(scheduleJobPredicate, times(2)).test(Optional.of(previousJob), STANDARD_SYNC);
+    verify(jobFactory, never()).create(STANDARD_SYNC.getConnectionId());
+  }
+
   // sets all mocks that are related to fetching configs. these are the same for all tests in this
   // test suite.
   private void setConfigMocks() throws JsonValidationException, ConfigNotFoundException, IOException {
@@ -37,6 +37,8 @@ import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
@@ -56,8 +58,11 @@ import io.airbyte.workers.OutputAndStatus;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.List;
 import java.util.Map;
-import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicReference;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -70,6 +75,7 @@ public class JobSubmitterTest {
   private static final OutputAndStatus<JobOutput> FAILED_OUTPUT = new OutputAndStatus<>(JobStatus.FAILED);
   private static final long JOB_ID = 1L;
   private static final int ATTEMPT_NUMBER = 12;
+  private static final int MAX_WORKERS = 4;
 
   private JobPersistence persistence;
   private TemporalWorkerRunFactory workerRunFactory;
@@ -79,6 +85,7 @@ public class JobSubmitterTest {
 
   private JobSubmitter jobSubmitter;
   private JobTracker jobTracker;
+  private Runnable onWorkerAvailable;
 
   @BeforeEach
   public void setup() throws IOException {
@@ -95,15 +102,18 @@ public class JobSubmitterTest {
     when(workerRunFactory.create(job)).thenReturn(workerRun);
 
     persistence = mock(JobPersistence.class);
+    onWorkerAvailable = mock(Runnable.class);
     this.logPath = jobRoot.resolve(LogClientSingleton.LOG_FILENAME);
-    when(persistence.getNextJob()).thenReturn(Optional.of(job));
+    when(persistence.claimNextJobs(MAX_WORKERS)).thenReturn(List.of(job));
     when(persistence.createAttempt(JOB_ID, logPath)).thenReturn(ATTEMPT_NUMBER);
 
     jobSubmitter = spy(new JobSubmitter(
         MoreExecutors.newDirectExecutorService(),
         persistence,
         workerRunFactory,
-        jobTracker));
+        jobTracker,
+        MAX_WORKERS,
+        onWorkerAvailable));
   }
 
   @Test
@@ -118,7 +128,7 @@ public class JobSubmitterTest {
 
   @Test
   public void testPersistenceNoJob() throws Exception {
-    doReturn(Optional.empty()).when(persistence).getNextJob();
+    doReturn(List.of()).when(persistence).claimNextJobs(MAX_WORKERS);
 
     jobSubmitter.run();
 
@@ -126,6 +136,57 @@ public class JobSubmitterTest {
     verify(jobTracker, never()).trackSync(any(), any());
   }
 
+  @Test
+  public void testClaimsOnlyFreeWorkers() throws Exception {
+    final ExecutorService workerThreadPool = Executors.newSingleThreadExecutor();
+    final CountDownLatch jobRunning = new CountDownLatch(1);
+    final CountDownLatch releaseJob = new CountDownLatch(1);
+    when(workerRun.call()).then(invocation -> {
+      jobRunning.countDown();
+      releaseJob.await();
+      return SUCCESS_OUTPUT;
+    });
+    when(persistence.claimNextJobs(2)).thenReturn(List.of(job));
+    jobSubmitter = new JobSubmitter(workerThreadPool, persistence, workerRunFactory, jobTracker, 2, onWorkerAvailable);
+
+    try {
+      jobSubmitter.run();
+      jobRunning.await();
+      jobSubmitter.run();
+
+      verify(persistence).claimNextJobs(2);
+      verify(persistence).claimNextJobs(1);
+      verify(onWorkerAvailable, never()).run();
+
+      releaseJob.countDown();
+      verify(onWorkerAvailable, timeout(10_000)).run();
+    } finally {
+      workerThreadPool.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testNoClaimWhenAllWorkersAreBusy() throws Exception {
+    // the job is never run by the mocked thread pool, so its worker stays busy.
+    jobSubmitter = new JobSubmitter(mock(ExecutorService.class), persistence, workerRunFactory, jobTracker, 1, onWorkerAvailable);
+    when(persistence.claimNextJobs(1)).thenReturn(List.of(job));
+
+    jobSubmitter.run();
+    jobSubmitter.run();
+
+    verify(persistence, times(1)).claimNextJobs(anyInt());
+  }
+
+  @Test
+  public void testSubmissionFailureFailsJob() throws Exception {
+    when(workerRunFactory.create(job)).thenThrow(new RuntimeException());
+
+    jobSubmitter.run();
+
+    verify(persistence).failJob(JOB_ID);
+    verify(persistence, never()).createAttempt(anyLong(), any());
+  }
+
   @Test
   public void testSuccess() throws Exception {
     doReturn(SUCCESS_OUTPUT).when(workerRun).call();
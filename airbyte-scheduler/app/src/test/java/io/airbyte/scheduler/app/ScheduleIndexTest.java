@@ -0,0 +1,145 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Airbyte
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.airbyte.scheduler.app;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.airbyte.commons.json.Jsons;
+import io.airbyte.config.Schedule;
+import io.airbyte.config.StandardSync;
+import io.airbyte.scheduler.models.Job;
+import io.airbyte.scheduler.models.JobStatus;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ScheduleIndexTest {
+
+  private static final StandardSync HOURLY_SYNC = new StandardSync()
+      .withConnectionId(UUID.randomUUID())
+      .withManual(false)
+      .withSchedule(new Schedule().withTimeUnit(Schedule.TimeUnit.HOURS).withUnits(1L));
+  private static final StandardSync DAILY_SYNC = new StandardSync()
+      .withConnectionId(UUID.randomUUID())
+      .withManual(false)
+      .withSchedule(new Schedule().withTimeUnit(Schedule.TimeUnit.DAYS).withUnits(1L));
+  private static final StandardSync MANUAL_SYNC = new StandardSync()
+      .withConnectionId(UUID.randomUUID())
+      .withManual(true);
+
+  private ScheduleIndex scheduleIndex;
+  private Instant now;
+
+  @BeforeEach
+  void setup() {
+    scheduleIndex = new ScheduleIndex();
+    now = Instant.now();
+  }
+
+  @Test
+  void testNewConnectionsAreDue() {
+    scheduleIndex.updateConnections(List.of(HOURLY_SYNC, DAILY_SYNC, MANUAL_SYNC));
+
+    assertEquals(
+        List.of(HOURLY_SYNC.getConnectionId(), DAILY_SYNC.getConnectionId(), MANUAL_SYNC.getConnectionId()),
+        scheduleIndex.getDueConnectionIds(now));
+    assertEquals(HOURLY_SYNC, scheduleIndex.getConnection(HOURLY_SYNC.getConnectionId()));
+  }
+
+  @Test
+  void testConnectionsAreDueAfterTheirInterval() {
+    scheduleIndex.updateConnections(List.of(DAILY_SYNC, HOURLY_SYNC));
+    scheduleIndex.update(HOURLY_SYNC.getConnectionId(), Optional.of(job(JobStatus.SUCCEEDED, now)));
+    scheduleIndex.update(DAILY_SYNC.getConnectionId(), Optional.of(job(JobStatus.FAILED, now)));
+
+    assertEquals(List.of(), scheduleIndex.getDueConnectionIds(now));
+    assertEquals(List.of(), scheduleIndex.getDueConnectionIds(now.plus(Duration.ofHours(1))));
+    assertEquals(List.of(HOURLY_SYNC.getConnectionId()), scheduleIndex.getDueConnectionIds(now.plus(Duration.ofMinutes(61))));
+    assertEquals(
+        List.of(HOURLY_SYNC.getConnectionId(), DAILY_SYNC.getConnectionId()),
+        scheduleIndex.getDueConnectionIds(now.plus(Duration.ofDays(2))));
+  }
+
+  @Test
+  void testConnectionsStayDueUntilUpdated() {
+    scheduleIndex.updateConnections(List.of(HOURLY_SYNC));
+
+    assertEquals(List.of(HOURLY_SYNC.getConnectionId()), scheduleIndex.getDueConnectionIds(now));
+    assertEquals(List.of(HOURLY_SYNC.getConnectionId()), scheduleIndex.getDueConnectionIds(now));
+
+    scheduleIndex.update(HOURLY_SYNC.getConnectionId(), Optional.of(job(JobStatus.RUNNING, now)));
+    assertEquals(List.of(HOURLY_SYNC.getConnectionId()), scheduleIndex.getDueConnectionIds(now));
+
+    scheduleIndex.update(HOURLY_SYNC.getConnectionId(), Optional.of(job(JobStatus.SUCCEEDED, now)));
+    assertEquals(List.of(), scheduleIndex.getDueConnectionIds(now));
+  }
+
+  @Test
+  void testManualConnectionsAreNotDue() {
+    scheduleIndex.updateConnections(List.of(MANUAL_SYNC));
+    scheduleIndex.update(MANUAL_SYNC.getConnectionId(), Optional.empty());
+
+    assertEquals(List.of(), scheduleIndex.getDueConnectionIds(now.plus(Duration.ofDays(365))));
+  }
+
+  @Test
+  void testUpdatedConnectionsAreDue() {
+    scheduleIndex.updateConnections(List.of(HOURLY_SYNC, MANUAL_SYNC));
+    scheduleIndex.update(HOURLY_SYNC.getConnectionId(), Optional.of(job(JobStatus.SUCCEEDED, now)));
+    scheduleIndex.update(MANUAL_SYNC.getConnectionId(), Optional.empty());
+
+    // unchanged configs keep their schedule.
+    scheduleIndex.updateConnections(List.of(Jsons.clone(HOURLY_SYNC), Jsons.clone(MANUAL_SYNC)));
+    assertEquals(List.of(), scheduleIndex.getDueConnectionIds(now));
+
+    final StandardSync scheduledSync = Jsons.clone(MANUAL_SYNC).withManual(false).withSchedule(HOURLY_SYNC.getSchedule());
+    scheduleIndex.updateConnections(List.of(HOURLY_SYNC, scheduledSync));
+    assertEquals(List.of(MANUAL_SYNC.getConnectionId()), scheduleIndex.getDueConnectionIds(now));
+    assertEquals(scheduledSync, scheduleIndex.getConnection(MANUAL_SYNC.getConnectionId()));
+  }
+
+  @Test
+  void testRemovedConnectionsAreDropped() {
+    scheduleIndex.updateConnections(List.of(HOURLY_SYNC, DAILY_SYNC));
+    scheduleIndex.updateConnections(List.of(DAILY_SYNC));
+
+    assertEquals(List.of(DAILY_SYNC.getConnectionId()), scheduleIndex.getDueConnectionIds(now));
+    assertNull(scheduleIndex.getConnection(HOURLY_SYNC.getConnectionId()));
+  }
+
+  private static Job job(JobStatus status, Instant startedAt) {
+    final Job job = mock(Job.class);
+    when(job.getStatus()).thenReturn(status);
+    when(job.getStartedAtInSecond()).thenReturn(Optional.of(startedAt.getEpochSecond()));
+    return job;
+  }
+
+}
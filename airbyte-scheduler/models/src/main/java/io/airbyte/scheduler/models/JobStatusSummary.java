@@ -0,0 +1,129 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Airbyte
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.airbyte.scheduler.models;
+
+import io.airbyte.config.JobConfig.ConfigType;
+import java.util.Objects;
+import java.util.Optional;
+import javax.annotation.Nullable;
+
+/**
+ * Status and timestamps of a {@link Job}, without its config and attempts. Cheap to load for callers
+ * that only need to know where a job stands.
+ */
+public class JobStatusSummary {
+
+  private final long id;
+  private final ConfigType configType;
+  private final String scope;
+  private final JobStatus status;
+  private final Long startedAtInSecond;
+  private final long createdAtInSecond;
+  private final long updatedAtInSecond;
+
+  public JobStatusSummary(final long id,
+                          final ConfigType configType,
+                          final String scope,
+                          final JobStatus status,
+                          final @Nullable Long startedAtInSecond,
+                          final long createdAtInSecond,
+                          final long updatedAtInSecond) {
+    this.id = id;
+    this.configType = configType;
+    this.scope = scope;
+    this.status = status;
+    this.startedAtInSecond = startedAtInSecond;
+    this.createdAtInSecond = createdAtInSecond;
+    this.updatedAtInSecond = updatedAtInSecond;
+  }
+
+  public long getId() {
+    return id;
+  }
+
+  public ConfigType getConfigType() {
+    return configType;
+  }
+
+  public String getScope() {
+    return scope;
+  }
+
+  public JobStatus getStatus() {
+    return status;
+  }
+
+  public Optional<Long> getStartedAtInSecond() {
+    return Optional.ofNullable(startedAtInSecond);
+  }
+
+  public long getCreatedAtInSecond() {
+    return createdAtInSecond;
+  }
+
+  public long getUpdatedAtInSecond() {
+    return updatedAtInSecond;
+  }
+
+  public boolean isJobInTerminalState() {
+    return JobStatus.TERMINAL_STATUSES.contains(getStatus());
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    JobStatusSummary that = (JobStatusSummary) o;
+    return id == that.id &&
+        createdAtInSecond == that.createdAtInSecond &&
+        updatedAtInSecond == that.updatedAtInSecond &&
+        configType == that.configType &&
+        Objects.equals(scope, that.scope) &&
+        status == that.status &&
+        Objects.equals(startedAtInSecond, that.startedAtInSecond);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(id, configType, scope, status, startedAtInSecond, createdAtInSecond, updatedAtInSecond);
+  }
+
+  @Override
+  public String toString() {
+    return "JobStatusSummary{" +
+        "id=" + id +
+        ", configType=" + configType +
+        ", scope='" + scope + '\'' +
+        ", status=" + status +
+        ", startedAtInSecond=" + startedAtInSecond +
+        ", createdAtInSecond=" + createdAtInSecond +
+        ", updatedAtInSecond=" + updatedAtInSecond +
+        '}';
+  }
+
+}
@@ -45,6 +45,7 @@ import io.airbyte.scheduler.models.Attempt;
 import io.airbyte.scheduler.models.AttemptStatus;
 import io.airbyte.scheduler.models.Job;
 import io.airbyte.scheduler.models.JobStatus;
+import io.airbyte.scheduler.models.JobStatusSummary;
 import java.io.IOException;
 import java.math.BigInteger;
 import java.nio.file.Path;
@@ -55,6 +56,7 @@ import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -112,6 +114,11 @@ public class DefaultJobPersistence implements JobPersistence {
           + "FROM jobs LEFT OUTER JOIN attempts ON jobs.id = attempts.job_id ";
 
   private static final String AIRBYTE_METADATA_TABLE = "airbyte_metadata";
+  /**
+   * Postgres channel notified whenever a job may have become eligible to run: a job is enqueued or
+   * reset, or an attempt or job finishes and frees its scope.
+   */
+  public static final String JOB_QUEUE_CHANNEL = "airbyte_job_queue";
   public static final String ORDER_BY_JOB_TIME_ATTEMPT_TIME =
       "ORDER BY jobs.created_at DESC, jobs.id DESC, attempts.created_at ASC, attempts.id ASC ";
 
@@ -140,21 +147,24 @@ public class DefaultJobPersistence implements JobPersistence {
             JobStatus.TERMINAL_STATUSES.stream().map(Sqls::toSqlName).map(Names::singleQuote).collect(Collectors.joining(",")))
         : "";
 
-    return database.query(
-        ctx -> ctx.fetch(
-            "INSERT INTO jobs(config_type, scope, created_at, updated_at, status, config) " +
-                "SELECT CAST(? AS JOB_CONFIG_TYPE), ?, ?, ?, CAST(? AS JOB_STATUS), CAST(? as JSONB) " +
-                queueingRequest +
-                "RETURNING id ",
-            Sqls.toSqlName(jobConfig.getConfigType()),
-            scope,
-            now,
-            now,
-            Sqls.toSqlName(JobStatus.PENDING),
-            Jsons.serialize(jobConfig)))
-        .stream()
-        .findFirst()
-        .map(r -> r.getValue("id", Long.class));
+    return database.query(ctx -> {
+      final Optional<Long> jobId = ctx.fetch(
+          "INSERT INTO jobs(config_type, scope, created_at, updated_at, status, config) " +
+              "SELECT CAST(? AS JOB_CONFIG_TYPE), ?, ?, ?, CAST(? AS JOB_STATUS), CAST(? as JSONB) " +
+              queueingRequest +
+              "RETURNING id ",
+          Sqls.toSqlName(jobConfig.getConfigType()),
+          scope,
+          now,
+          now,
+          Sqls.toSqlName(JobStatus.PENDING),
+          Jsons.serialize(jobConfig))
+          .stream()
+          .findFirst()
+          .map(r -> r.getValue("id", Long.class));
+      jobId.ifPresent(id -> notifyJobQueue(ctx, id));
+      return jobId;
+    });
   }
 
   @Override
@@ -163,6 +173,7 @@ public class DefaultJobPersistence implements JobPersistence {
     database.query(ctx -> {
       updateJobStatusIfNotInTerminalState(ctx, jobId, JobStatus.PENDING, now,
           new IllegalStateException(String.format("Attempt to reset a job that is in a terminal state. job id: %s", jobId)));
+      notifyJobQueue(ctx, jobId);
       return null;
     });
   }
@@ -172,6 +183,7 @@ public class DefaultJobPersistence implements JobPersistence {
     final LocalDateTime now = LocalDateTime.ofInstant(timeSupplier.get(), ZoneOffset.UTC);
     database.query(ctx -> {
       updateJobStatusIfNotInTerminalState(ctx, jobId, JobStatus.CANCELLED, now);
+      notifyJobQueue(ctx, jobId);
       return null;
     });
   }
@@ -181,6 +193,7 @@ public class DefaultJobPersistence implements JobPersistence {
     final LocalDateTime now = LocalDateTime.ofInstant(timeSupplier.get(), ZoneOffset.UTC);
     database.query(ctx -> {
       updateJobStatusIfNotInTerminalState(ctx, jobId, JobStatus.FAILED, now);
+      notifyJobQueue(ctx, jobId);
       return null;
     });
   }
@@ -256,6 +269,7 @@ public class DefaultJobPersistence implements JobPersistence {
           now,
           jobId,
           attemptNumber);
+      notifyJobQueue(ctx, jobId);
       return null;
     });
   }
@@ -273,6 +287,7 @@ public class DefaultJobPersistence implements JobPersistence {
           now,
           jobId,
           attemptNumber);
+      notifyJobQueue(ctx, jobId);
       return null;
     });
   }
@@ -310,15 +325,43 @@ public class DefaultJobPersistence implements JobPersistence {
 
   @Override
   public List<Job> listJobs(Set<ConfigType> configTypes, String configId, int pagesize, int offset) throws IOException {
+    // the page is selected on jobs alone so that it counts jobs rather than job-attempt rows.
     return database.query(ctx -> getJobsFromResult(ctx.fetch(
-        BASE_JOB_SELECT_AND_JOIN + "WHERE " +
+        BASE_JOB_SELECT_AND_JOIN + "WHERE jobs.id IN ( " +
+            "SELECT id FROM jobs WHERE " +
             "CAST(config_type AS VARCHAR) in " + Sqls.toSqlInFragment(configTypes) + " " +
             "AND scope = ? " +
-            ORDER_BY_JOB_TIME_ATTEMPT_TIME +
-            "LIMIT ? OFFSET ?",
+            "ORDER BY created_at DESC, id DESC LIMIT ? OFFSET ? ) " +
+            ORDER_BY_JOB_TIME_ATTEMPT_TIME,
         configId, pagesize, offset)));
   }
 
+  @Override
+  public List<Job> listJobsBefore(Set<ConfigType> configTypes, String configId, long beforeJobId, int limit) throws IOException {
+    return database.query(ctx -> getJobsFromResult(ctx.fetch(
+        BASE_JOB_SELECT_AND_JOIN + "WHERE jobs.id IN ( " +
+            "SELECT id FROM jobs WHERE " +
+            "CAST(config_type AS VARCHAR) in " + Sqls.toSqlInFragment(configTypes) + " " +
+            "AND scope = ? " +
+            "AND (created_at, id) < ( SELECT created_at, id FROM jobs WHERE id = ? ) " +
+            "ORDER BY created_at DESC, id DESC LIMIT ? ) " +
+            ORDER_BY_JOB_TIME_ATTEMPT_TIME,
+        configId, beforeJobId, limit)));
+  }
+
+  @Override
+  public List<JobStatusSummary> listJobStatusSummaries(Set<ConfigType> configTypes, String configId, int limit) throws IOException {
+    return database.query(ctx -> ctx.fetch(
+        "SELECT id, config_type, scope, status, started_at, created_at, updated_at FROM jobs WHERE " +
+            "CAST(config_type AS VARCHAR) in " + Sqls.toSqlInFragment(configTypes) + " " +
+            "AND scope = ? " +
+            "ORDER BY created_at DESC, id DESC LIMIT ?",
+        configId, limit)
+        .stream()
+        .map(DefaultJobPersistence::getJobStatusSummaryFromRecord)
+        .collect(Collectors.toList()));
+  }
+
   @Override
   public List<Job> listJobsWithStatus(JobStatus status) throws IOException {
     return listJobsWithStatus(Sets.newHashSet(ConfigType.values()), status);
@@ -329,7 +372,7 @@ public class DefaultJobPersistence implements JobPersistence {
     return database.query(ctx -> getJobsFromResult(ctx
         .fetch(BASE_JOB_SELECT_AND_JOIN + "WHERE " +
             "CAST(config_type AS VARCHAR) IN " + Sqls.toSqlInFragment(configTypes) + " AND " +
-            "CAST(jobs.status AS VARCHAR) = ? " +
+            "jobs.status = CAST(? AS JOB_STATUS) " +
             ORDER_BY_JOB_TIME_ATTEMPT_TIME,
             Sqls.toSqlName(status))));
   }
@@ -354,6 +397,22 @@ public class DefaultJobPersistence implements JobPersistence {
         .flatMap(r -> getJobOptional(ctx, r.get("job_id", Long.class))));
   }
 
+  @Override
+  public List<Job> getLastReplicationJobs(Collection<UUID> connectionIds) throws IOException {
+    if (connectionIds.isEmpty()) {
+      return List.of();
+    }
+    return database.query(ctx -> getJobsFromResult(ctx
+        .fetch(BASE_JOB_SELECT_AND_JOIN + "WHERE jobs.id IN ( " +
+            "SELECT DISTINCT ON (scope) id FROM jobs WHERE " +
+            "CAST(config_type AS VARCHAR) in " + Sqls.toSqlInFragment(Job.REPLICATION_TYPES) + " AND " +
+            "scope IN " + connectionIds.stream().map(UUID::toString).map(Names::singleQuote).collect(Collectors.joining(",", "(", ")")) + " AND " +
+            "CAST(status AS VARCHAR) <> ? " +
+            "ORDER BY scope, created_at DESC, id DESC ) " +
+            ORDER_BY_JOB_TIME_ATTEMPT_TIME,
+            Sqls.toSqlName(JobStatus.CANCELLED))));
+  }
+
   @Override
   public Optional<State> getCurrentState(UUID connectionId) throws IOException {
     return database.query(ctx -> ctx
@@ -380,7 +439,7 @@ public class DefaultJobPersistence implements JobPersistence {
     // 3. job is excluded if another job of the same scope is already incomplete
     return database.query(ctx -> ctx
         .fetch(BASE_JOB_SELECT_AND_JOIN + "WHERE " +
-            "CAST(jobs.status AS VARCHAR) = 'pending' AND " +
+            "jobs.status = 'pending' AND " +
             "jobs.scope NOT IN ( SELECT scope FROM jobs WHERE status = 'running' OR status = 'incomplete' ) " +
             "ORDER BY jobs.created_at ASC LIMIT 1")
         .stream()
@@ -388,6 +447,43 @@ public class DefaultJobPersistence implements JobPersistence {
         .flatMap(r -> getJobOptional(ctx, r.get("job_id", Long.class))));
   }
 
+  @Override
+  public List<Job> claimNextJobs(int limit) throws IOException {
+    final LocalDateTime now = LocalDateTime.ofInstant(timeSupplier.get(), ZoneOffset.UTC);
+    // same rules as getNextJob, applied to a batch. SKIP LOCKED lets concurrent claimers pick
+    // different jobs instead of waiting on each other, and the status update keeps the claimed jobs
+    // from being handed out again once the transaction commits.
+    return database.transaction(ctx -> {
+      final List<Long> claimedJobIds = ctx.fetch(
+          "UPDATE jobs SET status = CAST(? AS JOB_STATUS), updated_at = ? WHERE id IN ( " +
+              "SELECT id FROM jobs WHERE " +
+              "jobs.status = 'pending' AND " +
+              "jobs.scope NOT IN ( SELECT scope FROM jobs WHERE status = 'running' OR status = 'incomplete' ) AND " +
+              "jobs.id IN ( SELECT DISTINCT ON (scope) id FROM jobs WHERE status = 'pending' ORDER BY scope, created_at ASC ) " +
+              "ORDER BY jobs.created_at ASC LIMIT ? " +
+              "FOR UPDATE SKIP LOCKED ) " +
+              "RETURNING id",
+          Sqls.toSqlName(JobStatus.RUNNING),
+          now,
+          limit)
+          .stream()
+          .map(r -> r.getValue("id", Long.class))
+          .collect(Collectors.toList());
+
+      if (claimedJobIds.isEmpty()) {
+        return List.of();
+      }
+      return getJobsFromResult(ctx.fetch(BASE_JOB_SELECT_AND_JOIN + "WHERE " +
+          "jobs.id IN " + claimedJobIds.stream().map(String::valueOf).collect(Collectors.joining(",", "(", ") ")) +
+          "ORDER BY jobs.created_at ASC, jobs.id ASC, attempts.created_at ASC, attempts.id ASC"));
+    });
+  }
+
+  private static void notifyJobQueue(DSLContext ctx, long jobId) {
+    // delivered to listeners when the surrounding transaction commits.
+    ctx.fetch("SELECT pg_notify(?, ?)", JOB_QUEUE_CHANNEL, String.valueOf(jobId));
+  }
+
   private static List<Job> getJobsFromResult(Result<Record> result) {
     // keeps results strictly in order so the sql query controls the sort
     List<Job> jobs = new ArrayList<Job>();
@@ -423,6 +519,16 @@ public class DefaultJobPersistence implements JobPersistence {
     return jobs;
   }
 
+  private static JobStatusSummary getJobStatusSummaryFromRecord(Record record) {
+    return new JobStatusSummary(record.get("id", Long.class),
+        Enums.toEnum(record.get("config_type", String.class), ConfigType.class).orElseThrow(),
+        record.get("scope", String.class),
+        JobStatus.valueOf(record.get("status", String.class).toUpperCase()),
+        Optional.ofNullable(record.get("started_at")).map(value -> getEpoch(record, "started_at")).orElse(null),
+        getEpoch(record, "created_at"),
+        getEpoch(record, "updated_at"));
+  }
+
   @VisibleForTesting
   static Optional<Job> getJobFromResult(Result<Record> result) {
     return getJobsFromResult(result).stream().findFirst();
@@ -29,8 +29,10 @@ import io.airbyte.config.JobConfig;
 import io.airbyte.config.State;
 import io.airbyte.scheduler.models.Job;
 import io.airbyte.scheduler.models.JobStatus;
+import io.airbyte.scheduler.models.JobStatusSummary;
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -123,8 +125,13 @@ public interface JobPersistence {
   <T> void writeOutput(long jobId, int attemptNumber, T output) throws IOException;
 
   /**
+   * Limit and offset count jobs, not job-attempt rows, so every listed job comes with all of its
+   * attempts and a job is never split across two pages.
+   *
    * @param configType - type of config, e.g. sync
    * @param configId - id of that config
+   * @param limit - maximum number of jobs to return
+   * @param offset - number of newer jobs to skip
    * @return lists job in descending order by created_at
    * @throws IOException - what you do when you IO
    */
@@ -132,6 +139,31 @@ public interface JobPersistence {
 
   List<Job> listJobs(JobConfig.ConfigType configType, String configId, int limit, int offset) throws IOException;
 
+  /**
+   * Keyset pagination over the jobs of a config: unlike an offset, the cost of fetching a page does
+   * not grow with the number of jobs before it.
+   *
+   * @param configTypes - types of config, e.g. sync
+   * @param configId - id of that config
+   * @param beforeJobId - id of the last job of the previous page
+   * @param limit - max number of jobs to return
+   * @return jobs listed after the given job, in descending order by created_at
+   * @throws IOException - what you do when you IO
+   */
+  List<Job> listJobsBefore(Set<JobConfig.ConfigType> configTypes, String configId, long beforeJobId, int limit) throws IOException;
+
+  /**
+   * Same order as {@link #listJobs(Set, String, int, int)}, but without loading job configs and
+   * attempts.
+   *
+   * @param configTypes - types of config, e.g. sync
+   * @param configId - id of that config
+   * @param limit - max number of jobs to return
+   * @return status and timestamps of the most recent jobs, in descending order by created_at
+   * @throws IOException - what you do when you IO
+   */
+  List<JobStatusSummary> listJobStatusSummaries(Set<JobConfig.ConfigType> configTypes, String configId, int limit) throws IOException;
+
   List<Job> listJobsWithStatus(JobStatus status) throws IOException;
 
   List<Job> listJobsWithStatus(Set<JobConfig.ConfigType> configTypes, JobStatus status) throws IOException;
@@ -140,6 +172,16 @@ public interface JobPersistence {
 
   Optional<Job> getLastReplicationJob(UUID connectionId) throws IOException;
 
+  /**
+   * Batched version of {@link #getLastReplicationJob(UUID)}, fetched with a single query.
+   *
+   * @param connectionIds - ids of the connections whose last replication job we want to fetch.
+   * @return the last non-cancelled replication job of each connection that has one, in no specific
+   *         order.
+   * @throws IOException exception due to interaction with persistence
+   */
+  List<Job> getLastReplicationJobs(Collection<UUID> connectionIds) throws IOException;
+
   /**
    * if a job does not succeed, we assume that it synced nothing. that is the most conservative
    * assumption we can make. as long as all destinations write the final data output in a
@@ -155,6 +197,19 @@ public interface JobPersistence {
 
   Optional<Job> getNextJob() throws IOException;
 
+  /**
+   * Claims up to {@code limit} of the oldest pending jobs by moving them to the running status, so
+   * that they are not handed out again. Follows the same rules as {@link #getNextJob()}: a job is not
+   * eligible while another job of the same scope is running or incomplete, and at most one job is
+   * claimed per scope. A claimed job has no running attempt until its submitter creates one, so
+   * running jobs without a running attempt after a restart were never started and can be reset.
+   *
+   * @param limit - maximum number of jobs to claim.
+   * @return the claimed jobs, oldest first.
+   * @throws IOException exception due to interaction with persistence
+   */
+  List<Job> claimNextJobs(int limit) throws IOException;
+
   /// ARCHIVE
 
   /**
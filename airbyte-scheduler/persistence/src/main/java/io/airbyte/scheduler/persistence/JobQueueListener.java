@@ -0,0 +1,97 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Airbyte
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.airbyte.scheduler.persistence;
+
+import io.airbyte.db.Database;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Listens on {@link DefaultJobPersistence#JOB_QUEUE_CHANNEL} and calls back whenever the job queue
+ * changes, so that pending jobs can be dispatched without waiting for the next polling round. Holds
+ * one connection of the pool for as long as it runs, and reconnects if that connection is lost.
+ */
+public class JobQueueListener implements Runnable {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(JobQueueListener.class);
+
+  private static final Duration POLL_TIMEOUT = Duration.ofSeconds(1);
+  private static final Duration RECONNECT_DELAY = Duration.ofSeconds(10);
+
+  private final Database database;
+  private final Runnable onJobQueueChange;
+
+  public JobQueueListener(Database database, Runnable onJobQueueChange) {
+    this.database = database;
+    this.onJobQueueChange = onJobQueueChange;
+  }
+
+  @Override
+  public void run() {
+    while (!Thread.currentThread().isInterrupted()) {
+      try {
+        database.query(ctx -> {
+          ctx.connection(this::listen);
+          return null;
+        });
+      } catch (Exception e) {
+        LOGGER.warn("Lost connection while listening to job queue notifications. Reconnecting in {} seconds.", RECONNECT_DELAY.toSeconds(), e);
+        try {
+          Thread.sleep(RECONNECT_DELAY.toMillis());
+        } catch (InterruptedException ie) {
+          Thread.currentThread().interrupt();
+        }
+      }
+    }
+  }
+
+  private void listen(Connection connection) throws SQLException {
+    final PGConnection pgConnection = connection.unwrap(PGConnection.class);
+    try (final Statement statement = connection.createStatement()) {
+      statement.execute("LISTEN " + DefaultJobPersistence.JOB_QUEUE_CHANNEL);
+    }
+    try {
+      while (!Thread.currentThread().isInterrupted()) {
+        final PGNotification[] notifications = pgConnection.getNotifications((int) POLL_TIMEOUT.toMillis());
+        if (notifications != null && notifications.length > 0) {
+          LOGGER.debug("Received {} job queue notifications", notifications.length);
+          onJobQueueChange.run();
+        }
+      }
+    } finally {
+      // the connection goes back to the pool, it must not keep receiving notifications.
+      try (final Statement statement = connection.createStatement()) {
+        statement.execute("UNLISTEN " + DefaultJobPersistence.JOB_QUEUE_CHANNEL);
+      }
+    }
+  }
+
+}
@@ -48,10 +48,12 @@ import io.airbyte.config.StandardSyncOutput;
 import io.airbyte.config.State;
 import io.airbyte.db.Database;
 import io.airbyte.db.Databases;
+import io.airbyte.db.JobsDatabaseIndexes;
 import io.airbyte.scheduler.models.Attempt;
 import io.airbyte.scheduler.models.AttemptStatus;
 import io.airbyte.scheduler.models.Job;
 import io.airbyte.scheduler.models.JobStatus;
+import io.airbyte.scheduler.models.JobStatusSummary;
 import io.airbyte.validation.json.JsonSchemaValidator;
 import io.airbyte.validation.json.JsonValidationException;
 import java.io.IOException;
@@ -159,6 +161,7 @@ class DefaultJobPersistenceTest {
   public void setup() throws Exception {
     database = Databases.createPostgresDatabase(container.getUsername(), container.getPassword(), container.getJdbcUrl());
     resetDb();
+    JobsDatabaseIndexes.createIfNotExist(database);
 
     timeSupplier = mock(Supplier.class);
     when(timeSupplier.get()).thenReturn(NOW);
@@ -552,6 +555,27 @@ class DefaultJobPersistenceTest {
       assertEquals(Optional.of(expected), actual);
     }
 
+    @Test
+    @DisplayName("Should return the last non-cancelled job of each connection at once")
+    public void testGetLastSyncJobsForConnectionIds() throws IOException {
+      final UUID otherConnectionId = UUID.randomUUID();
+      final UUID connectionIdWithoutJob = UUID.randomUUID();
+      final long jobId1 = jobPersistence.enqueueJob(SCOPE, SYNC_JOB_CONFIG).orElseThrow();
+      jobPersistence.succeedAttempt(jobId1, jobPersistence.createAttempt(jobId1, LOG_PATH));
+      final long otherJobId = jobPersistence.enqueueJob(otherConnectionId.toString(), SYNC_JOB_CONFIG).orElseThrow();
+
+      final Instant afterNow = NOW.plusSeconds(1000);
+      when(timeSupplier.get()).thenReturn(afterNow);
+      final long jobId2 = jobPersistence.enqueueJob(SCOPE, SYNC_JOB_CONFIG).orElseThrow();
+      jobPersistence.cancelJob(jobId2);
+
+      final List<Job> actual = jobPersistence.getLastReplicationJobs(List.of(CONNECTION_ID, otherConnectionId, connectionIdWithoutJob));
+
+      assertEquals(
+          Set.of(jobId1, otherJobId),
+          actual.stream().map(Job::getId).collect(Collectors.toSet()));
+    }
+
   }
 
   @Nested
@@ -789,6 +813,60 @@ class DefaultJobPersistenceTest {
 
   }
 
+  @Nested
+  @DisplayName("When claiming next jobs")
+  class ClaimNextJobs {
+
+    @Test
+    @DisplayName("Should claim the oldest pending jobs up to the limit and mark them running")
+    public void testClaimOldestPendingJobs() throws IOException {
+      when(timeSupplier.get()).thenReturn(NOW);
+      final long jobId1 = jobPersistence.enqueueJob(SPEC_SCOPE, SPEC_JOB_CONFIG).orElseThrow();
+      final long jobId2 = jobPersistence.enqueueJob(CHECK_SCOPE, CHECK_JOB_CONFIG).orElseThrow();
+      when(timeSupplier.get()).thenReturn(NOW.plusSeconds(1000));
+      final long jobId3 = jobPersistence.enqueueJob(SYNC_SCOPE, SYNC_JOB_CONFIG).orElseThrow();
+      when(timeSupplier.get()).thenReturn(NOW);
+
+      final List<Job> actual = jobPersistence.claimNextJobs(2);
+
+      assertEquals(
+          List.of(
+              createJob(jobId1, SPEC_JOB_CONFIG, JobStatus.RUNNING, Collections.emptyList(), NOW.getEpochSecond(), SPEC_SCOPE),
+              createJob(jobId2, CHECK_JOB_CONFIG, JobStatus.RUNNING, Collections.emptyList(), NOW.getEpochSecond(), CHECK_SCOPE)),
+          actual);
+      assertEquals(JobStatus.PENDING, jobPersistence.getJob(jobId3).getStatus());
+    }
+
+    @Test
+    @DisplayName("Should not claim the same job twice")
+    public void testClaimedJobsAreNotClaimedAgain() throws IOException {
+      final long jobId = createJobAt(NOW);
+
+      assertEquals(List.of(jobId), jobPersistence.claimNextJobs(5).stream().map(Job::getId).collect(Collectors.toList()));
+      assertTrue(jobPersistence.claimNextJobs(5).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should claim at most one job per scope")
+    public void testClaimOneJobPerScope() throws IOException {
+      final long jobId = createJobAt(NOW);
+      createJobAt(NOW.plusSeconds(1000));
+
+      assertEquals(List.of(jobId), jobPersistence.claimNextJobs(5).stream().map(Job::getId).collect(Collectors.toList()));
+    }
+
+    @Test
+    @DisplayName("Should not claim a pending job if a job with the same scope is incomplete")
+    public void testClaimWithOtherJobWithSameScopeIncomplete() throws IOException {
+      final long jobId = createJobAt(NOW.minusSeconds(1000));
+      jobPersistence.failAttempt(jobId, jobPersistence.createAttempt(jobId, LOG_PATH));
+      createJobAt(NOW);
+
+      assertTrue(jobPersistence.claimNextJobs(5).isEmpty());
+    }
+
+  }
+
   @Nested
   @DisplayName("When listing jobs, use paged results")
   class ListJobs {
@@ -895,6 +973,85 @@ class DefaultJobPersistenceTest {
       assertEquals(jobId2, actualList.get(0).getId());
     }
 
+    @Test
+    @DisplayName("Should count jobs rather than attempts in the page size")
+    public void testListJobsPageSizeCountsJobs() throws IOException {
+      final long jobId1 = jobPersistence.enqueueJob(SCOPE, SPEC_JOB_CONFIG).orElseThrow();
+      jobPersistence.failAttempt(jobId1, jobPersistence.createAttempt(jobId1, LOG_PATH));
+      jobPersistence.succeedAttempt(jobId1, jobPersistence.createAttempt(jobId1, LOG_PATH.resolve("2")));
+      final long jobId2 = jobPersistence.enqueueJob(SCOPE, SPEC_JOB_CONFIG).orElseThrow();
+      jobPersistence.failAttempt(jobId2, jobPersistence.createAttempt(jobId2, LOG_PATH.resolve("3")));
+      jobPersistence.succeedAttempt(jobId2, jobPersistence.createAttempt(jobId2, LOG_PATH.resolve("4")));
+
+      final List<Job> actualList = jobPersistence.listJobs(SPEC_JOB_CONFIG.getConfigType(), SCOPE, 2, 0);
+
+      assertEquals(List.of(jobId2, jobId1), actualList.stream().map(Job::getId).collect(Collectors.toList()));
+      assertEquals(2, actualList.get(1).getAttemptsCount());
+    }
+
+    @Test
+    @DisplayName("Should count jobs rather than attempts in the offset")
+    public void testListJobsOffsetCountsJobs() throws IOException {
+      final long jobId1 = jobPersistence.enqueueJob(SCOPE, SPEC_JOB_CONFIG).orElseThrow();
+      jobPersistence.failAttempt(jobId1, jobPersistence.createAttempt(jobId1, LOG_PATH));
+      jobPersistence.succeedAttempt(jobId1, jobPersistence.createAttempt(jobId1, LOG_PATH.resolve("2")));
+      final long jobId2 = jobPersistence.enqueueJob(SCOPE, SPEC_JOB_CONFIG).orElseThrow();
+      jobPersistence.failAttempt(jobId2, jobPersistence.createAttempt(jobId2, LOG_PATH.resolve("3")));
+      jobPersistence.succeedAttempt(jobId2, jobPersistence.createAttempt(jobId2, LOG_PATH.resolve("4")));
+      final long jobId3 = jobPersistence.enqueueJob(SCOPE, SPEC_JOB_CONFIG).orElseThrow();
+
+      final List<Job> firstPage = jobPersistence.listJobs(SPEC_JOB_CONFIG.getConfigType(), SCOPE, 1, 0);
+      final List<Job> secondPage = jobPersistence.listJobs(SPEC_JOB_CONFIG.getConfigType(), SCOPE, 1, 1);
+      final List<Job> thirdPage = jobPersistence.listJobs(SPEC_JOB_CONFIG.getConfigType(), SCOPE, 1, 2);
+
+      assertEquals(List.of(jobId3), firstPage.stream().map(Job::getId).collect(Collectors.toList()));
+      assertEquals(List.of(jobId2), secondPage.stream().map(Job::getId).collect(Collectors.toList()));
+      assertEquals(2, secondPage.get(0).getAttemptsCount());
+      assertEquals(List.of(jobId1), thirdPage.stream().map(Job::getId).collect(Collectors.toList()));
+      assertEquals(2, thirdPage.get(0).getAttemptsCount());
+    }
+
+    @Test
+    @DisplayName("Should page through jobs by the last job of the previous page")
+    public void testListJobsBefore() throws IOException {
+      final List<Long> ids = new ArrayList<>();
+      for (int i = 0; i < 25; i++) {
+        // every other job has the same created_at, so ties are broken by id.
+        when(timeSupplier.get()).thenReturn(NOW.plusSeconds(i / 2));
+        ids.add(jobPersistence.enqueueJob(SCOPE, SPEC_JOB_CONFIG).orElseThrow());
+      }
+      jobPersistence.enqueueJob(SCOPE, CHECK_JOB_CONFIG).orElseThrow();
+      Collections.reverse(ids);
+
+      final List<Long> actualIds = new ArrayList<>();
+      List<Job> page = jobPersistence.listJobs(Set.of(SPEC_JOB_CONFIG.getConfigType()), SCOPE, 10, 0);
+      while (!page.isEmpty()) {
+        page.stream().map(Job::getId).forEach(actualIds::add);
+        page = jobPersistence.listJobsBefore(Set.of(SPEC_JOB_CONFIG.getConfigType()), SCOPE, page.get(page.size() - 1).getId(), 10);
+      }
+
+      assertEquals(ids, actualIds);
+    }
+
+    @Test
+    @DisplayName("Should list job statuses without configs and attempts")
+    public void testListJobStatusSummaries() throws IOException {
+      final long jobId1 = jobPersistence.enqueueJob(SCOPE, SPEC_JOB_CONFIG).orElseThrow();
+      jobPersistence.succeedAttempt(jobId1, jobPersistence.createAttempt(jobId1, LOG_PATH));
+      final Instant laterTime = NOW.plusSeconds(1000);
+      when(timeSupplier.get()).thenReturn(laterTime);
+      final long jobId2 = jobPersistence.enqueueJob(SCOPE, SPEC_JOB_CONFIG).orElseThrow();
+      jobPersistence.enqueueJob(SCOPE, CHECK_JOB_CONFIG).orElseThrow();
+
+      final List<JobStatusSummary> actualList = jobPersistence.listJobStatusSummaries(Set.of(SPEC_JOB_CONFIG.getConfigType()), SCOPE, 10);
+
+      final List<JobStatusSummary> expectedList = List.of(
+          new JobStatusSummary(jobId2, ConfigType.GET_SPEC, SCOPE, JobStatus.PENDING, null, laterTime.getEpochSecond(), laterTime.getEpochSecond()),
+          new JobStatusSummary(jobId1, ConfigType.GET_SPEC, SCOPE, JobStatus.SUCCEEDED, null, NOW.getEpochSecond(), NOW.getEpochSecond()));
+      assertEquals(expectedList, actualList);
+      assertEquals(1, jobPersistence.listJobStatusSummaries(Set.of(SPEC_JOB_CONFIG.getConfigType()), SCOPE, 1).size());
+    }
+
   }
 
   @Nested
@@ -39,6 +39,7 @@ import io.airbyte.config.persistence.FileSystemConfigPersistence;
 import io.airbyte.config.persistence.PersistenceConstants;
 import io.airbyte.db.Database;
 import io.airbyte.db.Databases;
+import io.airbyte.db.JobsDatabaseIndexes;
 import io.airbyte.scheduler.client.DefaultSchedulerJobClient;
 import io.airbyte.scheduler.client.DefaultSynchronousSchedulerClient;
 import io.airbyte.scheduler.client.SpecCachingSynchronousSchedulerClient;
@@ -209,6 +210,7 @@ public class ServerApp {
         configs.getDatabaseUser(),
         configs.getDatabasePassword(),
         configs.getDatabaseUrl());
+    JobsDatabaseIndexes.createIfNotExist(database);
     final JobPersistence jobPersistence = new DefaultJobPersistence(database);
 
     final String airbyteVersion = configs.getAirbyteVersion();
@@ -35,6 +35,7 @@ import io.airbyte.api.model.JobWithAttemptsRead;
 import io.airbyte.api.model.LogRead;
 import io.airbyte.api.model.SynchronousJobRead;
 import io.airbyte.commons.enums.Enums;
+import io.airbyte.config.Configs;
 import io.airbyte.config.EnvConfigs;
 import io.airbyte.config.JobOutput;
 import io.airbyte.config.StandardSyncOutput;
@@ -44,13 +45,19 @@ import io.airbyte.scheduler.client.SynchronousJobMetadata;
 import io.airbyte.scheduler.client.SynchronousResponse;
 import io.airbyte.scheduler.models.Attempt;
 import io.airbyte.scheduler.models.Job;
+import io.airbyte.scheduler.models.JobStatusSummary;
 import java.io.IOException;
 import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
 import java.util.stream.Collectors;
 
 public class JobConverter {
 
-  private static final int LOG_TAIL_SIZE = 1000000;
+  private static final Configs CONFIGS = new EnvConfigs();
+  // cloud logs are uploaded in batches, so the last lines of an attempt may land after it ended.
+  private static final Duration LOG_UPLOAD_GRACE_PERIOD = Duration.ofMinutes(2);
 
   public static JobInfoRead getJobInfoRead(Job job) {
     return new JobInfoRead()
@@ -58,6 +65,19 @@ public class JobConverter {
         .attempts(job.getAttempts().stream().map(JobConverter::getAttemptInfoRead).collect(Collectors.toList()));
   }
 
+  /**
+   * Same as {@link #getJobInfoRead(Job)}, for responses whose callers do not look at the logs. The
+   * attempts come with empty logs so that no log is fetched.
+   */
+  public static JobInfoRead getJobInfoReadWithoutLogs(Job job) {
+    return new JobInfoRead()
+        .job(getJobWithAttemptsRead(job).getJob())
+        .attempts(job.getAttempts()
+            .stream()
+            .map(attempt -> new AttemptInfoRead().attempt(getAttemptRead(attempt)).logs(new LogRead().logLines(List.of())))
+            .collect(Collectors.toList()));
+  }
+
   public static JobWithAttemptsRead getJobWithAttemptsRead(Job job) {
     final String configId = job.getScope();
     final JobConfigType configType = Enums.convertTo(job.getConfigType(), JobConfigType.class);
@@ -73,10 +93,20 @@ public class JobConverter {
         .attempts(job.getAttempts().stream().map(JobConverter::getAttemptRead).collect(Collectors.toList()));
   }
 
+  public static JobRead getJobRead(JobStatusSummary jobStatusSummary) {
+    return new JobRead()
+        .id(jobStatusSummary.getId())
+        .configId(jobStatusSummary.getScope())
+        .configType(Enums.convertTo(jobStatusSummary.getConfigType(), JobConfigType.class))
+        .createdAt(jobStatusSummary.getCreatedAtInSecond())
+        .updatedAt(jobStatusSummary.getUpdatedAtInSecond())
+        .status(Enums.convertTo(jobStatusSummary.getStatus(), JobStatus.class));
+  }
+
   public static AttemptInfoRead getAttemptInfoRead(Attempt attempt) {
     return new AttemptInfoRead()
         .attempt(getAttemptRead(attempt))
-        .logs(getLogRead(attempt.getLogPath()));
+        .logs(isLogComplete(attempt) ? getCompletedLogRead(attempt.getLogPath()) : getLogRead(attempt.getLogPath()));
   }
 
   public static AttemptRead getAttemptRead(Attempt attempt) {
@@ -100,7 +130,25 @@ public class JobConverter {
 
   public static LogRead getLogRead(Path logPath) {
     try {
-      var logs = LogClientSingleton.getJobLogFile(new EnvConfigs(), logPath);
+      var logs = LogClientSingleton.getJobLogFile(CONFIGS, logPath);
+      return new LogRead().logLines(logs);
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  private static boolean isLogComplete(Attempt attempt) {
+    return Attempt.isAttemptInTerminalState(attempt) && attempt.getEndedAtInSecond()
+        .map(endedAt -> Instant.ofEpochSecond(endedAt).plus(LOG_UPLOAD_GRACE_PERIOD).isBefore(Instant.now()))
+        .orElse(false);
+  }
+
+  /**
+   * Same as {@link #getLogRead(Path)} for logs that are no longer written to. Their tails are cached.
+   */
+  public static LogRead getCompletedLogRead(Path logPath) {
+    try {
+      var logs = LogClientSingleton.getCompletedJobLogFile(CONFIGS, logPath);
       return new LogRead().logLines(logs);
     } catch (IOException e) {
       throw new RuntimeException(e);
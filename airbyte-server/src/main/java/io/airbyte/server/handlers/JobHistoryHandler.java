@@ -28,6 +28,7 @@ import com.google.common.base.Preconditions;
 import io.airbyte.api.model.JobIdRequestBody;
 import io.airbyte.api.model.JobInfoRead;
 import io.airbyte.api.model.JobListRequestBody;
+import io.airbyte.api.model.JobRead;
 import io.airbyte.api.model.JobReadList;
 import io.airbyte.api.model.JobWithAttemptsRead;
 import io.airbyte.commons.enums.Enums;
@@ -52,19 +53,12 @@ public class JobHistoryHandler {
 
   @SuppressWarnings("UnstableApiUsage")
   public JobReadList listJobsFor(JobListRequestBody request) throws IOException {
-    Preconditions.checkNotNull(request.getConfigTypes(), "configType cannot be null.");
-    Preconditions.checkState(!request.getConfigTypes().isEmpty(), "Must include at least one configType.");
-
-    final Set<ConfigType> configTypes = request.getConfigTypes()
-        .stream()
-        .map(type -> Enums.convertTo(type, JobConfig.ConfigType.class))
-        .collect(Collectors.toSet());
+    final Set<ConfigType> configTypes = getConfigTypes(request);
     final String configId = request.getConfigId();
 
     final List<JobWithAttemptsRead> jobReads = jobPersistence.listJobs(configTypes,
         configId,
-        (request.getPagination() != null && request.getPagination().getPageSize() != null) ? request.getPagination().getPageSize()
-            : DEFAULT_PAGE_SIZE,
+        getPageSize(request),
         (request.getPagination() != null && request.getPagination().getRowOffset() != null) ? request.getPagination().getRowOffset() : 0)
         .stream()
         .map(JobConverter::getJobWithAttemptsRead)
@@ -72,6 +66,32 @@ public class JobHistoryHandler {
     return new JobReadList().jobs(jobReads);
   }
 
+  /**
+   * Lists the most recent jobs like {@link #listJobsFor(JobListRequestBody)}, but without their
+   * attempts. Row offsets are not supported.
+   */
+  public List<JobRead> listJobStatusesFor(JobListRequestBody request) throws IOException {
+    return jobPersistence.listJobStatusSummaries(getConfigTypes(request), request.getConfigId(), getPageSize(request))
+        .stream()
+        .map(JobConverter::getJobRead)
+        .collect(Collectors.toList());
+  }
+
+  private static Set<ConfigType> getConfigTypes(JobListRequestBody request) {
+    Preconditions.checkNotNull(request.getConfigTypes(), "configType cannot be null.");
+    Preconditions.checkState(!request.getConfigTypes().isEmpty(), "Must include at least one configType.");
+
+    return request.getConfigTypes()
+        .stream()
+        .map(type -> Enums.convertTo(type, JobConfig.ConfigType.class))
+        .collect(Collectors.toSet());
+  }
+
+  private static int getPageSize(JobListRequestBody request) {
+    return (request.getPagination() != null && request.getPagination().getPageSize() != null) ? request.getPagination().getPageSize()
+        : DEFAULT_PAGE_SIZE;
+  }
+
   public JobInfoRead getJobInfo(JobIdRequestBody jobIdRequestBody) throws IOException {
     final Job job = jobPersistence.getJob(jobIdRequestBody.getId());
 
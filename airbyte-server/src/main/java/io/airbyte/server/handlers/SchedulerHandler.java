@@ -311,7 +311,7 @@ public class SchedulerHandler {
         destinationImageName,
         standardSyncOperations);
 
-    return JobConverter.getJobInfoRead(job);
+    return JobConverter.getJobInfoReadWithoutLogs(job);
   }
 
   public JobInfoRead resetConnection(final ConnectionIdRequestBody connectionIdRequestBody)
@@ -332,7 +332,7 @@ public class SchedulerHandler {
 
     final Job job = schedulerJobClient.createOrGetActiveResetConnectionJob(destination, standardSync, destinationImageName, standardSyncOperations);
 
-    return JobConverter.getJobInfoRead(job);
+    return JobConverter.getJobInfoReadWithoutLogs(job);
   }
 
   public ConnectionState getState(ConnectionIdRequestBody connectionIdRequestBody) throws IOException {
@@ -43,9 +43,7 @@ import io.airbyte.api.model.JobConfigType;
 import io.airbyte.api.model.JobInfoRead;
 import io.airbyte.api.model.JobListRequestBody;
 import io.airbyte.api.model.JobRead;
-import io.airbyte.api.model.JobReadList;
 import io.airbyte.api.model.JobStatus;
-import io.airbyte.api.model.JobWithAttemptsRead;
 import io.airbyte.api.model.OperationCreate;
 import io.airbyte.api.model.OperationCreateOrUpdate;
 import io.airbyte.api.model.OperationReadList;
@@ -114,10 +112,10 @@ public class WebBackendConnectionsHandler {
     final OperationReadList operations = getOperationReadList(connectionRead);
     final WebBackendConnectionRead WebBackendConnectionRead = getWebBackendConnectionRead(connectionRead, source, destination, operations);
 
-    final JobReadList syncJobReadList = getSyncJobs(connectionRead);
+    final List<JobRead> syncJobReads = getSyncJobs(connectionRead);
     Predicate<JobRead> hasRunningJob = (JobRead job) -> !TERMINAL_STATUSES.contains(job.getStatus());
-    WebBackendConnectionRead.setIsSyncing(syncJobReadList.getJobs().stream().map(JobWithAttemptsRead::getJob).anyMatch(hasRunningJob));
-    setLatestSyncJobProperties(WebBackendConnectionRead, syncJobReadList);
+    WebBackendConnectionRead.setIsSyncing(syncJobReads.stream().anyMatch(hasRunningJob));
+    setLatestSyncJobProperties(WebBackendConnectionRead, syncJobReads);
     return WebBackendConnectionRead;
   }
 
@@ -158,15 +156,16 @@ public class WebBackendConnectionsHandler {
         .resourceRequirements(connectionRead.getResourceRequirements());
   }
 
-  private JobReadList getSyncJobs(ConnectionRead connectionRead) throws IOException {
+  // only the job statuses are needed, which avoids loading job configs and attempts.
+  private List<JobRead> getSyncJobs(ConnectionRead connectionRead) throws IOException {
     final JobListRequestBody jobListRequestBody = new JobListRequestBody()
         .configId(connectionRead.getConnectionId().toString())
         .configTypes(Collections.singletonList(JobConfigType.SYNC));
-    return jobHistoryHandler.listJobsFor(jobListRequestBody);
+    return jobHistoryHandler.listJobStatusesFor(jobListRequestBody);
   }
 
-  private void setLatestSyncJobProperties(WebBackendConnectionRead WebBackendConnectionRead, JobReadList syncJobReadList) {
-    syncJobReadList.getJobs().stream().map(JobWithAttemptsRead::getJob).findFirst()
+  private void setLatestSyncJobProperties(WebBackendConnectionRead WebBackendConnectionRead, List<JobRead> syncJobReads) {
+    syncJobReads.stream().findFirst()
         .ifPresent(job -> {
           WebBackendConnectionRead.setLatestSyncJobCreatedAt(job.getCreatedAt());
           WebBackendConnectionRead.setLatestSyncJobStatus(job.getStatus());
@@ -27,6 +27,8 @@ package io.airbyte.server.converters;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.google.common.collect.Lists;
@@ -66,6 +68,7 @@ class JobConverterTest {
   private static final long CREATED_AT = System.currentTimeMillis() / 1000;
 
   private Job job;
+  private Attempt attempt;
 
   private static final JobInfoRead JOB_INFO =
       new JobInfoRead()
@@ -92,7 +95,7 @@ class JobConverterTest {
   @BeforeEach
   public void setUp() {
     job = mock(Job.class);
-    Attempt attempt = mock(Attempt.class);
+    attempt = mock(Attempt.class);
     when(job.getId()).thenReturn(JOB_ID);
     when(job.getConfigType()).thenReturn(JOB_CONFIG.getConfigType());
     when(job.getScope()).thenReturn(JOB_CONFIG_ID);
@@ -114,6 +117,12 @@ class JobConverterTest {
     assertEquals(JOB_INFO, JobConverter.getJobInfoRead(job));
   }
 
+  @Test
+  public void testGetJobInfoReadWithoutLogs() {
+    assertEquals(JOB_INFO, JobConverter.getJobInfoReadWithoutLogs(job));
+    verify(attempt, never()).getLogPath();
+  }
+
   @Test
   public void testGetJobWithAttemptsRead() {
     assertEquals(JOB_WITH_ATTEMPTS_READ, JobConverter.getJobWithAttemptsRead(job));
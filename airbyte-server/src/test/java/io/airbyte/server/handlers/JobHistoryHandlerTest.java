@@ -49,6 +49,7 @@ import io.airbyte.scheduler.models.Attempt;
 import io.airbyte.scheduler.models.AttemptStatus;
 import io.airbyte.scheduler.models.Job;
 import io.airbyte.scheduler.models.JobStatus;
+import io.airbyte.scheduler.models.JobStatusSummary;
 import io.airbyte.scheduler.persistence.JobPersistence;
 import java.io.IOException;
 import java.nio.file.Path;
@@ -200,6 +201,32 @@ public class JobHistoryHandlerTest {
       assertEquals(expectedJobReadList, jobReadList);
     }
 
+    @Test
+    @DisplayName("Should return job statuses without attempts")
+    public void testListJobStatusesFor() throws IOException {
+      final var latestJobId = JOB_ID + 100;
+      final var createdAt2 = CREATED_AT + 1000;
+      final var latestJob = new JobStatusSummary(latestJobId, ConfigType.SYNC, JOB_CONFIG_ID, JobStatus.RUNNING, createdAt2, createdAt2, createdAt2);
+      final var firstJob = new JobStatusSummary(JOB_ID, JOB_CONFIG.getConfigType(), JOB_CONFIG_ID, JOB_STATUS, null, CREATED_AT, CREATED_AT);
+
+      when(jobPersistence.listJobStatusSummaries(Set.of(Enums.convertTo(CONFIG_TYPE_FOR_API, ConfigType.class)), JOB_CONFIG_ID,
+          JobHistoryHandler.DEFAULT_PAGE_SIZE)).thenReturn(List.of(latestJob, firstJob));
+
+      final JobListRequestBody requestBody = new JobListRequestBody()
+          .configTypes(Collections.singletonList(CONFIG_TYPE_FOR_API))
+          .configId(JOB_CONFIG_ID);
+      final List<JobRead> jobReads = jobHistoryHandler.listJobStatusesFor(requestBody);
+
+      final JobRead latestJobRead = new JobRead()
+          .id(latestJobId)
+          .configId(JOB_CONFIG_ID)
+          .configType(JobConfigType.SYNC)
+          .status(io.airbyte.api.model.JobStatus.RUNNING)
+          .createdAt(createdAt2)
+          .updatedAt(createdAt2);
+      assertEquals(List.of(latestJobRead, toJobInfo(testJob)), jobReads);
+    }
+
   }
 
   @Test
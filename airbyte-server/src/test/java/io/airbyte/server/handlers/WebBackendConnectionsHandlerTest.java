@@ -31,11 +31,8 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
-import com.google.common.collect.Lists;
 import io.airbyte.api.model.AirbyteCatalog;
 import io.airbyte.api.model.AirbyteStreamAndConfiguration;
-import io.airbyte.api.model.AttemptRead;
-import io.airbyte.api.model.AttemptStatus;
 import io.airbyte.api.model.ConnectionCreate;
 import io.airbyte.api.model.ConnectionIdRequestBody;
 import io.airbyte.api.model.ConnectionRead;
@@ -51,9 +48,7 @@ import io.airbyte.api.model.JobConfigType;
 import io.airbyte.api.model.JobInfoRead;
 import io.airbyte.api.model.JobListRequestBody;
 import io.airbyte.api.model.JobRead;
-import io.airbyte.api.model.JobReadList;
 import io.airbyte.api.model.JobStatus;
-import io.airbyte.api.model.JobWithAttemptsRead;
 import io.airbyte.api.model.NamespaceDefinitionType;
 import io.airbyte.api.model.OperationCreateOrUpdate;
 import io.airbyte.api.model.OperationRead;
@@ -148,29 +143,18 @@ class WebBackendConnectionsHandlerTest {
     when(destinationHandler.getDestination(destinationIdRequestBody)).thenReturn(destinationRead);
 
     final Instant now = Instant.now();
-    final JobWithAttemptsRead jobRead = new JobWithAttemptsRead()
-        .job(new JobRead()
-            .configId(connectionRead.getConnectionId().toString())
-            .configType(JobConfigType.SYNC)
-            .id(10L)
-            .status(JobStatus.SUCCEEDED)
-            .createdAt(now.getEpochSecond())
-            .updatedAt(now.getEpochSecond()))
-        .attempts(Lists.newArrayList(new AttemptRead()
-            .id(12L)
-            .status(AttemptStatus.SUCCEEDED)
-            .bytesSynced(100L)
-            .recordsSynced(15L)
-            .createdAt(now.getEpochSecond())
-            .updatedAt(now.getEpochSecond())
-            .endedAt(now.getEpochSecond())));
-
-    final JobReadList jobReadList = new JobReadList();
-    jobReadList.setJobs(Collections.singletonList(jobRead));
+    final JobRead jobRead = new JobRead()
+        .configId(connectionRead.getConnectionId().toString())
+        .configType(JobConfigType.SYNC)
+        .id(10L)
+        .status(JobStatus.SUCCEEDED)
+        .createdAt(now.getEpochSecond())
+        .updatedAt(now.getEpochSecond());
+
     final JobListRequestBody jobListRequestBody = new JobListRequestBody();
     jobListRequestBody.setConfigTypes(Collections.singletonList(JobConfigType.SYNC));
     jobListRequestBody.setConfigId(connectionRead.getConnectionId().toString());
-    when(jobHistoryHandler.listJobsFor(jobListRequestBody)).thenReturn(jobReadList);
+    when(jobHistoryHandler.listJobStatusesFor(jobListRequestBody)).thenReturn(Collections.singletonList(jobRead));
 
     expected = new WebBackendConnectionRead()
         .connectionId(connectionRead.getConnectionId())
@@ -39,6 +39,8 @@ import io.airbyte.workers.protocols.Source;
 import java.nio.file.Path;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
@@ -53,6 +55,9 @@ public class DefaultReplicationWorker implements ReplicationWorker {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(DefaultReplicationWorker.class);
 
+  public static final int DEFAULT_REPLICATION_BUFFER_SIZE = 1000;
+  private static final long BUFFER_POLL_TIMEOUT_MS = 100;
+
   private final String jobId;
   private final int attempt;
   private final Source<AirbyteMessage> source;
@@ -60,6 +65,7 @@ public class DefaultReplicationWorker implements ReplicationWorker {
   private final Destination<AirbyteMessage> destination;
   private final MessageTracker<AirbyteMessage> sourceMessageTracker;
   private final MessageTracker<AirbyteMessage> destinationMessageTracker;
+  private final int replicationBufferSize;
 
   private final ExecutorService executors;
   private final AtomicBoolean cancelled;
@@ -72,6 +78,17 @@ public class DefaultReplicationWorker implements ReplicationWorker {
                                   final Destination<AirbyteMessage> destination,
                                   final MessageTracker<AirbyteMessage> sourceMessageTracker,
                                   final MessageTracker<AirbyteMessage> destinationMessageTracker) {
+    this(jobId, attempt, source, mapper, destination, sourceMessageTracker, destinationMessageTracker, DEFAULT_REPLICATION_BUFFER_SIZE);
+  }
+
+  public DefaultReplicationWorker(final String jobId,
+                                  final int attempt,
+                                  final Source<AirbyteMessage> source,
+                                  final Mapper<AirbyteMessage> mapper,
+                                  final Destination<AirbyteMessage> destination,
+                                  final MessageTracker<AirbyteMessage> sourceMessageTracker,
+                                  final MessageTracker<AirbyteMessage> destinationMessageTracker,
+                                  final int replicationBufferSize) {
     this.jobId = jobId;
     this.attempt = attempt;
     this.source = source;
@@ -79,18 +96,22 @@ public class DefaultReplicationWorker implements ReplicationWorker {
     this.destination = destination;
     this.sourceMessageTracker = sourceMessageTracker;
     this.destinationMessageTracker = destinationMessageTracker;
-    this.executors = Executors.newFixedThreadPool(2);
+    this.replicationBufferSize = replicationBufferSize;
+    this.executors = Executors.newFixedThreadPool(3);
 
     this.cancelled = new AtomicBoolean(false);
     this.hasFailed = new AtomicBoolean(false);
   }
 
   /**
-   * Run executes two threads. The first pipes data from STDOUT of the source to STDIN of the
-   * destination. The second listen on STDOUT of the destination. The goal of this second thread is to
-   * detect when the destination emits state messages. Only state messages emitted by the destination
-   * should be treated as state that is safe to return from run. In the case when the destination
-   * emits no state, we fall back on whatever state is pass in as an argument to this method.
+   * Run executes three threads. The first reads data from STDOUT of the source, maps and tracks it,
+   * and hands it to the second through a bounded buffer. The second writes the buffered data to
+   * STDIN of the destination. Splitting reading and writing means a slow destination no longer
+   * stalls parsing of the source output (and vice versa) until the buffer is full. The third listen
+   * on STDOUT of the destination. The goal of this third thread is to detect when the destination
+   * emits state messages. Only state messages emitted by the destination should be treated as state
+   * that is safe to return from run. In the case when the destination emits no state, we fall back
+   * on whatever state is pass in as an argument to this method.
    *
    * @param syncInput all configuration for running replication
    * @param jobRoot file root that worker is allowed to use
@@ -128,17 +149,39 @@ public class DefaultReplicationWorker implements ReplicationWorker {
             destinationMessageTracker,
             mdc));
 
+        final BlockingQueue<AirbyteMessage> buffer = new ArrayBlockingQueue<>(replicationBufferSize);
+        final AtomicBoolean sourceReadDone = new AtomicBoolean(false);
+        final AtomicBoolean destinationWriteDone = new AtomicBoolean(false);
+
         final Future<?> replicationThreadFuture = executors.submit(getReplicationRunnable(
             source,
-            destination,
+            buffer,
             cancelled,
+            sourceReadDone,
+            destinationWriteDone,
             mapper,
             sourceMessageTracker,
             mdc));
 
+        final Future<?> destinationWriteThreadFuture = executors.submit(getDestinationWriteRunnable(
+            destination,
+            buffer,
+            cancelled,
+            sourceReadDone,
+            destinationWriteDone,
+            mdc));
+
         LOGGER.info("Waiting for source thread to join.");
-        replicationThreadFuture.get();
-        LOGGER.info("Source thread complete.");
+        try {
+          replicationThreadFuture.get();
+          LOGGER.info("Source thread complete.");
+        } finally {
+          // the write thread drains whatever the source thread managed to buffer, so it has to be done
+          // before the destination is closed.
+          LOGGER.info("Waiting for destination write thread to join.");
+          destinationWriteThreadFuture.get();
+          LOGGER.info("Destination write thread complete.");
+        }
         LOGGER.info("Waiting for destination thread to join.");
         destinationOutputThreadFuture.get();
         LOGGER.info("Destination thread complete.");
@@ -197,8 +240,10 @@ public class DefaultReplicationWorker implements ReplicationWorker {
   }
 
   private static Runnable getReplicationRunnable(Source<AirbyteMessage> source,
-                                                 Destination<AirbyteMessage> destination,
+                                                 BlockingQueue<AirbyteMessage> buffer,
                                                  AtomicBoolean cancelled,
+                                                 AtomicBoolean sourceReadDone,
+                                                 AtomicBoolean destinationWriteDone,
                                                  Mapper<AirbyteMessage> mapper,
                                                  MessageTracker<AirbyteMessage> sourceMessageTracker,
                                                  Map<String, String> mdc) {
@@ -206,6 +251,9 @@ public class DefaultReplicationWorker implements ReplicationWorker {
       MDC.setContextMap(mdc);
       LOGGER.info("Replication thread started.");
       var recordsRead = 0;
+      // time spent waiting for room in the buffer, i.e. time during which the destination was the
+      // bottleneck.
+      var blockedOnFullBufferMs = 0L;
       try {
         while (!cancelled.get() && !source.isFinished()) {
           final Optional<AirbyteMessage> messageOptional = source.attemptRead();
@@ -213,15 +261,25 @@ public class DefaultReplicationWorker implements ReplicationWorker {
             final AirbyteMessage message = mapper.mapMessage(messageOptional.get());
 
             sourceMessageTracker.accept(message);
-            destination.accept(message);
+            final long enqueueStart = System.currentTimeMillis();
+            while (!buffer.offer(message, BUFFER_POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+              if (cancelled.get()) {
+                return;
+              }
+              if (destinationWriteDone.get()) {
+                throw new IllegalStateException("Destination write thread stopped before the source was fully read.");
+              }
+            }
+            blockedOnFullBufferMs += System.currentTimeMillis() - enqueueStart;
             recordsRead += 1;
 
             if (recordsRead % 1000 == 0) {
-              LOGGER.info("Records read: {}", recordsRead);
+              LOGGER.info("Records read: {} (buffered: {}/{}, ms blocked on full buffer: {})",
+                  recordsRead, buffer.size(), buffer.size() + buffer.remainingCapacity(), blockedOnFullBufferMs);
             }
           }
         }
-        destination.notifyEndOfStream();
+        LOGGER.info("Total records read: {} (ms blocked on full buffer: {})", recordsRead, blockedOnFullBufferMs);
       } catch (Exception e) {
         if (!cancelled.get()) {
           // Although this thread is closed first, it races with the source's closure and can attempt one
@@ -230,6 +288,46 @@ public class DefaultReplicationWorker implements ReplicationWorker {
           // was not cancelled.
           throw new RuntimeException(e);
         }
+      } finally {
+        sourceReadDone.set(true);
+      }
+    };
+  }
+
+  private static Runnable getDestinationWriteRunnable(Destination<AirbyteMessage> destination,
+                                                      BlockingQueue<AirbyteMessage> buffer,
+                                                      AtomicBoolean cancelled,
+                                                      AtomicBoolean sourceReadDone,
+                                                      AtomicBoolean destinationWriteDone,
+                                                      Map<String, String> mdc) {
+    return () -> {
+      MDC.setContextMap(mdc);
+      LOGGER.info("Destination write thread started.");
+      // time spent waiting for data in the buffer, i.e. time during which the source was the bottleneck.
+      var waitedOnEmptyBufferMs = 0L;
+      try {
+        while (!cancelled.get()) {
+          final long dequeueStart = System.currentTimeMillis();
+          final AirbyteMessage message = buffer.poll(BUFFER_POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+          if (message != null) {
+            waitedOnEmptyBufferMs += System.currentTimeMillis() - dequeueStart;
+            destination.accept(message);
+          } else if (sourceReadDone.get() && buffer.isEmpty()) {
+            destination.notifyEndOfStream();
+            break;
+          } else {
+            waitedOnEmptyBufferMs += System.currentTimeMillis() - dequeueStart;
+          }
+        }
+        LOGGER.info("Destination write thread done (ms waited on empty buffer: {})", waitedOnEmptyBufferMs);
+      } catch (Exception e) {
+        if (!cancelled.get()) {
+          // see getReplicationRunnable: the destination can be closed underneath this thread when the
+          // worker is cancelled.
+          throw new RuntimeException(e);
+        }
+      } finally {
+        destinationWriteDone.set(true);
       }
     };
   }
@@ -24,7 +24,6 @@
 
 package io.airbyte.workers.protocols.airbyte;
 
-import com.google.common.base.Charsets;
 import io.airbyte.commons.json.Jsons;
 import io.airbyte.config.State;
 import io.airbyte.protocol.models.AirbyteMessage;
@@ -49,8 +48,7 @@ public class AirbyteMessageTracker implements MessageTracker<AirbyteMessage> {
   public void accept(AirbyteMessage message) {
     if (message.getType() == AirbyteMessage.Type.RECORD) {
       recordCount.incrementAndGet();
-      // todo (cgardens) - pretty wasteful to do an extra serialization just to get size.
-      numBytes.addAndGet(Jsons.serialize(message.getRecord().getData()).getBytes(Charsets.UTF_8).length);
+      numBytes.addAndGet(Jsons.getSerializedByteSize(message.getRecord().getData()));
     }
     if (message.getType() == AirbyteMessage.Type.STATE) {
       outputState.set(new State().withState(message.getState().getData()));
@@ -25,6 +25,7 @@
 package io.airbyte.workers.protocols.airbyte;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.airbyte.commons.json.Jsons;
 import io.airbyte.protocol.models.AirbyteLogMessage;
 import io.airbyte.protocol.models.AirbyteMessage;
@@ -43,11 +44,21 @@ import org.slf4j.LoggerFactory;
  * If a line starts with a AirbyteMessage and then has other characters after it, that
  * AirbyteMessage will still be parsed. If there are multiple AirbyteMessage records on the same
  * line, only the first will be parsed.
+ *
+ * <p>
+ * Each line is tokenized exactly once. The record and state payloads are never inspected by the
+ * worker, so they are detached from the parsed tree before the envelope is converted into an
+ * AirbyteMessage and then handed to the message as-is, instead of being round-tripped through the
+ * object mapper a second time.
  */
 public class DefaultAirbyteStreamFactory implements AirbyteStreamFactory {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(DefaultAirbyteStreamFactory.class);
 
+  private static final String RECORD_FIELD = "record";
+  private static final String STATE_FIELD = "state";
+  private static final String DATA_FIELD = "data";
+
   private final AirbyteProtocolPredicate protocolValidator;
   private final Logger logger;
 
@@ -85,7 +96,7 @@ public class DefaultAirbyteStreamFactory implements AirbyteStreamFactory {
           return res;
         })
         .map(j -> {
-          Optional<AirbyteMessage> m = Jsons.tryObject(j, AirbyteMessage.class);
+          Optional<AirbyteMessage> m = toAirbyteMessage(j);
           if (m.isEmpty()) {
             logger.error("Deserialization failed: {}", Jsons.serialize(j));
           }
@@ -103,6 +114,39 @@ public class DefaultAirbyteStreamFactory implements AirbyteStreamFactory {
         });
   }
 
+  private static Optional<AirbyteMessage> toAirbyteMessage(final JsonNode json) {
+    final JsonNode recordData = detachPayload(json, RECORD_FIELD);
+    final JsonNode stateData = detachPayload(json, STATE_FIELD);
+    final Optional<AirbyteMessage> message = Jsons.tryObject(json, AirbyteMessage.class);
+    // put the payloads back so that the tree is left untouched for anyone logging it.
+    attachPayload(json, RECORD_FIELD, recordData);
+    attachPayload(json, STATE_FIELD, stateData);
+
+    message.ifPresent(m -> {
+      if (m.getRecord() != null && recordData != null) {
+        m.getRecord().setData(recordData);
+      }
+      if (m.getState() != null && stateData != null) {
+        m.getState().setData(stateData);
+      }
+    });
+    return message;
+  }
+
+  private static JsonNode detachPayload(final JsonNode json, final String envelopeField) {
+    final JsonNode envelope = json.get(envelopeField);
+    if (envelope == null || !envelope.isObject()) {
+      return null;
+    }
+    return ((ObjectNode) envelope).remove(DATA_FIELD);
+  }
+
+  private static void attachPayload(final JsonNode json, final String envelopeField, final JsonNode payload) {
+    if (payload != null) {
+      ((ObjectNode) json.get(envelopeField)).set(DATA_FIELD, payload);
+    }
+  }
+
   private void internalLog(AirbyteLogMessage logMessage) {
     switch (logMessage.getLevel()) {
       case FATAL, ERROR -> logger.error(logMessage.getMessage());
@@ -28,6 +28,7 @@ import io.airbyte.commons.json.Jsons;
 import io.airbyte.config.JobSyncConfig.NamespaceDefinitionType;
 import io.airbyte.protocol.models.AirbyteMessage;
 import io.airbyte.protocol.models.AirbyteMessage.Type;
+import io.airbyte.protocol.models.AirbyteRecordMessage;
 import io.airbyte.protocol.models.AirbyteStream;
 import io.airbyte.protocol.models.ConfiguredAirbyteCatalog;
 import io.airbyte.workers.protocols.Mapper;
@@ -82,7 +83,7 @@ public class NamespacingMapper implements Mapper<AirbyteMessage> {
   @Override
   public AirbyteMessage mapMessage(final AirbyteMessage inputMessage) {
     if (inputMessage.getType() == Type.RECORD) {
-      final AirbyteMessage message = Jsons.clone(inputMessage);
+      final AirbyteMessage message = copyEnvelope(inputMessage);
       // Default behavior if namespaceDefinition is not set is to follow SOURCE
       if (namespaceDefinition != null) {
         if (namespaceDefinition.equals(NamespaceDefinitionType.DESTINATION)) {
@@ -97,6 +98,27 @@ public class NamespacingMapper implements Mapper<AirbyteMessage> {
     return inputMessage;
   }
 
+  /**
+   * Only the envelope of a record is ever rewritten by this mapper, so there is no need to deep copy
+   * the record data (which would mean serializing and deserializing every record). The copy shares the
+   * data node with the input message. Unknown protocol fields are carried over as they are.
+   */
+  private static AirbyteMessage copyEnvelope(final AirbyteMessage inputMessage) {
+    final AirbyteRecordMessage record = inputMessage.getRecord();
+    final AirbyteRecordMessage recordCopy = new AirbyteRecordMessage()
+        .withStream(record.getStream())
+        .withNamespace(record.getNamespace())
+        .withEmittedAt(record.getEmittedAt())
+        .withData(record.getData());
+    record.getAdditionalProperties().forEach(recordCopy::setAdditionalProperty);
+
+    final AirbyteMessage message = new AirbyteMessage()
+        .withType(inputMessage.getType())
+        .withRecord(recordCopy);
+    inputMessage.getAdditionalProperties().forEach(message::setAdditionalProperty);
+    return message;
+  }
+
   private static String formatNamespace(final String sourceNamespace, final String namespaceFormat) {
     String result = "";
     if (Strings.isNotBlank(namespaceFormat)) {
@@ -30,7 +30,9 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -70,6 +72,7 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.function.Executable;
+import org.mockito.InOrder;
 import org.mockito.Mockito;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -151,6 +154,47 @@ class DefaultReplicationWorkerTest {
     verify(destination).close();
   }
 
+  @Test
+  void testWithSingleMessageBuffer() throws Exception {
+    final ReplicationWorker worker = new DefaultReplicationWorker(
+        JOB_ID,
+        JOB_ATTEMPT,
+        source,
+        mapper,
+        destination,
+        sourceMessageTracker,
+        destinationMessageTracker,
+        1);
+
+    final ReplicationOutput output = worker.run(syncInput, jobRoot);
+
+    assertEquals(ReplicationStatus.COMPLETED, output.getReplicationAttemptSummary().getStatus());
+    final InOrder inOrder = inOrder(destination);
+    inOrder.verify(destination).accept(RECORD_MESSAGE1);
+    inOrder.verify(destination).accept(RECORD_MESSAGE2);
+    inOrder.verify(destination).notifyEndOfStream();
+  }
+
+  @Test
+  void testDestinationWriteFailure() throws Exception {
+    when(source.isFinished()).thenReturn(false);
+    doThrow(new IOException("induced exception")).when(destination).accept(any());
+
+    final ReplicationWorker worker = new DefaultReplicationWorker(
+        JOB_ID,
+        JOB_ATTEMPT,
+        source,
+        mapper,
+        destination,
+        sourceMessageTracker,
+        destinationMessageTracker,
+        1);
+
+    final ReplicationOutput output = worker.run(syncInput, jobRoot);
+
+    assertEquals(ReplicationStatus.FAILED, output.getReplicationAttemptSummary().getStatus());
+  }
+
   @Test
   void testLoggingInThreads() throws IOException, WorkerException {
     // set up the mdc so that actually log to a file, so that we can verify that file logging captures
@@ -174,6 +218,7 @@ class DefaultReplicationWorkerTest {
 
     // make sure we get logs from the threads.
     assertTrue(logs.contains("Replication thread started."));
+    assertTrue(logs.contains("Destination write thread started."));
     assertTrue(logs.contains("Destination output thread started."));
   }
 
@@ -74,6 +74,17 @@ class DefaultAirbyteStreamFactoryTest {
     verifyNoInteractions(logger);
   }
 
+  @Test
+  public void testValidState() {
+    final AirbyteMessage state = AirbyteMessageUtils.createStateMessage("checkpoint", "1");
+
+    final Stream<AirbyteMessage> messageStream = stringToMessageStream(Jsons.serialize(state));
+    final Stream<AirbyteMessage> expectedStream = Stream.of(state);
+
+    assertEquals(expectedStream.collect(Collectors.toList()), messageStream.collect(Collectors.toList()));
+    verifyNoInteractions(logger);
+  }
+
   @Test
   public void testLoggingLine() {
     final String invalidRecord = "invalid line";
@@ -33,6 +33,7 @@ import io.airbyte.protocol.models.CatalogHelpers;
 import io.airbyte.protocol.models.ConfiguredAirbyteCatalog;
 import io.airbyte.protocol.models.Field;
 import io.airbyte.protocol.models.JsonSchemaPrimitive;
+import java.util.Map;
 import org.junit.jupiter.api.Test;
 
 class NamespacingMapperTest {
@@ -221,4 +222,17 @@ class NamespacingMapperTest {
     assertEquals(expectedMessage, actualMessage);
   }
 
+  @Test
+  void testAdditionalPropertiesArePreserved() {
+    final NamespacingMapper mapper = new NamespacingMapper(NamespaceDefinitionType.SOURCE, null, OUTPUT_PREFIX);
+
+    final AirbyteMessage inputMessage = Jsons.clone(RECORD_MESSAGE).withAdditionalProperty("message_extra", "a");
+    inputMessage.getRecord().withAdditionalProperty("record_extra", "b");
+    final AirbyteMessage actualMessage = mapper.mapMessage(inputMessage);
+
+    assertEquals(OUTPUT_PREFIX + STREAM_NAME, actualMessage.getRecord().getStream());
+    assertEquals(Map.of("message_extra", "a"), actualMessage.getAdditionalProperties());
+    assertEquals(Map.of("record_extra", "b"), actualMessage.getRecord().getAdditionalProperties());
+  }
+
 }